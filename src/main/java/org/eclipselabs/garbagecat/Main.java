@@ -12,6 +12,7 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -19,10 +20,21 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,14 +53,18 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.hsql.EventIndex;
 import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.service.LogFollower;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeDispatcher;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.json.JSONObject;
 
@@ -70,6 +86,47 @@ public class Main {
 
     private static Options options;
 
+    /**
+     * The latest garbagecat version/tag, or null if not looked up yet. Looked up once, so following a log file does not
+     * look it up for every report, and read by the threads writing reports in batch mode.
+     */
+    private static volatile String latestVersionTag;
+
+    /**
+     * The analysis of one log file in batch mode, for the fleet summary.
+     */
+    private static final class LogSummary {
+
+        private File logFile;
+
+        private File reportFile;
+
+        private long gcThroughput;
+
+        private long stoppedTimeThroughput;
+
+        /**
+         * Max GC pause (milliseconds).
+         */
+        private int maxGcPause;
+
+        private int blockingEventCount;
+
+        private int errorCount;
+
+        private int warnCount;
+
+        /**
+         * Why the log file could not be analyzed, or null if it was analyzed.
+         */
+        private String failure;
+
+        private LogSummary(File logFile, File reportFile) {
+            this.logFile = logFile;
+            this.reportFile = reportFile;
+        }
+    }
+
     static {
         // Declare command line options
         options = new Options();
@@ -89,12 +146,26 @@ public class Main {
                 "reorder logging by timestamp");
         options.addOption(Constants.OPTION_OUTPUT_SHORT, Constants.OPTION_OUTPUT_LONG, true,
                 "output file name (default " + Constants.OUTPUT_FILE_NAME + ")");
+        options.addOption(Constants.OPTION_STATS_SHORT, Constants.OPTION_STATS_LONG, false,
+                "print event identification statistics");
+        options.addOption(Constants.OPTION_PREPROCESS_FILE_SHORT, Constants.OPTION_PREPROCESS_FILE_LONG, false,
+                "write preprocessed logging to a .pp file (for debugging preprocessing)");
+        options.addOption(Constants.OPTION_THREADS_SHORT, Constants.OPTION_THREADS_LONG, true,
+                "number of threads preprocessing and parsing logging (default 1); in batch mode, the total for all"
+                        + " logs (default the number of processors)");
+        options.addOption(Constants.OPTION_FOLLOW_SHORT, Constants.OPTION_FOLLOW_LONG, true,
+                "follow a growing log file, rewriting the report every <arg> seconds");
+        options.addOption(Constants.OPTION_BATCH_SHORT, Constants.OPTION_BATCH_LONG, false,
+                "analyze each log file (or each file in a directory) separately, writing a report per log and a fleet"
+                        + " summary to the output directory");
+        options.addOption(Constants.OPTION_INDEX_SHORT, Constants.OPTION_INDEX_LONG, false,
+                "keep a .gcidx index of the parsed logging, so later runs on the same log skip parsing");
     }
 
     /**
      * @param args
      *            The argument list includes one or more scope options followed by the name of the gc log file to
-     *            inspect.
+     *            inspect, or the names of a set of rotated gc log files to inspect as one log.
      */
     public static void main(String[] args) {
 
@@ -123,10 +194,39 @@ public class Main {
                     jvmOptions = cmd.getOptionValue(Constants.OPTION_JVMOPTIONS_SHORT);
                 }
 
-                String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
-                File logFile = new File(logFileName);
+                if (cmd.hasOption(Constants.OPTION_BATCH_LONG)) {
+                    // Analyze each log file separately, on multiple threads
+                    batch(cmd, jvmOptions, jvmStartDate);
+                    return;
+                }
+
+                // One log file, or a set of rotated log files analyzed as one log
+                List<File> logFiles = new ArrayList<File>();
+                for (int i = 0; i < cmd.getArgList().size(); i++) {
+                    File logFile = new File((String) cmd.getArgList().get(i));
+                    // e.g. gc.log* matching gc.log.gcidx
+                    if (!logFile.getName().endsWith(EventIndex.FILE_EXTENSION)) {
+                        logFiles.add(logFile);
+                    }
+                }
+
+                if (cmd.hasOption(Constants.OPTION_FOLLOW_LONG)) {
+                    // Analyze the logging as it is written, until the process is stopped
+                    follow(cmd, logFiles.get(0), jvmOptions, jvmStartDate);
+                    return;
+                }
 
                 GcManager gcManager = new GcManager();
+                if (cmd.hasOption(Constants.OPTION_THREADS_LONG)) {
+                    gcManager.setThreads(Integer.parseInt(cmd.getOptionValue(Constants.OPTION_THREADS_SHORT)));
+                }
+                gcManager.setIndex(cmd.hasOption(Constants.OPTION_INDEX_LONG));
+
+                // Allow logging to be reordered?
+                boolean reorder = false;
+                if (cmd.hasOption(Constants.OPTION_REORDER_LONG)) {
+                    reorder = true;
+                }
 
                 // Do preprocessing
                 if (cmd.hasOption(Constants.OPTION_PREPROCESS_LONG)
@@ -140,32 +240,29 @@ public class Main {
                      * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in
                      * the JVM start date/time.
                      */
-                    logFile = gcManager.preprocess(logFile, jvmStartDate);
+                    if (cmd.hasOption(Constants.OPTION_PREPROCESS_FILE_LONG)) {
+                        // Store garbage collection logging in data store from the preprocessed file.
+                        File preprocessFile = gcManager.preprocess(logFiles, jvmStartDate);
+                        gcManager.store(preprocessFile, reorder);
+                    } else {
+                        // Store preprocessed garbage collection logging in data store as it is preprocessed.
+                        gcManager.preprocessAndStore(logFiles, jvmStartDate, reorder);
+                    }
+                } else {
+                    // Store garbage collection logging in data store.
+                    gcManager.storeLogFiles(logFiles, reorder);
                 }
 
-                // Allow logging to be reordered?
-                boolean reorder = false;
-                if (cmd.hasOption(Constants.OPTION_REORDER_LONG)) {
-                    reorder = true;
+                if (cmd.hasOption(Constants.OPTION_STATS_LONG)) {
+                    printStats(gcManager.getEventTypeDispatcher());
                 }
 
-                // Store garbage collection logging in data store.
-                gcManager.store(logFile, reorder);
-
                 // Create report
                 Jvm jvm = new Jvm(jvmOptions, jvmStartDate);
                 // Determine report options
-                int throughputThreshold = Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
-                if (cmd.hasOption(Constants.OPTION_THRESHOLD_LONG)) {
-                    throughputThreshold = Integer.parseInt(cmd.getOptionValue(Constants.OPTION_THRESHOLD_SHORT));
-                }
+                int throughputThreshold = getThroughputThreshold(cmd);
                 JvmRun jvmRun = gcManager.getJvmRun(jvm, throughputThreshold);
-                String outputFileName;
-                if (cmd.hasOption(Constants.OPTION_OUTPUT_LONG)) {
-                    outputFileName = cmd.getOptionValue(Constants.OPTION_OUTPUT_SHORT);
-                } else {
-                    outputFileName = Constants.OUTPUT_FILE_NAME;
-                }
+                String outputFileName = getOutputFileName(cmd);
 
                 boolean version = cmd.hasOption(Constants.OPTION_VERSION_LONG);
                 boolean latestVersion = cmd.hasOption(Constants.OPTION_LATEST_VERSION_LONG);
@@ -174,6 +271,359 @@ public class Main {
         }
     }
 
+    /**
+     * Follow a growing log file, rewriting the report every refresh interval until the process is stopped. Each refresh
+     * only parses the logging written since the last refresh. The analysis starts over when the log file is truncated
+     * (e.g. the JVM is restarted writing to the same file).
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param logFile
+     *            The log file to follow.
+     * @param jvmOptions
+     *            JVM options used during the JVM run.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     */
+    private static void follow(CommandLine cmd, File logFile, final String jvmOptions, final Date jvmStartDate) {
+        long refreshInterval = Long.parseLong(cmd.getOptionValue(Constants.OPTION_FOLLOW_SHORT)) * 1000;
+        final boolean preprocess = cmd.hasOption(Constants.OPTION_PREPROCESS_LONG)
+                || cmd.hasOption(Constants.OPTION_STARTDATETIME_LONG);
+        final boolean reorder = cmd.hasOption(Constants.OPTION_REORDER_LONG);
+        int throughputThreshold = getThroughputThreshold(cmd);
+        String outputFileName = getOutputFileName(cmd);
+        boolean version = cmd.hasOption(Constants.OPTION_VERSION_LONG);
+        boolean latestVersion = cmd.hasOption(Constants.OPTION_LATEST_VERSION_LONG);
+        try {
+            LogFollower logFollower = new LogFollower(logFile);
+            try {
+                BufferedReader run = logFollower.nextRun();
+                while (run != null) {
+                    // Logging is stored on another thread while reports are created from the logging stored so far
+                    final GcManager gcManager = new GcManager();
+                    final BufferedReader logReader = run;
+                    Thread storer = new Thread(new Runnable() {
+                        public void run() {
+                            gcManager.follow(logReader, jvmStartDate, preprocess, reorder);
+                        }
+                    }, "garbagecat-follow");
+                    storer.setDaemon(true);
+                    storer.start();
+                    do {
+                        storer.join(refreshInterval);
+                        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(jvmOptions, jvmStartDate), throughputThreshold);
+                        createReport(jvmRun, outputFileName, version, latestVersion);
+                    } while (storer.isAlive());
+                    run = logFollower.nextRun();
+                }
+            } finally {
+                logFollower.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Analyze each log file separately on a pool of threads, each with its own data store, writing a report for each
+     * log file and a fleet summary to the output directory. The number of threads (default the number of processors)
+     * is the total for all log files. Up to that many log files are analyzed at the same time, and the threads are
+     * split evenly between them for preprocessing and parsing (e.g. 8 threads analyze 2 log files with 4 threads
+     * each, or 8 log files with 1 thread each).
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param jvmOptions
+     *            JVM options used during the JVM runs.
+     * @param jvmStartDate
+     *            The date and time the JVMs were started.
+     */
+    private static void batch(CommandLine cmd, final String jvmOptions, final Date jvmStartDate) {
+        final boolean preprocess = cmd.hasOption(Constants.OPTION_PREPROCESS_LONG)
+                || cmd.hasOption(Constants.OPTION_STARTDATETIME_LONG);
+        final boolean preprocessFile = cmd.hasOption(Constants.OPTION_PREPROCESS_FILE_LONG);
+        final boolean reorder = cmd.hasOption(Constants.OPTION_REORDER_LONG);
+        final boolean index = cmd.hasOption(Constants.OPTION_INDEX_LONG);
+        final int throughputThreshold = getThroughputThreshold(cmd);
+        final boolean version = cmd.hasOption(Constants.OPTION_VERSION_LONG);
+        final boolean latestVersion = cmd.hasOption(Constants.OPTION_LATEST_VERSION_LONG);
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (cmd.hasOption(Constants.OPTION_THREADS_LONG)) {
+            threads = Integer.parseInt(cmd.getOptionValue(Constants.OPTION_THREADS_SHORT));
+        }
+        File reportDirectory = new File(".");
+        if (cmd.hasOption(Constants.OPTION_OUTPUT_LONG)) {
+            reportDirectory = new File(cmd.getOptionValue(Constants.OPTION_OUTPUT_SHORT));
+            reportDirectory.mkdirs();
+        }
+
+        List<File> logFiles = new ArrayList<File>();
+        for (int i = 0; i < cmd.getArgList().size(); i++) {
+            logFiles.addAll(getBatchLogFiles(new File((String) cmd.getArgList().get(i))));
+        }
+        List<File> reportFiles = getBatchReportFiles(logFiles, reportDirectory);
+
+        // Split the threads between the log files analyzed at the same time
+        int analyzerCount = Math.min(threads, Math.max(logFiles.size(), 1));
+        final int logThreads = threads / analyzerCount;
+        if (latestVersion) {
+            // Look up once, not on each analyzer thread
+            getLatestVersion();
+        }
+        ExecutorService analyzers = Executors.newFixedThreadPool(analyzerCount);
+        List<LogSummary> summaries = new ArrayList<LogSummary>();
+        try {
+            List<Future<LogSummary>> futures = new ArrayList<Future<LogSummary>>();
+            for (int i = 0; i < logFiles.size(); i++) {
+                final LogSummary summary = new LogSummary(logFiles.get(i), reportFiles.get(i));
+                futures.add(analyzers.submit(new Callable<LogSummary>() {
+                    public LogSummary call() {
+                        GcManager gcManager = new GcManager();
+                        gcManager.setThreads(logThreads);
+                        gcManager.setIndex(index);
+                        try {
+                            if (preprocess) {
+                                if (preprocessFile) {
+                                    gcManager.store(gcManager.preprocess(summary.logFile, jvmStartDate), reorder);
+                                } else {
+                                    gcManager.preprocessAndStore(summary.logFile, jvmStartDate, reorder);
+                                }
+                            } else {
+                                gcManager.store(summary.logFile, reorder);
+                            }
+                            JvmRun jvmRun = gcManager.getJvmRun(new Jvm(jvmOptions, jvmStartDate),
+                                    throughputThreshold);
+                            createReport(jvmRun, summary.reportFile.getPath(), version, latestVersion);
+                            summarize(jvmRun, summary);
+                        } catch (RuntimeException e) {
+                            // e.g. logging reversed
+                            summary.failure = e.getClass().getSimpleName();
+                            if (e.getMessage() != null) {
+                                summary.failure += ": " + e.getMessage().split("\\r?\\n")[0].trim();
+                            }
+                        } finally {
+                            gcManager.close();
+                        }
+                        return summary;
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    summaries.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // e.g. out of memory
+                    LogSummary summary = new LogSummary(logFiles.get(i), reportFiles.get(i));
+                    summary.failure = e.getCause().toString();
+                    summaries.add(summary);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            analyzers.shutdownNow();
+        }
+        createFleetReport(summaries, new File(reportDirectory, Constants.FLEET_FILE_NAME).getPath());
+    }
+
+    /**
+     * @param logFile
+     *            A log file, a directory of log files, or a log file name pattern with * and ? wildcards (e.g.
+     *            /var/log/jvm/*.log).
+     * @return The log files, in name order for a directory or pattern.
+     */
+    private static List<File> getBatchLogFiles(File logFile) {
+        List<File> logFiles = new ArrayList<File>();
+        File[] files = null;
+        if (logFile.isDirectory()) {
+            files = logFile.listFiles();
+        } else if (!logFile.exists() && isPattern(logFile.getName())) {
+            File directory = logFile.getAbsoluteFile().getParentFile();
+            Pattern pattern = Pattern.compile(
+                    logFile.getName().replaceAll("([^*?]+)", "\\\\Q$1\\\\E").replace("*", ".*").replace("?", "."));
+            File[] directoryFiles = directory.listFiles();
+            if (directoryFiles != null) {
+                List<File> matches = new ArrayList<File>();
+                for (int i = 0; i < directoryFiles.length; i++) {
+                    if (pattern.matcher(directoryFiles[i].getName()).matches()) {
+                        matches.add(directoryFiles[i]);
+                    }
+                }
+                files = matches.toArray(new File[matches.size()]);
+            }
+        } else {
+            logFiles.add(logFile);
+        }
+        if (files != null) {
+            Arrays.sort(files);
+            for (int i = 0; i < files.length; i++) {
+                if (files[i].isFile() && !files[i].isHidden()
+                        && !files[i].getName().endsWith(EventIndex.FILE_EXTENSION)) {
+                    logFiles.add(files[i]);
+                }
+            }
+        }
+        return logFiles;
+    }
+
+    /**
+     * @param logFileName
+     *            A log file name.
+     * @return true if the log file name has * or ? wildcards, false otherwise.
+     */
+    private static boolean isPattern(String logFileName) {
+        return logFileName.indexOf('*') != -1 || logFileName.indexOf('?') != -1;
+    }
+
+    /**
+     * @param logFiles
+     *            The log files analyzed.
+     * @param reportDirectory
+     *            The directory reports are written to.
+     * @return A report file for each log file, named after the log file, prefixed with the log file directory name if
+     *         log files in different directories have the same name (e.g. host1-gc.log-report.txt).
+     */
+    private static List<File> getBatchReportFiles(List<File> logFiles, File reportDirectory) {
+        List<File> reportFiles = new ArrayList<File>();
+        Set<String> reportFileNames = new HashSet<String>();
+        reportFileNames.add(Constants.FLEET_FILE_NAME);
+        for (int i = 0; i < logFiles.size(); i++) {
+            File logFile = logFiles.get(i).getAbsoluteFile();
+            String reportFileName = logFile.getName() + "-" + Constants.OUTPUT_FILE_NAME;
+            if (reportFileNames.contains(reportFileName) && logFile.getParentFile() != null) {
+                reportFileName = logFile.getParentFile().getName() + "-" + reportFileName;
+            }
+            String uniqueReportFileName = reportFileName;
+            for (int n = 2; reportFileNames.contains(uniqueReportFileName); n++) {
+                uniqueReportFileName = n + "-" + reportFileName;
+            }
+            reportFileNames.add(uniqueReportFileName);
+            reportFiles.add(new File(reportDirectory, uniqueReportFileName));
+        }
+        return reportFiles;
+    }
+
+    /**
+     * @param jvmRun
+     *            JVM run data.
+     * @param summary
+     *            The summary to fill in from the JVM run data.
+     */
+    private static void summarize(JvmRun jvmRun, LogSummary summary) {
+        summary.blockingEventCount = jvmRun.getBlockingEventCount();
+        summary.gcThroughput = jvmRun.getBlockingEventCount() > 0 ? jvmRun.getGcThroughput() : 100;
+        summary.stoppedTimeThroughput = jvmRun.getStoppedTimeEventCount() > 0 ? jvmRun.getStoppedTimeThroughput()
+                : 100;
+        summary.maxGcPause = jvmRun.getMaxGcPause();
+        Iterator<Analysis> iterator = jvmRun.getAnalysis().iterator();
+        while (iterator.hasNext()) {
+            String level = iterator.next().getKey().split("\\.")[0];
+            if (level.equals("error")) {
+                summary.errorCount++;
+            } else if (level.equals("warn")) {
+                summary.warnCount++;
+            }
+        }
+    }
+
+    /**
+     * Create the fleet summary of the log files analyzed in batch mode, worst GC throughput first.
+     * 
+     * @param summaries
+     *            The analysis of each log file.
+     * @param fleetFileName
+     *            Fleet summary file name.
+     */
+    private static void createFleetReport(List<LogSummary> summaries, String fleetFileName) {
+        List<LogSummary> analyzed = new ArrayList<LogSummary>();
+        List<LogSummary> failed = new ArrayList<LogSummary>();
+        for (int i = 0; i < summaries.size(); i++) {
+            if (summaries.get(i).failure == null) {
+                analyzed.add(summaries.get(i));
+            } else {
+                failed.add(summaries.get(i));
+            }
+        }
+        Collections.sort(analyzed, new Comparator<LogSummary>() {
+            public int compare(LogSummary summary1, LogSummary summary2) {
+                if (summary1.gcThroughput != summary2.gcThroughput) {
+                    return summary1.gcThroughput < summary2.gcThroughput ? -1 : 1;
+                }
+                return summary2.maxGcPause - summary1.maxGcPause;
+            }
+        });
+
+        BufferedWriter bufferedWriter = null;
+        try {
+            bufferedWriter = new BufferedWriter(new FileWriter(fleetFileName));
+            bufferedWriter.write("========================================" + Constants.LINE_SEPARATOR);
+            bufferedWriter.write("Fleet: " + summaries.size() + " logs, " + failed.size() + " failed"
+                    + Constants.LINE_SEPARATOR);
+            bufferedWriter.write("----------------------------------------" + Constants.LINE_SEPARATOR);
+            bufferedWriter.write(String.format("%-8s %-8s %-14s %-10s %-6s %-6s %s", "GC Tput", "ST Tput",
+                    "Max Pause", "GC Events", "Error", "Warn", "Report") + Constants.LINE_SEPARATOR);
+            for (int i = 0; i < analyzed.size(); i++) {
+                LogSummary summary = analyzed.get(i);
+                BigDecimal maxGcPause = JdkMath.convertMillisToSecs(summary.maxGcPause);
+                bufferedWriter.write(String.format("%-8s %-8s %-14s %-10d %-6d %-6d %s", summary.gcThroughput + "%",
+                        summary.stoppedTimeThroughput + "%", maxGcPause + " secs", summary.blockingEventCount,
+                        summary.errorCount, summary.warnCount, summary.reportFile.getName()));
+                bufferedWriter.write(Constants.LINE_SEPARATOR);
+            }
+            if (!failed.isEmpty()) {
+                bufferedWriter.write("========================================" + Constants.LINE_SEPARATOR);
+                bufferedWriter.write("FAILED:" + Constants.LINE_SEPARATOR);
+                bufferedWriter.write("----------------------------------------" + Constants.LINE_SEPARATOR);
+                for (int i = 0; i < failed.size(); i++) {
+                    bufferedWriter.write(failed.get(i).logFile.getPath() + ": " + failed.get(i).failure
+                            + Constants.LINE_SEPARATOR);
+                }
+            }
+            bufferedWriter.write("========================================" + Constants.LINE_SEPARATOR);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (bufferedWriter != null) {
+                try {
+                    bufferedWriter.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param cmd
+     *            The command line options.
+     * @return The throughput threshold for bottleneck reporting.
+     */
+    private static int getThroughputThreshold(CommandLine cmd) {
+        int throughputThreshold = Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
+        if (cmd.hasOption(Constants.OPTION_THRESHOLD_LONG)) {
+            throughputThreshold = Integer.parseInt(cmd.getOptionValue(Constants.OPTION_THRESHOLD_SHORT));
+        }
+        return throughputThreshold;
+    }
+
+    /**
+     * @param cmd
+     *            The command line options.
+     * @return The report file name.
+     */
+    private static String getOutputFileName(CommandLine cmd) {
+        String outputFileName;
+        if (cmd.hasOption(Constants.OPTION_OUTPUT_LONG)) {
+            outputFileName = cmd.getOptionValue(Constants.OPTION_OUTPUT_SHORT);
+        } else {
+            outputFileName = Constants.OUTPUT_FILE_NAME;
+        }
+        return outputFileName;
+    }
+
     /**
      * Parse command line options.
      * 
@@ -217,7 +667,27 @@ public class Main {
     private static void usage(Options options) {
         // Use the built in formatter class
         HelpFormatter formatter = new HelpFormatter();
-        formatter.printHelp("garbagecat [OPTION]... [FILE]", options);
+        formatter.printHelp("garbagecat [OPTION]... [FILE]...", options);
+    }
+
+    /**
+     * Print event identification statistics to standard output.
+     * 
+     * @param eventTypeDispatcher
+     *            The event identification for the log.
+     */
+    private static void printStats(EventTypeDispatcher eventTypeDispatcher) {
+        if (eventTypeDispatcher == null) {
+            return;
+        }
+        System.out.println("Lines: " + eventTypeDispatcher.getLines());
+        System.out.println("Line shape cache hit rate: " + eventTypeDispatcher.getCacheHitRate() + "%");
+        Iterator<Map.Entry<LogEventType, Long>> iterator = eventTypeDispatcher.getHitStatistics().entrySet()
+                .iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<LogEventType, Long> entry = iterator.next();
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
     }
 
     /**
@@ -234,32 +704,71 @@ public class Main {
         if (cmd.getArgList().size() == 0) {
             throw new ParseException("Missing log file");
         }
-        String logFileName = null;
-        if (cmd.getArgList().size() > 0) {
-            logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
-        }
-        // Ensure gc log file exists.
-        if (logFileName == null) {
-            throw new ParseException("Missing log file not");
-        }
-        File logFile = new File(logFileName);
-        if (!logFile.exists()) {
-            throw new ParseException("Invalid log file: '" + logFileName + "'");
+        // Ensure gc log files exist.
+        for (int i = 0; i < cmd.getArgList().size(); i++) {
+            String logFileName = (String) cmd.getArgList().get(i);
+            if (logFileName == null) {
+                throw new ParseException("Missing log file not");
+            }
+            File logFile = new File(logFileName);
+            if (cmd.hasOption(Constants.OPTION_BATCH_LONG) && !logFile.exists() && isPattern(logFile.getName())) {
+                if (getBatchLogFiles(logFile).isEmpty()) {
+                    throw new ParseException("No log files match: '" + logFileName + "'");
+                }
+            } else if (!logFile.exists()) {
+                throw new ParseException("Invalid log file: '" + logFileName + "'");
+            }
         }
         // threshold
         if (cmd.hasOption(Constants.OPTION_THRESHOLD_LONG)) {
             String thresholdRegEx = "^\\d{1,3}$";
             String thresholdOptionValue = cmd.getOptionValue(Constants.OPTION_THRESHOLD_SHORT);
-            Pattern pattern = Pattern.compile(thresholdRegEx);
+            Pattern pattern = PatternRegistry.getPattern(thresholdRegEx);
             Matcher matcher = pattern.matcher(thresholdOptionValue);
             if (!matcher.find()) {
                 throw new ParseException("Invalid threshold: '" + thresholdOptionValue + "'");
             }
         }
+        // threads
+        if (cmd.hasOption(Constants.OPTION_THREADS_LONG)) {
+            String threadsRegEx = "^[1-9]\\d{0,2}$";
+            String threadsOptionValue = cmd.getOptionValue(Constants.OPTION_THREADS_SHORT);
+            Pattern pattern = PatternRegistry.getPattern(threadsRegEx);
+            Matcher matcher = pattern.matcher(threadsOptionValue);
+            if (!matcher.find()) {
+                throw new ParseException("Invalid threads: '" + threadsOptionValue + "'");
+            }
+        }
+        // follow
+        if (cmd.hasOption(Constants.OPTION_FOLLOW_LONG)) {
+            String followRegEx = "^[1-9]\\d{0,4}$";
+            String followOptionValue = cmd.getOptionValue(Constants.OPTION_FOLLOW_SHORT);
+            Pattern pattern = PatternRegistry.getPattern(followRegEx);
+            Matcher matcher = pattern.matcher(followOptionValue);
+            if (!matcher.find()) {
+                throw new ParseException("Invalid follow: '" + followOptionValue + "'");
+            }
+            if (cmd.getArgList().size() > 1) {
+                throw new ParseException("Only one log file can be followed");
+            }
+            if (cmd.hasOption(Constants.OPTION_PREPROCESS_FILE_LONG)) {
+                throw new ParseException("A preprocessed file cannot be written when following a log file");
+            }
+            if (cmd.hasOption(Constants.OPTION_BATCH_LONG)) {
+                throw new ParseException("A log file cannot be followed in batch mode");
+            }
+            if (cmd.hasOption(Constants.OPTION_INDEX_LONG)) {
+                throw new ParseException("A log file cannot be indexed when it is followed");
+            }
+        }
+        // index
+        if (cmd.hasOption(Constants.OPTION_INDEX_LONG) && cmd.hasOption(Constants.OPTION_PREPROCESS_FILE_LONG)) {
+            throw new ParseException("A log file cannot be indexed when a preprocessed file is written");
+        }
         // startdatetime
         if (cmd.hasOption(Constants.OPTION_STARTDATETIME_LONG)) {
             String startdatetimeOptionValue = cmd.getOptionValue(Constants.OPTION_STARTDATETIME_SHORT);
-            Pattern pattern = Pattern.compile(GcUtil.START_DATE_TIME_REGEX);
+            Pattern pattern = PatternRegistry.getPattern(GcUtil.START_DATE_TIME_REGEX);
             Matcher matcher = pattern.matcher(startdatetimeOptionValue);
             if (!matcher.find()) {
                 throw new ParseException("Invalid startdatetime: '" + startdatetimeOptionValue + "'");
@@ -449,7 +958,7 @@ public class Main {
                     bufferedWriter.write(firstEventDatestamp);
                     bufferedWriter.write(Constants.LINE_SEPARATOR);
                 }
-                if (!jvmRun.getFirstEvent().getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)) {
+                if (!PatternRegistry.matches(UnifiedRegEx.DATESTAMP_EVENT, jvmRun.getFirstEvent().getLogEntry())) {
                     bufferedWriter.write("First Timestamp: ");
                     BigDecimal firstEventTimestamp = JdkMath.convertMillisToSecs(jvmRun.getFirstEvent().getTimestamp());
                     bufferedWriter.write(firstEventTimestamp.toString());
@@ -462,7 +971,7 @@ public class Main {
                     bufferedWriter.write(lastEventDatestamp);
                     bufferedWriter.write(Constants.LINE_SEPARATOR);
                 }
-                if (!jvmRun.getLastEvent().getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)) {
+                if (!PatternRegistry.matches(UnifiedRegEx.DATESTAMP_EVENT, jvmRun.getLastEvent().getLogEntry())) {
                     bufferedWriter.write("Last Timestamp: ");
                     BigDecimal lastEventTimestamp = JdkMath.convertMillisToSecs(jvmRun.getLastEvent().getTimestamp());
                     bufferedWriter.write(lastEventTimestamp.toString());
@@ -597,7 +1106,10 @@ public class Main {
     /**
      * @return version string.
      */
-    private static String getLatestVersion() {
+    private static synchronized String getLatestVersion() {
+        if (latestVersionTag != null) {
+            return latestVersionTag;
+        }
         String url = "https://github.com/mgm3746/garbagecat/releases/latest";
         String name = null;
         try {
@@ -618,6 +1130,7 @@ public class Main {
             name = "Unable to retrieve";
             ex.printStackTrace();
         }
+        latestVersionTag = name;
         return name;
     }
 }
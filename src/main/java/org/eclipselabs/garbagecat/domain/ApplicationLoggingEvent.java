@@ -13,6 +13,7 @@
 package org.eclipselabs.garbagecat.domain;
 
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -139,7 +140,7 @@ public class ApplicationLoggingEvent implements ThrowAwayEvent {
     public static final boolean match(String logLine) {
         boolean isMatch = false;
         for (int i = 0; i < REGEX.length; i++) {
-            if (logLine.matches(REGEX[i])) {
+            if (PatternRegistry.matches(REGEX[i], logLine)) {
                 isMatch = true;
                 break;
             }
@@ -14,6 +14,7 @@ package org.eclipselabs.garbagecat.domain;
 
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -71,6 +72,6 @@ public class BlankLineEvent implements ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.length() == 0;
+        return PatternRegistry.matches(REGEX, logLine) || logLine.length() == 0;
     }
 }
@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
@@ -25,6 +24,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
@@ -448,11 +448,7 @@ public class JvmRun {
         long gcThroughput;
         if (blockingEventCount > 0) {
             long timeNotGc = getJvmRunDuration() - new Long(totalGcPause).longValue();
-            BigDecimal throughput = new BigDecimal(timeNotGc);
-            throughput = throughput.divide(new BigDecimal(getJvmRunDuration()), 2, RoundingMode.HALF_EVEN);
-            throughput = throughput.movePointRight(2);
-            gcThroughput = throughput.longValue();
-
+            gcThroughput = JdkMath.divideHalfEven(timeNotGc * 100, getJvmRunDuration());
         } else {
             gcThroughput = 100L;
         }
@@ -469,10 +465,7 @@ public class JvmRun {
         if (stoppedTimeEventCount > 0) {
             if (getJvmRunDuration() > 0) {
                 long timeNotStopped = getJvmRunDuration() - new Long(totalStoppedTime).longValue();
-                BigDecimal throughput = new BigDecimal(timeNotStopped);
-                throughput = throughput.divide(new BigDecimal(getJvmRunDuration()), 2, RoundingMode.HALF_EVEN);
-                throughput = throughput.movePointRight(2);
-                stoppedTimeThroughput = throughput.longValue();
+                stoppedTimeThroughput = JdkMath.divideHalfEven(timeNotStopped * 100, getJvmRunDuration());
             } else {
                 stoppedTimeThroughput = 0L;
             }
@@ -488,9 +481,7 @@ public class JvmRun {
     public long getNewRatio() {
         int newRatio;
         if (maxYoungSpace > 0) {
-            BigDecimal ratio = new BigDecimal(maxOldSpace);
-            ratio = ratio.divide(new BigDecimal(maxYoungSpace), 0, RoundingMode.HALF_EVEN);
-            newRatio = ratio.intValue();
+            newRatio = (int) JdkMath.divideHalfEven(maxOldSpace, maxYoungSpace);
         } else {
             newRatio = 0;
         }
@@ -505,10 +496,7 @@ public class JvmRun {
     public long getGcStoppedRatio() {
         long gcStoppedRatio;
         if (totalGcPause > 0 && totalStoppedTime > 0) {
-            BigDecimal ratio = new BigDecimal(totalGcPause);
-            ratio = ratio.divide(new BigDecimal(totalStoppedTime), 2, RoundingMode.HALF_EVEN);
-            ratio = ratio.movePointRight(2);
-            gcStoppedRatio = ratio.longValue();
+            gcStoppedRatio = JdkMath.divideHalfEven(totalGcPause * 100, totalStoppedTime);
         } else {
             gcStoppedRatio = 100L;
         }
@@ -967,7 +955,8 @@ public class JvmRun {
         }
 
         // Check if heap dump filename specified
-        if (jvm.getHeapDumpPathValue() != null && !jvm.getHeapDumpPathValue().matches("^\\s*[\\//]$")) {
+        if (jvm.getHeapDumpPathValue() != null
+                && !PatternRegistry.matches("^\\s*[\\//]$", jvm.getHeapDumpPathValue())) {
             analysis.add(Analysis.WARN_HEAP_DUMP_PATH_FILENAME);
         }
     }
@@ -977,7 +966,7 @@ public class JvmRun {
      */
     private void doDataAnalysis() {
         // Check for partial log
-        if (firstGcEvent != null && !firstGcEvent.getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)
+        if (firstGcEvent != null && !PatternRegistry.matches(UnifiedRegEx.DATESTAMP_EVENT, firstGcEvent.getLogEntry())
                 && GcUtil.isPartialLog(firstGcEvent.getTimestamp())) {
             analysis.add(Analysis.INFO_FIRST_TIMESTAMP_THRESHOLD_EXCEEDED);
         }
@@ -1156,9 +1145,9 @@ public class JvmRun {
         }
 
         if (lastStoppedEventTimestamp > lastGcEventTimeStamp) {
-            end = lastStoppedEventTimestamp + JdkMath.convertMicrosToMillis(lastStoppedEventDuration).longValue();
+            end = lastStoppedEventTimestamp + JdkMath.truncateMicrosToMillis(lastStoppedEventDuration);
         } else {
-            end = lastGcEventTimeStamp + JdkMath.convertMicrosToMillis(lastGcEventDuration).longValue();
+            end = lastGcEventTimeStamp + JdkMath.truncateMicrosToMillis(lastGcEventDuration);
         }
 
         return end - start;
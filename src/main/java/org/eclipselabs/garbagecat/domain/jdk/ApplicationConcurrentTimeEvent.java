@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -53,7 +54,7 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern pattern = Pattern.compile(ApplicationConcurrentTimeEvent.REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(ApplicationConcurrentTimeEvent.REGEX);
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
@@ -75,7 +76,7 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 
 }
@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -120,7 +121,7 @@ public class ApplicationStoppedTimeEvent implements LogEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -130,14 +131,14 @@ public class ApplicationStoppedTimeEvent implements LogEvent {
      */
     public ApplicationStoppedTimeEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
             if (matcher.group(26) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(26)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(26));
             } else if (matcher.group(41) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(41)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(41));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(46)).intValue();
+            duration = JdkMath.parseSecsToMicros(matcher.group(46));
         }
     }
 
@@ -181,7 +182,7 @@ public class ApplicationStoppedTimeEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 
 }
@@ -16,6 +16,7 @@ import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -141,7 +142,7 @@ public class ClassHistogramEvent implements ThrowAwayEvent {
     public static final boolean match(String logLine) {
         boolean isMatch = false;
         for (int i = 0; i < REGEX.length; i++) {
-            if (logLine.matches(REGEX[i])) {
+            if (PatternRegistry.matches(REGEX[i], logLine)) {
                 isMatch = true;
                 break;
             }
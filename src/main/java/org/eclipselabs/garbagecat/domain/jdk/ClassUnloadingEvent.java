@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -60,7 +61,7 @@ public class ClassUnloadingEvent implements ThrowAwayEvent {
      * Regular expression defining the logging.
      */
     private static final String REGEX = "^( )?" + JdkRegEx.UNLOADING_CLASS_BLOCK + "(.*)$";
-    private static final Pattern PATTERN = Pattern.compile(REGEX);
+    private static final Pattern PATTERN = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -103,6 +104,6 @@ public class ClassUnloadingEvent implements ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+        return PatternRegistry.matches(PATTERN, logLine);
     }
 }
@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -85,7 +86,7 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
             + "(abortable-preclean|abortable-preclean-start|mark|mark-start|preclean|preclean-start|reset|"
             + "reset-start|sweep|sweep-start)(: " + JdkRegEx.DURATION_FRACTION + ")?\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
@@ -107,6 +108,6 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
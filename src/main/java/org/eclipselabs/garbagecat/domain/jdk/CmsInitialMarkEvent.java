@@ -22,6 +22,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -99,7 +100,7 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
             + JdkRegEx.SIZE_K + "\\)\\] " + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\), " + JdkRegEx.DURATION
             + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -109,18 +110,15 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
      */
     public CmsInitialMarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(CmsInitialMarkEvent.REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                trigger = matcher.group(14);
-                duration = JdkMath.convertSecsToMicros(matcher.group(19)).intValue();
-                if (matcher.group(22) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(23)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(24)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(25)).intValue();
-                }
+        Matcher matcher = PatternRegistry.match(REGEX, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
+            trigger = matcher.group(14);
+            duration = JdkMath.parseSecsToMicros(matcher.group(19));
+            if (matcher.group(22) != null) {
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(23));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(24));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(25));
             }
         }
     }
@@ -185,6 +183,6 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
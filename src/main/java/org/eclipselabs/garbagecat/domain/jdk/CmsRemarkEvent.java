@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
@@ -22,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -208,55 +208,44 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
     public CmsRemarkEvent(String logEntry) {
         this.logEntry = logEntry;
 
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1) != null) {
-                    // Initial GC[YG block exists
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                    trigger = matcher.group(15);
-                } else {
-                    // Initial GC[YG block missing
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(29)).longValue();
-                }
-                // The last duration is the total duration for the phase.
-                duration = JdkMath.convertSecsToMicros(matcher.group(68)).intValue();
-                if (matcher.group(71) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(72)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(73)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(74)).intValue();
-                }
+        Matcher matcher = PatternRegistry.match(REGEX, logEntry);
+        if (matcher != null) {
+            if (matcher.group(1) != null) {
+                // Initial GC[YG block exists
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(13));
+                trigger = matcher.group(15);
+            } else {
+                // Initial GC[YG block missing
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(29));
+            }
+            // The last duration is the total duration for the phase.
+            duration = JdkMath.parseSecsToMicros(matcher.group(68));
+            if (matcher.group(71) != null) {
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(72));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(73));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(74));
             }
             classUnloading = false;
-        } else if (logEntry.matches(REGEX_CLASS_UNLOADING)) {
-            Pattern pattern = Pattern.compile(REGEX_CLASS_UNLOADING);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1) != null) {
-                    // Initial GC[YG block exists
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                    trigger = matcher.group(15);
-                } else {
-                    // Initial GC[YG block missing
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(29)).longValue();
-                }
-                // The last duration is the total duration for the phase.
-                duration = JdkMath.convertSecsToMicros(matcher.group(136)).intValue();
-                if (matcher.group(139) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(140)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(141)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(142)).intValue();
-                }
+        } else if ((matcher = PatternRegistry.match(REGEX_CLASS_UNLOADING, logEntry)) != null) {
+            if (matcher.group(1) != null) {
+                // Initial GC[YG block exists
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(13));
+                trigger = matcher.group(15);
+            } else {
+                // Initial GC[YG block missing
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(29));
             }
-            classUnloading = true;
-        } else if (logEntry.matches(REGEX_TRUNCATED)) {
-            Pattern pattern = Pattern.compile(REGEX_TRUNCATED);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                trigger = matcher.group(14);
+            // The last duration is the total duration for the phase.
+            duration = JdkMath.parseSecsToMicros(matcher.group(136));
+            if (matcher.group(139) != null) {
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(140));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(141));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(142));
             }
+            classUnloading = true;
+        } else if ((matcher = PatternRegistry.match(REGEX_TRUNCATED, logEntry)) != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
+            trigger = matcher.group(14);
             classUnloading = false;
         }
     }
@@ -325,6 +314,7 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.matches(REGEX_CLASS_UNLOADING) || logLine.matches(REGEX_TRUNCATED);
+        return PatternRegistry.matches(REGEX, logLine) || PatternRegistry.matches(REGEX_CLASS_UNLOADING, logLine)
+                || PatternRegistry.matches(REGEX_TRUNCATED, logLine);
     }
 }
@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.OldCollection;
@@ -28,6 +27,7 @@ import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -273,90 +273,83 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
     public CmsSerialOldEvent(String logEntry) {
 
         this.setLogEntry(logEntry);
-        if (logEntry.matches(REGEX_FULL_GC)) {
-            Pattern pattern = Pattern.compile(REGEX_FULL_GC);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                this.timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                // If multiple triggers, use last one.
-                if (matcher.group(52) != null) {
-                    this.trigger = matcher.group(52);
-                } else if (matcher.group(50) != null) {
-                    this.trigger = matcher.group(50);
-                } else if (matcher.group(16) != null || matcher.group(89) != null) {
-                    this.trigger = JdkRegEx.TRIGGER_CLASS_HISTOGRAM;
-                } else if (matcher.group(14) != null) {
-                    this.trigger = matcher.group(14);
-                }
-                this.old = Integer.parseInt(matcher.group(72));
-                this.oldEnd = Integer.parseInt(matcher.group(73));
-                this.oldAllocation = Integer.parseInt(matcher.group(74));
-                this.young = Integer.parseInt(matcher.group(98)) - this.old;
-                this.youngEnd = Integer.parseInt(matcher.group(99)) - this.oldEnd;
-                this.youngAvailable = Integer.parseInt(matcher.group(100)) - this.oldAllocation;
-                this.permGen = Integer.parseInt(matcher.group(102));
-                this.permGenEnd = Integer.parseInt(matcher.group(103));
-                this.permGenAllocation = Integer.parseInt(matcher.group(104));
-                if (matcher.group(105) != null) {
-                    super.setIncrementalMode(true);
-                }
-                this.duration = JdkMath.convertSecsToMicros(matcher.group(106)).intValue();
+        Matcher matcher = PatternRegistry.match(REGEX_FULL_GC, logEntry);
+        if (matcher != null) {
+            this.timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
+            // If multiple triggers, use last one.
+            if (matcher.group(52) != null) {
+                this.trigger = matcher.group(52);
+            } else if (matcher.group(50) != null) {
+                this.trigger = matcher.group(50);
+            } else if (matcher.group(16) != null || matcher.group(89) != null) {
+                this.trigger = JdkRegEx.TRIGGER_CLASS_HISTOGRAM;
+            } else if (matcher.group(14) != null) {
+                this.trigger = matcher.group(14);
+            }
+            this.old = Integer.parseInt(matcher.group(72));
+            this.oldEnd = Integer.parseInt(matcher.group(73));
+            this.oldAllocation = Integer.parseInt(matcher.group(74));
+            this.young = Integer.parseInt(matcher.group(98)) - this.old;
+            this.youngEnd = Integer.parseInt(matcher.group(99)) - this.oldEnd;
+            this.youngAvailable = Integer.parseInt(matcher.group(100)) - this.oldAllocation;
+            this.permGen = Integer.parseInt(matcher.group(102));
+            this.permGenEnd = Integer.parseInt(matcher.group(103));
+            this.permGenAllocation = Integer.parseInt(matcher.group(104));
+            if (matcher.group(105) != null) {
+                super.setIncrementalMode(true);
+            }
+            this.duration = JdkMath.parseSecsToMicros(matcher.group(106));
+        } else if ((matcher = PatternRegistry.match(REGEX_GC, logEntry)) != null) {
+            this.timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
+            // If multiple triggers, use last one.
+            if (matcher.group(75) != null) {
+                this.trigger = matcher.group(75);
+            } else if (matcher.group(30) != null) {
+                this.trigger = matcher.group(30);
+            } else if (matcher.group(14) != null) {
+                this.trigger = matcher.group(14);
+            } else {
+                // assume promotion failure
+                this.trigger = JdkRegEx.TRIGGER_PROMOTION_FAILED;
+            }
+            this.young = Integer.parseInt(matcher.group(31));
+            // No data to determine young end size.
+            this.youngEnd = 0;
+            this.youngAvailable = Integer.parseInt(matcher.group(33));
+
+            // use young block duration for truncated events
+            if (matcher.group(113) == null) {
+                this.duration = JdkMath.parseSecsToMicros(matcher.group(34));
             }
-        } else if (logEntry.matches(REGEX_GC)) {
-            Pattern pattern = Pattern.compile(REGEX_GC);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                this.timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                // If multiple triggers, use last one.
-                if (matcher.group(75) != null) {
-                    this.trigger = matcher.group(75);
-                } else if (matcher.group(30) != null) {
-                    this.trigger = matcher.group(30);
-                } else if (matcher.group(14) != null) {
-                    this.trigger = matcher.group(14);
-                } else {
-                    // assume promotion failure
-                    this.trigger = JdkRegEx.TRIGGER_PROMOTION_FAILED;
-                }
-                this.young = Integer.parseInt(matcher.group(31));
-                // No data to determine young end size.
-                this.youngEnd = 0;
-                this.youngAvailable = Integer.parseInt(matcher.group(33));
-
-                // use young block duration for truncated events
-                if (matcher.group(113) == null) {
-                    this.duration = JdkMath.convertSecsToMicros(matcher.group(34)).intValue();
-                }
 
-                // old block after young
-                if (matcher.group(76) != null) {
-                    this.old = Integer.parseInt(matcher.group(77));
-                    this.oldEnd = Integer.parseInt(matcher.group(78));
-                    this.oldAllocation = Integer.parseInt(matcher.group(79));
-                    if (matcher.group(105) != null) {
-                        this.youngEnd = Integer.parseInt(matcher.group(105)) - this.oldEnd;
-                    }
-                } else {
-                    if (matcher.group(103) != null) {
-                        this.old = Integer.parseInt(matcher.group(104)) - this.young;
-                        // No data to determine old end size.
-                        this.oldEnd = 0;
-                        this.oldAllocation = Integer.parseInt(matcher.group(106)) - this.youngAvailable;
-                    }
-                }
-                // perm/metaspace data
-                if (matcher.group(107) != null) {
-                    this.permGen = Integer.parseInt(matcher.group(109));
-                    this.permGenEnd = Integer.parseInt(matcher.group(110));
-                    this.permGenAllocation = Integer.parseInt(matcher.group(111));
-                }
-                if (matcher.group(112) != null) {
-                    super.setIncrementalMode(true);
+            // old block after young
+            if (matcher.group(76) != null) {
+                this.old = Integer.parseInt(matcher.group(77));
+                this.oldEnd = Integer.parseInt(matcher.group(78));
+                this.oldAllocation = Integer.parseInt(matcher.group(79));
+                if (matcher.group(105) != null) {
+                    this.youngEnd = Integer.parseInt(matcher.group(105)) - this.oldEnd;
                 }
-                if (matcher.group(113) != null) {
-                    this.duration = JdkMath.convertSecsToMicros(matcher.group(113)).intValue();
+            } else {
+                if (matcher.group(103) != null) {
+                    this.old = Integer.parseInt(matcher.group(104)) - this.young;
+                    // No data to determine old end size.
+                    this.oldEnd = 0;
+                    this.oldAllocation = Integer.parseInt(matcher.group(106)) - this.youngAvailable;
                 }
             }
+            // perm/metaspace data
+            if (matcher.group(107) != null) {
+                this.permGen = Integer.parseInt(matcher.group(109));
+                this.permGenEnd = Integer.parseInt(matcher.group(110));
+                this.permGenAllocation = Integer.parseInt(matcher.group(111));
+            }
+            if (matcher.group(112) != null) {
+                super.setIncrementalMode(true);
+            }
+            if (matcher.group(113) != null) {
+                this.duration = JdkMath.parseSecsToMicros(matcher.group(113));
+            }
         }
     }
 
@@ -492,6 +485,6 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return logLine.matches(REGEX_FULL_GC) || logLine.matches(REGEX_GC);
+        return PatternRegistry.matches(REGEX_FULL_GC, logLine) || PatternRegistry.matches(REGEX_GC, logLine);
     }
 }
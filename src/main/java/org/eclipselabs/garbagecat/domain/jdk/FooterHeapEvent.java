@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
@@ -234,7 +235,7 @@ public class FooterHeapEvent implements ThrowAwayEvent {
     public static final boolean match(String logLine) {
         boolean match = false;
         for (int i = 0; i < REGEX.length; i++) {
-            if (logLine.matches(REGEX[i])) {
+            if (PatternRegistry.matches(REGEX[i], logLine)) {
                 match = true;
                 break;
             }
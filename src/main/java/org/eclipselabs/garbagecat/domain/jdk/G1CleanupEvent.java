@@ -22,6 +22,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -74,7 +75,7 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
             + JdkRegEx.SIZE_BYTES + " bytes \\(\\d{1,2}\\.\\d{2} %\\)\\])?(" + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE
             + "\\(" + JdkRegEx.SIZE + "\\))?, " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -128,20 +129,20 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
      */
     public G1CleanupEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             if (matcher.group(18) != null) {
                 combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
                 combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)), matcher.group(24).charAt(0));
                 combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(25)),
                         matcher.group(27).charAt(0));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(28)).intValue();
+            duration = JdkMath.parseSecsToMicros(matcher.group(28));
             if (matcher.group(31) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(32)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(33)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(34)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(32));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(33));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(34));
             }
         }
     }
@@ -214,6 +215,6 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -21,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -118,7 +119,7 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
             + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\))?(, avg " + JdkRegEx.PERCENT + ", " + JdkRegEx.DURATION
             + "\\])?" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -139,13 +140,10 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
     public G1ConcurrentEvent(String logEntry) {
         this.logEntry = logEntry;
 
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(27) != null) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(27)).longValue();
-                }
+        Matcher matcher = PatternRegistry.match(REGEX, logEntry);
+        if (matcher != null) {
+            if (matcher.group(27) != null) {
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(27));
             }
         }
     }
@@ -170,6 +168,6 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -21,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -60,7 +61,7 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
     private static final String REGEX = "^(" + JdkRegEx.DATESTAMP + ": )?" + JdkRegEx.TIMESTAMP + ": \\[GC remark, "
             + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -100,14 +101,14 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
      */
     public G1RemarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-            duration = JdkMath.convertSecsToMicros(matcher.group(13)).intValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
+            duration = JdkMath.parseSecsToMicros(matcher.group(13));
             if (matcher.group(16) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(17)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(18)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(19)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(17));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(18));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(19));
             }
         }
     }
@@ -168,6 +169,6 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -49,7 +50,7 @@ public class GcLockerEvent implements LogEvent {
      */
     private static final String REGEX = "^GC locker: Trying a full collection because scavenge failed$";
 
-    private static final Pattern PATTERN = Pattern.compile(REGEX);
+    private static final Pattern PATTERN = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -92,6 +93,6 @@ public class GcLockerEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+        return PatternRegistry.matches(PATTERN, logLine);
     }
 }
@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -57,7 +58,7 @@ public class GcOverheadLimitEvent implements LogEvent {
      */
     private static final String REGEX = "^GC time (would exceed|is exceeding) GCTimeLimit of 98%$";
 
-    private static final Pattern PATTERN = Pattern.compile(REGEX);
+    private static final Pattern PATTERN = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -100,6 +101,6 @@ public class GcOverheadLimitEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+        return PatternRegistry.matches(PATTERN, logLine);
     }
 }
@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -68,7 +69,7 @@ public class HeaderCommandLineFlagsEvent implements LogEvent {
      */
     private static final String REGEX = "^(CommandLine flags:|  JAVA_OPTS:)[ ]{1,2}(.+)$";
 
-    private static Pattern pattern = Pattern.compile(HeaderCommandLineFlagsEvent.REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(HeaderCommandLineFlagsEvent.REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -111,7 +112,7 @@ public class HeaderCommandLineFlagsEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 
     /**
@@ -119,8 +120,8 @@ public class HeaderCommandLineFlagsEvent implements LogEvent {
      */
     public String getJvmOptions() {
         String jvmOptions = null;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
             jvmOptions = matcher.group(2);
         }
         return jvmOptions;
@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -61,7 +62,7 @@ public class HeaderMemoryEvent implements LogEvent {
     private static final String REGEX = "^Memory: (4|8)k page, physical " + SIZE + "\\(" + SIZE + " free\\)(, swap "
             + SIZE + "\\(" + SIZE + " free\\))?$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -102,8 +103,8 @@ public class HeaderMemoryEvent implements LogEvent {
     public HeaderMemoryEvent(String logEntry) {
         this.logEntry = logEntry;
         this.timestamp = 0L;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
             physicalMemory = Integer.parseInt(matcher.group(2));
             physicalMemoryFree = Integer.parseInt(matcher.group(3));
             if (matcher.group(4) != null) {
@@ -149,6 +150,6 @@ public class HeaderMemoryEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -54,7 +55,7 @@ public class HeaderVersionEvent implements LogEvent {
      */
     private static final String REGEX = "^(Java HotSpot\\(TM\\)|OpenJDK) .+$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -97,6 +98,6 @@ public class HeaderVersionEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -27,6 +27,7 @@ import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -182,7 +183,7 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
             + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\)\\], " + JdkRegEx.DURATION
             + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(ParallelCompactingOldEvent.REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(ParallelCompactingOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -192,9 +193,9 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
      */
     public ParallelCompactingOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             trigger = matcher.group(14);
             young = Integer.parseInt(matcher.group(16));
             youngEnd = Integer.parseInt(matcher.group(17));
@@ -206,11 +207,11 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
             permGen = Integer.parseInt(matcher.group(27));
             permGenEnd = Integer.parseInt(matcher.group(28));
             permGenAllocation = Integer.parseInt(matcher.group(29));
-            duration = JdkMath.convertSecsToMicros(matcher.group(30)).intValue();
+            duration = JdkMath.parseSecsToMicros(matcher.group(30));
             if (matcher.group(33) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(34)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(35)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(36)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(34));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(35));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(36));
             }
         }
     }
@@ -311,6 +312,6 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -25,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -157,7 +158,7 @@ public class ParallelScavengeEvent extends ParallelCollector
             + JdkRegEx.SIZE_K + "\\)\\] " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\), "
             + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(ParallelScavengeEvent.REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(ParallelScavengeEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -167,9 +168,9 @@ public class ParallelScavengeEvent extends ParallelCollector
      */
     public ParallelScavengeEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             trigger = matcher.group(15);
             young = Integer.parseInt(matcher.group(18));
             youngEnd = Integer.parseInt(matcher.group(19));
@@ -180,11 +181,11 @@ public class ParallelScavengeEvent extends ParallelCollector
             oldEnd = totalEnd - youngEnd;
             int totalAllocation = Integer.parseInt(matcher.group(23));
             oldAllocation = totalAllocation - youngAvailable;
-            duration = JdkMath.convertSecsToMicros(matcher.group(24)).intValue();
+            duration = JdkMath.parseSecsToMicros(matcher.group(24));
             if (matcher.group(27) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(28)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(28));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(29));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(30));
             }
         }
     }
@@ -273,6 +274,6 @@ public class ParallelScavengeEvent extends ParallelCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -158,7 +159,7 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
             + "\\)[,]{0,1} \\[(PSPermGen|Metaspace): " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\("
             + JdkRegEx.SIZE_K + "\\)\\], " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(ParallelSerialOldEvent.REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(ParallelSerialOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -168,9 +169,9 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
      */
     public ParallelSerialOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            this.timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            this.timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
 
             if (matcher.group(14) != null) {
                 this.trigger = matcher.group(14);
@@ -187,7 +188,7 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
             this.permGenEnd = Integer.parseInt(matcher.group(27));
             this.permGenAllocation = Integer.parseInt(matcher.group(28));
 
-            this.duration = JdkMath.convertSecsToMicros(matcher.group(29)).intValue();
+            this.duration = JdkMath.parseSecsToMicros(matcher.group(29));
         }
     }
 
@@ -323,6 +324,6 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -46,7 +47,7 @@ public class ReferenceGcEvent implements ThrowAwayEvent {
     private static final String REGEX = "^(" + JdkRegEx.DATESTAMP + ": )?" + JdkRegEx.TIMESTAMP
             + ":.+(Soft|Weak|Phantom)Reference.+$";
 
-    private static final Pattern pattern = Pattern.compile(ReferenceGcEvent.REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(ReferenceGcEvent.REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -66,9 +67,9 @@ public class ReferenceGcEvent implements ThrowAwayEvent {
      */
     public ReferenceGcEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
         }
     }
 
@@ -92,6 +93,6 @@ public class ReferenceGcEvent implements ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
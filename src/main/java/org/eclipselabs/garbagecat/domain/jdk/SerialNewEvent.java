@@ -25,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -140,7 +141,7 @@ public class SerialNewEvent extends SerialCollector
             + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\), " + JdkRegEx.DURATION + "\\]"
             + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(SerialNewEvent.REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(SerialNewEvent.REGEX);
 
     /**
      * 
@@ -149,9 +150,9 @@ public class SerialNewEvent extends SerialCollector
      */
     public SerialNewEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             if (matcher.group(15) != null) {
                 trigger = matcher.group(15);
             }
@@ -164,7 +165,7 @@ public class SerialNewEvent extends SerialCollector
             oldEnd = totalEnd - youngEnd;
             int totalAllocation = Integer.parseInt(matcher.group(37));
             oldAllocation = totalAllocation - youngAvailable;
-            duration = JdkMath.convertSecsToMicros(matcher.group(38)).intValue();
+            duration = JdkMath.parseSecsToMicros(matcher.group(38));
         }
     }
 
@@ -248,6 +249,6 @@ public class SerialNewEvent extends SerialCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -174,7 +175,7 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
             + "\\), \\[(Perm |Metaspace): " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K
             + "\\)\\], " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(SerialOldEvent.REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(SerialOldEvent.REGEX);
 
     /**
      * Default constructor
@@ -189,9 +190,9 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
      */
     public SerialOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             // Use last trigger
             if (matcher.group(31) != null) {
                 trigger = matcher.group(31);
@@ -211,7 +212,7 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
             permGen = Integer.parseInt(matcher.group(61));
             permGenEnd = Integer.parseInt(matcher.group(62));
             permGenAllocation = Integer.parseInt(matcher.group(63));
-            duration = JdkMath.convertSecsToMicros(matcher.group(64)).intValue();
+            duration = JdkMath.parseSecsToMicros(matcher.group(64));
         }
     }
 
@@ -347,6 +348,6 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
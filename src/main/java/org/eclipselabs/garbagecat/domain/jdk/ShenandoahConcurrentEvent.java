@@ -21,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
@@ -122,7 +123,7 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector implements Lo
             + "precleaning|evacuation|update references|cleanup)( " + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\("
             + JdkRegEx.SIZE + "\\)[,]{0,1} " + UnifiedRegEx.DURATION + ")?[\\]]{0,1}[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -157,47 +158,43 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector implements Lo
      */
     public ShenandoahConcurrentEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                int duration = 0;
-                if (matcher.group(50) != null) {
-                    duration = JdkMath.convertMillisToMicros(matcher.group(50)).intValue();
-                }
+        Matcher matcher = PatternRegistry.match(REGEX, logEntry);
+        if (matcher != null) {
+            int duration = 0;
+            if (matcher.group(50) != null) {
+                duration = JdkMath.parseMillisToMicros(matcher.group(50));
+            }
 
-                if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
-                    long endTimestamp;
-                    if (matcher.group(13).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                        endTimestamp = Long.parseLong(matcher.group(29));
-                    } else if (matcher.group(13).matches(UnifiedRegEx.UPTIME)) {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(24)).longValue();
-                    } else {
-                        if (matcher.group(27) != null) {
-                            if (matcher.group(27).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                                endTimestamp = Long.parseLong(matcher.group(29));
-                            } else {
-                                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(28)).longValue();
-                            }
+            if (PatternRegistry.matches(UnifiedRegEx.DECORATOR, matcher.group(1))) {
+                long endTimestamp;
+                if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(13))) {
+                    endTimestamp = Long.parseLong(matcher.group(29));
+                } else if (PatternRegistry.matches(UnifiedRegEx.UPTIME, matcher.group(13))) {
+                    endTimestamp = JdkMath.parseSecsToMillis(matcher.group(24));
+                } else {
+                    if (matcher.group(27) != null) {
+                        if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(27))) {
+                            endTimestamp = Long.parseLong(matcher.group(29));
                         } else {
-                            // Datestamp only.
-                            endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(13));
+                            endTimestamp = JdkMath.parseSecsToMillis(matcher.group(28));
                         }
+                    } else {
+                        // Datestamp only.
+                        endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(13));
                     }
-                    timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                } else {
-                    // JDK8
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                }
-                if (matcher.group(40) != null) {
-                    combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(41)), matcher.group(43).charAt(0));
-                    combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(44)),
-                            matcher.group(46).charAt(0));
-                    combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(47)),
-                            matcher.group(49).charAt(0));
                 }
-
+                timestamp = endTimestamp - JdkMath.truncateMicrosToMillis(duration);
+            } else {
+                // JDK8
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             }
+            if (matcher.group(40) != null) {
+                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(41)), matcher.group(43).charAt(0));
+                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(44)), matcher.group(46).charAt(0));
+                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(47)),
+                        matcher.group(49).charAt(0));
+            }
+
         }
     }
 
@@ -233,6 +230,6 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector implements Lo
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
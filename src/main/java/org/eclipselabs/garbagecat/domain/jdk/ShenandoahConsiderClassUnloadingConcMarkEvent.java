@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
@@ -60,7 +61,7 @@ public class ShenandoahConsiderClassUnloadingConcMarkEvent extends ShenandoahCol
             + " Consider -XX:\\+ClassUnloadingWithConcurrentMark if large pause times are "
             + "observed on class-unloading sensitive workloads[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -81,25 +82,22 @@ public class ShenandoahConsiderClassUnloadingConcMarkEvent extends ShenandoahCol
     public ShenandoahConsiderClassUnloadingConcMarkEvent(String logEntry) {
         this.logEntry = logEntry;
 
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    timestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                } else {
-                    if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            timestamp = Long.parseLong(matcher.group(17));
-                        } else {
-                            timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                        }
+        Matcher matcher = PatternRegistry.match(REGEX, logEntry);
+        if (matcher != null) {
+            if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(1))) {
+                timestamp = Long.parseLong(matcher.group(13));
+            } else if (PatternRegistry.matches(UnifiedRegEx.UPTIME, matcher.group(1))) {
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
+            } else {
+                if (matcher.group(15) != null) {
+                    if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(15))) {
+                        timestamp = Long.parseLong(matcher.group(17));
                     } else {
-                        // Datestamp only.
-                        timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
+                        timestamp = JdkMath.parseSecsToMillis(matcher.group(16));
                     }
+                } else {
+                    // Datestamp only.
+                    timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
                 }
             }
         }
@@ -125,6 +123,6 @@ public class ShenandoahConsiderClassUnloadingConcMarkEvent extends ShenandoahCol
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
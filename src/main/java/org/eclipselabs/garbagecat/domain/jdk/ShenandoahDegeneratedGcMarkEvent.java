@@ -21,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
@@ -83,7 +84,7 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
     private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Pause Degenerated GC \\(Mark\\) "
             + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + UnifiedRegEx.DURATION + "[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -93,34 +94,30 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
      */
     public ShenandoahDegeneratedGcMarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                long endTimestamp;
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    endTimestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                } else {
-                    if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            endTimestamp = Long.parseLong(matcher.group(17));
-                        } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                        }
+        Matcher matcher = PatternRegistry.match(REGEX, logEntry);
+        if (matcher != null) {
+            long endTimestamp;
+            if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(1))) {
+                endTimestamp = Long.parseLong(matcher.group(13));
+            } else if (PatternRegistry.matches(UnifiedRegEx.UPTIME, matcher.group(1))) {
+                endTimestamp = JdkMath.parseSecsToMillis(matcher.group(12));
+            } else {
+                if (matcher.group(15) != null) {
+                    if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(15))) {
+                        endTimestamp = Long.parseLong(matcher.group(17));
                     } else {
-                        // Datestamp only.
-                        endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
+                        endTimestamp = JdkMath.parseSecsToMillis(matcher.group(16));
                     }
+                } else {
+                    // Datestamp only.
+                    endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
                 }
-                duration = JdkMath.convertMillisToMicros(matcher.group(34)).intValue();
-                timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(25)), matcher.group(27).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(28)), matcher.group(30).charAt(0));
-                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(31)),
-                        matcher.group(33).charAt(0));
             }
+            duration = JdkMath.parseMillisToMicros(matcher.group(34));
+            timestamp = endTimestamp - JdkMath.truncateMicrosToMillis(duration);
+            combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(25)), matcher.group(27).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(28)), matcher.group(30).charAt(0));
+            combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(31)), matcher.group(33).charAt(0));
         }
     }
 
@@ -176,6 +173,6 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
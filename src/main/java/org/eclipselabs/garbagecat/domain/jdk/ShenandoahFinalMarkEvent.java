@@ -20,6 +20,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
@@ -115,7 +116,7 @@ public class ShenandoahFinalMarkEvent extends ShenandoahCollector implements Blo
             + ") [\\[]{0,1}Pause Final Mark( \\(update refs\\))?( \\(process weakrefs\\))?[,]{0,1} "
             + UnifiedRegEx.DURATION + "[\\]]{0,1}[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -125,34 +126,31 @@ public class ShenandoahFinalMarkEvent extends ShenandoahCollector implements Blo
      */
     public ShenandoahFinalMarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                duration = JdkMath.convertMillisToMicros(matcher.group(39)).intValue();
-                if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
-                    long endTimestamp;
-                    if (matcher.group(13).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                        endTimestamp = Long.parseLong(matcher.group(29));
-                    } else if (matcher.group(13).matches(UnifiedRegEx.UPTIME)) {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(24)).longValue();
-                    } else {
-                        if (matcher.group(27) != null) {
-                            if (matcher.group(27).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                                endTimestamp = Long.parseLong(matcher.group(29));
-                            } else {
-                                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(28)).longValue();
-                            }
+        Matcher matcher = PatternRegistry.match(REGEX, logEntry);
+        if (matcher != null) {
+            duration = JdkMath.parseMillisToMicros(matcher.group(39));
+            if (PatternRegistry.matches(UnifiedRegEx.DECORATOR, matcher.group(1))) {
+                long endTimestamp;
+                if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(13))) {
+                    endTimestamp = Long.parseLong(matcher.group(29));
+                } else if (PatternRegistry.matches(UnifiedRegEx.UPTIME, matcher.group(13))) {
+                    endTimestamp = JdkMath.parseSecsToMillis(matcher.group(24));
+                } else {
+                    if (matcher.group(27) != null) {
+                        if (PatternRegistry.matches(UnifiedRegEx.UPTIMEMILLIS, matcher.group(27))) {
+                            endTimestamp = Long.parseLong(matcher.group(29));
                         } else {
-                            // Datestamp only.
-                            endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(13));
+                            endTimestamp = JdkMath.parseSecsToMillis(matcher.group(28));
                         }
+                    } else {
+                        // Datestamp only.
+                        endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(13));
                     }
-                    timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                } else {
-                    // JDK8
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
                 }
+                timestamp = endTimestamp - JdkMath.truncateMicrosToMillis(duration);
+            } else {
+                // JDK8
+                timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             }
         }
     }
@@ -197,6 +195,6 @@ public class ShenandoahFinalMarkEvent extends ShenandoahCollector implements Blo
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
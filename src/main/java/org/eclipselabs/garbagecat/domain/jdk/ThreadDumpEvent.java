@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -133,7 +134,7 @@ public class ThreadDumpEvent implements ThrowAwayEvent {
 
     static {
         for (int i = 0; i < REGEX.length; i++)
-            PATTERN[i] = Pattern.compile(REGEX[i]);
+            PATTERN[i] = PatternRegistry.getPattern(REGEX[i]);
     }
 
     /**
@@ -22,6 +22,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -109,7 +110,7 @@ public class VerboseGcOldEvent extends UnknownCollector
             + JdkRegEx.SIZE + ")\\((" + JdkRegEx.SIZE_K + "|" + JdkRegEx.SIZE + ")\\), " + JdkRegEx.DURATION
             + "\\]?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(VerboseGcOldEvent.REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(VerboseGcOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -119,27 +120,27 @@ public class VerboseGcOldEvent extends UnknownCollector
      */
     public VerboseGcOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = PatternRegistry.match(pattern, logEntry);
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(matcher.group(12));
             trigger = matcher.group(14);
-            if (matcher.group(16).matches(JdkRegEx.SIZE_K)) {
+            if (PatternRegistry.matches(JdkRegEx.SIZE_K, matcher.group(16))) {
                 combinedBegin = Integer.parseInt(matcher.group(17));
             } else {
                 combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(18)), matcher.group(20).charAt(0));
             }
-            if (matcher.group(21).matches(JdkRegEx.SIZE_K)) {
+            if (PatternRegistry.matches(JdkRegEx.SIZE_K, matcher.group(21))) {
                 combinedEnd = Integer.parseInt(matcher.group(22));
             } else {
                 combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(23)), matcher.group(25).charAt(0));
             }
-            if (matcher.group(26).matches(JdkRegEx.SIZE_K)) {
+            if (PatternRegistry.matches(JdkRegEx.SIZE_K, matcher.group(26))) {
                 combinedAllocation = Integer.parseInt(matcher.group(27));
             } else {
                 combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(28)),
                         matcher.group(30).charAt(0));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(31)).intValue();
+            duration = JdkMath.parseSecsToMicros(matcher.group(31));
         }
     }
 
@@ -199,6 +200,6 @@ public class VerboseGcOldEvent extends UnknownCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return PatternRegistry.matches(pattern, logLine);
     }
 }
@@ -17,7 +17,8 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 
 /**
  * <p>
@@ -54,10 +55,10 @@ public class HeapRegionSizeEvent implements UnifiedLogging, ThrowAwayEvent {
     /**
      * Regular expressions defining the logging.
      */
-    private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " (Heap )?[r|R]egion(s)?( size)?:( \\d{1,4} x)? "
+    private static final String REGEX = "^ (Heap )?[r|R]egion(s)?( size)?:( \\d{1,4} x)? "
             + JdkRegEx.SIZE + "$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -100,6 +101,7 @@ public class HeapRegionSizeEvent implements UnifiedLogging, ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && PatternRegistry.matches(pattern, decorator.getBody());
     }
 }
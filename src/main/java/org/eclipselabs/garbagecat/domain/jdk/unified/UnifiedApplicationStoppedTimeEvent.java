@@ -18,8 +18,8 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 
 /**
  * <p>
@@ -85,13 +85,12 @@ public class UnifiedApplicationStoppedTimeEvent extends ApplicationStoppedTimeEv
     /**
      * Regular expressions defining the logging.
      */
-    private static final String REGEX = "^" + UnifiedRegEx.DECORATOR
-            + " Total time for which application threads were stopped: (\\d{1,4}[\\.\\,]\\d{7}) seconds, "
-            + "Stopping threads took: (\\d{1,4}[\\.\\,]\\d{7}) seconds[ ]*$";
+    private static final String REGEX = "^ Total time for which application threads were stopped: "
+            + "(\\d{1,4}[\\.\\,]\\d{7}) seconds, Stopping threads took: (\\d{1,4}[\\.\\,]\\d{7}) seconds[ ]*$";
     /**
      * RegEx pattern.
      */
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -102,25 +101,11 @@ public class UnifiedApplicationStoppedTimeEvent extends ApplicationStoppedTimeEv
     public UnifiedApplicationStoppedTimeEvent(String logEntry) {
         super(logEntry);
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                timestamp = Long.parseLong(matcher.group(13));
-            } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-            } else {
-                if (matcher.group(15) != null) {
-                    if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                        timestamp = Long.parseLong(matcher.group(17));
-                    } else {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                    }
-                } else {
-                    // Datestamp only.
-                    timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
-                }
-            }
-            duration = JdkMath.convertSecsToMicros(matcher.group(25)).intValue();
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logEntry);
+        Matcher matcher = decorator != null ? PatternRegistry.match(pattern, decorator.getBody()) : null;
+        if (matcher != null) {
+            timestamp = decorator.getTimestamp();
+            duration = JdkMath.parseSecsToMicros(matcher.group(1));
         }
     }
 
@@ -165,7 +150,8 @@ public class UnifiedApplicationStoppedTimeEvent extends ApplicationStoppedTimeEv
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && PatternRegistry.matches(pattern, decorator.getBody());
     }
 
 }
@@ -14,7 +14,8 @@ package org.eclipselabs.garbagecat.domain.jdk.unified;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 
 /**
  * <p>
@@ -29,7 +30,7 @@ public class UnifiedBlankLineEvent implements ThrowAwayEvent {
     /**
      * Regular expression defining the logging.
      */
-    private static final String REGEX = UnifiedRegEx.BLANK_LINE;
+    private static final String REGEX = "^\\s*$";
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -72,6 +73,7 @@ public class UnifiedBlankLineEvent implements ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX);
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && PatternRegistry.matches(REGEX, decorator.getBody());
     }
 }
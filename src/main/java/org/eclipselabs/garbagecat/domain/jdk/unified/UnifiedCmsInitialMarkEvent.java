@@ -22,8 +22,9 @@ import org.eclipselabs.garbagecat.domain.jdk.CmsCollector;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -96,10 +97,10 @@ public class UnifiedCmsInitialMarkEvent extends CmsCollector
     /**
      * Regular expressions defining the logging.
      */
-    private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Pause Initial Mark " + JdkRegEx.SIZE + "->"
+    private static final String REGEX = "^ Pause Initial Mark " + JdkRegEx.SIZE + "->"
             + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + UnifiedRegEx.DURATION + TimesData.REGEX_JDK9 + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -109,34 +110,16 @@ public class UnifiedCmsInitialMarkEvent extends CmsCollector
      */
     public UnifiedCmsInitialMarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                long endTimestamp;
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    endTimestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                } else {
-                    if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            endTimestamp = Long.parseLong(matcher.group(17));
-                        } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                        }
-                    } else {
-                        // Datestamp only.
-                        endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
-                    }
-                }
-                duration = JdkMath.convertMillisToMicros(matcher.group(34)).intValue();
-                timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                if (matcher.group(35) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(36)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(37)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(38)).intValue();
-                }
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logEntry);
+        Matcher matcher = decorator != null ? PatternRegistry.match(REGEX, decorator.getBody()) : null;
+        if (matcher != null) {
+            long endTimestamp = decorator.getTimestamp();
+            duration = JdkMath.parseMillisToMicros(matcher.group(10));
+            timestamp = endTimestamp - JdkMath.truncateMicrosToMillis(duration);
+            if (matcher.group(11) != null) {
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(12));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(13));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(14));
             }
         }
     }
@@ -197,6 +180,7 @@ public class UnifiedCmsInitialMarkEvent extends CmsCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && PatternRegistry.matches(pattern, decorator.getBody());
     }
 }
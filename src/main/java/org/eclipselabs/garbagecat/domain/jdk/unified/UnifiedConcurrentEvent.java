@@ -17,6 +17,8 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.jdk.UnknownCollector;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
@@ -158,15 +160,14 @@ public class UnifiedConcurrentEvent extends UnknownCollector implements UnifiedL
      */
     private static final String[] REGEX = {
             //
-            "^" + UnifiedRegEx.DECORATOR + " Concurrent Cycle( " + UnifiedRegEx.DURATION + ")?$",
+            "^ Concurrent Cycle( " + UnifiedRegEx.DURATION + ")?$",
             //
-            "^" + UnifiedRegEx.DECORATOR
-                    + " Concurrent (Cleanup for Next Mark|Clear Claimed Marks|Create Live Data|Mark|Mark Abort|"
+            "^ Concurrent (Cleanup for Next Mark|Clear Claimed Marks|Create Live Data|Mark|Mark Abort|"
                     + "Mark From Roots|Preclean|Rebuild Remembered Sets|Reset|Scan Root Regions|Sweep)( \\("
                     + JdkRegEx.TIMESTAMP + "s(, " + JdkRegEx.TIMESTAMP + "s)?\\))?( " + UnifiedRegEx.DURATION + ")?"
                     + TimesData.REGEX_JDK9 + "?[ ]*$",
             //
-            "^" + UnifiedRegEx.DECORATOR + " Using \\d workers of \\d for (full compaction|marking)$"
+            "^ Using \\d workers of \\d for (full compaction|marking)$"
             //
     };
 
@@ -191,10 +192,13 @@ public class UnifiedConcurrentEvent extends UnknownCollector implements UnifiedL
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        for (int i = 0; i < REGEX.length; i++) {
-            if (logLine.matches(REGEX[i])) {
-                match = true;
-                break;
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        if (decorator != null) {
+            for (int i = 0; i < REGEX.length; i++) {
+                if (PatternRegistry.matches(REGEX[i], decorator.getBody())) {
+                    match = true;
+                    break;
+                }
             }
         }
         return match;
@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
@@ -23,8 +22,9 @@ import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -62,13 +62,13 @@ public class UnifiedG1CleanupEvent extends G1Collector
     /**
      * Regular expressions defining the logging.
      */
-    private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Pause Cleanup " + JdkRegEx.SIZE + "->"
+    private static final String REGEX = "^ Pause Cleanup " + JdkRegEx.SIZE + "->"
             + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + UnifiedRegEx.DURATION + "[ ]*$";
 
     /**
      * Regular expression defining preprocessed logging.
      */
-    private static final String REGEX_PREPROCESSED = "^" + UnifiedRegEx.DECORATOR + " Pause Cleanup " + JdkRegEx.SIZE
+    private static final String REGEX_PREPROCESSED = "^ Pause Cleanup " + JdkRegEx.SIZE
             + "->" + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + UnifiedRegEx.DURATION + TimesData.REGEX_JDK9
             + "[ ]*$";
 
@@ -125,70 +125,34 @@ public class UnifiedG1CleanupEvent extends G1Collector
      */
     public UnifiedG1CleanupEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                long endTimestamp;
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    endTimestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                } else {
-                    if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            endTimestamp = Long.parseLong(matcher.group(17));
-                        } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                        }
-                    } else {
-                        // Datestamp only.
-                        endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
-                    }
-                }
-                combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(25)), matcher.group(27).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(28)), matcher.group(30).charAt(0));
-                combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(31)),
-                        matcher.group(33).charAt(0));
-                duration = JdkMath.roundMillis(matcher.group(34)).intValue();
-                timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logEntry);
+        Matcher matcher = decorator != null ? PatternRegistry.match(REGEX, decorator.getBody()) : null;
+        if (matcher != null) {
+            long endTimestamp = decorator.getTimestamp();
+            combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(1)), matcher.group(3).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(4)), matcher.group(6).charAt(0));
+            combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(7)),
+                    matcher.group(9).charAt(0));
+            duration = JdkMath.parseMillis(matcher.group(10));
+            timestamp = endTimestamp - JdkMath.truncateMicrosToMillis(duration);
+            timeUser = TimesData.NO_DATA;
+            timeReal = TimesData.NO_DATA;
+        } else if (decorator != null
+                && (matcher = PatternRegistry.match(REGEX_PREPROCESSED, decorator.getBody())) != null) {
+            timestamp = decorator.getTimestamp();
+            combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(1)), matcher.group(3).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(4)), matcher.group(6).charAt(0));
+            combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(7)),
+                    matcher.group(9).charAt(0));
+            duration = JdkMath.parseMillis(matcher.group(10));
+            if (matcher.group(11) != null) {
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(12));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(13));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(14));
+            } else {
                 timeUser = TimesData.NO_DATA;
                 timeReal = TimesData.NO_DATA;
             }
-        } else if (logEntry.matches(REGEX_PREPROCESSED)) {
-            Pattern pattern = Pattern.compile(REGEX_PREPROCESSED);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    timestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                } else {
-                    if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            timestamp = Long.parseLong(matcher.group(17));
-                        } else {
-                            timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                        }
-                    } else {
-                        // Datestamp only.
-                        timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
-                    }
-                }
-                combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(25)), matcher.group(27).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(28)), matcher.group(30).charAt(0));
-                combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(31)),
-                        matcher.group(33).charAt(0));
-                duration = JdkMath.roundMillis(matcher.group(34)).intValue();
-                if (matcher.group(35) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(36)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(37)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(38)).intValue();
-                } else {
-                    timeUser = TimesData.NO_DATA;
-                    timeReal = TimesData.NO_DATA;
-                }
-            }
         }
     }
 
@@ -260,6 +224,8 @@ public class UnifiedG1CleanupEvent extends G1Collector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.matches(REGEX_PREPROCESSED);
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && (PatternRegistry.matches(REGEX, decorator.getBody())
+                || PatternRegistry.matches(REGEX_PREPROCESSED, decorator.getBody()));
     }
 }
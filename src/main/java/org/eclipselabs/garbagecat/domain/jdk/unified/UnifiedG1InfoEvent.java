@@ -14,7 +14,8 @@ package org.eclipselabs.garbagecat.domain.jdk.unified;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 
 /**
  * <p>
@@ -41,7 +42,7 @@ public class UnifiedG1InfoEvent implements UnifiedLogging, ThrowAwayEvent {
      */
     private static final String REGEX[] = {
             //
-            "^" + UnifiedRegEx.DECORATOR + " Pause Initial Mark \\(" + UnifiedG1YoungInitialMarkEvent.TRIGGER + "\\)$",
+            "^ Pause Initial Mark \\(" + UnifiedG1YoungInitialMarkEvent.TRIGGER + "\\)$",
             //
     };
 
@@ -87,10 +88,13 @@ public class UnifiedG1InfoEvent implements UnifiedLogging, ThrowAwayEvent {
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        for (int i = 0; i < REGEX.length; i++) {
-            if (logLine.matches(REGEX[i])) {
-                match = true;
-                break;
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        if (decorator != null) {
+            for (int i = 0; i < REGEX.length; i++) {
+                if (PatternRegistry.matches(REGEX[i], decorator.getBody())) {
+                    match = true;
+                    break;
+                }
             }
         }
         return match;
@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
@@ -25,8 +24,9 @@ import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -62,7 +62,7 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
     /**
      * Regular expression defining standard logging (no details).
      */
-    private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Pause Initial Mark \\(" + TRIGGER + "\\) "
+    private static final String REGEX = "^ Pause Initial Mark \\(" + TRIGGER + "\\) "
             + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + UnifiedRegEx.DURATION
             + TimesData.REGEX_JDK9 + "[ ]*$";
 
@@ -123,38 +123,20 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
      */
     public UnifiedG1YoungInitialMarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                long endTimestamp;
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    endTimestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                } else {
-                    if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            endTimestamp = Long.parseLong(matcher.group(17));
-                        } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                        }
-                    } else {
-                        // Datestamp only.
-                        endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
-                    }
-                }
-                trigger = matcher.group(25);
-                combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(26)), matcher.group(28).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(29)), matcher.group(31).charAt(0));
-                combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(32)),
-                        matcher.group(34).charAt(0));
-                duration = JdkMath.convertMillisToMicros(matcher.group(35)).intValue();
-                timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(37)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(38)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(39)).intValue();
-            }
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logEntry);
+        Matcher matcher = decorator != null ? PatternRegistry.match(REGEX, decorator.getBody()) : null;
+        if (matcher != null) {
+            long endTimestamp = decorator.getTimestamp();
+            trigger = matcher.group(1);
+            combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(2)), matcher.group(4).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(5)), matcher.group(7).charAt(0));
+            combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(8)),
+                    matcher.group(10).charAt(0));
+            duration = JdkMath.parseMillisToMicros(matcher.group(11));
+            timestamp = endTimestamp - JdkMath.truncateMicrosToMillis(duration);
+            timeUser = JdkMath.parseSecsToCentis(matcher.group(13));
+            timeSys = JdkMath.parseSecsToCentis(matcher.group(14));
+            timeReal = JdkMath.parseSecsToCentis(matcher.group(15));
         }
     }
 
@@ -230,6 +212,7 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX);
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && PatternRegistry.matches(REGEX, decorator.getBody());
     }
 }
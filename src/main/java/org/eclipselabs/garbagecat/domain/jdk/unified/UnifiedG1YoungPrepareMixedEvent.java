@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
@@ -26,8 +25,9 @@ import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -62,9 +62,8 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
     /**
      * Regular expression defining preprocessed logging.
      */
-    private static final String REGEX_PREPROCESSED = "^" + UnifiedRegEx.DECORATOR
-            + " Pause Young \\(Prepare Mixed\\) \\(" + TRIGGER + "\\) " + "Metaspace: " + JdkRegEx.SIZE + "->"
-            + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\("
+    private static final String REGEX_PREPROCESSED = "^ Pause Young \\(Prepare Mixed\\) \\(" + TRIGGER + "\\) "
+            + "Metaspace: " + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\("
             + JdkRegEx.SIZE + "\\) " + UnifiedRegEx.DURATION + TimesData.REGEX_JDK9 + "[ ]*$";
 
     /**
@@ -140,39 +139,24 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
      */
     public UnifiedG1YoungPrepareMixedEvent(String logEntry) {
         this.logEntry = logEntry;
-
-        Pattern pattern = Pattern.compile(REGEX_PREPROCESSED);
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                timestamp = Long.parseLong(matcher.group(13));
-            } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-            } else {
-                if (matcher.group(15) != null) {
-                    if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                        timestamp = Long.parseLong(matcher.group(17));
-                    } else {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                    }
-                } else {
-                    // Datestamp only.
-                    timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
-                }
-            }
-            trigger = matcher.group(25);
-            permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(26)), matcher.group(28).charAt(0));
-            permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(29)), matcher.group(31).charAt(0));
-            permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(32)), matcher.group(34).charAt(0));
-            combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(35)), matcher.group(37).charAt(0));
-            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(38)), matcher.group(40).charAt(0));
-            combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(41)),
-                    matcher.group(43).charAt(0));
-            duration = JdkMath.convertMillisToMicros(matcher.group(44)).intValue();
-            if (matcher.group(45) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(46)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(47)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(48)).intValue();
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logEntry);
+
+        Matcher matcher = decorator != null ? PatternRegistry.match(REGEX_PREPROCESSED, decorator.getBody()) : null;
+        if (matcher != null) {
+            timestamp = decorator.getTimestamp();
+            trigger = matcher.group(1);
+            permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(2)), matcher.group(4).charAt(0));
+            permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(5)), matcher.group(7).charAt(0));
+            permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(8)), matcher.group(10).charAt(0));
+            combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(11)), matcher.group(13).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(14)), matcher.group(16).charAt(0));
+            combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(17)),
+                    matcher.group(19).charAt(0));
+            duration = JdkMath.parseMillisToMicros(matcher.group(20));
+            if (matcher.group(21) != null) {
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(22));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(23));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(24));
             } else {
                 timeUser = TimesData.NO_DATA;
                 timeReal = TimesData.NO_DATA;
@@ -276,6 +260,7 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX_PREPROCESSED);
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && PatternRegistry.matches(REGEX_PREPROCESSED, decorator.getBody());
     }
 }
@@ -27,8 +27,9 @@ import org.eclipselabs.garbagecat.domain.jdk.UnknownCollector;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -144,11 +145,11 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
     /**
      * Regular expressions defining the logging.
      */
-    private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Pause Full \\(" + TRIGGER + "\\)( Metaspace: "
+    private static final String REGEX = "^ Pause Full \\(" + TRIGGER + "\\)( Metaspace: "
             + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\))? " + JdkRegEx.SIZE + "->"
             + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\) " + UnifiedRegEx.DURATION + TimesData.REGEX_JDK9 + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = PatternRegistry.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -158,42 +159,27 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
      */
     public UnifiedOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            long endTimestamp;
-            if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                endTimestamp = Long.parseLong(matcher.group(13));
-            } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-            } else {
-                if (matcher.group(15) != null) {
-                    if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                        endTimestamp = Long.parseLong(matcher.group(17));
-                    } else {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
-                    }
-                } else {
-                    // Datestamp only.
-                    endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
-                }
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logEntry);
+        Matcher matcher = decorator != null ? PatternRegistry.match(pattern, decorator.getBody()) : null;
+        if (matcher != null) {
+            long endTimestamp = decorator.getTimestamp();
+            trigger = matcher.group(1);
+            if (matcher.group(3) != null) {
+                permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(4)), matcher.group(6).charAt(0));
+                permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(7)), matcher.group(9).charAt(0));
+                permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(10)),
+                        matcher.group(12).charAt(0));
             }
-            trigger = matcher.group(25);
-            if (matcher.group(27) != null) {
-                permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(28)), matcher.group(30).charAt(0));
-                permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(31)), matcher.group(33).charAt(0));
-                permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(34)),
-                        matcher.group(36).charAt(0));
-            }
-            combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(37)), matcher.group(39).charAt(0));
-            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(40)), matcher.group(42).charAt(0));
-            combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(43)),
-                    matcher.group(45).charAt(0));
-            duration = JdkMath.convertMillisToMicros(matcher.group(46)).intValue();
-            timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-            if (matcher.group(47) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(48)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(49)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(50)).intValue();
+            combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(13)), matcher.group(15).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
+            combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)),
+                    matcher.group(21).charAt(0));
+            duration = JdkMath.parseMillisToMicros(matcher.group(22));
+            timestamp = endTimestamp - JdkMath.truncateMicrosToMillis(duration);
+            if (matcher.group(23) != null) {
+                timeUser = JdkMath.parseSecsToCentis(matcher.group(24));
+                timeSys = JdkMath.parseSecsToCentis(matcher.group(25));
+                timeReal = JdkMath.parseSecsToCentis(matcher.group(26));
             }
         }
     }
@@ -294,6 +280,7 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        return decorator != null && PatternRegistry.matches(pattern, decorator.getBody());
     }
 }
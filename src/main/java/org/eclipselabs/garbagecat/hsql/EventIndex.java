@@ -0,0 +1,297 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * <p>
+ * Binary index of the JVM data stored for a log, written next to the first log file with a {@link #FILE_EXTENSION}
+ * extension, so the log can be analyzed again (e.g. with a different throughput threshold or JVM options) without
+ * parsing the logging.
+ * </p>
+ * 
+ * <p>
+ * The index is keyed by the size, last modified time, and CRC-32 checksum of each log file and the options that change
+ * the data stored (preprocessing, JVM start date/time, and reordering). An index with a different key is not read. The
+ * index file is memory mapped, and the event columns are copied from it in bulk (see
+ * {@link EventStore#read(ByteBuffer)}). Log entries read from a log file are kept as references to the log lines, so
+ * the index is small compared to the log file.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class EventIndex {
+
+    /**
+     * Index file name extension.
+     */
+    public static final String FILE_EXTENSION = ".gcidx";
+
+    /**
+     * The first bytes of an index file ("GCIX").
+     */
+    private static final int MAGIC = 0x47434958;
+
+    /**
+     * Index file format version. Increase when the data written changes.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The log files, in log order.
+     */
+    private List<File> logFiles;
+
+    /**
+     * Whether or not the logging is preprocessed.
+     */
+    private boolean preprocess;
+
+    /**
+     * The date and time the JVM was started, or null.
+     */
+    private Date jvmStartDate;
+
+    /**
+     * Whether or not logging is allowed to be reordered by timestamp.
+     */
+    private boolean reorder;
+
+    /**
+     * The index file.
+     */
+    private File indexFile;
+
+    /**
+     * The key written at the start of the index file, or null if not determined yet.
+     */
+    private byte[] key;
+
+    /**
+     * The last preprocessed log line not processed, read from the index file.
+     */
+    private String lastLogLineUnprocessed;
+
+    /**
+     * @param logFiles
+     *            The log files, in log order.
+     * @param preprocess
+     *            Whether or not the logging is preprocessed.
+     * @param jvmStartDate
+     *            The date and time the JVM was started, or null.
+     * @param reorder
+     *            Whether or not logging is allowed to be reordered by timestamp.
+     */
+    public EventIndex(List<File> logFiles, boolean preprocess, Date jvmStartDate, boolean reorder) {
+        if (logFiles == null || logFiles.isEmpty())
+            throw new IllegalArgumentException("logFiles empty!!");
+
+        this.logFiles = logFiles;
+        this.preprocess = preprocess;
+        this.jvmStartDate = jvmStartDate;
+        this.reorder = reorder;
+        indexFile = new File(logFiles.get(0).getPath() + FILE_EXTENSION);
+    }
+
+    /**
+     * @return The index file.
+     */
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * @return The last preprocessed log line not processed (see {@link #read()}), or null if none.
+     */
+    public String getLastLogLineUnprocessed() {
+        return lastLogLineUnprocessed;
+    }
+
+    /**
+     * Read the index.
+     * 
+     * @return The JVM data stored for the log, or null if there is no index with the same key (e.g. a log file
+     *         changed since the index was written).
+     */
+    public JvmDao read() {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        RandomAccessFile randomAccessFile = null;
+        try {
+            randomAccessFile = new RandomAccessFile(indexFile, "r");
+            FileChannel channel = randomAccessFile.getChannel();
+            byte[] key = getKey();
+            if (channel.size() < key.length || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            // The mapping stays valid after the file is closed
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] indexKey = new byte[key.length];
+            buffer.get(indexKey);
+            if (!Arrays.equals(key, indexKey)) {
+                return null;
+            }
+            String lastLogLineUnprocessed = EventStore.readString(buffer);
+            JvmDao jvmDao = new JvmDao();
+            int logFileCount = buffer.getInt();
+            for (int i = 0; i < logFileCount; i++) {
+                int logFile = buffer.getInt();
+                if (logFile < 0 || logFile >= logFiles.size()) {
+                    throw new IllegalStateException("Log files not correct.");
+                }
+                jvmDao.addLogFile(logFiles.get(logFile));
+            }
+            jvmDao.read(buffer);
+            this.lastLogLineUnprocessed = lastLogLineUnprocessed;
+            return jvmDao;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } catch (BufferUnderflowException e) {
+            // Index file not complete
+            return null;
+        } catch (IllegalStateException e) {
+            // Index file not complete or not written by this version
+            return null;
+        } catch (IllegalArgumentException e) {
+            // Index file written by a different version (e.g. an analysis no longer exists)
+            return null;
+        } finally {
+            if (randomAccessFile != null) {
+                try {
+                    randomAccessFile.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the index. The index is not written if log entries are read from a log file that is not one of the log
+     * files (e.g. logging stored before).
+     * 
+     * @param jvmDao
+     *            The JVM data stored for the log.
+     * @param lastLogLineUnprocessed
+     *            The last preprocessed log line not processed, or null if none.
+     * @return true if the index is written, false otherwise.
+     * @throws IOException
+     *             if the index cannot be written.
+     */
+    public boolean write(JvmDao jvmDao, String lastLogLineUnprocessed) throws IOException {
+        if (jvmDao == null)
+            throw new IllegalArgumentException("jvmDao == null!!");
+
+        List<File> jvmDaoLogFiles = jvmDao.getLogFiles();
+        int[] logFileIndexes = new int[jvmDaoLogFiles.size()];
+        for (int i = 0; i < logFileIndexes.length; i++) {
+            logFileIndexes[i] = logFiles.indexOf(jvmDaoLogFiles.get(i));
+            if (logFileIndexes[i] == -1) {
+                return false;
+            }
+        }
+        // Written to a temporary file first so an index file is always complete
+        File tempFile = new File(indexFile.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), 65536));
+        try {
+            out.write(getKey());
+            EventStore.writeString(out, lastLogLineUnprocessed);
+            out.writeInt(logFileIndexes.length);
+            for (int i = 0; i < logFileIndexes.length; i++) {
+                out.writeInt(logFileIndexes[i]);
+            }
+            jvmDao.write(out);
+        } finally {
+            out.close();
+        }
+        if (indexFile.exists() && !indexFile.delete()) {
+            tempFile.delete();
+            throw new IOException("Cannot replace index file: " + indexFile.getPath());
+        }
+        if (!tempFile.renameTo(indexFile)) {
+            tempFile.delete();
+            throw new IOException("Cannot write index file: " + indexFile.getPath());
+        }
+        return true;
+    }
+
+    /**
+     * @return The key written at the start of the index file.
+     * @throws IOException
+     *             if a log file cannot be read.
+     */
+    private byte[] getKey() throws IOException {
+        if (key == null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeBoolean(preprocess);
+            out.writeBoolean(jvmStartDate != null);
+            out.writeLong(jvmStartDate == null ? 0 : jvmStartDate.getTime());
+            out.writeBoolean(reorder);
+            out.writeInt(logFiles.size());
+            for (int i = 0; i < logFiles.size(); i++) {
+                File logFile = logFiles.get(i);
+                out.writeLong(logFile.length());
+                out.writeLong(logFile.lastModified());
+                out.writeLong(getChecksum(logFile));
+            }
+            out.close();
+            key = bytes.toByteArray();
+        }
+        return key;
+    }
+
+    /**
+     * @param file
+     *            The file.
+     * @return The CRC-32 checksum of the file contents.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    private static long getChecksum(File file) throws IOException {
+        CRC32 checksum = new CRC32();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[65536];
+            int length = in.read(buffer);
+            while (length != -1) {
+                checksum.update(buffer, 0, length);
+                length = in.read(buffer);
+            }
+        } finally {
+            in.close();
+        }
+        return checksum.getValue();
+    }
+}
@@ -0,0 +1,755 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.MappedLogFile;
+
+/**
+ * <p>
+ * In-memory event table stored column by column in growable primitive arrays, one element per event in the order the
+ * events were added.
+ * </p>
+ * 
+ * <p>
+ * Event names are stored as a <code>byte</code> index into a dictionary of the names seen. A log entry read from a log
+ * file is stored as a reference to the log line (log file, position, and length), and read from the file again only
+ * when needed (see {@link MappedLogFile}), so an event costs about 26 bytes. Any other log entry (e.g. a log line
+ * created by preprocessing) is stored as UTF-8 bytes appended to a single array. Summary data (e.g. maximum pause) is
+ * not computed from the events; see <code>JvmDao</code>.
+ * </p>
+ * 
+ * <p>
+ * Events can be added out of timestamp order (e.g. reordered logging). The maximum time an event is added after an
+ * event with a later timestamp is tracked as events are added, and events are put in timestamp order through a
+ * reordering window holding only the events within that time of the latest timestamp (see
+ * {@link TimestampIterator}), so logging that is only slightly out of order is ordered in a small, fixed amount of
+ * memory.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class EventStore {
+
+    /**
+     * Initial number of events the columns can hold.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Maximum number of different event names (the range of an unsigned byte).
+     */
+    private static final int MAX_EVENT_NAMES = 256;
+
+    /**
+     * Maximum number of log files referenced (the range of an unsigned byte, less 0 for no log file).
+     */
+    public static final int MAX_LOG_FILES = 255;
+
+    /**
+     * Log entry character encoding.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * The number of bytes written for each event (see {@link #write(DataOutput)}).
+     */
+    private static final int EVENT_BYTES = 26;
+
+    /**
+     * Maximum number of events in a reordering window (see {@link TimestampIterator}) before the rest of the events
+     * are ordered all at once.
+     */
+    private static final int MAX_REORDER_WINDOW = 1 << 20;
+
+    /**
+     * The number of events stored.
+     */
+    private int size;
+
+    /**
+     * Event timestamps (milliseconds).
+     */
+    private long[] timestamps;
+
+    /**
+     * Event durations (microseconds).
+     */
+    private int[] durations;
+
+    /**
+     * Event name dictionary indexes.
+     */
+    private byte[] eventNames;
+
+    /**
+     * Event name dictionary.
+     */
+    private List<String> eventNameDictionary;
+
+    /**
+     * Event name dictionary indexes by event name.
+     */
+    private Map<String, Integer> eventNameIndexes;
+
+    /**
+     * Log files log entries are read from, shared with other event stores.
+     */
+    private List<MappedLogFile> logFiles;
+
+    /**
+     * Log entry log file indexes + 1, or 0 for a log entry stored in <code>logEntries</code>.
+     */
+    private byte[] logEntryFiles;
+
+    /**
+     * Log entry positions in the log file, or offsets in <code>logEntries</code>.
+     */
+    private long[] logEntryPositions;
+
+    /**
+     * Log entry lengths (bytes).
+     */
+    private int[] logEntryLengths;
+
+    /**
+     * Log entries not in a log file, encoded as UTF-8, one after the other.
+     */
+    private byte[] logEntries;
+
+    /**
+     * The number of bytes used in <code>logEntries</code>.
+     */
+    private int logEntriesSize;
+
+    /**
+     * The latest event timestamp (milliseconds).
+     */
+    private long maxTimestamp;
+
+    /**
+     * The maximum time an event was added after an event with a later timestamp (milliseconds), or 0 if the events
+     * were added in timestamp order.
+     */
+    private long maxDisorder;
+
+    /**
+     * @param logFiles
+     *            Log files log entries are read from (see {@link #add(LogEvent, int, int, long)}).
+     */
+    public EventStore(List<MappedLogFile> logFiles) {
+        if (logFiles == null)
+            throw new IllegalArgumentException("logFiles == null!!");
+
+        this.logFiles = logFiles;
+        timestamps = new long[INITIAL_CAPACITY];
+        durations = new int[INITIAL_CAPACITY];
+        eventNames = new byte[INITIAL_CAPACITY];
+        eventNameDictionary = new ArrayList<String>();
+        eventNameIndexes = new HashMap<String, Integer>();
+        logEntryFiles = new byte[INITIAL_CAPACITY];
+        logEntryPositions = new long[INITIAL_CAPACITY];
+        logEntryLengths = new int[INITIAL_CAPACITY];
+        logEntries = new byte[INITIAL_CAPACITY * 16];
+    }
+
+    /**
+     * @return The number of events stored.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add an event, storing the log entry.
+     * 
+     * @param event
+     *            The event to add.
+     * @param duration
+     *            The event duration (microseconds).
+     * @return The index of the event.
+     */
+    public int add(LogEvent event, int duration) {
+        return add(event, duration, -1, -1);
+    }
+
+    /**
+     * Add an event.
+     * 
+     * @param event
+     *            The event to add.
+     * @param duration
+     *            The event duration (microseconds).
+     * @param logFile
+     *            The index in the log files of the log file with the event log entry, or -1 to store the log entry.
+     * @param logLinePosition
+     *            The position of the event log entry in the log file. The log entry must be ASCII.
+     * @return The index of the event.
+     */
+    public int add(LogEvent event, int duration, int logFile, long logLinePosition) {
+        if (size == timestamps.length) {
+            grow(size + (size >> 1));
+        }
+        timestamps[size] = event.getTimestamp();
+        updateDisorder(size);
+        durations[size] = duration;
+        eventNames[size] = getEventNameIndex(event.getName());
+        if (logFile >= 0) {
+            logEntryFiles[size] = (byte) (logFile + 1);
+            logEntryPositions[size] = logLinePosition;
+            logEntryLengths[size] = event.getLogEntry().length();
+        } else {
+            byte[] logEntry = event.getLogEntry() == null ? new byte[0] : event.getLogEntry().getBytes(UTF_8);
+            if (logEntries.length - logEntriesSize < logEntry.length) {
+                long capacity = Math.max((long) logEntriesSize + logEntry.length,
+                        logEntries.length + (logEntries.length >> 1));
+                if (capacity > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Log entries exceed maximum size.");
+                }
+                logEntries = Arrays.copyOf(logEntries, (int) capacity);
+            }
+            System.arraycopy(logEntry, 0, logEntries, logEntriesSize, logEntry.length);
+            logEntryFiles[size] = 0;
+            logEntryPositions[size] = logEntriesSize;
+            logEntryLengths[size] = logEntry.length;
+            logEntriesSize += logEntry.length;
+        }
+        return size++;
+    }
+
+    /**
+     * Increase the number of events the columns can hold.
+     * 
+     * @param capacity
+     *            The number of events.
+     */
+    private void grow(int capacity) {
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        eventNames = Arrays.copyOf(eventNames, capacity);
+        logEntryFiles = Arrays.copyOf(logEntryFiles, capacity);
+        logEntryPositions = Arrays.copyOf(logEntryPositions, capacity);
+        logEntryLengths = Arrays.copyOf(logEntryLengths, capacity);
+    }
+
+    /**
+     * Update the latest timestamp and the maximum disorder for an event added.
+     * 
+     * @param index
+     *            The event index.
+     */
+    private void updateDisorder(int index) {
+        long timestamp = timestamps[index];
+        if (index == 0 || timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+        } else if (maxTimestamp - timestamp > maxDisorder) {
+            maxDisorder = maxTimestamp - timestamp;
+        }
+    }
+
+    /**
+     * @param eventName
+     *            The event name.
+     * @return The dictionary index of the event name, added to the dictionary if not already there.
+     */
+    private byte getEventNameIndex(String eventName) {
+        Integer index = eventNameIndexes.get(eventName);
+        if (index == null) {
+            if (eventNameDictionary.size() == MAX_EVENT_NAMES) {
+                throw new IllegalStateException("Too many event names.");
+            }
+            index = eventNameDictionary.size();
+            eventNameDictionary.add(eventName);
+            eventNameIndexes.put(eventName, index);
+        }
+        return index.byteValue();
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event timestamp (milliseconds).
+     */
+    public long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event duration (microseconds).
+     */
+    public int getDuration(int index) {
+        return durations[index];
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event name.
+     */
+    public String getEventName(int index) {
+        return eventNameDictionary.get(eventNames[index] & 0xff);
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event log entry.
+     */
+    public String getLogEntry(int index) {
+        if (logEntryFiles[index] != 0) {
+            return logFiles.get((logEntryFiles[index] & 0xff) - 1).readLine(logEntryPositions[index],
+                    logEntryLengths[index]);
+        }
+        return new String(logEntries, (int) logEntryPositions[index], logEntryLengths[index], UTF_8);
+    }
+
+    /**
+     * @param eventName
+     *            The event name, or null for all events.
+     * @return The indexes of the events with the event name, in timestamp order. Events with the same timestamp are in
+     *         the order they were added.
+     */
+    public int[] getIndexesByTimestamp(String eventName) {
+        int[] indexes = new int[size];
+        int count = 0;
+        TimestampIterator iterator = getTimestampIterator(eventName);
+        while (iterator.hasNext()) {
+            indexes[count++] = iterator.next();
+        }
+        return count == size ? indexes : Arrays.copyOf(indexes, count);
+    }
+
+    /**
+     * @return The maximum time an event was added after an event with a later timestamp (milliseconds), or 0 if the
+     *         events were added in timestamp order.
+     */
+    public long getMaxDisorder() {
+        return maxDisorder;
+    }
+
+    /**
+     * @param eventName
+     *            The event name, or null for all events.
+     * @return An iterator over the indexes of the events with the event name, in timestamp order. Events with the same
+     *         timestamp are in the order they were added. Events must not be added while iterating.
+     */
+    public TimestampIterator getTimestampIterator(String eventName) {
+        return new TimestampIterator(eventName, MAX_REORDER_WINDOW, 0);
+    }
+
+    /**
+     * @param start
+     *            The number of events to skip.
+     * @return An iterator over the indexes of the events added after the first <code>start</code> events, in timestamp
+     *         order, or null if the events were not added in timestamp order (so the events after the first
+     *         <code>start</code> in timestamp order are not the events added last). Events must not be added while
+     *         iterating.
+     */
+    public TimestampIterator getTimestampIterator(int start) {
+        if (start < 0 || start > size)
+            throw new IllegalArgumentException("start out of range!!");
+
+        return maxDisorder == 0 ? new TimestampIterator(null, MAX_REORDER_WINDOW, start) : null;
+    }
+
+    /**
+     * @param eventName
+     *            The event name, or null for all events.
+     * @param maxWindow
+     *            Maximum number of events in the reordering window.
+     * @return An iterator over the indexes of the events with the event name, in timestamp order.
+     */
+    TimestampIterator getTimestampIterator(String eventName, int maxWindow) {
+        return new TimestampIterator(eventName, maxWindow, 0);
+    }
+
+    /**
+     * Write the events, to be read back with {@link #read(ByteBuffer)}. Log entries in log files are written as
+     * references to the log lines, so they can only be read back with the same log files.
+     * 
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the events cannot be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(eventNameDictionary.size());
+        for (int i = 0; i < eventNameDictionary.size(); i++) {
+            writeString(out, eventNameDictionary.get(i));
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeLong(timestamps[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeInt(durations[i]);
+        }
+        out.write(eventNames, 0, size);
+        out.write(logEntryFiles, 0, size);
+        for (int i = 0; i < size; i++) {
+            out.writeLong(logEntryPositions[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeInt(logEntryLengths[i]);
+        }
+        out.writeInt(logEntriesSize);
+        out.write(logEntries, 0, logEntriesSize);
+    }
+
+    /**
+     * Replace the events with events written with {@link #write(DataOutput)}. The columns are copied from the buffer
+     * (e.g. a memory mapped file) in bulk.
+     * 
+     * @param buffer
+     *            The buffer, positioned at the events. Positioned after the events when done.
+     * @throws IllegalStateException
+     *             if the buffer does not hold the events written.
+     */
+    public void read(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0 || (long) size * EVENT_BYTES > buffer.remaining()) {
+            throw new IllegalStateException("Events not correct.");
+        }
+        eventNameDictionary.clear();
+        eventNameIndexes.clear();
+        int eventNameCount = buffer.getInt();
+        for (int i = 0; i < eventNameCount; i++) {
+            getEventNameIndex(readString(buffer));
+        }
+        int capacity = Math.max(size, INITIAL_CAPACITY);
+        timestamps = new long[capacity];
+        buffer.asLongBuffer().get(timestamps, 0, size);
+        buffer.position(buffer.position() + size * 8);
+        durations = new int[capacity];
+        buffer.asIntBuffer().get(durations, 0, size);
+        buffer.position(buffer.position() + size * 4);
+        eventNames = new byte[capacity];
+        buffer.get(eventNames, 0, size);
+        logEntryFiles = new byte[capacity];
+        buffer.get(logEntryFiles, 0, size);
+        logEntryPositions = new long[capacity];
+        buffer.asLongBuffer().get(logEntryPositions, 0, size);
+        buffer.position(buffer.position() + size * 8);
+        logEntryLengths = new int[capacity];
+        buffer.asIntBuffer().get(logEntryLengths, 0, size);
+        buffer.position(buffer.position() + size * 4);
+        int logEntriesSize = buffer.getInt();
+        if (logEntriesSize < 0 || logEntriesSize > buffer.remaining()) {
+            throw new IllegalStateException("Log entries not correct.");
+        }
+        logEntries = new byte[Math.max(logEntriesSize, INITIAL_CAPACITY * 16)];
+        buffer.get(logEntries, 0, logEntriesSize);
+        this.logEntriesSize = logEntriesSize;
+        this.size = size;
+        maxDisorder = 0;
+        for (int i = 0; i < size; i++) {
+            updateDisorder(i);
+        }
+    }
+
+    /**
+     * Write a string that can be null, to be read back with {@link #readString(ByteBuffer)}.
+     * 
+     * @param out
+     *            The output.
+     * @param string
+     *            The string, or null.
+     * @throws IOException
+     *             if the string cannot be written.
+     */
+    static void writeString(DataOutput out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @param buffer
+     *            The buffer, positioned at a string written with {@link #writeString(DataOutput, String)}.
+     *            Positioned after the string when done.
+     * @return The string, or null.
+     */
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("String not correct.");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Remove all events.
+     */
+    public void clear() {
+        size = 0;
+        logEntriesSize = 0;
+        maxDisorder = 0;
+    }
+
+    /**
+     * <p>
+     * Iterates over event indexes in timestamp order. Events with the same timestamp are in the order they were added.
+     * </p>
+     * 
+     * <p>
+     * Events are read in the order added into a reordering window (a binary heap ordered by timestamp, then index). An
+     * event can be added at most {@link EventStore#getMaxDisorder()} before the latest timestamp read so far, so the
+     * earliest event in the window is next once its timestamp is that far before the latest timestamp. When events are
+     * added in timestamp order, each event is next as soon as it is read. If the window would grow larger than the
+     * maximum window (e.g. logging from two JVM runs appended one after the other), all of the remaining events are
+     * put in the window at once, which orders them the same way as a heap sort.
+     * </p>
+     */
+    public class TimestampIterator {
+
+        /**
+         * Maximum number of events in the reordering window before the remaining events are all added.
+         */
+        private int maxWindow;
+
+        /**
+         * Whether or not all event names are included.
+         */
+        private boolean allEventNames;
+
+        /**
+         * The dictionary index of the event name included.
+         */
+        private byte eventNameIndex;
+
+        /**
+         * The index of the next event to read into the window.
+         */
+        private int position;
+
+        /**
+         * The latest timestamp of the events read (milliseconds).
+         */
+        private long latestTimestamp;
+
+        /**
+         * The reordering window, a binary heap of event indexes.
+         */
+        private int[] window;
+
+        /**
+         * The number of events in the window.
+         */
+        private int windowSize;
+
+        /**
+         * The index of the next event, or -1 if there are no more events.
+         */
+        private int next;
+
+        /**
+         * @param eventName
+         *            The event name, or null for all events.
+         * @param maxWindow
+         *            Maximum number of events in the reordering window.
+         * @param start
+         *            The index of the first event to read into the window. Only events added in timestamp order can
+         *            be skipped.
+         */
+        private TimestampIterator(String eventName, int maxWindow, int start) {
+            if (maxWindow < 1)
+                throw new IllegalArgumentException("maxWindow < 1!!");
+
+            this.maxWindow = maxWindow;
+            position = start;
+            allEventNames = eventName == null;
+            if (!allEventNames) {
+                Integer index = eventNameIndexes.get(eventName);
+                if (index == null) {
+                    // No events to read
+                    position = size;
+                } else {
+                    eventNameIndex = index.byteValue();
+                }
+            }
+            window = new int[Math.min(maxWindow, 64)];
+            next = advance();
+        }
+
+        /**
+         * @return true if there are more events, false otherwise.
+         */
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        /**
+         * @return The index of the next event.
+         * @throws NoSuchElementException
+         *             if there are no more events.
+         */
+        public int next() {
+            if (next == -1) {
+                throw new NoSuchElementException();
+            }
+            int index = next;
+            next = advance();
+            return index;
+        }
+
+        /**
+         * @return The index of the next event in timestamp order, or -1 if there are no more events.
+         */
+        private int advance() {
+            while (true) {
+                if (windowSize > 0 && (position == size || timestamps[window[0]] <= latestTimestamp - maxDisorder)) {
+                    return poll();
+                }
+                if (position == size) {
+                    return -1;
+                }
+                int index = position++;
+                if (index == 0 || timestamps[index] > latestTimestamp) {
+                    latestTimestamp = timestamps[index];
+                }
+                if (allEventNames || eventNames[index] == eventNameIndex) {
+                    if (maxDisorder == 0) {
+                        return index;
+                    }
+                    if (windowSize == maxWindow) {
+                        addRemaining(index);
+                    } else {
+                        offer(index);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Add an event and all of the remaining events to the window.
+         * 
+         * @param index
+         *            The index of the event.
+         */
+        private void addRemaining(int index) {
+            int count = windowSize + 1;
+            for (int i = position; i < size; i++) {
+                if (allEventNames || eventNames[i] == eventNameIndex) {
+                    count++;
+                }
+            }
+            window = Arrays.copyOf(window, count);
+            window[windowSize++] = index;
+            for (int i = position; i < size; i++) {
+                if (allEventNames || eventNames[i] == eventNameIndex) {
+                    window[windowSize++] = i;
+                }
+            }
+            position = size;
+            for (int i = windowSize / 2 - 1; i >= 0; i--) {
+                siftDown(i, window[i]);
+            }
+        }
+
+        /**
+         * Add an event to the window.
+         * 
+         * @param index
+         *            The index of the event.
+         */
+        private void offer(int index) {
+            if (windowSize == window.length) {
+                window = Arrays.copyOf(window, Math.min(maxWindow, window.length * 2));
+            }
+            int i = windowSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (isBefore(window[parent], index)) {
+                    break;
+                }
+                window[i] = window[parent];
+                i = parent;
+            }
+            window[i] = index;
+        }
+
+        /**
+         * Remove the earliest event from the window.
+         * 
+         * @return The index of the event.
+         */
+        private int poll() {
+            int index = window[0];
+            windowSize--;
+            if (windowSize > 0) {
+                siftDown(0, window[windowSize]);
+            }
+            return index;
+        }
+
+        /**
+         * Move an event down the heap to its place.
+         * 
+         * @param i
+         *            The heap position to start at.
+         * @param index
+         *            The index of the event.
+         */
+        private void siftDown(int i, int index) {
+            int half = windowSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < windowSize && isBefore(window[child + 1], window[child])) {
+                    child++;
+                }
+                if (isBefore(index, window[child])) {
+                    break;
+                }
+                window[i] = window[child];
+                i = child;
+            }
+            window[i] = index;
+        }
+
+        /**
+         * @param index1
+         *            An event index.
+         * @param index2
+         *            Another event index.
+         * @return true if the first event is ordered before the second event, false otherwise.
+         */
+        private boolean isBefore(int index1, int index2) {
+            long timestamp1 = timestamps[index1];
+            long timestamp2 = timestamps[index2];
+            return timestamp1 < timestamp2 || (timestamp1 == timestamp2 && index1 < index2);
+        }
+    }
+}
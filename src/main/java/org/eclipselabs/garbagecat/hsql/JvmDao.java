@@ -12,13 +12,13 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.hsql;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.OldData;
 import org.eclipselabs.garbagecat.domain.PermData;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.util.MappedLogFile;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -36,7 +37,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 
 /**
  * <p>
- * Manage storing and retrieving JVM data in an HSQL database.
+ * Manage storing and retrieving JVM data in in-memory <code>EventStore</code>s.
  * </p>
  * 
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
@@ -45,33 +46,14 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 public class JvmDao {
 
     /**
-     * SQL statement(s) to create table(s).
-     * 
-     * Notes:
-     * 
-     * 1) combined_space is given its own column, even though in most cases it can be computed from young_space +
-     * old_space, because some logging events log combined new + old sizes.
-     * 
+     * Blocking events.
      */
-    private static final String[] TABLES_CREATE_SQL = {
-            "create table blocking_event (id integer identity, "
-                    + "time_stamp bigint, event_name varchar(64), duration integer, young_space integer, "
-                    + "old_space integer, combined_space integer, perm_space integer, young_occupancy_init integer, "
-                    + "old_occupancy_init integer, combined_occupancy_init integer, perm_occupancy_init integer, "
-                    + "log_entry varchar(500))",
-            "create table application_stopped_time (id integer identity, "
-                    + "time_stamp bigint, event_name varchar(64), duration bigint, log_entry varchar(500))" };
+    private EventStore blockingEvents;
 
     /**
-     * SQL statement(s) to delete table(s).
+     * Stopped time events.
      */
-    private static final String[] TABLES_DELETE_SQL = { "delete from blocking_event ",
-            "delete from application_stopped_time " };
-
-    /**
-     * The database connection.
-     */
-    private static Connection connection;
+    private EventStore stoppedTimeEvents;
 
     /**
      * List of all event types associate with JVM run.
@@ -94,19 +76,89 @@ public class JvmDao {
     private List<String> unidentifiedLogLines;
 
     /**
-     * The number of inserts to batch before persisting to database.
+     * Log files event log entries are read from.
+     */
+    private List<MappedLogFile> logFiles;
+
+    /**
+     * The first blocking event added.
+     */
+    private BlockingEvent firstGcEvent;
+
+    /**
+     * The last blocking event added.
+     */
+    private BlockingEvent lastGcEvent;
+
+    /**
+     * The number of blocking events added.
+     */
+    private int blockingEventCount;
+
+    /**
+     * The maximum blocking event duration (microseconds).
+     */
+    private int maxGcDuration;
+
+    /**
+     * The total blocking event duration (microseconds).
+     */
+    private long totalGcDuration;
+
+    /**
+     * The maximum young space (kilobytes).
+     */
+    private int maxYoungSpace;
+
+    /**
+     * The maximum old space (kilobytes).
+     */
+    private int maxOldSpace;
+
+    /**
+     * The maximum young + old + combined space (kilobytes).
+     */
+    private int maxHeapSpace;
+
+    /**
+     * The maximum young + old + combined occupancy at the start of a blocking event (kilobytes).
      */
-    private static int batchSize = 100;
+    private int maxHeapOccupancy;
 
     /**
-     * Batch blocking database inserts for improved performance.
+     * The maximum perm/metaspace (kilobytes).
      */
-    private List<BlockingEvent> blockingBatch;
+    private int maxPermSpace;
 
     /**
-     * Batch stopped time database inserts for improved performance.
+     * The maximum perm/metaspace occupancy at the start of a blocking event (kilobytes).
      */
-    private List<ApplicationStoppedTimeEvent> stoppedTimeBatch;
+    private int maxPermOccupancy;
+
+    /**
+     * The first stopped time event added.
+     */
+    private ApplicationStoppedTimeEvent firstStoppedEvent;
+
+    /**
+     * The last stopped time event added.
+     */
+    private ApplicationStoppedTimeEvent lastStoppedEvent;
+
+    /**
+     * The number of stopped time events added.
+     */
+    private int stoppedTimeEventCount;
+
+    /**
+     * The maximum stopped time event duration (microseconds).
+     */
+    private int maxStoppedDuration;
+
+    /**
+     * The total stopped time event duration (microseconds).
+     */
+    private long totalStoppedDuration;
 
     /**
      * The JVM options for the JVM run.
@@ -169,57 +221,13 @@ public class JvmDao {
     private int maxHeapOccupancyNonBlocking;
 
     public JvmDao() {
-        try {
-            // Load database driver.
-            Class.forName("org.hsqldb.jdbcDriver");
-        } catch (ClassNotFoundException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Failed to load HSQLDB JDBC driver.");
-        }
-
-        try {
-            // Connect to database.
-
-            // Database server for development
-            // connection = DriverManager.getConnection("jdbc:hsqldb:hsql://localhost/xdb", "sa",
-            // "");
-
-            // In-process standalone mode for deployment.
-            connection = DriverManager.getConnection("jdbc:hsqldb:mem:gcdb", "sa", "");
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error accessing database.");
-        }
-
-        // Create tables
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_CREATE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_CREATE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            if (e.getMessage().startsWith("Table already exists")) {
-                cleanup();
-            } else {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error creating tables.");
-            }
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-
+        logFiles = new ArrayList<MappedLogFile>();
+        blockingEvents = new EventStore(logFiles);
+        stoppedTimeEvents = new EventStore(logFiles);
         eventTypes = new ArrayList<LogEventType>();
         collectorFamilies = new ArrayList<CollectorFamily>();
         analysis = new ArrayList<Analysis>();
         unidentifiedLogLines = new ArrayList<String>();
-        blockingBatch = new ArrayList<BlockingEvent>();
-        stoppedTimeBatch = new ArrayList<ApplicationStoppedTimeEvent>();
     }
 
     public List<String> getUnidentifiedLogLines() {
@@ -244,18 +252,141 @@ public class JvmDao {
         return collectorFamilies;
     }
 
+    /**
+     * Add a log file event log entries can be read from, so the log entries do not need to be stored.
+     * 
+     * @param logFile
+     *            The log file.
+     * @return The index of the log file to add events with, or -1 if no more log files can be added.
+     */
+    public synchronized int addLogFile(File logFile) {
+        for (int i = 0; i < logFiles.size(); i++) {
+            if (logFiles.get(i).getFile().equals(logFile)) {
+                return i;
+            }
+        }
+        if (logFiles.size() == EventStore.MAX_LOG_FILES) {
+            return -1;
+        }
+        logFiles.add(new MappedLogFile(logFile));
+        return logFiles.size() - 1;
+    }
+
+    /**
+     * @return The log files event log entries are read from, in the order added.
+     */
+    public synchronized List<File> getLogFiles() {
+        List<File> files = new ArrayList<File>(logFiles.size());
+        for (int i = 0; i < logFiles.size(); i++) {
+            files.add(logFiles.get(i).getFile());
+        }
+        return files;
+    }
+
+    /**
+     * Add a blocking event, storing the log entry.
+     * 
+     * @param event
+     *            The blocking event.
+     */
     public void addBlockingEvent(BlockingEvent event) {
-        if (blockingBatch.size() == batchSize) {
-            processBlockingBatch();
+        addBlockingEvent(event, -1, -1);
+    }
+
+    /**
+     * Add a blocking event, updating the blocking event summary.
+     * 
+     * @param event
+     *            The blocking event.
+     * @param logFile
+     *            The index of the log file with the event log entry (see {@link #addLogFile(File)}), or -1 to store
+     *            the log entry.
+     * @param logLinePosition
+     *            The position in the log file of the event log entry. The log entry must be ASCII.
+     */
+    public synchronized void addBlockingEvent(BlockingEvent event, int logFile, long logLinePosition) {
+        blockingEvents.add(event, event.getDuration(), logFile, logLinePosition);
+        int youngSpace = 0;
+        int youngOccupancyInit = 0;
+        if (event instanceof YoungData) {
+            youngSpace = ((YoungData) event).getYoungSpace();
+            youngOccupancyInit = ((YoungData) event).getYoungOccupancyInit();
+        }
+        int oldSpace = 0;
+        int oldOccupancyInit = 0;
+        if (event instanceof OldData) {
+            oldSpace = ((OldData) event).getOldSpace();
+            oldOccupancyInit = ((OldData) event).getOldOccupancyInit();
+        }
+        int combinedSpace = 0;
+        int combinedOccupancyInit = 0;
+        if (event instanceof CombinedData) {
+            combinedSpace = ((CombinedData) event).getCombinedSpace();
+            combinedOccupancyInit = ((CombinedData) event).getCombinedOccupancyInit();
+        }
+        int permSpace = 0;
+        int permOccupancyInit = 0;
+        if (event instanceof PermData) {
+            permSpace = ((PermData) event).getPermSpace();
+            permOccupancyInit = ((PermData) event).getPermOccupancyInit();
         }
-        blockingBatch.add(event);
+        if (blockingEventCount == 0) {
+            firstGcEvent = event;
+            maxGcDuration = event.getDuration();
+            maxYoungSpace = youngSpace;
+            maxOldSpace = oldSpace;
+            maxHeapSpace = youngSpace + oldSpace + combinedSpace;
+            maxHeapOccupancy = youngOccupancyInit + oldOccupancyInit + combinedOccupancyInit;
+            maxPermSpace = permSpace;
+            maxPermOccupancy = permOccupancyInit;
+        } else {
+            int heapOccupancy = youngOccupancyInit + oldOccupancyInit + combinedOccupancyInit;
+            maxGcDuration = Math.max(maxGcDuration, event.getDuration());
+            maxYoungSpace = Math.max(maxYoungSpace, youngSpace);
+            maxOldSpace = Math.max(maxOldSpace, oldSpace);
+            maxHeapSpace = Math.max(maxHeapSpace, youngSpace + oldSpace + combinedSpace);
+            maxHeapOccupancy = Math.max(maxHeapOccupancy, heapOccupancy);
+            maxPermSpace = Math.max(maxPermSpace, permSpace);
+            maxPermOccupancy = Math.max(maxPermOccupancy, permOccupancyInit);
+        }
+        lastGcEvent = event;
+        totalGcDuration += event.getDuration();
+        blockingEventCount++;
     }
 
+    /**
+     * Add a stopped time event, storing the log entry.
+     * 
+     * @param event
+     *            The stopped time event.
+     */
     public void addStoppedTimeEvent(ApplicationStoppedTimeEvent event) {
-        if (stoppedTimeBatch.size() == batchSize) {
-            processStoppedTimeBatch();
+        addStoppedTimeEvent(event, -1, -1);
+    }
+
+    /**
+     * Add a stopped time event, updating the stopped time event summary.
+     * 
+     * @param event
+     *            The stopped time event.
+     * @param logFile
+     *            The index of the log file with the event log entry (see {@link #addLogFile(File)}), or -1 to store
+     *            the log entry.
+     * @param logLinePosition
+     *            The position in the log file of the event log entry. The log entry must be ASCII.
+     */
+    public synchronized void addStoppedTimeEvent(ApplicationStoppedTimeEvent event, int logFile,
+            long logLinePosition) {
+        stoppedTimeEvents.add(event, event.getDuration(), logFile, logLinePosition);
+        if (stoppedTimeEventCount == 0) {
+            firstStoppedEvent = event;
+            maxStoppedDuration = event.getDuration();
+        } else {
+            maxStoppedDuration = Math.max(maxStoppedDuration, event.getDuration());
         }
-        stoppedTimeBatch.add(event);
+        lastStoppedEvent = event;
+        totalStoppedDuration += event.getDuration();
+        stoppedTimeEventCount++;
     }
 
     /**
@@ -438,157 +569,13 @@ public class JvmDao {
         this.maxHeapOccupancyNonBlocking = maxHeapOccupancyNonBlocking;
     }
 
-    /**
-     * Add blocking events to database.
-     */
-    public synchronized void processBlockingBatch() {
-
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertBlockingEvent = "insert into blocking_event (time_stamp, event_name, "
-                    + "duration, young_space, old_space, combined_space, perm_space, young_occupancy_init, "
-                    + "old_occupancy_init, combined_occupancy_init, perm_occupancy_init, log_entry) "
-                    + "values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?,?,?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int EVENT_NAME_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int YOUNG_SPACE_INDEX = 4;
-            final int OLD_SPACE_INDEX = 5;
-            final int COMBINED_SPACE_INDEX = 6;
-            final int PERM_SPACE_INDEX = 7;
-            final int YOUNG_OCCUPANCY_INIT_INDEX = 8;
-            final int OLD_OCCUPANCY_INIT_INDEX = 9;
-            final int COMBINED_OCCUPANCY_INIT_INDEX = 10;
-            final int PERM_OCCUPANCY_INIT_INDEX = 11;
-            final int LOG_ENTRY_INDEX = 12;
-
-            pst = connection.prepareStatement(sqlInsertBlockingEvent);
-
-            for (int i = 0; i < blockingBatch.size(); i++) {
-                BlockingEvent event = blockingBatch.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                pst.setString(EVENT_NAME_INDEX, event.getName());
-                pst.setLong(DURATION_INDEX, event.getDuration());
-                if (event instanceof YoungData) {
-                    pst.setInt(YOUNG_SPACE_INDEX, ((YoungData) event).getYoungSpace());
-                    pst.setInt(YOUNG_OCCUPANCY_INIT_INDEX, ((YoungData) event).getYoungOccupancyInit());
-                } else {
-                    pst.setInt(YOUNG_SPACE_INDEX, 0);
-                    pst.setInt(YOUNG_OCCUPANCY_INIT_INDEX, 0);
-                }
-                if (event instanceof OldData) {
-                    pst.setInt(OLD_SPACE_INDEX, ((OldData) event).getOldSpace());
-                    pst.setInt(OLD_OCCUPANCY_INIT_INDEX, ((OldData) event).getOldOccupancyInit());
-                } else {
-                    pst.setInt(OLD_SPACE_INDEX, 0);
-                    pst.setInt(OLD_OCCUPANCY_INIT_INDEX, 0);
-                }
-                if (event instanceof CombinedData) {
-                    pst.setInt(COMBINED_SPACE_INDEX, ((CombinedData) event).getCombinedSpace());
-                    pst.setInt(COMBINED_OCCUPANCY_INIT_INDEX, ((CombinedData) event).getCombinedOccupancyInit());
-                } else {
-                    pst.setInt(COMBINED_SPACE_INDEX, 0);
-                    pst.setInt(COMBINED_OCCUPANCY_INIT_INDEX, 0);
-                }
-                if (event instanceof PermData) {
-                    pst.setInt(PERM_SPACE_INDEX, ((PermData) event).getPermSpace());
-                    pst.setInt(PERM_OCCUPANCY_INIT_INDEX, ((PermData) event).getPermOccupancyInit());
-                } else {
-                    pst.setInt(PERM_SPACE_INDEX, 0);
-                    pst.setInt(PERM_OCCUPANCY_INIT_INDEX, 0);
-                }
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting blocking event.");
-        } finally {
-            blockingBatch.clear();
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
-            }
-        }
-    }
-
-    /**
-     * Add stopped time events to database.
-     */
-    public synchronized void processStoppedTimeBatch() {
-
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertStoppedEvent = "insert into application_stopped_time (time_stamp, event_name, "
-                    + "duration, log_entry) " + "values(?, ?, ?, ?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int EVENT_NAME_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int LOG_ENTRY_INDEX = 4;
-
-            pst = connection.prepareStatement(sqlInsertStoppedEvent);
-
-            for (int i = 0; i < stoppedTimeBatch.size(); i++) {
-                ApplicationStoppedTimeEvent event = stoppedTimeBatch.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                pst.setString(EVENT_NAME_INDEX, event.getName());
-                pst.setInt(DURATION_INDEX, event.getDuration());
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting stopped time event.");
-        } finally {
-            stoppedTimeBatch.clear();
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
-            }
-        }
-    }
-
     /**
      * The maximum GC blocking event pause time.
      * 
      * @return maximum pause duration (milliseconds).
      */
     public synchronized int getMaxGcPause() {
-        int maxPause = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(duration) from blocking_event");
-            if (rs.next()) {
-                maxPause = JdkMath.convertMicrosToMillis(rs.getInt(1)).intValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determine maximum pause time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return maxPause;
+        return JdkMath.convertMicrosToMillis(maxGcDuration).intValue();
     }
 
     /**
@@ -597,33 +584,7 @@ public class JvmDao {
      * @return total pause duration (milliseconds).
      */
     public synchronized long getTotalGcPause() {
-        long totalPause = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select sum(duration) from blocking_event");
-            if (rs.next()) {
-                totalPause = JdkMath.convertMicrosToMillis(rs.getLong(1)).longValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining total pause time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return totalPause;
+        return JdkMath.truncateMicrosToMillis(totalGcDuration);
     }
 
     /**
@@ -634,34 +595,7 @@ public class JvmDao {
      * @return The first blocking event.
      */
     public synchronized BlockingEvent getFirstGcEvent() {
-        BlockingEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery(
-                    "select log_entry from blocking_event where id = " + "(select min(id) from blocking_event)");
-            if (rs.next()) {
-                event = (BlockingEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining first blocking event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return event;
+        return firstGcEvent;
     }
 
     /**
@@ -672,76 +606,242 @@ public class JvmDao {
      * @return The last blocking event.
      */
     public synchronized BlockingEvent getLastGcEvent() {
-        BlockingEvent event = null;
-        // Retrieve last event from batch or database.
-        if (blockingBatch.size() > 0) {
-            event = blockingBatch.get(blockingBatch.size() - 1);
-        } else {
-            event = queryGcLastEvent();
+        return lastGcEvent;
+    }
+
+    /**
+     * Release the memory used by the data stored. The data access object cannot be used after it is closed.
+     */
+    public synchronized void close() {
+        blockingEvents = null;
+        stoppedTimeEvents = null;
+        logFiles = null;
+    }
+
+    /**
+     * Delete all stored events.
+     */
+    public synchronized void cleanup() {
+        blockingEvents.clear();
+        stoppedTimeEvents.clear();
+        firstGcEvent = null;
+        lastGcEvent = null;
+        blockingEventCount = 0;
+        maxGcDuration = 0;
+        totalGcDuration = 0;
+        maxYoungSpace = 0;
+        maxOldSpace = 0;
+        maxHeapSpace = 0;
+        maxHeapOccupancy = 0;
+        maxPermSpace = 0;
+        maxPermOccupancy = 0;
+        firstStoppedEvent = null;
+        lastStoppedEvent = null;
+        stoppedTimeEventCount = 0;
+        maxStoppedDuration = 0;
+        totalStoppedDuration = 0;
+    }
+
+    /**
+     * Write the data stored, to be read back with {@link #read(ByteBuffer)}. The log files (see
+     * {@link #getLogFiles()}) are not written.
+     * 
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the data cannot be written.
+     */
+    public synchronized void write(DataOutput out) throws IOException {
+        blockingEvents.write(out);
+        stoppedTimeEvents.write(out);
+        out.writeInt(eventTypes.size());
+        for (int i = 0; i < eventTypes.size(); i++) {
+            EventStore.writeString(out, eventTypes.get(i).name());
         }
-        return event;
+        out.writeInt(analysis.size());
+        for (int i = 0; i < analysis.size(); i++) {
+            EventStore.writeString(out, analysis.get(i).name());
+        }
+        out.writeInt(collectorFamilies.size());
+        for (int i = 0; i < collectorFamilies.size(); i++) {
+            EventStore.writeString(out, collectorFamilies.get(i).name());
+        }
+        out.writeInt(unidentifiedLogLines.size());
+        for (int i = 0; i < unidentifiedLogLines.size(); i++) {
+            EventStore.writeString(out, unidentifiedLogLines.get(i));
+        }
+        writeEvent(out, firstGcEvent);
+        writeEvent(out, lastGcEvent);
+        out.writeInt(maxGcDuration);
+        out.writeLong(totalGcDuration);
+        out.writeInt(maxYoungSpace);
+        out.writeInt(maxOldSpace);
+        out.writeInt(maxHeapSpace);
+        out.writeInt(maxHeapOccupancy);
+        out.writeInt(maxPermSpace);
+        out.writeInt(maxPermOccupancy);
+        writeEvent(out, firstStoppedEvent);
+        writeEvent(out, lastStoppedEvent);
+        out.writeInt(maxStoppedDuration);
+        out.writeLong(totalStoppedDuration);
+        EventStore.writeString(out, options);
+        EventStore.writeString(out, version);
+        EventStore.writeString(out, memory);
+        out.writeLong(physicalMemory);
+        out.writeLong(physicalMemoryFree);
+        out.writeLong(swap);
+        out.writeLong(swapFree);
+        out.writeLong(parallelCount);
+        out.writeLong(invertedParallelismCount);
+        writeEvent(out, worstInvertedParallelismEvent);
+        out.writeInt(maxHeapSpaceNonBlocking);
+        out.writeInt(maxHeapOccupancyNonBlocking);
     }
 
     /**
-     * Retrieve the last blocking event.
+     * Replace the data stored with data written with {@link #write(DataOutput)}. The log files the data was written
+     * with must be added first, in the same order (see {@link #addLogFile(File)}).
      * 
-     * TODO: Should this consider non-blocking events?
+     * @param buffer
+     *            The buffer, positioned at the data. Positioned after the data when done.
+     * @throws BufferUnderflowException
+     *             if the buffer ends before the data.
+     * @throws IllegalStateException
+     *             if the buffer does not hold the data written.
+     * @throws IllegalArgumentException
+     *             if the data has an event type, analysis, or collector family that no longer exists.
+     */
+    public synchronized void read(ByteBuffer buffer) {
+        blockingEvents.read(buffer);
+        stoppedTimeEvents.read(buffer);
+        eventTypes.clear();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            eventTypes.add(LogEventType.valueOf(readName(buffer)));
+        }
+        analysis.clear();
+        count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            analysis.add(Analysis.valueOf(readName(buffer)));
+        }
+        collectorFamilies.clear();
+        count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            collectorFamilies.add(CollectorFamily.valueOf(readName(buffer)));
+        }
+        unidentifiedLogLines.clear();
+        count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            unidentifiedLogLines.add(EventStore.readString(buffer));
+        }
+        firstGcEvent = readBlockingEvent(buffer);
+        lastGcEvent = readBlockingEvent(buffer);
+        blockingEventCount = blockingEvents.size();
+        maxGcDuration = buffer.getInt();
+        totalGcDuration = buffer.getLong();
+        maxYoungSpace = buffer.getInt();
+        maxOldSpace = buffer.getInt();
+        maxHeapSpace = buffer.getInt();
+        maxHeapOccupancy = buffer.getInt();
+        maxPermSpace = buffer.getInt();
+        maxPermOccupancy = buffer.getInt();
+        firstStoppedEvent = readStoppedTimeEvent(buffer);
+        lastStoppedEvent = readStoppedTimeEvent(buffer);
+        stoppedTimeEventCount = stoppedTimeEvents.size();
+        maxStoppedDuration = buffer.getInt();
+        totalStoppedDuration = buffer.getLong();
+        options = EventStore.readString(buffer);
+        version = EventStore.readString(buffer);
+        memory = EventStore.readString(buffer);
+        physicalMemory = buffer.getLong();
+        physicalMemoryFree = buffer.getLong();
+        swap = buffer.getLong();
+        swapFree = buffer.getLong();
+        parallelCount = buffer.getLong();
+        invertedParallelismCount = buffer.getLong();
+        worstInvertedParallelismEvent = readBlockingEvent(buffer);
+        maxHeapSpaceNonBlocking = buffer.getInt();
+        maxHeapOccupancyNonBlocking = buffer.getInt();
+    }
+
+    /**
+     * Write a summary event that can be null. Only the data the JVM run uses (the log entry, timestamp, and duration)
+     * is written.
      * 
-     * @return The last blocking event in database.
-     */
-
-    private synchronized BlockingEvent queryGcLastEvent() {
-        BlockingEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery(
-                    "select log_entry from blocking_event where id = " + "(select max(id) from blocking_event)");
-            if (rs.next()) {
-                event = (BlockingEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining last blocking event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
+     * @param out
+     *            The output.
+     * @param event
+     *            The event, or null.
+     * @throws IOException
+     *             if the event cannot be written.
+     */
+    private static void writeEvent(DataOutput out, LogEvent event) throws IOException {
+        out.writeBoolean(event != null);
+        if (event != null) {
+            EventStore.writeString(out, event.getName());
+            EventStore.writeString(out, event.getLogEntry());
+            out.writeLong(event.getTimestamp());
+            if (event instanceof BlockingEvent) {
+                out.writeInt(((BlockingEvent) event).getDuration());
+            } else if (event instanceof ApplicationStoppedTimeEvent) {
+                out.writeInt(((ApplicationStoppedTimeEvent) event).getDuration());
+            } else {
+                out.writeInt(0);
             }
         }
-        return event;
     }
 
     /**
-     * Delete table(s). Useful when running in server mode during development.
+     * @param buffer
+     *            The buffer, positioned at a name written with {@link EventStore#writeString(DataOutput, String)}.
+     *            Positioned after the name when done.
+     * @return The name.
+     * @throws IllegalStateException
+     *             if the buffer does not hold a name.
      */
-    public synchronized void cleanup() {
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_DELETE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_DELETE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error deleting rows from tables.");
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+    private static String readName(ByteBuffer buffer) {
+        String name = EventStore.readString(buffer);
+        if (name == null) {
+            throw new IllegalStateException("Name not correct.");
+        }
+        return name;
+    }
+
+    /**
+     * @param buffer
+     *            The buffer, positioned at a blocking event written with {@link #writeEvent(DataOutput, LogEvent)}.
+     * @return The blocking event, or null.
+     */
+    private static BlockingEvent readBlockingEvent(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        String eventName = readName(buffer);
+        LogEventType eventType = JdkUtil.determineEventType(eventName);
+        if (eventType == null) {
+            throw new IllegalArgumentException("Event type does not exist: " + eventName);
         }
+        String logEntry = EventStore.readString(buffer);
+        long timestamp = buffer.getLong();
+        int duration = buffer.getInt();
+        return JdkUtil.hydrateBlockingEvent(eventType, logEntry, timestamp, duration);
+    }
+
+    /**
+     * @param buffer
+     *            The buffer, positioned at a stopped time event written with
+     *            {@link #writeEvent(DataOutput, LogEvent)}.
+     * @return The stopped time event, or null.
+     */
+    private static ApplicationStoppedTimeEvent readStoppedTimeEvent(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        EventStore.readString(buffer);
+        String logEntry = EventStore.readString(buffer);
+        long timestamp = buffer.getLong();
+        int duration = buffer.getInt();
+        return new ApplicationStoppedTimeEvent(logEntry, timestamp, duration);
     }
 
     /**
@@ -750,39 +850,7 @@ public class JvmDao {
      * @return <code>List</code> of events.
      */
     public synchronized List<BlockingEvent> getBlockingEvents() {
-        List<BlockingEvent> events = new ArrayList<BlockingEvent>();
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select time_stamp, event_name, duration, log_entry from blocking_event"
-                    + " order by time_stamp asc, id asc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                LogEventType eventType = JdkUtil.determineEventType(rs.getString(2));
-                BlockingEvent event = JdkUtil.hydrateBlockingEvent(eventType, rs.getString(4), rs.getLong(1),
-                        rs.getInt(3));
-                events.add(event);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving blocking events.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return events;
+        return getBlockingEvents(getBlockingEventIterator(null));
     }
 
     /**
@@ -793,39 +861,88 @@ public class JvmDao {
      * @return <code>List</code> of events.
      */
     public synchronized List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
+        return getBlockingEvents(getBlockingEventIterator(eventType.toString()));
+    }
+
+    /**
+     * Iterate over all <code>BlockingEvent</code>s without retrieving them all at once. Each event is created when it
+     * is reached, so only the reordering window (see {@link EventStore.TimestampIterator}) is held in memory. Events
+     * must not be added while iterating.
+     * 
+     * @return <code>Iterator</code> over the events, in timestamp order.
+     */
+    public synchronized Iterator<BlockingEvent> getBlockingEventIterator() {
+        return getBlockingEventIterator(null);
+    }
+
+    /**
+     * Iterate over the <code>BlockingEvent</code>s added after the first events added, so events already seen are not
+     * created again. Events must not be added while iterating.
+     * 
+     * @param start
+     *            The number of events to skip.
+     * @return <code>Iterator</code> over the events added after the first <code>start</code> events, in timestamp
+     *         order, or null if the events were not added in timestamp order (so the events after the first
+     *         <code>start</code> in timestamp order are not the events added last).
+     */
+    public synchronized Iterator<BlockingEvent> getBlockingEventIterator(int start) {
+        EventStore.TimestampIterator indexes = blockingEvents.getTimestampIterator(start);
+        return indexes == null ? null : newBlockingEventIterator(indexes);
+    }
+
+    /**
+     * @param iterator
+     *            The events to retrieve.
+     * @return <code>List</code> of events.
+     */
+    private static List<BlockingEvent> getBlockingEvents(Iterator<BlockingEvent> iterator) {
         List<BlockingEvent> events = new ArrayList<BlockingEvent>();
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select time_stamp, duration, log_entry from blocking_event where event_name='");
-            sql.append(eventType);
-            sql.append("' order by time_stamp asc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                BlockingEvent event = JdkUtil.hydrateBlockingEvent(eventType, rs.getString(3), rs.getLong(1),
-                        rs.getInt(2));
-                events.add(event);
+        while (iterator.hasNext()) {
+            events.add(iterator.next());
+        }
+        return events;
+    }
+
+    /**
+     * @param eventName
+     *            The event name, or null for all events.
+     * @return <code>Iterator</code> over the events with the event name, in timestamp order.
+     */
+    private Iterator<BlockingEvent> getBlockingEventIterator(String eventName) {
+        return newBlockingEventIterator(blockingEvents.getTimestampIterator(eventName));
+    }
+
+    /**
+     * @param indexes
+     *            The indexes of the events to retrieve.
+     * @return <code>Iterator</code> over the events, each created when it is reached.
+     */
+    private Iterator<BlockingEvent> newBlockingEventIterator(final EventStore.TimestampIterator indexes) {
+        return new Iterator<BlockingEvent>() {
+
+            // Event names repeat, so only look up each event type once
+            private String lastEventName;
+
+            private LogEventType eventType;
+
+            public boolean hasNext() {
+                return indexes.hasNext();
             }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving blocking events.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
+
+            public BlockingEvent next() {
+                int index = indexes.next();
+                if (!blockingEvents.getEventName(index).equals(lastEventName)) {
+                    lastEventName = blockingEvents.getEventName(index);
+                    eventType = JdkUtil.determineEventType(lastEventName);
+                }
+                return JdkUtil.hydrateBlockingEvent(eventType, blockingEvents.getLogEntry(index),
+                        blockingEvents.getTimestamp(index), blockingEvents.getDuration(index));
             }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
+
+            public void remove() {
+                throw new UnsupportedOperationException();
             }
-        }
-        return events;
+        };
     }
 
     /**
@@ -834,33 +951,7 @@ public class JvmDao {
      * @return total number of blocking events.
      */
     public synchronized int getBlockingEventCount() {
-        int count = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select count(id) from blocking_event");
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining blocking event count.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return count;
+        return blockingEventCount;
     }
 
     /**
@@ -869,33 +960,7 @@ public class JvmDao {
      * @return maximum young space size (kilobytes).
      */
     public synchronized int getMaxYoungSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(young_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max young space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return maxYoungSpace;
     }
 
     /**
@@ -904,33 +969,7 @@ public class JvmDao {
      * @return maximum old space size (kilobytes).
      */
     public synchronized int getMaxOldSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(old_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max old space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return maxOldSpace;
     }
 
     /**
@@ -939,34 +978,7 @@ public class JvmDao {
      * @return maximum heap size (kilobytes).
      */
     public synchronized int getMaxHeapSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement
-                    .executeQuery("select max(young_space + old_space " + "+ combined_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max heap space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return maxHeapSpace;
     }
 
     /**
@@ -975,34 +987,7 @@ public class JvmDao {
      * @return maximum heap occupancy (kilobytes).
      */
     public synchronized int getMaxHeapOccupancy() {
-        int occupancy = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(young_occupancy_init + old_occupancy_init "
-                    + "+ combined_occupancy_init) from blocking_event");
-            if (rs.next()) {
-                occupancy = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max heap occupancy.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return occupancy;
+        return maxHeapOccupancy;
     }
 
     /**
@@ -1011,33 +996,7 @@ public class JvmDao {
      * @return maximum perm/metaspace footprint (kilobytes).
      */
     public synchronized int getMaxPermSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(perm_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max perm space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return maxPermSpace;
     }
 
     /**
@@ -1046,33 +1005,7 @@ public class JvmDao {
      * @return maximum perm/metaspac occupancy (kilobytes).
      */
     public synchronized int getMaxPermOccupancy() {
-        int occupancy = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(perm_occupancy_init) from blocking_event");
-            if (rs.next()) {
-                occupancy = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max perm gen occupancy.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return occupancy;
+        return maxPermOccupancy;
     }
 
     /**
@@ -1081,34 +1014,7 @@ public class JvmDao {
      * @return The time first stopped event.
      */
     public synchronized ApplicationStoppedTimeEvent getFirstStoppedEvent() {
-        ApplicationStoppedTimeEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select log_entry from application_stopped_time where id = "
-                    + "(select min(id) from application_stopped_time)");
-            if (rs.next()) {
-                event = (ApplicationStoppedTimeEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining first stopped event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return event;
+        return firstStoppedEvent;
     }
 
     /**
@@ -1117,51 +1023,7 @@ public class JvmDao {
      * @return The last stopped event.
      */
     public synchronized ApplicationStoppedTimeEvent getLastStoppedEvent() {
-        ApplicationStoppedTimeEvent event;
-        // Retrieve last event from batch or database.
-        if (stoppedTimeBatch.size() > 0) {
-            event = stoppedTimeBatch.get(stoppedTimeBatch.size() - 1);
-        } else {
-            event = queryStoppedLastEvent();
-        }
-        return event;
-    }
-
-    /**
-     * Retrieve the last stopped event from the database.
-     * 
-     * @return The last stopped event in database.
-     */
-
-    private synchronized ApplicationStoppedTimeEvent queryStoppedLastEvent() {
-        ApplicationStoppedTimeEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select log_entry from application_stopped_time where id = "
-                    + "(select max(id) from application_stopped_time)");
-            if (rs.next()) {
-                event = (ApplicationStoppedTimeEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining last stopped event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return event;
+        return lastStoppedEvent;
     }
 
     /**
@@ -1170,34 +1032,7 @@ public class JvmDao {
      * @return maximum pause duration (milliseconds).
      */
     public synchronized int getMaxStoppedTime() {
-        int maxStoppedTime = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(duration) from application_stopped_time");
-            if (rs.next()) {
-                long micros = rs.getInt(1);
-                maxStoppedTime = JdkMath.convertMicrosToMillis(micros).intValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determine maximum stopped time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return maxStoppedTime;
+        return JdkMath.convertMicrosToMillis(maxStoppedDuration).intValue();
     }
 
     /**
@@ -1206,34 +1041,7 @@ public class JvmDao {
      * @return total pause duration (milliseconds).
      */
     public synchronized int getTotalStoppedTime() {
-        int totalStoppedTime = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select sum(duration) from application_stopped_time");
-            if (rs.next()) {
-                long micros = rs.getLong(1);
-                totalStoppedTime = JdkMath.convertMicrosToMillis(micros).intValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining total stopped time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return totalStoppedTime;
+        return JdkMath.convertMicrosToMillis(totalStoppedDuration).intValue();
     }
 
     /**
@@ -1242,32 +1050,6 @@ public class JvmDao {
      * @return total number of stopped time events.
      */
     public synchronized int getStoppedTimeEventCount() {
-        int count = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select count(id) from application_stopped_time");
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining stopped time event count.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return count;
+        return stoppedTimeEventCount;
     }
 }
@@ -21,6 +21,7 @@ import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -109,8 +110,8 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
      *            Information to make preprocessing decisions.
      */
     public ApplicationConcurrentTimePreprocessAction(String logEntry, Set<String> context) {
-        if (logEntry.matches(REGEX_LINE1)) {
-            Pattern pattern = Pattern.compile(REGEX_LINE1);
+        if (PatternRegistry.matches(REGEX_LINE1, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_LINE1);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 // Split line1 logging apart
@@ -126,12 +127,12 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_LINE2)) {
+        } else if (PatternRegistry.matches(REGEX_LINE2, logEntry)) {
             this.logEntry = logEntry + Constants.LINE_SEPARATOR;
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -159,6 +160,7 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine, String priorLogLine) {
-        return logLine.matches(REGEX_LINE1) || logLine.matches(REGEX_LINE2) || logLine.matches(REGEX_RETAIN_END);
+        return PatternRegistry.matches(REGEX_LINE1, logLine) || PatternRegistry.matches(REGEX_LINE2, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END, logLine);
     }
 }
@@ -23,6 +23,7 @@ import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -525,9 +526,9 @@ public class CmsPreprocessAction implements PreprocessAction {
             List<String> entangledLogLines, Set<String> context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)) {
+        if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT, logEntry)) {
             // Par_NEW mixed with CMS_CONCURRENT
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(49));
@@ -536,9 +537,9 @@ public class CmsPreprocessAction implements PreprocessAction {
             this.logEntry = matcher.group(1);
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS, logEntry)) {
             // Par_NEW mixed with FLS_STATISTICS
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 // Output beginning of PAR_NEW line
@@ -546,9 +547,9 @@ public class CmsPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT, logEntry)) {
             // CMS_SERIAL_OLD mixed with CMS_CONCURRENT
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(30));
@@ -558,57 +559,59 @@ public class CmsPreprocessAction implements PreprocessAction {
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
 
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_SERIAL);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_PARNEW);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC, logEntry)) {
             // Remove PrintHeapAtGC output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_BAILING);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_BAILING);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW_BAILING);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_PARNEW_BAILING);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME,
+                logEntry)) {
+            Pattern pattern = PatternRegistry
+                    .getPattern(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1) + matcher.group(25);
@@ -620,8 +623,8 @@ public class CmsPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_CONCURRENT);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 if (!context.contains(TOKEN)) {
@@ -633,71 +636,71 @@ public class CmsPreprocessAction implements PreprocessAction {
                 }
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED, logEntry)) {
             // Output serial part, save concurrent to output later
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
                 entangledLogLines.add(matcher.group(21));
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED, logEntry)) {
             // Output ParNew part, save concurrent to output later
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
                 entangledLogLines.add(matcher.group(35));
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS, logEntry)) {
             // Output ParNew part minus FL stats
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS, logEntry)) {
             // Output serial part minus FL stats
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC, logEntry)) {
             // Remove PrintHeapAtGC output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_CMS_REMARK)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_CMS_REMARK);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_CMS_REMARK, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_CMS_REMARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_DURATION)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_DURATION);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_DURATION, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_DURATION);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -707,10 +710,10 @@ public class CmsPreprocessAction implements PreprocessAction {
                 clearEntangledLines(entangledLogLines);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_END)
-                && !priorLogEntry.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END, logEntry)
+                && !PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM, priorLogEntry)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -718,23 +721,24 @@ public class CmsPreprocessAction implements PreprocessAction {
             clearEntangledLines(entangledLogLines);
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.remove(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END_PAR_NEW)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END_PAR_NEW, logEntry)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END_PAR_NEW);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END_PAR_NEW);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             clearEntangledLines(entangledLogLines);
-            if (context.contains(TOKEN) && !priorLogEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)) {
+            if (context.contains(TOKEN)
+                    && !PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT, priorLogEntry)) {
                 // End of multi-line event or PAR_NEW truncated
                 context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             } else {
                 context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             }
             context.remove(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_PAR_NEW)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_PAR_NEW);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_PAR_NEW, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_PAR_NEW);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(4);
@@ -764,26 +768,29 @@ public class CmsPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
-        return logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL) || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_CMS_REMARK) || logLine.matches(REGEX_RETAIN_END)
-                || logLine.matches(REGEX_RETAIN_END_PAR_NEW) || logLine.matches(REGEX_RETAIN_DURATION)
-                || logLine.matches(REGEX_RETAIN_PAR_NEW);
+        return PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_CMS_REMARK, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END_PAR_NEW, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_DURATION, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_PAR_NEW, logLine);
     }
 
     /**
@@ -816,13 +823,14 @@ public class CmsPreprocessAction implements PreprocessAction {
      * @return True if the line is the start of a new logging event or a complete logging event.
      */
     private boolean newLoggingEvent(String logLine) {
-        return logLine == null || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL) || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME);
+        return logLine == null || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME, logLine);
     }
 }
\ No newline at end of file
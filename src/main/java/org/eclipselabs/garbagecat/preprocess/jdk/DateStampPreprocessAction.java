@@ -22,6 +22,7 @@ import org.eclipselabs.garbagecat.util.GcUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -77,7 +78,7 @@ public class DateStampPreprocessAction implements PreprocessAction {
      * Regular expressions defining the logging line.
      */
     private static final String REGEX_LINE = "^" + JdkRegEx.DATESTAMP + "(:)? (.*)$";
-    private static final Pattern PATTERN = Pattern.compile(REGEX_LINE);
+    private static final Pattern PATTERN = PatternRegistry.getPattern(REGEX_LINE);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -96,11 +97,11 @@ public class DateStampPreprocessAction implements PreprocessAction {
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             String logEntryMinusDateStamp = matcher.group(12);
-            Date datestamp = GcUtil.parseDateStamp(matcher.group(1));
-            long diff = GcUtil.dateDiff(jvmStartDate, datestamp);
+            long datestamp = GcUtil.parseDateStampMillis(matcher.group(1));
+            long diff = datestamp - jvmStartDate.getTime();
             if (diff < 0) {
-                throw new TimeWarpException(
-                        "JVM start date (" + jvmStartDate + ") is after logging datestamp (" + datestamp + ")");
+                throw new TimeWarpException("JVM start date (" + jvmStartDate + ") is after logging datestamp ("
+                        + new Date(datestamp) + ")");
             }
             this.logEntry = JdkMath.convertMillisToSecs(diff) + ": " + logEntryMinusDateStamp;
         }
@@ -23,6 +23,7 @@ import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -697,41 +698,41 @@ public class G1PreprocessAction implements PreprocessAction {
             List<String> entangledLogLines, Set<String> context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING_FULL_GC)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_FULL_GC);
+        if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_FULL_GC, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_FULL_GC);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CLEANUP)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CLEANUP);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CLEANUP, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_CLEANUP);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT, logEntry)) {
             // Handle concurrent mixed with young collections. See datasets 47-48 and 51-52, 54.
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(16));
@@ -740,9 +741,9 @@ public class G1PreprocessAction implements PreprocessAction {
             this.logEntry = matcher.group(1);
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT, logEntry)) {
             // Handle concurrent mixed with full collections. See dataset 74.
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             int indexG1FullDatestamp = 12;
             int indexG1FullTimestamp = 23;
@@ -800,9 +801,9 @@ public class G1PreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT, logEntry)) {
             // Strip out any leading colon
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CONCURRENT);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 // Handle concurrent mixed with young collections. See datasets 47-48 and 51-52, 54.
@@ -832,81 +833,81 @@ public class G1PreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE, logEntry)) {
             // Strip out G1Ergonomics
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_REMARK)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_REMARK);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_REMARK, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_REMARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1) + matcher.group(61);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_MIXED)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_MIXED, logEntry)) {
             // Strip out G1Ergonomics
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_MIXED);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_MIXED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK, logEntry)) {
             // Strip out G1Ergonomics
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_FULL)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_FULL);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_FULL, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_FULL);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_DURATION)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_DURATION);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_DURATION, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_DURATION);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END, logEntry)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -914,9 +915,9 @@ public class G1PreprocessAction implements PreprocessAction {
             clearEntangledLines(entangledLogLines);
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.remove(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END_CONCURRENT_YOUNG)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END_CONCURRENT_YOUNG, logEntry)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END_CONCURRENT_YOUNG);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END_CONCURRENT_YOUNG);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(1));
@@ -949,25 +950,30 @@ public class G1PreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
         boolean match = false;
-        if (logLine.matches(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_FULL_GC)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_REMARK) || logLine.matches(REGEX_RETAIN_BEGINNING_MIXED)
-                || (logLine.matches(REGEX_RETAIN_BEGINNING_CLEANUP) && nextLogLine.matches(REGEX_RETAIN_END))
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK) || logLine.matches(REGEX_RETAIN_MIDDLE_FULL)
-                || logLine.matches(REGEX_RETAIN_MIDDLE) || logLine.matches(REGEX_RETAIN_MIDDLE_DURATION)
-                || logLine.matches(REGEX_RETAIN_END) || logLine.matches(REGEX_RETAIN_END_CONCURRENT_YOUNG)) {
+        if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_FULL_GC, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_REMARK, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_MIXED, logLine)
+                || (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CLEANUP, logLine)
+                && PatternRegistry.matches(REGEX_RETAIN_END, nextLogLine))
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_FULL, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_DURATION, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END_CONCURRENT_YOUNG, logLine)) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
             for (int i = 0; i < REGEX_THROWAWAY.length; i++) {
-                if (logLine.matches(REGEX_THROWAWAY[i])) {
+                if (PatternRegistry.matches(REGEX_THROWAWAY[i], logLine)) {
                     match = true;
                     break;
                 }
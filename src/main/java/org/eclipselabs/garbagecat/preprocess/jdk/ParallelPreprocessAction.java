@@ -23,6 +23,7 @@ import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -146,17 +147,17 @@ public class ParallelPreprocessAction implements PreprocessAction {
             List<String> entangledLogLines, Set<String> context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_BEGINNING_UNLOADING_CLASS)) {
-            Pattern pattern = Pattern.compile(REGEX_BEGINNING_UNLOADING_CLASS);
+        if (PatternRegistry.matches(REGEX_BEGINNING_UNLOADING_CLASS, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_BEGINNING_UNLOADING_CLASS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED, logEntry)) {
             // Remove GCTimeLimit output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -164,18 +165,18 @@ public class ParallelPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE, logEntry)) {
             // Remove beginning PARALLEL_SCAVENGE output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END, logEntry)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 if (matcher.group(1) != null) {
@@ -228,8 +229,9 @@ public class ParallelPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX_BEGINNING_UNLOADING_CLASS)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE) || logLine.matches(REGEX_RETAIN_END);
+        return PatternRegistry.matches(REGEX_BEGINNING_UNLOADING_CLASS, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END, logLine);
     }
 }
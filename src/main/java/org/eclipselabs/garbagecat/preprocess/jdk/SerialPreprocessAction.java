@@ -22,6 +22,7 @@ import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * <p>
@@ -107,17 +108,17 @@ public class SerialPreprocessAction implements PreprocessAction {
             List<String> entangledLogLines, Set<String> context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING);
+        if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END, logEntry)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -166,6 +167,7 @@ public class SerialPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX_RETAIN_BEGINNING) || logLine.matches(REGEX_RETAIN_END);
+        return PatternRegistry.matches(REGEX_RETAIN_BEGINNING, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END, logLine);
     }
 }
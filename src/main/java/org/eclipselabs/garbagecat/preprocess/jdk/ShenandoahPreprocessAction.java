@@ -18,6 +18,7 @@ import java.util.Set;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
@@ -253,7 +254,7 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
         boolean match = false;
         // TODO: Get rid of this and make them throwaway events?
         for (int i = 0; i < REGEX_THROWAWAY.length; i++) {
-            if (logLine.matches(REGEX_THROWAWAY[i])) {
+            if (PatternRegistry.matches(REGEX_THROWAWAY[i], logLine)) {
                 match = true;
                 break;
             }
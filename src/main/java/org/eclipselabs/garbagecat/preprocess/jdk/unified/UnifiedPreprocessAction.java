@@ -23,6 +23,7 @@ import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
@@ -496,10 +497,10 @@ public class UnifiedPreprocessAction implements PreprocessAction {
     public UnifiedPreprocessAction(String priorLogEntry, String logEntry, String nextLogEntry,
             List<String> entangledLogLines, Set<String> context) {
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG)) {
+        if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG, logEntry)) {
             // Only report young collections that do not trigger an old collection
-            if (!nextLogEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD)) {
-                Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG);
+            if (!PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD, nextLogEntry)) {
+                Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG);
                 Matcher matcher = pattern.matcher(logEntry);
                 if (matcher.matches()) {
                     this.logEntry = matcher.group(1);
@@ -507,31 +508,31 @@ public class UnifiedPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_OLD);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_OLD);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_G1_YOUNG)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_G1_YOUNG);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_G1_YOUNG, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_BEGINNING_G1_YOUNG);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_SPACE_DATA)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_SPACE_DATA);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_SPACE_DATA, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_SPACE_DATA);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(25);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA);
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA, logEntry)) {
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 if (context.contains(TOKEN)) {
@@ -542,10 +543,10 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 }
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA)) {
-            if (nextLogEntry != null && nextLogEntry.matches(REGEX_RETAIN_END_TIMES_DATA)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA, logEntry)) {
+            if (nextLogEntry != null && PatternRegistry.matches(REGEX_RETAIN_END_TIMES_DATA, nextLogEntry)) {
                 // Middle logging
-                Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA);
+                Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA);
                 Matcher matcher = pattern.matcher(logEntry);
                 if (matcher.matches()) {
                     this.logEntry = matcher.group(27);
@@ -555,10 +556,10 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 this.logEntry = Constants.LINE_SEPARATOR + logEntry;
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA)) {
-            if (nextLogEntry != null && nextLogEntry.matches(REGEX_RETAIN_END_TIMES_DATA)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA, logEntry)) {
+            if (nextLogEntry != null && PatternRegistry.matches(REGEX_RETAIN_END_TIMES_DATA, nextLogEntry)) {
                 // Middle logging
-                Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA);
+                Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA);
                 Matcher matcher = pattern.matcher(logEntry);
                 if (matcher.matches()) {
                     this.logEntry = matcher.group(28);
@@ -571,14 +572,14 @@ public class UnifiedPreprocessAction implements PreprocessAction {
 
             // Middle logging
             /*
-             * Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA); Matcher matcher =
+             * Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA); Matcher matcher =
              * pattern.matcher(logEntry); if (matcher.matches()) { if (context.contains(TOKEN)) { this.logEntry =
              * matcher.group(28); } else { // Single line event this.logEntry = Constants.LINE_SEPARATOR + logEntry; } }
              * context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
              */
-        } else if (logEntry.matches(REGEX_RETAIN_END_TIMES_DATA)) {
+        } else if (PatternRegistry.matches(REGEX_RETAIN_END_TIMES_DATA, logEntry)) {
             // End logging
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END_TIMES_DATA);
+            Pattern pattern = PatternRegistry.getPattern(REGEX_RETAIN_END_TIMES_DATA);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(25);
@@ -604,17 +605,19 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        if (logLine.matches(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG) || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_G1_YOUNG)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_SPACE_DATA) || logLine.matches(REGEX_RETAIN_END_TIMES_DATA)) {
+        if (PatternRegistry.matches(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_BEGINNING_G1_YOUNG, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_MIDDLE_SPACE_DATA, logLine)
+                || PatternRegistry.matches(REGEX_RETAIN_END_TIMES_DATA, logLine)) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
             for (int i = 0; i < REGEX_THROWAWAY.length; i++) {
-                if (logLine.matches(REGEX_THROWAWAY[i])) {
+                if (PatternRegistry.matches(REGEX_THROWAWAY[i], logLine)) {
                     match = true;
                     break;
                 }
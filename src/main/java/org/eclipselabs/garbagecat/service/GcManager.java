@@ -16,19 +16,28 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipselabs.garbagecat.Main;
-import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.JvmRun;
@@ -36,20 +45,15 @@ import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermData;
 import org.eclipselabs.garbagecat.domain.SerialCollection;
-import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.UnknownEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ApplicationConcurrentTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ClassHistogramEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ClassUnloadingEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsIncrementalModeCollector;
 import org.eclipselabs.garbagecat.domain.jdk.CmsInitialMarkEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsRemarkEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsSerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.FlsStatisticsEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.domain.jdk.G1FullGCEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1YoungInitialMarkEvent;
@@ -59,32 +63,29 @@ import org.eclipselabs.garbagecat.domain.jdk.GcOverheadLimitEvent;
 import org.eclipselabs.garbagecat.domain.jdk.HeaderCommandLineFlagsEvent;
 import org.eclipselabs.garbagecat.domain.jdk.HeaderMemoryEvent;
 import org.eclipselabs.garbagecat.domain.jdk.HeaderVersionEvent;
-import org.eclipselabs.garbagecat.domain.jdk.HeapAtGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelCompactingOldEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelSerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ReferenceGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConcurrentEvent;
-import org.eclipselabs.garbagecat.domain.jdk.TenuringDistributionEvent;
+import org.eclipselabs.garbagecat.hsql.EventIndex;
 import org.eclipselabs.garbagecat.hsql.JvmDao;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationConcurrentTimePreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationStoppedTimePreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.DateStampPreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.MappedLogReader;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeDispatcher;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeIndex;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.PreprocessActionType;
 import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.PreprocessActionDispatcher;
+import org.eclipselabs.garbagecat.util.jdk.PreprocessTokenSet;
 
 /**
  * <p>
@@ -97,6 +98,24 @@ import org.eclipselabs.garbagecat.util.jdk.Jvm;
  */
 public class GcManager {
 
+    /**
+     * Number of raw log lines in a chunk when preprocessing on multiple threads.
+     */
+    public static final int PREPROCESS_CHUNK_SIZE = 10000;
+
+    /**
+     * Number of raw log lines before a chunk preprocessed to establish the context at the start of the chunk.
+     */
+    public static final int PREPROCESS_CHUNK_OVERLAP = 100;
+
+    /**
+     * Event types of thrown away log lines that indicate an <code>Analysis</code>.
+     */
+    private static final LogEventType[] THROW_AWAY_ANALYSIS_EVENT_TYPES = { LogEventType.CLASS_UNLOADING,
+            LogEventType.HEAP_AT_GC, LogEventType.CLASS_HISTOGRAM, LogEventType.FLS_STATISTICS,
+            LogEventType.TENURING_DISTRIBUTION, LogEventType.APPLICATION_CONCURRENT_TIME,
+            LogEventType.APPLICATION_LOGGING, LogEventType.REFERENCE_GC };
+
     /**
      * The JVM data access object.
      */
@@ -112,6 +131,38 @@ public class GcManager {
      */
     private String lastLogLineUnprocessed;
 
+    /**
+     * Event type identification for the last log stored.
+     */
+    private EventTypeDispatcher eventTypeDispatcher;
+
+    /**
+     * The number of threads preprocessing and parsing logging. Logging is preprocessed and parsed on the storing thread
+     * if 1.
+     */
+    private int threads = 1;
+
+    /**
+     * Held while a log event is stored, so the JVM run can be read on another thread while logging is being stored.
+     */
+    private final ReentrantLock storeLock = new ReentrantLock();
+
+    /**
+     * Analysis identified by preprocessing logging as it is followed, or null if not following logging.
+     */
+    private List<Analysis> followAnalysis;
+
+    /**
+     * Whether or not to read the data stored for log files from an event index (see {@link EventIndex}) instead of
+     * parsing the logging, and to write the index after parsing the logging.
+     */
+    private boolean index;
+
+    /**
+     * The bottlenecks found in the blocking events checked so far, or null if not checked yet.
+     */
+    private BottleneckContext bottleneckContext;
+
     /**
      * Default constructor.
      */
@@ -127,6 +178,33 @@ public class GcManager {
         return lastLogLineUnprocessed;
     }
 
+    public EventTypeDispatcher getEventTypeDispatcher() {
+        return eventTypeDispatcher;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isIndex() {
+        return index;
+    }
+
+    public void setIndex(boolean index) {
+        this.index = index;
+    }
+
+    /**
+     * Release the data store. The JVM run data cannot be read after the data store is released.
+     */
+    public void close() {
+        jvmDao.close();
+    }
+
     /**
      * Preprocess log file. Remove extraneous information and format the log file for parsing.
      * 
@@ -140,98 +218,693 @@ public class GcManager {
         if (logFile == null)
             throw new IllegalArgumentException("logFile == null!!");
 
-        File preprocessFile = new File(logFile.getPath() + ".pp");
+        return preprocess(Collections.singletonList(logFile), jvmStartDate);
+    }
 
-        BufferedReader bufferedReader = null;
+    /**
+     * Preprocess a set of rotated log files as one log. Remove extraneous information and format the logging for
+     * parsing.
+     * 
+     * @param logFiles
+     *            Raw garbage collection log files, in any order (see {@link LogFileSetReader#order(List)}).
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @return Preprocessed garbage collection log file, named after the first log file in log order.
+     */
+    public File preprocess(List<File> logFiles, Date jvmStartDate) {
+        if (logFiles == null || logFiles.isEmpty())
+            throw new IllegalArgumentException("logFiles empty!!");
+
+        File preprocessFile = null;
+
+        PreprocessReader preprocessReader = null;
         BufferedWriter bufferedWriter = null;
 
         try {
-            String currentLogLine = "";
-            String priorLogLine = "";
-            String preprocessedLogLine = "";
-
-            bufferedReader = new BufferedReader(new FileReader(logFile));
+            List<File> orderedLogFiles = LogFileSetReader.order(logFiles);
+            preprocessFile = new File(orderedLogFiles.get(0).getPath() + ".pp");
+            preprocessReader = newPreprocessReader(newLogReader(orderedLogFiles), jvmStartDate,
+                    jvmDao.getAnalysis());
             bufferedWriter = new BufferedWriter(new FileWriter(preprocessFile));
+            char[] buffer = new char[8192];
+            int length = preprocessReader.read(buffer, 0, buffer.length);
+            while (length != -1) {
+                bufferedWriter.write(buffer, 0, length);
+                length = preprocessReader.read(buffer, 0, buffer.length);
+            }
+        } catch (FileNotFoundException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
 
-            // Used for detangling intermingled logging events that span multiple lines
-            List<String> entangledLogLines = new ArrayList<String>();
-            // Used to provide context for preprocessing decisions
-            Set<String> context = new HashSet<String>();
-
-            String priorLogEntry = Constants.LINE_SEPARATOR;
-
-            String nextLogLine = bufferedReader.readLine();
-            while (nextLogLine != null) {
-                preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                        entangledLogLines, context);
-                if (preprocessedLogLine != null) {
-                    if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                            && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                        bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                    } else {
-                        bufferedWriter.write(preprocessedLogLine);
-                    }
-                    priorLogEntry = preprocessedLogLine;
+            // Close streams
+            if (preprocessReader != null) {
+                try {
+                    preprocessReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+
+            if (bufferedWriter != null) {
+                try {
+                    bufferedWriter.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            preprocessed = true;
+        }
+
+        return preprocessFile;
+    }
+
+    /**
+     * Preprocess the log file and parse the preprocessed logging into the data store in a single pass, without writing
+     * a preprocessed file. The result is the same as {@link #preprocess(File, Date)} followed by
+     * {@link #store(File, boolean)} on the preprocessed file.
+     * 
+     * @param logFile
+     *            Raw garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void preprocessAndStore(File logFile, Date jvmStartDate, boolean reorder) {
+        if (logFile == null)
+            throw new IllegalArgumentException("logFile == null!!");
+
+        preprocessAndStore(Collections.singletonList(logFile), jvmStartDate, reorder);
+    }
+
+    /**
+     * Preprocess a set of rotated log files as one log and parse the preprocessed logging into the data store in a
+     * single pass, without writing a preprocessed file.
+     * 
+     * @param logFiles
+     *            Raw garbage collection log files, in any order (see {@link LogFileSetReader#order(List)}).
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void preprocessAndStore(List<File> logFiles, Date jvmStartDate, boolean reorder) {
+        if (logFiles == null || logFiles.isEmpty())
+            throw new IllegalArgumentException("logFiles empty!!");
+
+        try {
+            List<File> orderedLogFiles = LogFileSetReader.order(logFiles);
+            EventIndex eventIndex = null;
+            if (index) {
+                eventIndex = new EventIndex(orderedLogFiles, true, jvmStartDate, reorder);
+                if (readIndex(eventIndex)) {
+                    preprocessed = true;
+                    return;
+                }
+            }
+            // Preprocessing analysis is added after storing so the analysis is in the same order as when preprocessing
+            // and storing one after the other
+            List<Analysis> preprocessAnalysis = new ArrayList<Analysis>();
+            PreprocessReader preprocessReader = newPreprocessReader(newLogReader(orderedLogFiles), jvmStartDate,
+                    preprocessAnalysis);
+            preprocessed = true;
+            store(new BufferedReader(preprocessReader), reorder, threads);
+            jvmDao.getAnalysis().addAll(0, preprocessAnalysis);
+            if (eventIndex != null) {
+                eventIndex.write(jvmDao, lastLogLineUnprocessed);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @param logFiles
+     *            Garbage collection log files, plain text or gzip compressed, in log order.
+     * @return The logging in the log files as one log, decompressed on multiple threads if compressed.
+     * @throws IOException
+     *             if a log file cannot be read.
+     */
+    private BufferedReader newLogReader(List<File> logFiles) throws IOException {
+        if (logFiles.size() == 1) {
+            return LogFileSetReader.open(logFiles.get(0), threads);
+        }
+        return new LogFileSetReader(logFiles, threads);
+    }
+
+    /**
+     * @param rawReader
+     *            Raw garbage collection logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param analysis
+     *            Analysis identified by preprocessing.
+     * @return The preprocessed logging, preprocessed on multiple threads if more than 1 thread is configured.
+     */
+    private PreprocessReader newPreprocessReader(BufferedReader rawReader, Date jvmStartDate,
+            List<Analysis> analysis) {
+        if (threads > 1) {
+            return new ParallelPreprocessReader(rawReader, jvmStartDate, analysis, threads);
+        } else {
+            return new PreprocessReader(rawReader, jvmStartDate, analysis);
+        }
+    }
+
+    /**
+     * The information carried from one raw log line to the next when preprocessing.
+     */
+    private static final class PreprocessContext {
+
+        /**
+         * Used for detangling intermingled logging events that span multiple lines.
+         */
+        private List<String> entangledLogLines = new ArrayList<String>();
+
+        /**
+         * Used to provide context for preprocessing decisions.
+         */
+        private PreprocessTokenSet context = new PreprocessTokenSet();
+
+        /**
+         * The last preprocessed log entry output.
+         */
+        private String priorLogEntry = Constants.LINE_SEPARATOR;
+
+        /**
+         * @param other
+         *            Another <code>PreprocessContext</code>.
+         * @return true if preprocessing the same raw log lines from either context gives the same preprocessed
+         *         logging, false otherwise.
+         */
+        private boolean isSame(PreprocessContext other) {
+            return context.equals(other.context) && entangledLogLines.equals(other.entangledLogLines)
+                    && priorLogEntry.endsWith(Constants.LINE_SEPARATOR) == other.priorLogEntry
+                            .endsWith(Constants.LINE_SEPARATOR);
+        }
+
+        /**
+         * @return A copy of the context.
+         */
+        private PreprocessContext copy() {
+            PreprocessContext copy = new PreprocessContext();
+            copy.entangledLogLines.addAll(entangledLogLines);
+            copy.context.addAll(context);
+            copy.priorLogEntry = priorLogEntry;
+            return copy;
+        }
+    }
+
+    /**
+     * Preprocess a raw log line and append the preprocessed log entry, starting a new line if it begins an event.
+     * 
+     * @param priorLogLine
+     *            The previous raw log line.
+     * @param currentLogLine
+     *            The raw log line.
+     * @param nextLogLine
+     *            The next raw log line, or null if the raw log line is the last.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocessContext
+     *            The information carried from the previous raw log line, updated for the next.
+     * @param analysis
+     *            Analysis identified by preprocessing.
+     * @param preprocessedLogging
+     *            The preprocessed logging.
+     */
+    private void preprocessLogLine(String priorLogLine, String currentLogLine, String nextLogLine, Date jvmStartDate,
+            PreprocessContext preprocessContext, List<Analysis> analysis, StringBuilder preprocessedLogging) {
+        String preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
+                preprocessContext.entangledLogLines, preprocessContext.context, analysis);
+        if (preprocessedLogLine != null) {
+            if (preprocessContext.context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
+                    && !preprocessContext.priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                preprocessedLogging.append(Constants.LINE_SEPARATOR);
+            }
+            preprocessedLogging.append(preprocessedLogLine);
+            preprocessContext.priorLogEntry = preprocessedLogLine;
+        }
+    }
+
+    /**
+     * Append the entangled log lines left at the end of the log.
+     * 
+     * @param preprocessContext
+     *            The information carried from the last raw log line.
+     * @param preprocessedLogging
+     *            The preprocessed logging.
+     */
+    private static void appendEntangledLogLines(PreprocessContext preprocessContext,
+            StringBuilder preprocessedLogging) {
+        if (preprocessContext.entangledLogLines.size() > 0) {
+            Iterator<String> iterator = preprocessContext.entangledLogLines.iterator();
+            while (iterator.hasNext()) {
+                String logLine = iterator.next();
+                preprocessedLogging.append(Constants.LINE_SEPARATOR).append(logLine);
+            }
+            // Reset entangled log lines
+            preprocessContext.entangledLogLines.clear();
+        }
+    }
+
+    /**
+     * <p>
+     * The preprocessed logging of a raw garbage collection log, produced as it is read.
+     * </p>
+     * 
+     * <p>
+     * Raw log lines are preprocessed one at a time as the preprocessed logging is consumed, so the preprocessed
+     * logging can be written to a file or parsed directly without holding the whole log in memory.
+     * </p>
+     */
+    private class PreprocessReader extends Reader {
+
+        /**
+         * Raw garbage collection logging.
+         */
+        private BufferedReader rawReader;
+
+        /**
+         * The date and time the JVM was started.
+         */
+        private Date jvmStartDate;
+
+        /**
+         * Analysis identified by preprocessing.
+         */
+        private List<Analysis> analysis;
+
+        /**
+         * The information carried from the last raw log line preprocessed.
+         */
+        private PreprocessContext preprocessContext = new PreprocessContext();
+
+        /**
+         * The raw log line being preprocessed.
+         */
+        private String currentLogLine = "";
+
+        /**
+         * The raw log line before the current log line.
+         */
+        private String priorLogLine = "";
+
+        /**
+         * The raw log line after the current log line, or null at the end of the log.
+         */
+        private String nextLogLine;
+
+        /**
+         * Whether or not the first raw log line has been read.
+         */
+        private boolean started;
+
+        /**
+         * Whether or not all raw log lines have been preprocessed.
+         */
+        private boolean finished;
+
+        /**
+         * Preprocessed logging not yet read.
+         */
+        private StringBuilder buffer = new StringBuilder();
+
+        /**
+         * Position of the next character to read in the buffer.
+         */
+        private int position;
+
+        /**
+         * @param rawReader
+         *            Raw garbage collection logging.
+         * @param jvmStartDate
+         *            The date and time the JVM was started.
+         * @param analysis
+         *            Analysis identified by preprocessing.
+         */
+        private PreprocessReader(BufferedReader rawReader, Date jvmStartDate, List<Analysis> analysis) {
+            this.rawReader = rawReader;
+            this.jvmStartDate = jvmStartDate;
+            this.analysis = analysis;
+        }
+
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (position == buffer.length()) {
+                buffer.setLength(0);
+                position = 0;
+                if (finished || !preprocess()) {
+                    finished = true;
+                    return -1;
                 }
+            }
+            int length = Math.min(len, buffer.length() - position);
+            buffer.getChars(position, position + length, cbuf, off);
+            position += length;
+            return length;
+        }
 
+        public void close() throws IOException {
+            rawReader.close();
+        }
+
+        /**
+         * @return Preprocessed logging not yet read.
+         */
+        protected StringBuilder getBuffer() {
+            return buffer;
+        }
+
+        /**
+         * Preprocess the next raw log line into the buffer.
+         * 
+         * @return true if a log line was preprocessed, false if all raw log lines have been preprocessed.
+         */
+        protected boolean preprocess() throws IOException {
+            if (!started) {
+                nextLogLine = rawReader.readLine();
+                started = true;
+            } else if (currentLogLine == null) {
+                return false;
+            }
+            preprocessLogLine(priorLogLine, currentLogLine, nextLogLine, jvmStartDate, preprocessContext, analysis,
+                    buffer);
+            if (nextLogLine == null) {
+                // output entangled log lines
+                appendEntangledLogLines(preprocessContext, buffer);
+                currentLogLine = null;
+            } else {
                 priorLogLine = currentLogLine;
                 currentLogLine = nextLogLine;
-                nextLogLine = bufferedReader.readLine();
+                nextLogLine = rawReader.readLine();
 
                 if (nextLogLine == null) {
                     lastLogLineUnprocessed = currentLogLine;
                 }
             }
+            return true;
+        }
+    }
 
-            // Process last line
-            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                    entangledLogLines, context);
-            if (preprocessedLogLine != null) {
-                if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                        && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                } else {
-                    bufferedWriter.write(preprocessedLogLine);
+    /**
+     * <p>
+     * The preprocessed logging of a raw garbage collection log, preprocessed on multiple threads.
+     * </p>
+     * 
+     * <p>
+     * A reader thread splits the raw log lines into chunks of {@link #PREPROCESS_CHUNK_SIZE} lines, and a pool of
+     * preprocessor threads preprocesses the chunks speculatively. Preprocessing a raw log line depends on the
+     * information carried from the lines before it (e.g. an event spanning multiple lines, or entangled log lines), so
+     * each chunk is first preprocessed from the {@link #PREPROCESS_CHUNK_OVERLAP} raw log lines before it, starting
+     * from an empty context. Events rarely span that many lines, so by the start of the chunk the context is usually
+     * the same as preprocessing the whole log in order.
+     * </p>
+     * 
+     * <p>
+     * The chunks are joined in log order. A chunk is only used if the context it started from is the same as the
+     * context left by the chunk before it. Otherwise it is preprocessed again from that context, so the preprocessed
+     * logging is always the same as preprocessing on a single thread.
+     * </p>
+     */
+    private class ParallelPreprocessReader extends PreprocessReader {
+
+        /**
+         * Raw log lines and the preprocessed logging of them.
+         */
+        private final class Chunk implements Callable<Chunk> {
+
+            /**
+             * The overlap raw log lines followed by the chunk raw log lines.
+             */
+            private List<String> logLines = new ArrayList<String>();
+
+            /**
+             * The number of overlap raw log lines at the start.
+             */
+            private int overlap;
+
+            /**
+             * The raw log line before the first, or "" if none.
+             */
+            private String priorLogLine = "";
+
+            /**
+             * The raw log line after the last, or null at the end of the log.
+             */
+            private String nextLogLine;
+
+            /**
+             * The context speculatively preprocessed from at the start of the chunk.
+             */
+            private PreprocessContext startContext;
+
+            /**
+             * The context at the end of the chunk.
+             */
+            private PreprocessContext endContext;
+
+            /**
+             * Analysis identified preprocessing the chunk.
+             */
+            private List<Analysis> analysis = new ArrayList<Analysis>();
+
+            /**
+             * The preprocessed logging of the chunk.
+             */
+            private StringBuilder preprocessedLogging = new StringBuilder();
+
+            /**
+             * Preprocess the chunk from an empty context at the start of the overlap.
+             */
+            public Chunk call() {
+                PreprocessContext preprocessContext = new PreprocessContext();
+                List<Analysis> overlapAnalysis = new ArrayList<Analysis>();
+                StringBuilder overlapLogging = new StringBuilder();
+                for (int i = 0; i < overlap; i++) {
+                    preprocessLogLine(getLogLine(i - 1), logLines.get(i), getLogLine(i + 1), jvmStartDate,
+                            preprocessContext, overlapAnalysis, overlapLogging);
                 }
+                startContext = preprocessContext.copy();
+                preprocess(preprocessContext);
+                return this;
             }
 
-            // output entangled log lines
-            if (entangledLogLines.size() > 0) {
-                Iterator<String> iterator = entangledLogLines.iterator();
-                while (iterator.hasNext()) {
-                    String logLine = iterator.next();
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + logLine);
+            /**
+             * Preprocess the chunk raw log lines.
+             * 
+             * @param preprocessContext
+             *            The context at the start of the chunk, updated to the context at the end.
+             */
+            private void preprocess(PreprocessContext preprocessContext) {
+                for (int i = overlap; i < logLines.size(); i++) {
+                    preprocessLogLine(getLogLine(i - 1), logLines.get(i), getLogLine(i + 1), jvmStartDate,
+                            preprocessContext, analysis, preprocessedLogging);
                 }
-                // Reset entangled log lines
-                entangledLogLines.clear();
+                endContext = preprocessContext;
             }
 
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
+            /**
+             * @param index
+             *            The index of the raw log line, -1 for the line before the first, or the size for the line
+             *            after the last.
+             * @return The raw log line.
+             */
+            private String getLogLine(int index) {
+                if (index < 0) {
+                    return priorLogLine;
+                } else if (index == logLines.size()) {
+                    return nextLogLine;
+                } else {
+                    return logLines.get(index);
+                }
+            }
+        }
 
-            // Close streams
-            if (bufferedReader != null) {
+        /**
+         * Chunk marking the end of the log.
+         */
+        private final Chunk end = new Chunk();
+
+        /**
+         * The date and time the JVM was started.
+         */
+        private Date jvmStartDate;
+
+        /**
+         * Analysis identified by preprocessing.
+         */
+        private List<Analysis> analysis;
+
+        /**
+         * The context left by the last chunk joined.
+         */
+        private PreprocessContext preprocessContext = new PreprocessContext();
+
+        /**
+         * Chunks in log order, preprocessed or being preprocessed.
+         */
+        private BlockingQueue<Future<Chunk>> chunks;
+
+        /**
+         * Preprocessor threads.
+         */
+        private ExecutorService preprocessors;
+
+        /**
+         * Reader thread.
+         */
+        private Thread reader;
+
+        /**
+         * @param rawReader
+         *            Raw garbage collection logging.
+         * @param jvmStartDate
+         *            The date and time the JVM was started.
+         * @param analysis
+         *            Analysis identified by preprocessing.
+         * @param threads
+         *            The number of preprocessor threads.
+         */
+        private ParallelPreprocessReader(final BufferedReader rawReader, Date jvmStartDate, List<Analysis> analysis,
+                int threads) {
+            super(rawReader, jvmStartDate, analysis);
+            this.jvmStartDate = jvmStartDate;
+            this.analysis = analysis;
+            chunks = new ArrayBlockingQueue<Future<Chunk>>(threads * 2);
+            preprocessors = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "garbagecat-preprocessor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            reader = new Thread(new Runnable() {
+                public void run() {
+                    read(rawReader);
+                }
+            }, "garbagecat-preprocess-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        /**
+         * Read raw log lines into chunks, and queue the chunks to be preprocessed. Runs on the reader thread.
+         * 
+         * @param rawReader
+         *            Raw garbage collection logging.
+         */
+        private void read(BufferedReader rawReader) {
+            try {
+                // The first chunk starts with the empty line before the log, the same as preprocessing in order
+                Chunk chunk = new Chunk();
+                chunk.logLines.add("");
+                String logLine = rawReader.readLine();
+                while (logLine != null) {
+                    if (chunk.logLines.size() - chunk.overlap == PREPROCESS_CHUNK_SIZE) {
+                        chunk.nextLogLine = logLine;
+                        Chunk next = new Chunk();
+                        int overlapStart = Math.max(0, chunk.logLines.size() - PREPROCESS_CHUNK_OVERLAP);
+                        next.logLines.addAll(chunk.logLines.subList(overlapStart, chunk.logLines.size()));
+                        next.overlap = next.logLines.size();
+                        next.priorLogLine = chunk.getLogLine(overlapStart - 1);
+                        chunks.put(preprocessors.submit(chunk));
+                        chunk = next;
+                    }
+                    chunk.logLines.add(logLine);
+                    logLine = rawReader.readLine();
+                }
+                chunks.put(preprocessors.submit(chunk));
+                chunks.put(preprocessors.submit(end));
+            } catch (InterruptedException e) {
+                // Closed
+            } catch (final Throwable t) {
+                // Hand the failure to the caller in log order
+                FutureTask<Chunk> failed = new FutureTask<Chunk>(new Callable<Chunk>() {
+                    public Chunk call() throws Exception {
+                        if (t instanceof Exception) {
+                            throw (Exception) t;
+                        }
+                        throw (Error) t;
+                    }
+                });
+                failed.run();
                 try {
-                    bufferedReader.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
+                    chunks.put(failed);
+                } catch (InterruptedException e) {
+                    // Closed
                 }
             }
+        }
 
-            if (bufferedWriter != null) {
-                try {
-                    bufferedWriter.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
+        /**
+         * Join the next preprocessed chunk to the buffer.
+         * 
+         * @return true if a chunk was joined, false if all raw log lines have been preprocessed.
+         */
+        protected boolean preprocess() throws IOException {
+            Chunk chunk;
+            try {
+                chunk = chunks.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted preprocessing logging.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
                 }
+                throw new RuntimeException(cause);
             }
-            preprocessed = true;
+            if (chunk == end) {
+                return false;
+            }
+            if (chunk.startContext.isSame(preprocessContext)) {
+                preprocessContext = chunk.endContext;
+            } else {
+                // Speculation failed: preprocess again from the context left by the chunk before
+                chunk.analysis.clear();
+                chunk.preprocessedLogging.setLength(0);
+                chunk.preprocess(preprocessContext);
+            }
+            Iterator<Analysis> iterator = chunk.analysis.iterator();
+            while (iterator.hasNext()) {
+                Analysis a = iterator.next();
+                if (!analysis.contains(a)) {
+                    analysis.add(a);
+                }
+            }
+            getBuffer().append(chunk.preprocessedLogging);
+            if (chunk.nextLogLine == null) {
+                // output entangled log lines
+                appendEntangledLogLines(preprocessContext, getBuffer());
+                if (chunk.logLines.size() > 1 || chunk.priorLogLine.length() > 0) {
+                    lastLogLineUnprocessed = chunk.logLines.get(chunk.logLines.size() - 1);
+                }
+            }
+            return true;
         }
 
-        return preprocessFile;
+        /**
+         * Stop the reader and preprocessor threads, and close the raw logging.
+         */
+        public void close() throws IOException {
+            reader.interrupt();
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            preprocessors.shutdownNow();
+            super.close();
+        }
     }
 
     /**
@@ -257,10 +930,12 @@ public class GcManager {
      *            Log lines mixed in with other logging events.
      * @param context
      *            Information to make preprocessing decisions.
+     * @param analysis
+     *            Analysis identified by preprocessing.
      * @return The preprocessed log line, or null if it was thrown away.
      */
     private String getPreprocessedLogEntry(String currentLogLine, String priorLogLine, String nextLogLine,
-            Date jvmStartDate, List<String> entangledLogLines, Set<String> context) {
+            Date jvmStartDate, List<String> entangledLogLines, PreprocessTokenSet context, List<Analysis> analysis) {
 
         String preprocessedLogLine = null;
 
@@ -281,156 +956,52 @@ public class GcManager {
          * , 0.0209631 secs]
          */
 
-        if (isThrowawayEvent(currentLogLine)) {
-            // Analysis
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
-                if (ClassUnloadingEvent.match(currentLogLine)
-                        && !jvmDao.getAnalysis().contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_TRACE_CLASS_UNLOADING);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_HEAP_AT_GC)) {
-                if (HeapAtGcEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_HEAP_AT_GC);
+        LogEventType throwAwayEventType = JdkUtil.identifyThrowAwayEventType(currentLogLine);
+        if (throwAwayEventType != null) {
+            // Analysis. The log line can match more than the event type it is identified as (e.g. "Heap" is
+            // identified as FOOTER_HEAP but also matches HEAP_AT_GC).
+            long fragments = EventTypeIndex.scan(currentLogLine);
+            for (int i = 0; i < THROW_AWAY_ANALYSIS_EVENT_TYPES.length; i++) {
+                LogEventType eventType = THROW_AWAY_ANALYSIS_EVENT_TYPES[i];
+                Analysis throwAwayAnalysis = getThrowAwayAnalysis(eventType);
+                if (analysis.contains(throwAwayAnalysis)) {
+                    continue;
                 }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_CLASS_HISTOGRAM)) {
-                if (ClassHistogramEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_CLASS_HISTOGRAM);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.INFO_PRINT_FLS_STATISTICS)) {
-                if (FlsStatisticsEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.INFO_PRINT_FLS_STATISTICS);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_TENURING_DISTRIBUTION)) {
-                if (TenuringDistributionEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_TENURING_DISTRIBUTION);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME)) {
-                if (ApplicationConcurrentTimeEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_APPLICATION_LOGGING)) {
-                if (ApplicationLoggingEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_APPLICATION_LOGGING);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED)) {
-                if (ReferenceGcEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED);
+                if (eventType == throwAwayEventType || (EventTypeIndex.isCandidate(eventType, fragments)
+                        && JdkUtil.match(eventType, currentLogLine))) {
+                    analysis.add(throwAwayAnalysis);
                 }
             }
             currentLogLine = null;
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && ShenandoahPreprocessAction.match(currentLogLine)) {
-            ShenandoahPreprocessAction action = new ShenandoahPreprocessAction(priorLogLine, currentLogLine,
-                    nextLogLine, entangledLogLines, context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && UnifiedPreprocessAction.match(currentLogLine)) {
-            UnifiedPreprocessAction action = new UnifiedPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                    entangledLogLines, context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && ParallelPreprocessAction.match(currentLogLine)) {
-            ParallelPreprocessAction action = new ParallelPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                    entangledLogLines, context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && CmsPreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
-            CmsPreprocessAction action = new CmsPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                    entangledLogLines, context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(SerialPreprocessAction.TOKEN)
-                && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && ApplicationConcurrentTimePreprocessAction.match(currentLogLine, priorLogLine)) {
-            ApplicationConcurrentTimePreprocessAction action = new ApplicationConcurrentTimePreprocessAction(
-                    currentLogLine, context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
-        } else if (!context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(CmsPreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && ApplicationStoppedTimePreprocessAction.match(currentLogLine, priorLogLine)) {
-            ApplicationStoppedTimePreprocessAction action = new ApplicationStoppedTimePreprocessAction(currentLogLine,
-                    context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(CmsPreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && G1PreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
-            G1PreprocessAction action = new G1PreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                    entangledLogLines, context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN) && SerialPreprocessAction.match(currentLogLine)) {
-            SerialPreprocessAction action = new SerialPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                    entangledLogLines, context);
-            if (action.getLogEntry() != null) {
-                preprocessedLogLine = action.getLogEntry();
-            }
         } else {
-            // Output any entangled log lines
-            if (entangledLogLines != null && entangledLogLines.size() > 0) {
-                Iterator<String> iterator = entangledLogLines.iterator();
-                while (iterator.hasNext()) {
-                    String logLine = iterator.next();
-                    if (preprocessedLogLine == null) {
-                        preprocessedLogLine = logLine;
-                    } else {
-                        preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + logLine;
+            // Only match the preprocessing actions valid in the context
+            PreprocessActionType preprocessActionType = PreprocessActionDispatcher
+                    .identifyPreprocessAction(priorLogLine, currentLogLine, nextLogLine, context);
+            if (preprocessActionType != null) {
+                preprocessedLogLine = PreprocessActionDispatcher.preprocess(preprocessActionType, priorLogLine,
+                        currentLogLine, nextLogLine, entangledLogLines, context);
+            } else {
+                // Output any entangled log lines
+                if (entangledLogLines != null && entangledLogLines.size() > 0) {
+                    Iterator<String> iterator = entangledLogLines.iterator();
+                    while (iterator.hasNext()) {
+                        String logLine = iterator.next();
+                        if (preprocessedLogLine == null) {
+                            preprocessedLogLine = logLine;
+                        } else {
+                            preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + logLine;
+                        }
                     }
+                    // Reset entangled log lines
+                    entangledLogLines.clear();
                 }
-                // Reset entangled log lines
-                entangledLogLines.clear();
-            }
-            if (preprocessedLogLine == null) {
-                preprocessedLogLine = currentLogLine;
-            } else {
-                preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + currentLogLine;
+                if (preprocessedLogLine == null) {
+                    preprocessedLogLine = currentLogLine;
+                } else {
+                    preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + currentLogLine;
+                }
+                context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
         }
 
         return preprocessedLogLine;
@@ -450,15 +1021,132 @@ public class GcManager {
             return;
         }
 
-        // Parse gc log file
-        BufferedReader bufferedReader = null;
+        storeLogFiles(Collections.singletonList(logFile), reorder);
+    }
+
+    /**
+     * Parse the garbage collection logging in a set of rotated log files as one log and store the data in the data
+     * store.
+     * 
+     * @param logFiles
+     *            The garbage collection log files, in any order (see {@link LogFileSetReader#order(List)}).
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void storeLogFiles(List<File> logFiles, boolean reorder) {
+
+        if (logFiles == null || logFiles.isEmpty()) {
+            return;
+        }
+
+        // Parse gc log files
+        try {
+            List<File> orderedLogFiles = LogFileSetReader.order(logFiles);
+            EventIndex eventIndex = null;
+            if (index) {
+                eventIndex = new EventIndex(orderedLogFiles, false, null, reorder);
+                if (readIndex(eventIndex)) {
+                    return;
+                }
+            }
+            store(newLogReader(orderedLogFiles), reorder, threads);
+            if (eventIndex != null) {
+                eventIndex.write(jvmDao, lastLogLineUnprocessed);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Replace the data store with the data stored in an event index, if there is one for the log files.
+     * 
+     * @param eventIndex
+     *            The event index for the log files.
+     * @return true if the data store is read from the event index, false if the logging needs to be parsed.
+     */
+    private boolean readIndex(EventIndex eventIndex) {
+        JvmDao indexJvmDao = eventIndex.read();
+        if (indexJvmDao == null) {
+            return false;
+        }
+        storeLock.lock();
         try {
-            bufferedReader = new BufferedReader(new FileReader(logFile));
-            String logLine = bufferedReader.readLine();
+            jvmDao.close();
+            jvmDao = indexJvmDao;
+            lastLogLineUnprocessed = eventIndex.getLastLogLineUnprocessed();
+        } finally {
+            storeLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Parse garbage collection logging as it is written (see {@link LogFollower#nextRun()}) and store the data in the
+     * data store. {@link #getJvmRun(Jvm, int)} can be called on another thread at any time to get the JVM run data for
+     * the logging stored so far, so the cost of following the logging is for the new log lines only.
+     * 
+     * Logging is preprocessed and parsed one log line at a time on the calling thread, whatever the number of threads,
+     * so log lines are not held back waiting for a batch of log lines to be written. An event is stored once the log
+     * line after it is written.
+     * 
+     * @param logReader
+     *            Raw garbage collection logging, read until the end of the JVM run. Closed when done.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void follow(BufferedReader logReader, Date jvmStartDate, boolean preprocess, boolean reorder) {
+        if (logReader == null)
+            throw new IllegalArgumentException("logReader == null!!");
+
+        if (preprocess) {
+            storeLock.lock();
+            try {
+                followAnalysis = Collections.synchronizedList(new ArrayList<Analysis>());
+                preprocessed = true;
+            } finally {
+                storeLock.unlock();
+            }
+            store(new BufferedReader(new PreprocessReader(logReader, jvmStartDate, followAnalysis)), reorder, 1);
+        } else {
+            store(logReader, reorder, 1);
+        }
+    }
+
+    /**
+     * Parse garbage collection logging for the JVM run and store the data in the data store.
+     * 
+     * @param bufferedReader
+     *            The garbage collection logging. Closed when done.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param threads
+     *            The number of threads parsing logging.
+     */
+    private void store(BufferedReader bufferedReader, boolean reorder, int threads) {
+        eventTypeDispatcher = new EventTypeDispatcher();
+        LogEventReader logEventReader;
+        if (threads > 1) {
+            logEventReader = new ParallelLogEventReader(bufferedReader, eventTypeDispatcher, threads);
+        } else {
+            logEventReader = new LogEventReader(bufferedReader, eventTypeDispatcher);
+        }
+        storeLock.lock();
+        try {
+            // Log entries of logging read from a log file are read again from the log file when needed
+            int logFile = -1;
+            if (bufferedReader instanceof MappedLogReader) {
+                logFile = jvmDao.addLogFile(((MappedLogReader) bufferedReader).getFile());
+            }
+            // If event has no timestamp, use most recent blocking timestamp in database.
+            LogEvent event = readLogEvent(logEventReader);
             BlockingEvent priorEvent = null;
-            while (logLine != null) {
-                // If event has no timestamp, use most recent blocking timestamp in database.
-                LogEvent event = JdkUtil.parseLogLine(logLine);
+            while (event != null) {
+                String logLine = logEventReader.getLogLine();
                 if (event instanceof BlockingEvent) {
 
                     // Verify logging in correct order. If overridden, logging will be stored in database and reordered
@@ -468,14 +1156,16 @@ public class GcManager {
                                 + priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
                     }
 
-                    jvmDao.addBlockingEvent((BlockingEvent) event);
+                    long logEntryPosition = getLogEntryPosition(event, logEventReader, logFile);
+                    jvmDao.addBlockingEvent((BlockingEvent) event, logEntryPosition == -1 ? -1 : logFile,
+                            logEntryPosition);
 
                     // Analysis
 
                     // 1) Explicit GC
                     if (event instanceof TriggerData) {
                         String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)) {
+                        if (trigger != null && PatternRegistry.matches(JdkRegEx.TRIGGER_SYSTEM_GC, trigger)) {
                             CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
 
                             switch (collectorFamily) {
@@ -532,10 +1222,10 @@ public class GcManager {
                         }
                         CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
 
-                        if (trigger == null || (!trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_CLASS_HISTOGRAM)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC))) {
+                        if (trigger == null || (!PatternRegistry.matches(JdkRegEx.TRIGGER_SYSTEM_GC, trigger)
+                                && !PatternRegistry.matches(JdkRegEx.TRIGGER_CLASS_HISTOGRAM, trigger)
+                                && !PatternRegistry.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC, trigger)
+                                && !PatternRegistry.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC, trigger))) {
                             switch (collectorFamily) {
                             case G1:
                                 if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
@@ -569,7 +1259,8 @@ public class GcManager {
                     if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
                         if (event instanceof CmsSerialOldEvent) {
                             String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE)) {
+                            if (trigger != null
+                                    && PatternRegistry.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE, trigger)) {
                                 jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
                             }
                         }
@@ -579,7 +1270,8 @@ public class GcManager {
                     if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
                         if (event instanceof CmsSerialOldEvent) {
                             String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED)) {
+                            if (trigger != null
+                                    && PatternRegistry.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED, trigger)) {
                                 jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
                             }
                         }
@@ -598,7 +1290,8 @@ public class GcManager {
                     if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
                         if (event instanceof TriggerData) {
                             String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC)) {
+                            if (trigger != null
+                                    && PatternRegistry.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC, trigger)) {
                                 jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
                             }
                         }
@@ -608,7 +1301,9 @@ public class GcManager {
                     if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
                         if (event instanceof TriggerData) {
                             String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)) {
+                            if (trigger != null
+                                    && PatternRegistry.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC,
+                                    trigger)) {
                                 jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
                             }
                         }
@@ -618,7 +1313,8 @@ public class GcManager {
                     if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
                         if (event instanceof TriggerData) {
                             String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION)) {
+                            if (trigger != null
+                                    && PatternRegistry.matches(JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION, trigger)) {
                                 jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
                             }
                         }
@@ -629,7 +1325,8 @@ public class GcManager {
                         if (event instanceof TriggerData) {
                             String trigger = ((TriggerData) event).getTrigger();
                             if (trigger != null
-                                    && trigger.matches(JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION)) {
+                                    && PatternRegistry.matches(JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION,
+                                    trigger)) {
                                 jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
                             }
                         }
@@ -638,8 +1335,8 @@ public class GcManager {
                     // 10) G1 evacuation failure
                     if (event instanceof TriggerData) {
                         String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && (trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED)
-                                || trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW))) {
+                        if (trigger != null && (PatternRegistry.matches(JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED, trigger)
+                                || PatternRegistry.matches(JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW, trigger))) {
                             if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
                                 jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
                             }
@@ -649,7 +1346,7 @@ public class GcManager {
                     // 11) CMS promotion failure
                     if (event instanceof TriggerData) {
                         String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_PROMOTION_FAILED)) {
+                        if (trigger != null && PatternRegistry.matches(JdkRegEx.TRIGGER_PROMOTION_FAILED, trigger)) {
                             CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
                             if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
                                     && collectorFamily.equals(CollectorFamily.CMS)) {
@@ -678,7 +1375,8 @@ public class GcManager {
                     if (event instanceof G1Collector && event instanceof TriggerData
                             && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
                         String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION)) {
+                        if (trigger != null
+                                && PatternRegistry.matches(JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION, trigger)) {
                             jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
                         }
                     }
@@ -725,7 +1423,7 @@ public class GcManager {
 
                     // 18) Check for old JDKs using perm gen
                     if (event instanceof PermData && event.getLogEntry() != null
-                            && event.getLogEntry().matches("^.*Perm.*$")) {
+                            && PatternRegistry.matches("^.*Perm.*$", event.getLogEntry())) {
                         if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
                             jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
                         }
@@ -734,7 +1432,9 @@ public class GcManager {
                     priorEvent = (BlockingEvent) event;
 
                 } else if (event instanceof ApplicationStoppedTimeEvent) {
-                    jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
+                    long logEntryPosition = getLogEntryPosition(event, logEventReader, logFile);
+                    jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event,
+                            logEntryPosition == -1 ? -1 : logFile, logEntryPosition);
                 } else if (event instanceof HeaderCommandLineFlagsEvent) {
                     jvmDao.setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
                 } else if (event instanceof HeaderMemoryEvent) {
@@ -799,81 +1499,153 @@ public class GcManager {
                     }
                 }
 
-                logLine = bufferedReader.readLine();
-
                 // Check for partial last line
-                if (logLine == null) {
+                if (logEventReader.isLastLogLine()) {
                     if (event instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().size() == 1) {
                         jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
                     }
                 }
-            }
 
-            // Process final batches
-            jvmDao.processBlockingBatch();
-            jvmDao.processStoppedTimeBatch();
-        } catch (
-
-        FileNotFoundException e) {
-            e.printStackTrace();
+                event = readLogEvent(logEventReader);
+            }
         } catch (IOException e) {
             e.printStackTrace();
         } finally {
+            storeLock.unlock();
+            logEventReader.close();
             // Close streams
-            if (bufferedReader != null) {
-                try {
-                    bufferedReader.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+            try {
+                bufferedReader.close();
+            } catch (IOException e) {
+                e.printStackTrace();
             }
         }
 
     }
 
     /**
-     * Determine <code>BlockingEvent</code>s where throughput since last event does not meet the throughput goal.
+     * @param event
+     *            The <code>LogEvent</code> last read.
+     * @param logEventReader
+     *            The log event reader.
+     * @param logFile
+     *            The index of the log file the logging is read from (see {@link JvmDao#addLogFile(File)}), or -1 if
+     *            the logging is not read from a log file.
+     * @return The position in the log file of the event log entry, or -1 if the log entry is not a log line in the
+     *         log file (e.g. the logging is preprocessed as it is stored), so the log entry is stored.
+     */
+    private static long getLogEntryPosition(LogEvent event, LogEventReader logEventReader, int logFile) {
+        if (logFile == -1 || logEventReader.getLogLinePosition() == -1
+                || !logEventReader.getLogLine().equals(event.getLogEntry())) {
+            return -1;
+        }
+        return logEventReader.getLogLinePosition();
+    }
+
+    /**
+     * Read the next log event without holding the store lock, so the JVM run can be read while waiting for logging.
      * 
-     * @param jvm
-     *            The JVM environment information.
-     * @param throughputThreshold
-     *            The bottleneck reporting throughput threshold.
-     * @return A <code>List</code> of <code>BlockingEvent</code>s where the throughput between events is less than the
-     *         throughput threshold goal.
+     * @param logEventReader
+     *            The log event reader.
+     * @return The <code>LogEvent</code>, or null at the end of the log.
+     * @throws IOException
+     *             if the logging cannot be read.
      */
-    private List<String> getBottlenecks(Jvm jvm, int throughputThreshold) {
-        ArrayList<String> bottlenecks = new ArrayList<String>();
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents();
-        Iterator<BlockingEvent> iterator = blockingEvents.iterator();
-        BlockingEvent priorEvent = null;
-        while (iterator.hasNext()) {
-            BlockingEvent event = iterator.next();
+    private LogEvent readLogEvent(LogEventReader logEventReader) throws IOException {
+        storeLock.unlock();
+        try {
+            return logEventReader.readLogEvent();
+        } finally {
+            storeLock.lock();
+        }
+    }
+
+    /**
+     * The bottlenecks found in the blocking events checked so far, so a refreshed report (see
+     * {@link #follow(BufferedReader, Date, boolean, boolean)}) only checks the blocking events stored since.
+     */
+    private static final class BottleneckContext {
+
+        /**
+         * The JVM start date the bottlenecks are reported with, or null for timestamps.
+         */
+        private Date startDate;
+
+        /**
+         * The bottleneck reporting throughput threshold.
+         */
+        private int throughputThreshold;
+
+        /**
+         * The log entries of the bottlenecks, with "..." between bottlenecks that are not consecutive.
+         */
+        private List<String> bottlenecks = new ArrayList<String>();
+
+        /**
+         * The number of blocking events checked.
+         */
+        private int eventCount;
+
+        /**
+         * The last blocking event checked.
+         */
+        private BlockingEvent priorEvent;
+
+        /**
+         * @param startDate
+         *            The JVM start date, or null for timestamps.
+         * @param throughputThreshold
+         *            The bottleneck reporting throughput threshold.
+         */
+        private BottleneckContext(Date startDate, int throughputThreshold) {
+            this.startDate = startDate;
+            this.throughputThreshold = throughputThreshold;
+        }
+
+        /**
+         * @param startDate
+         *            The JVM start date, or null for timestamps.
+         * @param throughputThreshold
+         *            The bottleneck reporting throughput threshold.
+         * @return true if the bottlenecks are reported the same way, false otherwise.
+         */
+        private boolean isSame(Date startDate, int throughputThreshold) {
+            return (this.startDate == null ? startDate == null : this.startDate.equals(startDate))
+                    && this.throughputThreshold == throughputThreshold;
+        }
+
+        /**
+         * Check the next blocking event in timestamp order.
+         * 
+         * @param event
+         *            The blocking event.
+         */
+        private void add(BlockingEvent event) {
             if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
                 if (bottlenecks.size() == 0) {
                     // Add current and prior event
-                    if (jvm.getStartDate() != null) {
+                    if (startDate != null) {
                         // Convert timestamps to date/time
                         bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                jvm.getStartDate()));
-                        bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvm.getStartDate()));
+                                startDate));
+                        bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), startDate));
                     } else {
                         bottlenecks.add(priorEvent.getLogEntry());
                         bottlenecks.add(event.getLogEntry());
                     }
                 } else {
-                    if (jvm.getStartDate() != null) {
+                    if (startDate != null) {
                         // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvm.getStartDate())
+                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), startDate)
                                 .equals(bottlenecks.get(bottlenecks.size() - 1))) {
                             bottlenecks.add("...");
                             bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvm.getStartDate()));
+                                    startDate));
                             bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
+                                    startDate));
                         } else {
                             bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
+                                    startDate));
                         }
                     } else {
                         // Compare timestamps, since bottleneck has timestamp
@@ -888,8 +1660,38 @@ public class GcManager {
                 }
             }
             priorEvent = event;
+            eventCount++;
+        }
+    }
+
+    /**
+     * Determine <code>BlockingEvent</code>s where throughput since last event does not meet the throughput goal.
+     * 
+     * Only the blocking events stored since the last call are checked when they were stored in timestamp order after
+     * the events already checked. Otherwise (e.g. logging reordered by timestamp) all blocking events are checked
+     * again.
+     * 
+     * @param jvm
+     *            The JVM environment information.
+     * @param throughputThreshold
+     *            The bottleneck reporting throughput threshold.
+     * @return A <code>List</code> of <code>BlockingEvent</code>s where the throughput between events is less than the
+     *         throughput threshold goal.
+     */
+    private List<String> getBottlenecks(Jvm jvm, int throughputThreshold) {
+        Iterator<BlockingEvent> iterator = null;
+        if (bottleneckContext != null && bottleneckContext.isSame(jvm.getStartDate(), throughputThreshold)
+                && bottleneckContext.eventCount <= jvmDao.getBlockingEventCount()) {
+            iterator = jvmDao.getBlockingEventIterator(bottleneckContext.eventCount);
+        }
+        if (iterator == null) {
+            bottleneckContext = new BottleneckContext(jvm.getStartDate(), throughputThreshold);
+            iterator = jvmDao.getBlockingEventIterator();
+        }
+        while (iterator.hasNext()) {
+            bottleneckContext.add(iterator.next());
         }
-        return bottlenecks;
+        return new ArrayList<String>(bottleneckContext.bottlenecks);
     }
 
     /**
@@ -902,6 +1704,22 @@ public class GcManager {
      * @return The JVM run data.
      */
     public JvmRun getJvmRun(Jvm jvm, int throughputThreshold) {
+        storeLock.lock();
+        try {
+            return createJvmRun(jvm, throughputThreshold);
+        } finally {
+            storeLock.unlock();
+        }
+    }
+
+    /**
+     * @param jvm
+     *            JVM environment information.
+     * @param throughputThreshold
+     *            The throughput threshold for bottleneck reporting.
+     * @return The JVM run data for the logging stored.
+     */
+    private JvmRun createJvmRun(Jvm jvm, int throughputThreshold) {
         JvmRun jvmRun = new JvmRun(jvm, throughputThreshold);
         jvmRun.setPreprocessed(this.preprocessed);
         jvmRun.setLastLogLineUnprocessed(lastLogLineUnprocessed);
@@ -931,10 +1749,17 @@ public class GcManager {
         jvmRun.setMaxStoppedTime(jvmDao.getMaxStoppedTime());
         jvmRun.setTotalStoppedTime(jvmDao.getTotalStoppedTime());
         jvmRun.setStoppedTimeEventCount(jvmDao.getStoppedTimeEventCount());
-        jvmRun.setUnidentifiedLogLines(jvmDao.getUnidentifiedLogLines());
-        jvmRun.setEventTypes(jvmDao.getEventTypes());
-        jvmRun.setCollectorFamilies(jvmDao.getCollectorFamilies());
-        jvmRun.setAnalysis(jvmDao.getAnalysis());
+        // Copies, so the analysis does not change the data store and logging stored later does not change the JVM run
+        jvmRun.setUnidentifiedLogLines(new ArrayList<String>(jvmDao.getUnidentifiedLogLines()));
+        jvmRun.setEventTypes(new ArrayList<LogEventType>(jvmDao.getEventTypes()));
+        jvmRun.setCollectorFamilies(new ArrayList<CollectorFamily>(jvmDao.getCollectorFamilies()));
+        List<Analysis> analysis = new ArrayList<Analysis>(jvmDao.getAnalysis());
+        if (followAnalysis != null) {
+            synchronized (followAnalysis) {
+                analysis.addAll(0, followAnalysis);
+            }
+        }
+        jvmRun.setAnalysis(analysis);
         jvmRun.setBottlenecks(getBottlenecks(jvm, throughputThreshold));
         jvmRun.setParallelCount(jvmDao.getParallelCount());
         jvmRun.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount());
@@ -946,14 +1771,30 @@ public class GcManager {
     }
 
     /**
-     * Determine whether or not the logging line is essential for GC analysis.
-     * 
-     * @param logLine
-     *            The log line to test.
-     * @return True if the logging event can be thrown away, false if it should be kept.
+     * @param eventType
+     *            One of {@link #THROW_AWAY_ANALYSIS_EVENT_TYPES}.
+     * @return The <code>Analysis</code> log lines of the event type indicate.
      */
-    private boolean isThrowawayEvent(String logLine) {
-        LogEvent event = JdkUtil.parseLogLine(logLine);
-        return event instanceof ThrowAwayEvent;
+    private static Analysis getThrowAwayAnalysis(LogEventType eventType) {
+        switch (eventType) {
+        case APPLICATION_CONCURRENT_TIME:
+            return Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME;
+        case APPLICATION_LOGGING:
+            return Analysis.WARN_APPLICATION_LOGGING;
+        case CLASS_HISTOGRAM:
+            return Analysis.WARN_CLASS_HISTOGRAM;
+        case CLASS_UNLOADING:
+            return Analysis.WARN_TRACE_CLASS_UNLOADING;
+        case FLS_STATISTICS:
+            return Analysis.INFO_PRINT_FLS_STATISTICS;
+        case HEAP_AT_GC:
+            return Analysis.WARN_PRINT_HEAP_AT_GC;
+        case REFERENCE_GC:
+            return Analysis.WARN_PRINT_REFERENCE_GC_ENABLED;
+        case TENURING_DISTRIBUTION:
+            return Analysis.WARN_PRINT_TENURING_DISTRIBUTION;
+        default:
+            return null;
+        }
     }
 }
@@ -0,0 +1,172 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.jdk.GcEvent;
+import org.eclipselabs.garbagecat.util.MappedLogReader;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeDispatcher;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Reads the log lines of a garbage collection log and parses them into <code>LogEvent</code>s in log order.
+ * </p>
+ * 
+ * <p>
+ * Log lines are identified with an {@link EventTypeDispatcher}. Once a log line is parsed as a <code>GcEvent</code>,
+ * the dispatcher's collector family is set so other collector families are only matched as a fallback.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogEventReader {
+
+    /**
+     * The garbage collection logging.
+     */
+    private BufferedReader bufferedReader;
+
+    /**
+     * Event type identification for the log.
+     */
+    private EventTypeDispatcher eventTypeDispatcher;
+
+    /**
+     * The log line of the last <code>LogEvent</code> read.
+     */
+    private String logLine;
+
+    /**
+     * The position in the log file of the log line of the last <code>LogEvent</code> read, or -1 if not known.
+     */
+    private long logLinePosition = -1;
+
+    /**
+     * The log line after the last <code>LogEvent</code> read, or null at the end of the log.
+     */
+    private String nextLogLine;
+
+    /**
+     * The position in the log file of the log line after the last <code>LogEvent</code> read, or -1 if not known.
+     */
+    private long nextLogLinePosition = -1;
+
+    /**
+     * Whether or not the first log line has been read.
+     */
+    private boolean started;
+
+    /**
+     * @param bufferedReader
+     *            The garbage collection logging.
+     * @param eventTypeDispatcher
+     *            Event type identification for the log.
+     */
+    public LogEventReader(BufferedReader bufferedReader, EventTypeDispatcher eventTypeDispatcher) {
+        this.bufferedReader = bufferedReader;
+        this.eventTypeDispatcher = eventTypeDispatcher;
+    }
+
+    protected BufferedReader getBufferedReader() {
+        return bufferedReader;
+    }
+
+    protected EventTypeDispatcher getEventTypeDispatcher() {
+        return eventTypeDispatcher;
+    }
+
+    /**
+     * @return The log line of the last <code>LogEvent</code> read.
+     */
+    public String getLogLine() {
+        return logLine;
+    }
+
+    /**
+     * @return The position in the log file of the log line of the last <code>LogEvent</code> read, or -1 if not
+     *         known (see {@link MappedLogReader#getLinePosition()}).
+     */
+    public long getLogLinePosition() {
+        return logLinePosition;
+    }
+
+    /**
+     * @return The position in the log file of the log line last read from the logging, or -1 if not known.
+     */
+    protected long getLinePosition() {
+        if (bufferedReader instanceof MappedLogReader) {
+            return ((MappedLogReader) bufferedReader).getLinePosition();
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if the last <code>LogEvent</code> read is from the last log line, false otherwise.
+     */
+    public boolean isLastLogLine() {
+        return nextLogLine == null;
+    }
+
+    /**
+     * Read the next log line and parse it into a <code>LogEvent</code>.
+     * 
+     * @return The <code>LogEvent</code>, or null at the end of the log.
+     * @throws IOException
+     *             if the logging cannot be read.
+     */
+    public LogEvent readLogEvent() throws IOException {
+        if (!started) {
+            nextLogLine = bufferedReader.readLine();
+            nextLogLinePosition = getLinePosition();
+            started = true;
+        }
+        if (nextLogLine == null) {
+            return null;
+        }
+        logLine = nextLogLine;
+        logLinePosition = nextLogLinePosition;
+        nextLogLine = bufferedReader.readLine();
+        nextLogLinePosition = getLinePosition();
+        LogEventType eventType = eventTypeDispatcher.identifyEventType(logLine);
+        LogEvent event = JdkUtil.parseLogLine(logLine, eventType);
+        setCollectorFamily(event);
+        return event;
+    }
+
+    /**
+     * Set the dispatcher's collector family from the first <code>GcEvent</code>.
+     * 
+     * @param event
+     *            The <code>LogEvent</code> parsed.
+     */
+    protected void setCollectorFamily(LogEvent event) {
+        // Once the collector is known, other collector families are only matched as a fallback
+        if (event instanceof GcEvent && eventTypeDispatcher.getCollectorFamily() == CollectorFamily.UNKNOWN) {
+            eventTypeDispatcher.setCollectorFamily(((GcEvent) event).getCollectorFamily());
+        }
+    }
+
+    /**
+     * Release any resources used reading. Does not close the logging.
+     */
+    public void close() {
+        // Nothing to release
+    }
+}
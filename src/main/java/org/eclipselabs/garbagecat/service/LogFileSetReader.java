@@ -0,0 +1,402 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.MappedLogReader;
+import org.eclipselabs.garbagecat.util.ParallelGzipInputStream;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+
+/**
+ * <p>
+ * Reads a set of rotated log files (e.g. <code>-XX:+UseGCLogFileRotation</code> or
+ * <code>-Xlog:gc*:file=gc.log::filecount=5</code>) as a single stream of log lines, one file after the other, opening
+ * each file when the file before is read.
+ * </p>
+ * 
+ * <p>
+ * Rotation reuses file names (e.g. gc.log.0 is overwritten once the file count is reached), so the file names do not
+ * give the log order. {@link #order(List)} puts the files in log order from the first date/time or uptime in each
+ * file.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogFileSetReader extends BufferedReader {
+
+    /**
+     * Maximum number of log lines read at the start of a log file to find the date/time and uptime it starts at.
+     */
+    public static final int START_LINES = 100;
+
+    /**
+     * Log file created header (e.g. 2016-09-29 07:13:12 GC log file created /path/to/gc.log.2).
+     */
+    private static final String REGEX_CREATED = "^(" + JdkRegEx.DATETIME + ") GC log file created";
+
+    /**
+     * Datestamp at the start of a log line, with or without unified logging decorations.
+     */
+    private static final String REGEX_DATESTAMP = "^\\[?" + JdkRegEx.DATESTAMP;
+
+    /**
+     * Uptime in seconds at the start of a log line (e.g. 2.253: or 2017-04-03T03:13:06.756-0500: 2.253:).
+     */
+    private static final String REGEX_UPTIME = "^(" + JdkRegEx.DATESTAMP + ": )?" + JdkRegEx.TIMESTAMP + ":";
+
+    /**
+     * The {@link #REGEX_UPTIME} group with the uptime in seconds.
+     */
+    private static final int GROUP_UPTIME = 2 + JdkRegEx.DATESTAMP_GROUPS;
+
+    /**
+     * Uptime in unified logging decorations at the start of a log line (e.g. [2.253s] or [2253ms]).
+     */
+    private static final String REGEX_UNIFIED_UPTIME = "^(\\[" + JdkRegEx.DATESTAMP + "\\])?\\[("
+            + UnifiedRegEx.UPTIME + "|" + UnifiedRegEx.UPTIMEMILLIS + ")\\]";
+
+    /**
+     * The {@link #REGEX_UNIFIED_UPTIME} group with the uptime in seconds.
+     */
+    private static final int GROUP_UNIFIED_UPTIME = 3 + JdkRegEx.DATESTAMP_GROUPS;
+
+    /**
+     * The {@link #REGEX_UNIFIED_UPTIME} group with the uptime in milliseconds.
+     */
+    private static final int GROUP_UNIFIED_UPTIMEMILLIS = 4 + JdkRegEx.DATESTAMP_GROUPS;
+
+    /**
+     * Where a log file starts in the logging.
+     */
+    private static final class LogFileStart {
+
+        private File logFile;
+
+        /**
+         * The first date/time in milliseconds since the epoch, or -1 if not known.
+         */
+        private long dateTime = -1;
+
+        /**
+         * The first uptime in milliseconds, or -1 if not known.
+         */
+        private long uptime = -1;
+
+        private LogFileStart(File logFile) {
+            this.logFile = logFile;
+        }
+    }
+
+    /**
+     * The log files in log order.
+     */
+    private List<File> logFiles;
+
+    /**
+     * The number of threads a compressed log file is decompressed on.
+     */
+    private int threads;
+
+    /**
+     * The index of the log file being read.
+     */
+    private int index = -1;
+
+    /**
+     * The log file being read, or null if the next log file is not open yet.
+     */
+    private BufferedReader logFileReader;
+
+    /**
+     * Characters read but not yet returned by the <code>read</code> methods.
+     */
+    private String pending = "";
+
+    /**
+     * The index of the next character to return in the pending characters.
+     */
+    private int pendingIndex;
+
+    /**
+     * @param logFiles
+     *            The log files in log order.
+     * @param threads
+     *            The number of threads a compressed log file is decompressed on.
+     */
+    public LogFileSetReader(List<File> logFiles, int threads) {
+        // The superclass buffer is not used
+        super(new StringReader(""), 1);
+        this.logFiles = new ArrayList<File>(logFiles);
+        this.threads = threads;
+    }
+
+    /**
+     * @param logFile
+     *            Garbage collection log file, plain text or gzip compressed.
+     * @param threads
+     *            The number of threads a compressed log file is decompressed on.
+     * @return The logging in the log file, decompressed if compressed.
+     * @throws IOException
+     *             if the log file cannot be read.
+     */
+    public static final BufferedReader open(File logFile, int threads) throws IOException {
+        if (ParallelGzipInputStream.isGzip(logFile)) {
+            return new BufferedReader(new InputStreamReader(new ParallelGzipInputStream(logFile, threads)));
+        }
+        return new MappedLogReader(logFile);
+    }
+
+    /**
+     * Put rotated log files in log order. The files are ordered by the date/time they start at if every file has a
+     * datestamp or log file created header, then by the uptime they start at if every file has an uptime, then by name
+     * (comparing numbers in the name by value, e.g. gc.log.2 before gc.log.10).
+     * 
+     * @param logFiles
+     *            The log files, in any order.
+     * @return The log files in log order.
+     * @throws IOException
+     *             if a log file cannot be read.
+     */
+    public static final List<File> order(List<File> logFiles) throws IOException {
+        List<File> ordered = new ArrayList<File>(logFiles);
+        if (ordered.size() < 2) {
+            return ordered;
+        }
+        List<LogFileStart> starts = new ArrayList<LogFileStart>();
+        boolean dateTimes = true;
+        boolean uptimes = true;
+        for (File logFile : logFiles) {
+            LogFileStart start = getLogFileStart(logFile);
+            dateTimes = dateTimes && start.dateTime != -1;
+            uptimes = uptimes && start.uptime != -1;
+            starts.add(start);
+        }
+        final boolean byDateTime = dateTimes;
+        final boolean byUptime = uptimes;
+        Collections.sort(starts, new Comparator<LogFileStart>() {
+            public int compare(LogFileStart start1, LogFileStart start2) {
+                if (byDateTime && start1.dateTime != start2.dateTime) {
+                    return start1.dateTime < start2.dateTime ? -1 : 1;
+                }
+                if (byUptime && start1.uptime != start2.uptime) {
+                    return start1.uptime < start2.uptime ? -1 : 1;
+                }
+                return compareNames(start1.logFile.getName(), start2.logFile.getName());
+            }
+        });
+        ordered.clear();
+        for (LogFileStart start : starts) {
+            ordered.add(start.logFile);
+        }
+        return ordered;
+    }
+
+    /**
+     * Find the date/time and uptime a log file starts at.
+     * 
+     * @param logFile
+     *            The log file.
+     * @return Where the log file starts in the logging.
+     */
+    private static LogFileStart getLogFileStart(File logFile) throws IOException {
+        LogFileStart start = new LogFileStart(logFile);
+        long created = -1;
+        BufferedReader bufferedReader = open(logFile, 1);
+        try {
+            Pattern patternCreated = PatternRegistry.getPattern(REGEX_CREATED);
+            Pattern patternDatestamp = PatternRegistry.getPattern(REGEX_DATESTAMP);
+            String logLine = bufferedReader.readLine();
+            int lines = 0;
+            while (logLine != null && lines < START_LINES && (start.dateTime == -1 || start.uptime == -1)) {
+                Matcher matcher;
+                if (created == -1 && (matcher = patternCreated.matcher(logLine)).find()) {
+                    created = GcUtil.parseStartDateTime(matcher.group(1) + ",000").getTime();
+                }
+                if (start.dateTime == -1 && (matcher = patternDatestamp.matcher(logLine)).find()) {
+                    start.dateTime = GcUtil.parseDateStampMillis(matcher.group(1));
+                }
+                if (start.uptime == -1) {
+                    start.uptime = getUptime(logLine);
+                }
+                logLine = bufferedReader.readLine();
+                lines++;
+            }
+        } finally {
+            bufferedReader.close();
+        }
+        if (start.dateTime == -1) {
+            start.dateTime = created;
+        }
+        return start;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return The uptime in milliseconds at the start of the log line, or -1 if the log line does not start with an
+     *         uptime.
+     */
+    static final long getUptime(String logLine) {
+        Matcher matcher = PatternRegistry.getPattern(REGEX_UPTIME).matcher(logLine);
+        if (matcher.find()) {
+            return JdkMath.parseSecsToMillis(matcher.group(GROUP_UPTIME));
+        }
+        matcher = PatternRegistry.getPattern(REGEX_UNIFIED_UPTIME).matcher(logLine);
+        if (matcher.find()) {
+            if (matcher.group(GROUP_UNIFIED_UPTIME) != null) {
+                return JdkMath.parseSecsToMillis(matcher.group(GROUP_UNIFIED_UPTIME));
+            }
+            return Long.parseLong(matcher.group(GROUP_UNIFIED_UPTIMEMILLIS));
+        }
+        return -1;
+    }
+
+    /**
+     * Compare file names, comparing numbers in the names by value.
+     * 
+     * @param name1
+     *            A file name.
+     * @param name2
+     *            Another file name.
+     * @return A negative number, zero, or a positive number as the first name is before, the same as, or after the
+     *         second name.
+     */
+    static final int compareNames(String name1, String name2) {
+        int i1 = 0;
+        int i2 = 0;
+        while (i1 < name1.length() && i2 < name2.length()) {
+            char c1 = name1.charAt(i1);
+            char c2 = name2.charAt(i2);
+            if (Character.isDigit(c1) && Character.isDigit(c2)) {
+                int end1 = i1;
+                while (end1 < name1.length() && Character.isDigit(name1.charAt(end1))) {
+                    end1++;
+                }
+                int end2 = i2;
+                while (end2 < name2.length() && Character.isDigit(name2.charAt(end2))) {
+                    end2++;
+                }
+                // Compare by value: without leading zeros, the longer number is larger
+                String number1 = name1.substring(i1, end1).replaceFirst("^0+(?=.)", "");
+                String number2 = name2.substring(i2, end2).replaceFirst("^0+(?=.)", "");
+                if (number1.length() != number2.length()) {
+                    return number1.length() - number2.length();
+                }
+                int comparison = number1.compareTo(number2);
+                if (comparison != 0) {
+                    return comparison;
+                }
+                i1 = end1;
+                i2 = end2;
+            } else {
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+                i1++;
+                i2++;
+            }
+        }
+        return (name1.length() - i1) - (name2.length() - i2);
+    }
+
+    public String readLine() throws IOException {
+        if (pendingIndex < pending.length()) {
+            // Finish the line partially returned by read
+            String logLine = pending.substring(pendingIndex, pending.length() - Constants.LINE_SEPARATOR.length());
+            pendingIndex = pending.length();
+            return logLine;
+        }
+        while (true) {
+            if (logFileReader == null) {
+                if (index + 1 == logFiles.size()) {
+                    return null;
+                }
+                index++;
+                logFileReader = open(logFiles.get(index), threads);
+            }
+            String logLine = logFileReader.readLine();
+            if (logLine != null) {
+                return logLine;
+            }
+            logFileReader.close();
+            logFileReader = null;
+        }
+    }
+
+    public int read() throws IOException {
+        char[] c = new char[1];
+        return read(c, 0, 1) == -1 ? -1 : c[0];
+    }
+
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pendingIndex == pending.length()) {
+            // Read the next line with a line separator, so a log file without a line separator at the end does not
+            // run into the next log file
+            String logLine = readLine();
+            if (logLine == null) {
+                return -1;
+            }
+            pending = logLine + Constants.LINE_SEPARATOR;
+            pendingIndex = 0;
+        }
+        int length = Math.min(len, pending.length() - pendingIndex);
+        pending.getChars(pendingIndex, pendingIndex + length, cbuf, off);
+        pendingIndex += length;
+        return length;
+    }
+
+    public boolean ready() throws IOException {
+        return pendingIndex < pending.length() || (logFileReader != null && logFileReader.ready());
+    }
+
+    public boolean markSupported() {
+        return false;
+    }
+
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    public void close() throws IOException {
+        if (logFileReader != null) {
+            logFileReader.close();
+            logFileReader = null;
+        }
+        index = logFiles.size() - 1;
+        super.close();
+    }
+}
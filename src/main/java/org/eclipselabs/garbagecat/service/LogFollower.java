@@ -0,0 +1,563 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.util.Constants;
+
+/**
+ * <p>
+ * Follows a log file as the JVM writes it (like <code>tail -F</code>), reading only the bytes appended since the last
+ * read, so following a log costs the same for each new log line no matter how large the log has grown.
+ * </p>
+ * 
+ * <p>
+ * The logging is read as a series of JVM runs with {@link #nextRun()}. A run ends when the log file is truncated (e.g.
+ * the JVM was restarted writing to the same file) or a rotated log file starts a new JVM, because the logging starts
+ * over at uptime 0, or when the follower is stopped. Only complete log lines are read, so a log line being written is
+ * not read until it ends.
+ * </p>
+ * 
+ * <p>
+ * Rotation continues the run in the new log file once the old log file has been read to the end, unless the first
+ * uptime in the new log file is before the last uptime read (e.g. the JVM was restarted and the log file rotated at
+ * startup). The log lines at the start of the new log file are held until the first uptime is read to tell which:
+ * </p>
+ * 
+ * <ul>
+ * <li>Unified logging (e.g. <code>-Xlog:gc*:file=gc.log::filecount=5</code>) renames the log file and creates a new
+ * one with the same name. The log file open is still read after it is renamed, and the new log file is detected by its
+ * start being different.</li>
+ * <li>JDK8 rotation (<code>-XX:+UseGCLogFileRotation</code>) writes to gc.log.N.current, then renames it to gc.log.N
+ * and creates gc.log.N+1.current. If the log file followed is named like gc.log.N.current, the newest gc.log.*.current
+ * file in the same directory is followed.</li>
+ * </ul>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogFollower {
+
+    /**
+     * Default milliseconds to wait for more logging when the log file has been read to the end.
+     */
+    public static final long POLL_INTERVAL = 1000;
+
+    /**
+     * Number of bytes at the start of a log file compared to tell if the log file followed has been replaced.
+     */
+    public static final int FINGERPRINT_SIZE = 1024;
+
+    /**
+     * Initial number of bytes read from the log file at a time.
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * JDK8 rotation current log file name (e.g. gc.log.3.current).
+     */
+    private static final Pattern REGEX_CURRENT = Pattern.compile("^(.+)\\.\\d+\\.current$");
+
+    /**
+     * The change to the log file found when there is no more logging to read.
+     */
+    private enum Change {
+        NONE, ROTATED, TRUNCATED
+    }
+
+    /**
+     * The logging in one JVM run.
+     */
+    private final class Run extends BufferedReader {
+
+        /**
+         * Characters read but not yet returned by the <code>read</code> methods.
+         */
+        private String pending = "";
+
+        /**
+         * The index of the next character to return in the pending characters.
+         */
+        private int pendingIndex;
+
+        /**
+         * Whether or not the end of the run has been read.
+         */
+        private boolean ended;
+
+        private Run() {
+            // The superclass buffer is not used
+            super(new StringReader(""), 1);
+        }
+
+        public String readLine() throws IOException {
+            if (pendingIndex < pending.length()) {
+                // Finish the line partially returned by read
+                String logLine = pending.substring(pendingIndex, pending.length() - Constants.LINE_SEPARATOR.length());
+                pendingIndex = pending.length();
+                return logLine;
+            }
+            if (ended) {
+                return null;
+            }
+            String logLine = LogFollower.this.readLine();
+            if (logLine == null) {
+                ended = true;
+            }
+            return logLine;
+        }
+
+        public int read() throws IOException {
+            char[] c = new char[1];
+            return read(c, 0, 1) == -1 ? -1 : c[0];
+        }
+
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (pendingIndex == pending.length()) {
+                String logLine = readLine();
+                if (logLine == null) {
+                    return -1;
+                }
+                pending = logLine + Constants.LINE_SEPARATOR;
+                pendingIndex = 0;
+            }
+            int length = Math.min(len, pending.length() - pendingIndex);
+            pending.getChars(pendingIndex, pendingIndex + length, cbuf, off);
+            pendingIndex += length;
+            return length;
+        }
+
+        public boolean ready() throws IOException {
+            return pendingIndex < pending.length();
+        }
+
+        public boolean markSupported() {
+            return false;
+        }
+
+        public void mark(int readAheadLimit) throws IOException {
+            throw new IOException("mark() not supported");
+        }
+
+        public void reset() throws IOException {
+            throw new IOException("reset() not supported");
+        }
+
+        /**
+         * Ends the run. The log file stays open for the next run.
+         */
+        public void close() throws IOException {
+            ended = true;
+            super.close();
+        }
+    }
+
+    /**
+     * The log file followed.
+     */
+    private File logFile;
+
+    /**
+     * The JDK8 rotation log file name without the file number and current suffix (e.g. gc.log for gc.log.3.current),
+     * or null if the log file is not a JDK8 rotation current log file.
+     */
+    private String rotationName;
+
+    /**
+     * Milliseconds to wait for more logging when the log file has been read to the end.
+     */
+    private long pollInterval;
+
+    /**
+     * The log file open.
+     */
+    private File openFile;
+
+    /**
+     * The log file channel.
+     */
+    private FileChannel channel;
+
+    /**
+     * The position in the log file after the last byte read.
+     */
+    private long position;
+
+    /**
+     * Bytes read from the log file.
+     */
+    private byte[] chunk = new byte[CHUNK_SIZE];
+
+    /**
+     * The index in the chunk of the next byte to read.
+     */
+    private int chunkStart;
+
+    /**
+     * The index in the chunk after the last byte read.
+     */
+    private int chunkEnd;
+
+    /**
+     * The uptime in milliseconds of the last log line read with an uptime, or -1 if none has been read in the run.
+     */
+    private long lastUptime = -1;
+
+    /**
+     * The log lines read at the start of a rotated log file before the first uptime, or null if not at the start of a
+     * rotated log file.
+     */
+    private List<String> startLines;
+
+    /**
+     * Log lines read but not yet returned.
+     */
+    private LinkedList<String> pendingLines = new LinkedList<String>();
+
+    /**
+     * Whether or not the follower has been stopped.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * @param logFile
+     *            The log file to follow.
+     * @throws IOException
+     *             if the log file cannot be opened.
+     */
+    public LogFollower(File logFile) throws IOException {
+        this(logFile, POLL_INTERVAL);
+    }
+
+    /**
+     * @param logFile
+     *            The log file to follow.
+     * @param pollInterval
+     *            Milliseconds to wait for more logging when the log file has been read to the end.
+     * @throws IOException
+     *             if the log file cannot be opened.
+     */
+    public LogFollower(File logFile, long pollInterval) throws IOException {
+        if (logFile == null)
+            throw new IllegalArgumentException("logFile == null!!");
+
+        this.logFile = logFile;
+        this.pollInterval = pollInterval;
+        Matcher matcher = REGEX_CURRENT.matcher(logFile.getName());
+        if (matcher.matches()) {
+            rotationName = matcher.group(1);
+        }
+        open(getCurrentFile());
+    }
+
+    /**
+     * @return The logging in the next JVM run, starting at the last log line read, or null if the follower has been
+     *         stopped. Reading blocks until a log line is written, the log file is truncated, or the follower is
+     *         stopped.
+     */
+    public BufferedReader nextRun() {
+        if (stopped) {
+            return null;
+        }
+        return new Run();
+    }
+
+    /**
+     * Stop following the log file. The logging written before the log file was read to the end is still read, then the
+     * run ends.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Stop following and close the log file.
+     * 
+     * @throws IOException
+     *             if the log file cannot be closed.
+     */
+    public void close() throws IOException {
+        stopped = true;
+        channel.close();
+    }
+
+    /**
+     * @return The log file currently written by the JVM.
+     */
+    private File getCurrentFile() {
+        if (rotationName == null) {
+            return logFile;
+        }
+        File directory = logFile.getAbsoluteFile().getParentFile();
+        File[] files = directory.listFiles();
+        File currentFile = openFile != null ? openFile : logFile;
+        if (files != null) {
+            for (int i = 0; i < files.length; i++) {
+                Matcher matcher = REGEX_CURRENT.matcher(files[i].getName());
+                if (matcher.matches() && matcher.group(1).equals(rotationName)
+                        && files[i].lastModified() > currentFile.lastModified()) {
+                    currentFile = files[i];
+                }
+            }
+        }
+        return currentFile;
+    }
+
+    /**
+     * @param file
+     *            The log file to read from the start.
+     */
+    private void open(File file) throws IOException {
+        FileChannel newChannel = new FileInputStream(file).getChannel();
+        if (channel != null) {
+            channel.close();
+        }
+        channel = newChannel;
+        openFile = file;
+        position = 0;
+    }
+
+    /**
+     * Read the next complete log line, waiting for it to be written.
+     * 
+     * @return The log line without the line terminator, or null if the log file was truncated, a rotated log file
+     *         starts a new JVM run, or the follower has been stopped.
+     */
+    private String readLine() throws IOException {
+        if (!pendingLines.isEmpty()) {
+            return pendingLines.removeFirst();
+        }
+        int scanned = 0;
+        while (true) {
+            String logLine = null;
+            for (int i = chunkStart + scanned; i < chunkEnd; i++) {
+                if (chunk[i] == '\n') {
+                    int start = chunkStart;
+                    chunkStart = i + 1;
+                    logLine = line(start, i);
+                    break;
+                }
+            }
+            if (logLine != null) {
+                if (startLines == null) {
+                    setLastUptime(logLine);
+                    return logLine;
+                }
+                if (isNewRun(logLine)) {
+                    return null;
+                }
+                if (!pendingLines.isEmpty()) {
+                    return pendingLines.removeFirst();
+                }
+                scanned = 0;
+                continue;
+            }
+            scanned = chunkEnd - chunkStart;
+            if (fill() > 0) {
+                continue;
+            }
+            switch (getChange()) {
+            case ROTATED:
+                if (fill() > 0) {
+                    // Logging written to the old log file before it was rotated
+                    break;
+                }
+                open(getCurrentFile());
+                String lastLine = null;
+                if (chunkStart < chunkEnd) {
+                    // Last line of the old log file without a line terminator
+                    lastLine = line(chunkStart, chunkEnd);
+                    chunkStart = chunkEnd;
+                    setLastUptime(lastLine);
+                }
+                if (startLines == null && lastUptime != -1) {
+                    startLines = new ArrayList<String>();
+                }
+                if (lastLine != null) {
+                    return lastLine;
+                }
+                break;
+            case TRUNCATED:
+                position = 0;
+                chunkStart = 0;
+                chunkEnd = 0;
+                lastUptime = -1;
+                if (startLines != null) {
+                    // The start of a rotated log file the JVM restarted writing to
+                    pendingLines.addAll(startLines);
+                    startLines = null;
+                }
+                return null;
+            default:
+                if (stopped) {
+                    if (startLines != null) {
+                        pendingLines.addAll(startLines);
+                        startLines = null;
+                    }
+                    return pendingLines.isEmpty() ? null : pendingLines.removeFirst();
+                }
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopped = true;
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * @param logLine
+     *            A log line read.
+     */
+    private void setLastUptime(String logLine) {
+        long uptime = LogFileSetReader.getUptime(logLine);
+        if (uptime != -1) {
+            lastUptime = uptime;
+        }
+    }
+
+    /**
+     * Hold a log line at the start of a rotated log file until the first uptime, then tell whether the rotated log file
+     * continues the JVM run. The log lines held are then returned by {@link #readLine()}.
+     * 
+     * @param logLine
+     *            A log line at the start of a rotated log file.
+     * @return True if the rotated log file starts a new JVM run, false otherwise.
+     */
+    private boolean isNewRun(String logLine) {
+        startLines.add(logLine);
+        long uptime = LogFileSetReader.getUptime(logLine);
+        if (uptime == -1 && startLines.size() < LogFileSetReader.START_LINES) {
+            return false;
+        }
+        pendingLines.addAll(startLines);
+        startLines = null;
+        if (uptime == -1) {
+            // No uptime to compare
+            return false;
+        }
+        boolean newRun = uptime < lastUptime;
+        lastUptime = uptime;
+        return newRun;
+    }
+
+    /**
+     * @param start
+     *            The index in the chunk of the first byte of the line.
+     * @param end
+     *            The index in the chunk after the last byte of the line.
+     * @return The line, without any carriage return before the line feed.
+     */
+    private String line(int start, int end) {
+        if (end > start && chunk[end - 1] == '\r') {
+            end--;
+        }
+        return new String(chunk, start, end - start, Charset.defaultCharset());
+    }
+
+    /**
+     * Move the unread bytes to the start of the chunk and read the bytes appended to the log file.
+     * 
+     * @return The number of bytes read.
+     */
+    private int fill() throws IOException {
+        if (chunkStart > 0) {
+            System.arraycopy(chunk, chunkStart, chunk, 0, chunkEnd - chunkStart);
+            chunkEnd -= chunkStart;
+            chunkStart = 0;
+        }
+        if (chunkEnd == chunk.length) {
+            // Line longer than the chunk
+            chunk = Arrays.copyOf(chunk, chunk.length * 2);
+        }
+        int length = channel.read(ByteBuffer.wrap(chunk, chunkEnd, chunk.length - chunkEnd), position);
+        if (length <= 0) {
+            return 0;
+        }
+        position += length;
+        chunkEnd += length;
+        return length;
+    }
+
+    /**
+     * Check the log file once it has been read to the end. The cost does not depend on the size of the log file.
+     * 
+     * @return The change to the log file.
+     */
+    private Change getChange() throws IOException {
+        long size = channel.size();
+        if (size < position) {
+            return Change.TRUNCATED;
+        }
+        File currentFile = getCurrentFile();
+        if (!currentFile.exists()) {
+            // Renamed, and the new log file not created yet
+            return Change.NONE;
+        }
+        if (!currentFile.equals(openFile)) {
+            return Change.ROTATED;
+        }
+        // Same name, but a new log file if smaller or with a different start
+        if (currentFile.length() < size) {
+            return Change.ROTATED;
+        }
+        byte[] start = readStart(channel, (int) Math.min(size, FINGERPRINT_SIZE));
+        FileChannel currentChannel = new FileInputStream(currentFile).getChannel();
+        try {
+            if (!Arrays.equals(start, readStart(currentChannel, start.length))) {
+                return Change.ROTATED;
+            }
+        } finally {
+            currentChannel.close();
+        }
+        return Change.NONE;
+    }
+
+    /**
+     * @param fileChannel
+     *            The log file channel.
+     * @param length
+     *            The number of bytes to read.
+     * @return The bytes at the start of the log file, fewer than the length if the log file is smaller.
+     */
+    private static byte[] readStart(FileChannel fileChannel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && fileChannel.read(buffer, buffer.position()) > 0) {
+            // Read until the buffer is full or the end of the log file
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
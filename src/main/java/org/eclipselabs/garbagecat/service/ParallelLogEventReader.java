@@ -0,0 +1,331 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeDispatcher;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Reads the log lines of a garbage collection log and parses them into <code>LogEvent</code>s in log order, parsing
+ * on multiple threads.
+ * </p>
+ * 
+ * <p>
+ * A reader thread reads log lines in batches of {@link #BATCH_SIZE}. Each batch is identified and parsed by a pool of
+ * parser threads, and the batches are returned to the caller in log order, so the <code>LogEvent</code>s are the same
+ * as {@link LogEventReader} in the same order.
+ * </p>
+ * 
+ * <p>
+ * Identifying a log line only depends on the log lines before it through the collector family (the order event types
+ * are tested and the line shape cache never change the identification; see {@link EventTypeDispatcher}). Until the
+ * collector family is known, the reader thread identifies and parses each log line to set it. After that, each parser
+ * thread identifies log lines with its own dispatcher set to the collector family, and parses each log line right
+ * after identifying it, so the match made identifying the log line is reused parsing it (see
+ * <code>PatternRegistry</code>). The identification statistics of the parser threads are added to the log's dispatcher
+ * at the end of the log (or when the reader is closed, once the reader and parser threads have stopped).
+ * </p>
+ * 
+ * <p>
+ * The number of batches read ahead is bounded, so memory use does not depend on the size of the log.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class ParallelLogEventReader extends LogEventReader {
+
+    /**
+     * Number of log lines parsed together.
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    /**
+     * Seconds to wait for the reader thread, then the parser threads, to stop when the reader is closed.
+     */
+    public static final long CLOSE_TIMEOUT = 10;
+
+    /**
+     * Log lines read by the reader thread, and the <code>LogEvent</code>s parsed from them.
+     */
+    private final class Batch implements Callable<Batch> {
+
+        private String[] logLines = new String[BATCH_SIZE];
+
+        private long[] logLinePositions = new long[BATCH_SIZE];
+
+        /**
+         * The <code>LogEvent</code>s, or null if not parsed yet.
+         */
+        private LogEvent[] events = new LogEvent[BATCH_SIZE];
+
+        private int size;
+
+        /**
+         * Whether or not the batch ends with the last log line.
+         */
+        private boolean last;
+
+        /**
+         * The collector family of the log when the log lines not parsed by the reader thread were read.
+         */
+        private CollectorFamily collectorFamily = CollectorFamily.UNKNOWN;
+
+        /**
+         * Identify and parse the log lines not parsed by the reader thread.
+         */
+        public Batch call() {
+            EventTypeDispatcher eventTypeDispatcher = dispatchers.get();
+            eventTypeDispatcher.setCollectorFamily(collectorFamily);
+            for (int i = 0; i < size; i++) {
+                if (events[i] == null) {
+                    events[i] = JdkUtil.parseLogLine(logLines[i], eventTypeDispatcher.identifyEventType(logLines[i]));
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Batch marking the end of the log.
+     */
+    private final Batch end = new Batch();
+
+    /**
+     * Event type identification on each parser thread.
+     */
+    private final ThreadLocal<EventTypeDispatcher> dispatchers = new ThreadLocal<EventTypeDispatcher>() {
+        protected EventTypeDispatcher initialValue() {
+            EventTypeDispatcher eventTypeDispatcher = new EventTypeDispatcher();
+            synchronized (parserDispatchers) {
+                parserDispatchers.add(eventTypeDispatcher);
+            }
+            return eventTypeDispatcher;
+        }
+    };
+
+    /**
+     * The dispatchers of the parser threads.
+     */
+    private final List<EventTypeDispatcher> parserDispatchers = new ArrayList<EventTypeDispatcher>();
+
+    /**
+     * Batches in log order, parsed or being parsed.
+     */
+    private BlockingQueue<Future<Batch>> batches;
+
+    /**
+     * Parser threads.
+     */
+    private ExecutorService parsers;
+
+    /**
+     * Reader thread.
+     */
+    private Thread reader;
+
+    /**
+     * The batch <code>LogEvent</code>s are currently read from.
+     */
+    private Batch batch;
+
+    /**
+     * The index in the current batch of the next <code>LogEvent</code> to read.
+     */
+    private int index;
+
+    /**
+     * @param bufferedReader
+     *            The garbage collection logging.
+     * @param eventTypeDispatcher
+     *            Event type identification for the log.
+     * @param threads
+     *            The number of parser threads.
+     */
+    public ParallelLogEventReader(BufferedReader bufferedReader, EventTypeDispatcher eventTypeDispatcher,
+            int threads) {
+        super(bufferedReader, eventTypeDispatcher);
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1!!");
+        }
+        batches = new ArrayBlockingQueue<Future<Batch>>(threads * 2);
+        parsers = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "garbagecat-parser");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        reader = new Thread(new Runnable() {
+            public void run() {
+                read();
+            }
+        }, "garbagecat-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Read and identify log lines, and queue batches to be parsed. Runs on the reader thread.
+     */
+    private void read() {
+        try {
+            Batch next = new Batch();
+            String logLine = getBufferedReader().readLine();
+            long logLinePosition = getLinePosition();
+            while (logLine != null) {
+                String nextLogLine = getBufferedReader().readLine();
+                long nextLogLinePosition = getLinePosition();
+                next.logLines[next.size] = logLine;
+                next.logLinePositions[next.size] = logLinePosition;
+                if (getEventTypeDispatcher().getCollectorFamily() == CollectorFamily.UNKNOWN) {
+                    LogEventType eventType = getEventTypeDispatcher().identifyEventType(logLine);
+                    next.events[next.size] = JdkUtil.parseLogLine(logLine, eventType);
+                    setCollectorFamily(next.events[next.size]);
+                } else {
+                    next.collectorFamily = getEventTypeDispatcher().getCollectorFamily();
+                }
+                next.size++;
+                if (nextLogLine == null) {
+                    next.last = true;
+                }
+                if (next.size == BATCH_SIZE || next.last) {
+                    batches.put(parsers.submit(next));
+                    next = new Batch();
+                }
+                logLine = nextLogLine;
+                logLinePosition = nextLogLinePosition;
+            }
+            batches.put(completed(end));
+        } catch (InterruptedException e) {
+            // Closed
+        } catch (final Throwable t) {
+            // Hand the failure to the caller in log order
+            FutureTask<Batch> failed = new FutureTask<Batch>(new Callable<Batch>() {
+                public Batch call() throws Exception {
+                    if (t instanceof Exception) {
+                        throw (Exception) t;
+                    }
+                    throw (Error) t;
+                }
+            });
+            failed.run();
+            try {
+                batches.put(failed);
+            } catch (InterruptedException e) {
+                // Closed
+            }
+        }
+    }
+
+    /**
+     * @param batch
+     *            A batch that needs no parsing.
+     * @return A completed <code>Future</code> for the batch.
+     */
+    private static Future<Batch> completed(Batch batch) {
+        FutureTask<Batch> future = new FutureTask<Batch>(batch);
+        future.run();
+        return future;
+    }
+
+    public String getLogLine() {
+        return batch.logLines[index - 1];
+    }
+
+    public long getLogLinePosition() {
+        return batch.logLinePositions[index - 1];
+    }
+
+    public boolean isLastLogLine() {
+        return batch.last && index == batch.size;
+    }
+
+    public LogEvent readLogEvent() throws IOException {
+        while (batch == null || index == batch.size) {
+            if (batch == end) {
+                addStatistics();
+                return null;
+            }
+            try {
+                batch = batches.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted reading logging.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            }
+            index = 0;
+        }
+        return batch.events[index++];
+    }
+
+    /**
+     * Stop the reader and parser threads, waiting up to {@link #CLOSE_TIMEOUT} seconds for each. Interrupting the
+     * reader thread does not stop it while it is blocked reading, so it is not waited for indefinitely. The
+     * identification statistics are only added if the reader and parser threads have stopped using the dispatchers.
+     */
+    public void close() {
+        reader.interrupt();
+        try {
+            reader.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT));
+            parsers.shutdownNow();
+            if (parsers.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS) && !reader.isAlive()) {
+                addStatistics();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Add the identification statistics of the parser threads to the log's dispatcher, once the parser threads are
+     * done.
+     */
+    private void addStatistics() {
+        synchronized (parserDispatchers) {
+            for (int i = 0; i < parserDispatchers.size(); i++) {
+                getEventTypeDispatcher().addStatistics(parserDispatchers.get(i));
+            }
+            parserDispatchers.clear();
+        }
+    }
+}
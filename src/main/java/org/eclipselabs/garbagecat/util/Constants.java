@@ -145,11 +145,76 @@ public class Constants {
      */
     public static final String OPTION_LATEST_VERSION_LONG = "latest";
 
+    /**
+     * Event identification statistics command line short option.
+     */
+    public static final String OPTION_STATS_SHORT = "i";
+
+    /**
+     * Event identification statistics command line long option.
+     */
+    public static final String OPTION_STATS_LONG = "stats";
+
+    /**
+     * Preprocessed file command line short option.
+     */
+    public static final String OPTION_PREPROCESS_FILE_SHORT = "f";
+
+    /**
+     * Preprocessed file command line long option.
+     */
+    public static final String OPTION_PREPROCESS_FILE_LONG = "ppfile";
+
+    /**
+     * Parser threads command line short option.
+     */
+    public static final String OPTION_THREADS_SHORT = "n";
+
+    /**
+     * Parser threads command line long option.
+     */
+    public static final String OPTION_THREADS_LONG = "threads";
+
+    /**
+     * Follow command line short option.
+     */
+    public static final String OPTION_FOLLOW_SHORT = "F";
+
+    /**
+     * Follow command line long option.
+     */
+    public static final String OPTION_FOLLOW_LONG = "follow";
+
+    /**
+     * Batch command line short option.
+     */
+    public static final String OPTION_BATCH_SHORT = "b";
+
+    /**
+     * Batch command line long option.
+     */
+    public static final String OPTION_BATCH_LONG = "batch";
+
+    /**
+     * Index command line short option.
+     */
+    public static final String OPTION_INDEX_SHORT = "x";
+
+    /**
+     * Index command line long option.
+     */
+    public static final String OPTION_INDEX_LONG = "index";
+
     /**
      * Default output file name.
      */
     public static final String OUTPUT_FILE_NAME = "report.txt";
 
+    /**
+     * Fleet summary file name in batch mode.
+     */
+    public static final String FLEET_FILE_NAME = "fleet.txt";
+
     /**
      * Analysis property file.
      */
@@ -16,10 +16,12 @@ import java.math.BigDecimal;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.ResourceBundle;
+import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.PatternRegistry;
 
 /**
  * Common garbage collection utility methods and constants.
@@ -44,6 +46,43 @@ public class GcUtil {
     public static final String START_DATE_TIME_REGEX = "^(\\d{4})-(\\d{2})-(\\d{2}) (\\d{2}):(\\d{2}):(\\d{2}),"
             + "(\\d{3})$";
 
+    /**
+     * Milliseconds in a day.
+     */
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * The start of the last date parsed by {@link #parseDateStampMillis(CharSequence)}.
+     */
+    private static final class DayStart {
+
+        private final String timeZoneId;
+
+        private final int year;
+
+        private final int month;
+
+        private final int day;
+
+        /**
+         * Midnight of the date in milliseconds since the epoch, or -1 if the timezone offset changes during the day.
+         */
+        private final long millis;
+
+        private DayStart(String timeZoneId, int year, int month, int day, long millis) {
+            this.timeZoneId = timeZoneId;
+            this.year = year;
+            this.month = month;
+            this.day = day;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * Logging is written in date order, so consecutive datestamps nearly always share the date.
+     */
+    private static volatile DayStart dayStart = new DayStart(null, 0, 0, 0, -1);
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
@@ -59,7 +98,7 @@ public class GcUtil {
      * @return true if a valid format, false otherwise.
      */
     public static final boolean isValidStartDateTime(String startDateTime) {
-        return startDateTime.matches(START_DATE_TIME_REGEX);
+        return PatternRegistry.matches(START_DATE_TIME_REGEX, startDateTime);
     }
 
     /**
@@ -71,7 +110,7 @@ public class GcUtil {
      */
     public static final Date parseStartDateTime(String startDateTime) {
         Date date = null;
-        Pattern pattern = Pattern.compile(START_DATE_TIME_REGEX);
+        Pattern pattern = PatternRegistry.getPattern(START_DATE_TIME_REGEX);
         Matcher matcher = pattern.matcher(startDateTime);
         if (matcher.find()) {
             date = getDate(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5),
@@ -89,7 +128,7 @@ public class GcUtil {
      */
     public static final Date parseDateStamp(String datestamp) {
         Date date = null;
-        Pattern pattern = Pattern.compile(JdkRegEx.DATESTAMP);
+        Pattern pattern = PatternRegistry.getPattern(JdkRegEx.DATESTAMP);
         Matcher matcher = pattern.matcher(datestamp);
         if (matcher.find()) {
             date = getDate(matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5), matcher.group(6),
@@ -98,6 +137,87 @@ public class GcUtil {
         return date;
     }
 
+    /**
+     * Convert a datestamp to milliseconds since the epoch without regular expressions or allocation. Like
+     * {@link #parseDateStamp(String)}, the date and time are interpreted in the default timezone, and the timezone in
+     * the datestamp is ignored.
+     * 
+     * The start of the date in the default timezone is cached, so a <code>Calendar</code> is only used for the first
+     * datestamp of each date (or every datestamp on a date when the timezone offset changes, e.g. daylight saving
+     * time).
+     * 
+     * @param datestamp
+     *            A <code>CharSequence</code> starting with a datestamp in <code>JdkRegEx.DATESTAMP</code> format (e.g.
+     *            2010-02-26T09:32:12.486-0600).
+     * @return The datestamp in milliseconds since the epoch.
+     */
+    public static final long parseDateStampMillis(CharSequence datestamp) {
+        if (datestamp.length() < 28 || datestamp.charAt(4) != '-' || datestamp.charAt(7) != '-'
+                || datestamp.charAt(10) != 'T' || datestamp.charAt(13) != ':' || datestamp.charAt(16) != ':'
+                || datestamp.charAt(19) != '.' || (datestamp.charAt(23) != '-' && datestamp.charAt(23) != '+')
+                || parseDigits(datestamp, 24, 4) < 0) {
+            throw new IllegalArgumentException("Invalid datestamp: " + datestamp);
+        }
+        int year = parseDigits(datestamp, 0, 4);
+        int month = parseDigits(datestamp, 5, 2);
+        int day = parseDigits(datestamp, 8, 2);
+        int hour = parseDigits(datestamp, 11, 2);
+        int minute = parseDigits(datestamp, 14, 2);
+        int second = parseDigits(datestamp, 17, 2);
+        int millisecond = parseDigits(datestamp, 20, 3);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0 || millisecond < 0) {
+            throw new IllegalArgumentException("Invalid datestamp: " + datestamp);
+        }
+        String timeZoneId = TimeZone.getDefault().getID();
+        DayStart start = dayStart;
+        if (start.year != year || start.month != month || start.day != day
+                || !timeZoneId.equals(start.timeZoneId)) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.clear();
+            calendar.set(year, month - 1, day);
+            long midnight = calendar.getTimeInMillis();
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            long nextMidnight = calendar.getTimeInMillis();
+            TimeZone timeZone = calendar.getTimeZone();
+            if (nextMidnight - midnight != DAY_MILLIS
+                    || timeZone.getOffset(midnight) != timeZone.getOffset(nextMidnight - 1)) {
+                midnight = -1;
+            }
+            start = new DayStart(timeZoneId, year, month, day, midnight);
+            dayStart = start;
+        }
+        if (start.millis == -1 || hour > 23 || minute > 59 || second > 59) {
+            // Let Calendar handle timezone offset changes and out of range (lenient) values
+            Calendar calendar = Calendar.getInstance();
+            calendar.clear();
+            calendar.set(year, month - 1, day, hour, minute, second);
+            calendar.set(Calendar.MILLISECOND, millisecond);
+            return calendar.getTimeInMillis();
+        }
+        return start.millis + ((hour * 60L + minute) * 60L + second) * 1000L + millisecond;
+    }
+
+    /**
+     * @param sequence
+     *            The <code>CharSequence</code>.
+     * @param start
+     *            The index of the first digit.
+     * @param length
+     *            The number of digits.
+     * @return The digits as a number, or -1 if there is a non digit.
+     */
+    private static final int parseDigits(CharSequence sequence, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = sequence.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
     /**
      * Convert date parts to a <code>Date</code>.
      * 
@@ -0,0 +1,151 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * <p>
+ * Reads ASCII log lines at known positions (see {@link MappedLogReader#getLinePosition()}) from memory mapped windows
+ * of a log file.
+ * </p>
+ * 
+ * <p>
+ * The window holding a line stays mapped for the next line read, so reading lines in or near log order maps each part
+ * of the file once. The file is only open while a window is mapped, so no file handle is held between reads.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class MappedLogFile {
+
+    /**
+     * ASCII is the same in ISO-8859-1, which is converted without a charset decoder.
+     */
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    /**
+     * The log file.
+     */
+    private File file;
+
+    /**
+     * Number of bytes mapped at a time.
+     */
+    private int windowSize;
+
+    /**
+     * The mapped window, or null if nothing is mapped yet.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * The position in the file of the first byte of the window.
+     */
+    private long windowPosition;
+
+    /**
+     * @param file
+     *            The log file.
+     */
+    public MappedLogFile(File file) {
+        this(file, MappedLogReader.WINDOW_SIZE);
+    }
+
+    /**
+     * @param file
+     *            The log file.
+     * @param windowSize
+     *            Number of bytes mapped at a time.
+     */
+    MappedLogFile(File file, int windowSize) {
+        if (file == null)
+            throw new IllegalArgumentException("file == null!!");
+
+        this.file = file;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * @return The log file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @param position
+     *            The position in the file of the first byte of the line.
+     * @param length
+     *            The number of bytes in the line.
+     * @return The line.
+     * @throws IllegalStateException
+     *             if the line cannot be read, for example because the file was truncated after the line was read the
+     *             first time.
+     */
+    public synchronized String readLine(long position, int length) {
+        if (window == null || position < windowPosition || position + length > windowPosition + window.limit()) {
+            map(position, length);
+        }
+        byte[] bytes = new byte[length];
+        window.position((int) (position - windowPosition));
+        window.get(bytes);
+        return new String(bytes, ISO_8859_1);
+    }
+
+    /**
+     * Map the window holding a line.
+     * 
+     * @param position
+     *            The position in the file of the first byte of the line.
+     * @param length
+     *            The number of bytes in the line.
+     */
+    private void map(long position, int length) {
+        // Map whole windows, unless the line runs past the end of its window
+        long start = position - position % windowSize;
+        if (position + length > start + windowSize) {
+            start = position;
+        }
+        window = null;
+        RandomAccessFile randomAccessFile = null;
+        try {
+            randomAccessFile = new RandomAccessFile(file, "r");
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            if (position + length > size) {
+                throw new IllegalStateException("Log file changed: " + file.getPath());
+            }
+            // The mapping stays valid after the file is closed
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(Math.max(windowSize, length), size - start));
+            windowPosition = start;
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading log file: " + file.getPath(), e);
+        } finally {
+            if (randomAccessFile != null) {
+                try {
+                    randomAccessFile.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Reads the lines of a log file from memory mapped windows of the file, splitting lines on the raw bytes.
+ * </p>
+ * 
+ * <p>
+ * The file is mapped {@link #WINDOW_SIZE} bytes at a time, one window after the other, so files larger than a single
+ * mapping (2 GB) can be read. Bytes are copied from the window in bulk into a chunk, where lines are split. A line
+ * that runs past the end of the chunk is moved to the start of the chunk before more bytes are copied, and the chunk
+ * grows for a line longer than the chunk.
+ * </p>
+ * 
+ * <p>
+ * Garbage collection logging is ASCII, so a line is decoded as ISO-8859-1, which copies each byte to a character. A
+ * line with any non-ASCII byte (e.g. application logging) is decoded with the platform charset, the same as
+ * <code>FileReader</code>. Lines end with a line feed, a carriage return, or a carriage return followed by a line
+ * feed, the same as {@link BufferedReader#readLine()}.
+ * </p>
+ * 
+ * <p>
+ * The position in the file of each ASCII line read is tracked (see {@link #getLinePosition()}), so the line can be
+ * read again later with {@link MappedLogFile} instead of being kept.
+ * </p>
+ * 
+ * <p>
+ * It is a <code>BufferedReader</code> so it can be used wherever logging is read line by line. Mark and reset are not
+ * supported.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class MappedLogReader extends BufferedReader {
+
+    /**
+     * Number of bytes mapped at a time.
+     */
+    public static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Initial number of bytes copied from the window at a time.
+     */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * ASCII is the same in ISO-8859-1, which is decoded by copying each byte to a character.
+     */
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    /**
+     * Number of bytes mapped at a time.
+     */
+    private int windowSize;
+
+    /**
+     * The log file.
+     */
+    private File file;
+
+    /**
+     * The log file channel.
+     */
+    private FileChannel channel;
+
+    /**
+     * The size of the log file in bytes, or -1 if not known yet.
+     */
+    private long size = -1;
+
+    /**
+     * The mapped window, or null if nothing is mapped yet.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * The position in the file after the last window mapped.
+     */
+    private long mapped;
+
+    /**
+     * Bytes copied from the window.
+     */
+    private byte[] chunk;
+
+    /**
+     * The index in the chunk of the next byte to read.
+     */
+    private int chunkStart;
+
+    /**
+     * The index in the chunk after the last byte copied.
+     */
+    private int chunkEnd;
+
+    /**
+     * The position in the file of the byte after the last byte copied to the chunk.
+     */
+    private long chunkEndPosition;
+
+    /**
+     * The position in the file of the last line read, or -1 if not known.
+     */
+    private long linePosition = -1;
+
+    /**
+     * Whether or not every byte in the file has been copied to the chunk.
+     */
+    private boolean eof;
+
+    /**
+     * The line terminator of the last line read.
+     */
+    private String lineTerminator;
+
+    /**
+     * Characters read but not yet returned by the <code>read</code> methods.
+     */
+    private String pending = "";
+
+    /**
+     * The index of the next character to return in the pending characters.
+     */
+    private int pendingIndex;
+
+    /**
+     * Whether or not the reader is closed.
+     */
+    private boolean closed;
+
+    /**
+     * @param file
+     *            The log file.
+     * @throws FileNotFoundException
+     *             if the log file does not exist or cannot be read.
+     */
+    public MappedLogReader(File file) throws FileNotFoundException {
+        this(file, WINDOW_SIZE, CHUNK_SIZE);
+    }
+
+    /**
+     * @param file
+     *            The log file.
+     * @param windowSize
+     *            Number of bytes mapped at a time.
+     * @param chunkSize
+     *            Initial number of bytes copied from the window at a time.
+     * @throws FileNotFoundException
+     *             if the log file does not exist or cannot be read.
+     */
+    MappedLogReader(File file, int windowSize, int chunkSize) throws FileNotFoundException {
+        // The superclass buffer is not used
+        super(new StringReader(""), 1);
+        this.windowSize = windowSize;
+        this.file = file;
+        this.chunk = new byte[chunkSize];
+        channel = new FileInputStream(file).getChannel();
+    }
+
+    /**
+     * Move the unread bytes to the start of the chunk and copy more bytes from the window, mapping the next window if
+     * needed. Sets {@link #eof} if every byte in the file has been copied.
+     */
+    private void fill() throws IOException {
+        if (size == -1) {
+            size = channel.size();
+        }
+        if (chunkStart > 0) {
+            System.arraycopy(chunk, chunkStart, chunk, 0, chunkEnd - chunkStart);
+            chunkEnd -= chunkStart;
+            chunkStart = 0;
+        }
+        if (chunkEnd == chunk.length) {
+            // Line longer than the chunk
+            chunk = Arrays.copyOf(chunk, chunk.length * 2);
+        }
+        if (window == null || !window.hasRemaining()) {
+            if (mapped >= size) {
+                eof = true;
+                return;
+            }
+            long length = Math.min(windowSize, size - mapped);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+            mapped += length;
+        }
+        int length = Math.min(window.remaining(), chunk.length - chunkEnd);
+        window.get(chunk, chunkEnd, length);
+        chunkEnd += length;
+        chunkEndPosition += length;
+    }
+
+    /**
+     * @return The log file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The position in the file of the first byte of the last line read by {@link #readLine()}, or -1 if the
+     *         line is not ASCII (so the number of bytes is not the number of characters) or was partially read by the
+     *         <code>read</code> methods.
+     */
+    public long getLinePosition() {
+        return linePosition;
+    }
+
+    /**
+     * Read the next line from the chunk.
+     * 
+     * @return The line without the line terminator, or null at the end of the file.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    private String nextLine() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        int scanned = 0;
+        boolean ascii = true;
+        while (true) {
+            int i = chunkStart + scanned;
+            while (i < chunkEnd) {
+                byte b = chunk[i];
+                if (b == '\n' || b == '\r') {
+                    if (b == '\r' && i + 1 == chunkEnd && !eof) {
+                        // The line feed that may follow is not copied yet
+                        break;
+                    }
+                    int start = chunkStart;
+                    chunkStart = i + 1;
+                    if (b == '\r' && chunkStart < chunkEnd && chunk[chunkStart] == '\n') {
+                        chunkStart++;
+                        lineTerminator = "\r\n";
+                    } else {
+                        lineTerminator = b == '\r' ? "\r" : "\n";
+                    }
+                    return line(start, i - start, ascii);
+                } else if (b < 0) {
+                    ascii = false;
+                }
+                i++;
+            }
+            scanned = i - chunkStart;
+            if (eof) {
+                if (chunkStart == chunkEnd) {
+                    return null;
+                }
+                if (scanned == chunkEnd - chunkStart) {
+                    // Last line without a line terminator
+                    int start = chunkStart;
+                    chunkStart = chunkEnd;
+                    lineTerminator = "";
+                    return line(start, chunkEnd - start, ascii);
+                }
+            } else {
+                fill();
+            }
+        }
+    }
+
+    /**
+     * @param offset
+     *            The index in the chunk of the first byte of the line.
+     * @param length
+     *            The number of bytes in the line.
+     * @param ascii
+     *            Whether or not every byte in the line is ASCII.
+     * @return The line.
+     */
+    private String line(int offset, int length, boolean ascii) {
+        linePosition = ascii ? chunkEndPosition - (chunkEnd - offset) : -1;
+        return new String(chunk, offset, length, ascii ? ISO_8859_1 : Charset.defaultCharset());
+    }
+
+    public String readLine() throws IOException {
+        if (pendingIndex < pending.length()) {
+            // Finish the line partially returned by read
+            String logLine = pending.substring(Math.min(pendingIndex, pending.length() - lineTerminator.length()),
+                    pending.length() - lineTerminator.length());
+            pendingIndex = pending.length();
+            linePosition = -1;
+            return logLine;
+        }
+        return nextLine();
+    }
+
+    public int read() throws IOException {
+        char[] c = new char[1];
+        return read(c, 0, 1) == -1 ? -1 : c[0];
+    }
+
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pendingIndex == pending.length()) {
+            // Read the next line with its line terminator
+            String logLine = nextLine();
+            if (logLine == null) {
+                return -1;
+            }
+            pending = logLine + lineTerminator;
+            pendingIndex = 0;
+        }
+        int length = Math.min(len, pending.length() - pendingIndex);
+        pending.getChars(pendingIndex, pendingIndex + length, cbuf, off);
+        pendingIndex += length;
+        return length;
+    }
+
+    public boolean ready() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (pendingIndex < pending.length() || chunkStart < chunkEnd) {
+            return true;
+        }
+        if (!eof) {
+            fill();
+        }
+        return chunkStart < chunkEnd;
+    }
+
+    public boolean markSupported() {
+        return false;
+    }
+
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    public long skip(long n) throws IOException {
+        if (n < 0L) {
+            throw new IllegalArgumentException("skip value is negative");
+        }
+        long skipped = 0;
+        while (skipped < n && read() != -1) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    public void close() throws IOException {
+        closed = true;
+        window = null;
+        channel.close();
+        super.close();
+    }
+}
@@ -0,0 +1,587 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * <p>
+ * Decompresses a gzip file, decompressing the members of a multi-member gzip file (e.g. concatenated archives or block
+ * compressed logging) on multiple threads.
+ * </p>
+ * 
+ * <p>
+ * Member boundaries are only known once the member before is decompressed, so members are decompressed speculatively
+ * from every offset ahead that looks like a member header. The members are then returned in file order, following the
+ * end of each member to the start of the next, so a speculative member that is not a real member (the header bytes
+ * occurring in compressed data) is never returned. If the start of the next member was not decompressed speculatively,
+ * it is decompressed on the calling thread.
+ * </p>
+ * 
+ * <p>
+ * A speculative member is decompressed up to {@link #MEMBER_BUFFER_SIZE} bytes, and the rest is decompressed on the
+ * calling thread as it is read, so memory use does not depend on the size of the members, and a single-member file is
+ * read at the same speed as <code>GZIPInputStream</code>. Bytes after the last member that are not a member are
+ * ignored, the same as <code>GZIPInputStream</code>.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class ParallelGzipInputStream extends InputStream {
+
+    /**
+     * Maximum number of bytes a member is decompressed ahead of being read.
+     */
+    public static final int MEMBER_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Number of compressed bytes read at a time.
+     */
+    private static final int INPUT_SIZE = 64 * 1024;
+
+    /**
+     * Maximum number of compressed bytes searched for member headers ahead of the member being read.
+     */
+    private static final int SCAN_AHEAD = 16 * 1024 * 1024;
+
+    /**
+     * Gzip magic number.
+     */
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    /**
+     * Deflate compression method.
+     */
+    private static final int DEFLATED = 8;
+
+    /**
+     * Header flags.
+     */
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int FRESERVED = 0xe0;
+
+    /**
+     * A gzip member, decompressed from a given offset in the file.
+     */
+    private final class Member implements Callable<Member> {
+
+        /**
+         * The offset of the member header in the file.
+         */
+        private long start;
+
+        /**
+         * The offset in the file after the end of the member trailer, or -1 if not decompressed to the end yet.
+         */
+        private long end = -1;
+
+        /**
+         * Whether or not a valid member header was read.
+         */
+        private boolean header;
+
+        /**
+         * The offset in the file after the last compressed bytes read.
+         */
+        private long position;
+
+        private byte[] input = new byte[INPUT_SIZE];
+
+        /**
+         * The index in the input of the next compressed byte.
+         */
+        private int inputIndex;
+
+        /**
+         * The index in the input after the last compressed byte read.
+         */
+        private int inputLength;
+
+        private Inflater inflater = new Inflater(true);
+
+        private CRC32 crc = new CRC32();
+
+        /**
+         * Decompressed bytes not yet read.
+         */
+        private byte[] output = new byte[INPUT_SIZE];
+
+        private int outputLength;
+
+        /**
+         * The speculative decompression, or null if decompressed on the calling thread.
+         */
+        private Future<Member> future;
+
+        /**
+         * Whether or not the speculative decompression is running. Guarded by the member.
+         */
+        private boolean running;
+
+        /**
+         * Whether or not the member has been discarded. Guarded by the member.
+         */
+        private boolean discarded;
+
+        /**
+         * @param start
+         *            The offset of the member header in the file.
+         */
+        private Member(long start) {
+            this.start = start;
+            this.position = start;
+        }
+
+        /**
+         * Read the header and decompress the first bytes of the member. The decompressor is released if the member is
+         * discarded while decompressing.
+         */
+        public Member call() throws IOException {
+            synchronized (this) {
+                if (discarded) {
+                    return this;
+                }
+                running = true;
+            }
+            try {
+                readHeader();
+                header = true;
+                inflate();
+            } catch (IOException e) {
+                inflater.end();
+                throw e;
+            } finally {
+                synchronized (this) {
+                    running = false;
+                    if (discarded) {
+                        inflater.end();
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Read the member header.
+         */
+        private void readHeader() throws IOException {
+            if ((readByte() | (readByte() << 8)) != GZIP_MAGIC) {
+                throw new ZipException("Not in GZIP format");
+            }
+            if (readByte() != DEFLATED) {
+                throw new ZipException("Unsupported compression method");
+            }
+            int flags = readByte();
+            if ((flags & FRESERVED) != 0) {
+                throw new ZipException("Reserved flags set");
+            }
+            // Modification time, extra flags, operating system
+            for (int i = 0; i < 6; i++) {
+                readByte();
+            }
+            if ((flags & FEXTRA) != 0) {
+                int length = readByte() | (readByte() << 8);
+                for (int i = 0; i < length; i++) {
+                    readByte();
+                }
+            }
+            if ((flags & FNAME) != 0) {
+                while (readByte() != 0) {
+                    // Skip file name
+                }
+            }
+            if ((flags & FCOMMENT) != 0) {
+                while (readByte() != 0) {
+                    // Skip comment
+                }
+            }
+            if ((flags & FHCRC) != 0) {
+                readByte();
+                readByte();
+            }
+        }
+
+        /**
+         * Decompress up to {@link #MEMBER_BUFFER_SIZE} bytes, replacing the bytes decompressed before. Reads the
+         * trailer and sets {@link #end} at the end of the member.
+         */
+        private void inflate() throws IOException {
+            outputLength = 0;
+            try {
+                while (!inflater.finished() && outputLength < memberBufferSize) {
+                    if (inflater.needsInput()) {
+                        if (inputIndex == inputLength) {
+                            fillInput();
+                        }
+                        inflater.setInput(input, inputIndex, inputLength - inputIndex);
+                        inputIndex = inputLength;
+                    }
+                    if (outputLength == output.length) {
+                        output = Arrays.copyOf(output, Math.min(output.length * 2, memberBufferSize));
+                    }
+                    int length = inflater.inflate(output, outputLength, output.length - outputLength);
+                    if (length == 0 && inflater.needsDictionary()) {
+                        throw new ZipException("Dictionary needed");
+                    }
+                    crc.update(output, outputLength, length);
+                    outputLength += length;
+                }
+            } catch (DataFormatException e) {
+                String message = e.getMessage();
+                throw new ZipException(message != null ? message : "Invalid ZLIB data format");
+            }
+            if (inflater.finished()) {
+                readTrailer();
+            }
+        }
+
+        /**
+         * Read and check the member trailer.
+         */
+        private void readTrailer() throws IOException {
+            inputIndex = inputLength - inflater.getRemaining();
+            long size = inflater.getBytesWritten();
+            inflater.end();
+            if (readInt() != crc.getValue()) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+            if (readInt() != (size & 0xffffffffL)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+            end = position - (inputLength - inputIndex);
+        }
+
+        /**
+         * @return The next compressed byte.
+         */
+        private int readByte() throws IOException {
+            if (inputIndex == inputLength) {
+                fillInput();
+            }
+            return input[inputIndex++] & 0xff;
+        }
+
+        /**
+         * @return The next 4 compressed bytes as a little-endian unsigned integer.
+         */
+        private long readInt() throws IOException {
+            return (readByte() | (readByte() << 8) | (readByte() << 16) | ((long) readByte() << 24));
+        }
+
+        /**
+         * Read more compressed bytes from the file.
+         */
+        private void fillInput() throws IOException {
+            int length = channel.read(ByteBuffer.wrap(input), position);
+            if (length <= 0) {
+                throw new EOFException("Unexpected end of ZLIB input stream");
+            }
+            position += length;
+            inputIndex = 0;
+            inputLength = length;
+        }
+
+        /**
+         * Release the decompressor of a member that is not read, or cancel the speculative decompression, which
+         * releases the decompressor when it ends if it is running.
+         */
+        private void discard() {
+            boolean end;
+            synchronized (this) {
+                discarded = true;
+                end = !running;
+            }
+            if (future != null) {
+                future.cancel(false);
+            }
+            if (end) {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Maximum number of bytes a member is decompressed ahead of being read.
+     */
+    private int memberBufferSize;
+
+    /**
+     * The gzip file channel.
+     */
+    private FileChannel channel;
+
+    /**
+     * The size of the gzip file in bytes.
+     */
+    private long size;
+
+    /**
+     * Decompression threads.
+     */
+    private ExecutorService decompressors;
+
+    /**
+     * Maximum number of members decompressed speculatively at a time.
+     */
+    private int maxSpeculative;
+
+    /**
+     * Members being decompressed speculatively, in file order.
+     */
+    private Deque<Member> speculative = new ArrayDeque<Member>();
+
+    /**
+     * The offset in the file of the next byte to search for a member header.
+     */
+    private long scanned = 1;
+
+    private byte[] scanBuffer = new byte[INPUT_SIZE];
+
+    /**
+     * The member being read, or null before the first member.
+     */
+    private Member member;
+
+    /**
+     * The index in the member output of the next byte to read.
+     */
+    private int outputIndex;
+
+    /**
+     * Whether or not every member has been read.
+     */
+    private boolean eof;
+
+    private boolean closed;
+
+    /**
+     * @param file
+     *            The gzip file.
+     * @return true if the file starts with the gzip magic number, false otherwise.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    public static final boolean isGzip(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            int b0 = in.read();
+            int b1 = in.read();
+            return b0 != -1 && b1 != -1 && (b0 | (b1 << 8)) == GZIP_MAGIC;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @param file
+     *            The gzip file.
+     * @param threads
+     *            The number of decompression threads.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    public ParallelGzipInputStream(File file, int threads) throws IOException {
+        this(file, threads, MEMBER_BUFFER_SIZE);
+    }
+
+    /**
+     * @param file
+     *            The gzip file.
+     * @param threads
+     *            The number of decompression threads.
+     * @param memberBufferSize
+     *            Maximum number of bytes a member is decompressed ahead of being read.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    ParallelGzipInputStream(File file, int threads, int memberBufferSize) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1!!");
+        }
+        this.memberBufferSize = memberBufferSize;
+        channel = new FileInputStream(file).getChannel();
+        size = channel.size();
+        maxSpeculative = threads * 2;
+        decompressors = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "garbagecat-decompressor");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (member == null || outputIndex == member.outputLength) {
+            if (eof) {
+                return -1;
+            }
+            if (member != null && member.end == -1) {
+                // Decompress the rest of a large member
+                member.inflate();
+                outputIndex = 0;
+            } else {
+                nextMember();
+            }
+        }
+        int length = Math.min(len, member.outputLength - outputIndex);
+        System.arraycopy(member.output, outputIndex, b, off, length);
+        outputIndex += length;
+        return length;
+    }
+
+    /**
+     * Move to the member that starts after the member being read, and decompress more members speculatively.
+     */
+    private void nextMember() throws IOException {
+        long start = member == null ? 0 : member.end;
+        member = null;
+        outputIndex = 0;
+        // Speculative members before the start are not real members
+        while (!speculative.isEmpty() && speculative.peekFirst().start < start) {
+            speculative.removeFirst().discard();
+        }
+        if (start >= size) {
+            eof = true;
+            return;
+        }
+        Member next;
+        if (!speculative.isEmpty() && speculative.peekFirst().start == start) {
+            next = speculative.removeFirst();
+        } else {
+            next = new Member(start);
+        }
+        try {
+            if (next.future != null) {
+                get(next.future);
+            } else {
+                next.call();
+            }
+        } catch (IOException e) {
+            if (start == 0 || next.header) {
+                throw e;
+            }
+            // Not a member: ignore the bytes after the last member
+            eof = true;
+            return;
+        }
+        member = next;
+        speculate();
+    }
+
+    /**
+     * Search for member headers after the member being read, and decompress the members found speculatively.
+     */
+    private void speculate() throws IOException {
+        if (scanned <= member.start) {
+            scanned = member.start + 1;
+        }
+        long limit = Math.min(size, member.start + SCAN_AHEAD);
+        while (speculative.size() < maxSpeculative && scanned < limit) {
+            int length = channel.read(ByteBuffer.wrap(scanBuffer), scanned);
+            if (length < 4) {
+                scanned = size;
+                break;
+            }
+            int i = 0;
+            while (i < length - 3 && speculative.size() < maxSpeculative) {
+                if (scanBuffer[i] == (byte) 0x1f && scanBuffer[i + 1] == (byte) 0x8b && scanBuffer[i + 2] == DEFLATED
+                        && (scanBuffer[i + 3] & FRESERVED) == 0) {
+                    Member candidate = new Member(scanned + i);
+                    candidate.future = decompressors.submit(candidate);
+                    speculative.addLast(candidate);
+                }
+                i++;
+            }
+            scanned += i;
+        }
+    }
+
+    /**
+     * Wait for a speculative member to be decompressed.
+     * 
+     * @param future
+     *            The speculative decompression.
+     */
+    private static void get(Future<Member> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted decompressing logging.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Stop the decompression threads and close the file.
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (!speculative.isEmpty()) {
+            speculative.removeFirst().discard();
+        }
+        if (member != null && member.end == -1) {
+            member.inflater.end();
+        }
+        decompressors.shutdown();
+        channel.close();
+    }
+}
@@ -0,0 +1,360 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Identifies the log lines of a single log, adapting the order event types are tested to the log.
+ * </p>
+ * 
+ * <p>
+ * The event type order in {@link EventTypeIndex} is tuned for typical logging, but the distribution of events differs
+ * from log to log. The number of log lines identified as each event type is counted, and every
+ * {@link #REORDER_INTERVAL} log lines the event types are reordered so the most frequent are tested first. Event
+ * types that can match the same log line keep their relative order (see
+ * {@link EventTypeIndex#isOrdered(LogEventType, LogEventType)}), so reordering never changes the identification.
+ * </p>
+ * 
+ * <p>
+ * Logging is very repetitive: the same line shape recurs with different numbers. A bounded LRU cache maps the shape of
+ * a log line (digits collapsed, unified logging decorators stripped) to the event type it was identified as last time.
+ * The cached event type is validated against the log line (it matches, and no event type that must be tested before it
+ * matches), and the full identification only runs on a cache miss or failed validation.
+ * </p>
+ * 
+ * <p>
+ * A dispatcher holds the state of one log and is not thread safe.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class EventTypeDispatcher {
+
+    /**
+     * Number of log lines identified between reorders.
+     */
+    public static final int REORDER_INTERVAL = 1000;
+
+    /**
+     * Maximum number of line shapes cached.
+     */
+    public static final int CACHE_SIZE = 1024;
+
+    /**
+     * Event types that must be tested before each event type indexed by <code>LogEventType</code> ordinal.
+     */
+    private static final LogEventType[][] PREDECESSORS = new LogEventType[LogEventType.values().length][];
+
+    static {
+        List<LogEventType> indexOrder = EventTypeIndex.getEventTypes();
+        for (int i = 0; i < indexOrder.size(); i++) {
+            List<LogEventType> predecessors = new ArrayList<LogEventType>();
+            for (int j = 0; j < i; j++) {
+                if (EventTypeIndex.isOrdered(indexOrder.get(j), indexOrder.get(i))) {
+                    predecessors.add(indexOrder.get(j));
+                }
+            }
+            PREDECESSORS[indexOrder.get(i).ordinal()] = predecessors.toArray(new LogEventType[0]);
+        }
+    }
+
+    /**
+     * Least recently used map of line shape to event type.
+     */
+    private static final class ShapeCache extends LinkedHashMap<String, LogEventType> {
+
+        private static final long serialVersionUID = 1L;
+
+        private ShapeCache() {
+            super(16, 0.75f, true);
+        }
+
+        protected boolean removeEldestEntry(Map.Entry<String, LogEventType> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+
+    /**
+     * Event types in the order they are tested.
+     */
+    private LogEventType[] eventTypes;
+
+    /**
+     * Number of log lines identified as each event type indexed by <code>LogEventType</code> ordinal.
+     */
+    private long[] hits;
+
+    /**
+     * Number of log lines identified.
+     */
+    private long lines;
+
+    /**
+     * The <code>CollectorFamily</code> of the log, or <code>CollectorFamily.UNKNOWN</code> if not known.
+     */
+    private CollectorFamily collectorFamily;
+
+    /**
+     * Event type last identified for each line shape.
+     */
+    private ShapeCache cache;
+
+    /**
+     * Number of log lines identified from the cache.
+     */
+    private long cacheHits;
+
+    /**
+     * Default constructor.
+     */
+    public EventTypeDispatcher() {
+        this.eventTypes = EventTypeIndex.getEventTypes().toArray(new LogEventType[0]);
+        this.hits = new long[LogEventType.values().length];
+        this.collectorFamily = CollectorFamily.UNKNOWN;
+        this.cache = new ShapeCache();
+    }
+
+    public CollectorFamily getCollectorFamily() {
+        return collectorFamily;
+    }
+
+    public void setCollectorFamily(CollectorFamily collectorFamily) {
+        this.collectorFamily = collectorFamily;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * @return The percentage of log lines identified from the cache.
+     */
+    public int getCacheHitRate() {
+        return lines == 0 ? 0 : (int) (cacheHits * 100 / lines);
+    }
+
+    /**
+     * Identify the log line garbage collection event.
+     * 
+     * @see JdkUtil#identifyEventType(String, CollectorFamily)
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    public LogEventType identifyEventType(String logLine) {
+        String shape = getShape(logLine);
+        LogEventType eventType = cache.get(shape);
+        if (eventType != null && isEventType(eventType, logLine)) {
+            cacheHits++;
+        } else {
+            eventType = JdkUtil.identifyEventType(logLine, collectorFamily, eventTypes);
+            // Fallbacks to other collector families and unidentified lines are not cached, as validating them
+            // requires testing every event type
+            if (eventType != LogEventType.UNKNOWN && EventTypeIndex.isFamily(eventType, collectorFamily)) {
+                cache.put(shape, eventType);
+            } else {
+                cache.remove(shape);
+            }
+        }
+        hits[eventType.ordinal()]++;
+        lines++;
+        if (lines % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+        return eventType;
+    }
+
+    /**
+     * Add the identification statistics of another dispatcher identifying log lines of the same log (e.g. on another
+     * thread), and reorder the event types for the combined hits.
+     * 
+     * @param eventTypeDispatcher
+     *            The other dispatcher.
+     */
+    public void addStatistics(EventTypeDispatcher eventTypeDispatcher) {
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] += eventTypeDispatcher.hits[i];
+        }
+        lines += eventTypeDispatcher.lines;
+        cacheHits += eventTypeDispatcher.cacheHits;
+        reorder();
+    }
+
+    /**
+     * Determine if the log line is the cached event type: the event type matches, and no event type that must be tested
+     * before it matches.
+     * 
+     * @param eventType
+     *            The cached <code>LogEventType</code>.
+     * @param logLine
+     *            The log entry.
+     * @return true if the log line is identified as the event type, false otherwise.
+     */
+    private boolean isEventType(LogEventType eventType, String logLine) {
+        if (!EventTypeIndex.isFamily(eventType, collectorFamily)) {
+            return false;
+        }
+        long fragments = EventTypeIndex.scan(logLine);
+        if (!EventTypeIndex.isCandidate(eventType, fragments) || !JdkUtil.match(eventType, logLine)) {
+            return false;
+        }
+        LogEventType[] predecessors = PREDECESSORS[eventType.ordinal()];
+        for (int i = 0; i < predecessors.length; i++) {
+            if (EventTypeIndex.isFamily(predecessors[i], collectorFamily)
+                    && EventTypeIndex.isCandidate(predecessors[i], fragments)
+                    && JdkUtil.match(predecessors[i], logLine)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the shape of a log line: leading unified logging decorators are replaced by "[]" and every run of digits is
+     * replaced by a single "0". For example:
+     * 
+     * <pre>
+     * [0.112s][info][gc,start     ] GC(3) Pause Young (Normal) (G1 Evacuation Pause)
+     * </pre>
+     * 
+     * has the shape:
+     * 
+     * <pre>
+     * [] GC(0) Pause Young (Normal) (G0 Evacuation Pause)
+     * </pre>
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The shape of the log entry.
+     */
+    static String getShape(String logLine) {
+        int length = logLine.length();
+        StringBuilder shape = new StringBuilder(length);
+        int i = 0;
+        // Decorators have no embedded spaces (e.g. "[gc,start     ]"), unlike "[GC pause (young)..."
+        while (i < length && logLine.charAt(i) == '[') {
+            int end = logLine.indexOf(']', i);
+            if (end == -1) {
+                break;
+            }
+            int space = logLine.indexOf(' ', i);
+            if (space != -1 && space < end && logLine.substring(space, end).trim().length() > 0) {
+                break;
+            }
+            i = end + 1;
+        }
+        if (i > 0) {
+            shape.append("[]");
+        }
+        boolean digits = false;
+        for (; i < length; i++) {
+            char c = logLine.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (!digits) {
+                    shape.append('0');
+                    digits = true;
+                }
+            } else {
+                shape.append(c);
+                digits = false;
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Reorder the event types by descending hits. An event type is only placed once every event type that must be
+     * tested before it has been placed. Ties keep the index order.
+     */
+    void reorder() {
+        List<LogEventType> indexOrder = EventTypeIndex.getEventTypes();
+        int size = indexOrder.size();
+        // Number of unplaced event types that must be tested before each event type
+        int[] predecessors = new int[size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < i; j++) {
+                if (EventTypeIndex.isOrdered(indexOrder.get(j), indexOrder.get(i))) {
+                    predecessors[i]++;
+                }
+            }
+        }
+        boolean[] placed = new boolean[size];
+        LogEventType[] reordered = new LogEventType[size];
+        for (int position = 0; position < size; position++) {
+            int next = -1;
+            for (int i = 0; i < size; i++) {
+                if (!placed[i] && predecessors[i] == 0
+                        && (next == -1 || hits[indexOrder.get(i).ordinal()] > hits[indexOrder.get(next).ordinal()])) {
+                    next = i;
+                }
+            }
+            placed[next] = true;
+            reordered[position] = indexOrder.get(next);
+            for (int i = next + 1; i < size; i++) {
+                if (EventTypeIndex.isOrdered(indexOrder.get(next), indexOrder.get(i))) {
+                    predecessors[i]--;
+                }
+            }
+        }
+        eventTypes = reordered;
+    }
+
+    /**
+     * @return The event types in the order they are currently tested.
+     */
+    public List<LogEventType> getEventTypes() {
+        return Collections.unmodifiableList(Arrays.asList(eventTypes));
+    }
+
+    /**
+     * @param eventType
+     *            The <code>LogEventType</code>.
+     * @return The number of log lines identified as the event type.
+     */
+    public long getHits(LogEventType eventType) {
+        return hits[eventType.ordinal()];
+    }
+
+    /**
+     * @return The number of log lines identified as each event type with at least one hit, in the order event types
+     *         are currently tested. <code>LogEventType.UNKNOWN</code> is last.
+     */
+    public Map<LogEventType, Long> getHitStatistics() {
+        Map<LogEventType, Long> statistics = new LinkedHashMap<LogEventType, Long>();
+        for (int i = 0; i < eventTypes.length; i++) {
+            if (hits[eventTypes[i].ordinal()] > 0) {
+                statistics.put(eventTypes[i], Long.valueOf(hits[eventTypes[i].ordinal()]));
+            }
+        }
+        if (hits[LogEventType.UNKNOWN.ordinal()] > 0) {
+            statistics.put(LogEventType.UNKNOWN, Long.valueOf(hits[LogEventType.UNKNOWN.ordinal()]));
+        }
+        return statistics;
+    }
+}
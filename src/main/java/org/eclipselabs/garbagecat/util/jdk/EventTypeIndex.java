@@ -0,0 +1,455 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Literal fragment index used to narrow the event types a log line can be before any regular expression is applied.
+ * </p>
+ * 
+ * <p>
+ * Every event type is listed in the order {@link JdkUtil#identifyEventType(String)} tests them, with the literal
+ * fragments any line matching the event's regular expressions must contain. A log line is scanned once to find which
+ * fragments it contains, and only event types whose fragments are all present are matched. For example, a
+ * <code>ParNewEvent</code> line never contains "Pause Young" or "[GC pause", so none of the unified or G1 regular
+ * expressions are tried.
+ * </p>
+ * 
+ * <p>
+ * The fragments for an event type must be a necessary condition for matching. Event types without a reliable
+ * fragment (e.g. <code>HeapAtGcEvent</code>) are always candidates.
+ * </p>
+ * 
+ * <p>
+ * Event types are also tagged with the <code>CollectorFamily</code> of the event. Once the collector of a log is
+ * known, event types of other collector families can be excluded.
+ * </p>
+ * 
+ * <p>
+ * The first event type that matches wins, so the order only matters for event types that can match the same log line.
+ * {@link #isOrdered(LogEventType, LogEventType)} identifies the pairs whose relative order must be kept when event
+ * types are reordered: event types that share a literal fragment, event types without fragments (which can match
+ * almost anything), and known overlaps (e.g. <code>ParNewEvent</code> lines also match
+ * <code>CmsSerialOldEvent</code>).
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class EventTypeIndex {
+
+    /**
+     * Fragment bit set when the log line starts with a unified logging decorator (e.g. "[0.009s]").
+     */
+    private static final long DECORATOR = 1L;
+
+    /**
+     * Literal fragments. The fragment at index i is bit i + 1.
+     */
+    private static final List<String> FRAGMENTS = new ArrayList<String>();
+
+    /**
+     * Fragment indexes keyed by the first character of the fragment.
+     */
+    private static final int[][] FRAGMENTS_BY_FIRST_CHAR = new int[128][];
+
+    /**
+     * Event types in the order they are tested.
+     */
+    private static final List<LogEventType> EVENT_TYPES = new ArrayList<LogEventType>();
+
+    /**
+     * Fragment bit masks indexed by <code>LogEventType</code> ordinal. A line is a candidate if it has at least one
+     * fragment from every mask.
+     */
+    private static final long[][] REQUIREMENTS = new long[LogEventType.values().length][];
+
+    /**
+     * <code>CollectorFamily</code> indexed by <code>LogEventType</code> ordinal. Event types not specific to a
+     * collector are <code>CollectorFamily.UNKNOWN</code>.
+     */
+    private static final CollectorFamily[] FAMILIES = new CollectorFamily[LogEventType.values().length];
+
+    /**
+     * Event type pairs indexed by <code>LogEventType</code> ordinal that must be tested in index order.
+     */
+    private static final boolean[][] ORDERED = new boolean[LogEventType.values().length][LogEventType
+            .values().length];
+
+    static {
+        // Unified (alphabetical)
+        add(LogEventType.FOOTER_HEAP, false, "eap|egion| - |total|used|cancelled|Collection set:");
+        add(LogEventType.HEAP_ADDRESS, true, "Heap address: ");
+        add(LogEventType.HEAP_REGION_SIZE, true, "egion");
+        add(LogEventType.UNIFIED_APPLICATION_STOPPED_TIME, true,
+                "Total time for which application threads were stopped");
+        add(LogEventType.UNIFIED_BLANK_LINE, true);
+        add(LogEventType.UNIFIED_CMS_INITIAL_MARK, true, "Pause Initial Mark");
+        add(LogEventType.UNIFIED_CONCURRENT, true, "Concurrent |Using ");
+        add(LogEventType.UNIFIED_G1_CLEANUP, true, "Pause Cleanup");
+        add(LogEventType.UNIFIED_G1_INFO, true, "Pause Initial Mark");
+        add(LogEventType.UNIFIED_G1_MIXED_PAUSE, true, "Pause Young", "Mixed)");
+        add(LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK, true, "Pause Initial Mark");
+        add(LogEventType.UNIFIED_G1_YOUNG_PAUSE, true, "Pause Young");
+        add(LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED, true, "Pause Young", "Mixed)");
+        add(LogEventType.UNIFIED_OLD, true, "Pause Full");
+        add(LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD, true, "ParOldGen:");
+        add(LogEventType.UNIFIED_PARALLEL_SCAVENGE, true, "PSYoungGen:");
+        add(LogEventType.UNIFIED_PAR_NEW, true, "ParNew");
+        add(LogEventType.UNIFIED_REMARK, true, "Pause Remark");
+        // The regular expression has "\DefNew", so only "efNew" is literal
+        add(LogEventType.UNIFIED_SERIAL_NEW, true, "efNew:");
+        add(LogEventType.UNIFIED_SERIAL_OLD, true, "Pause Full");
+        add(LogEventType.UNIFIED_YOUNG, true, "Pause Young");
+        add(LogEventType.USING_CMS, true, "Using ");
+        add(LogEventType.USING_G1, true, "Using ");
+        add(LogEventType.USING_PARALLEL, true, "Using ");
+        add(LogEventType.USING_SERIAL, true, "Using ");
+        add(LogEventType.USING_SHENANDOAH, true, "Using ");
+
+        // Unknown
+        add(LogEventType.VERBOSE_GC_YOUNG, false, "[GC");
+        add(LogEventType.VERBOSE_GC_OLD, false, "[Full GC");
+
+        // In order of most common events to limit checking
+
+        // G1
+        add(LogEventType.G1_YOUNG_PAUSE, false, "(young)");
+        add(LogEventType.G1_MIXED_PAUSE, false, "(mixed)");
+        add(LogEventType.G1_CONCURRENT, false, "[GC concurrent-");
+        add(LogEventType.G1_YOUNG_INITIAL_MARK, false, "(young)");
+        add(LogEventType.G1_REMARK, false, "[GC remark");
+        add(LogEventType.G1_FULL_GC, false, "[Full GC");
+        add(LogEventType.G1_CLEANUP, false, "[GC cleanup");
+
+        // CMS
+        add(LogEventType.PAR_NEW, false, "K->");
+        add(LogEventType.CMS_SERIAL_OLD, false, "[CMS|ParNew");
+        add(LogEventType.CMS_INITIAL_MARK, false, "CMS-initial-mark");
+        add(LogEventType.CMS_REMARK, false, "CMS-remark|[YG occupancy");
+        add(LogEventType.CMS_CONCURRENT, false, "[CMS-concurrent-");
+
+        // Parallel
+        add(LogEventType.PARALLEL_SCAVENGE, false, "PSYoungGen:");
+        add(LogEventType.PARALLEL_SERIAL_OLD, false, "[PSOldGen: ");
+        add(LogEventType.PARALLEL_COMPACTING_OLD, false, "ParOldGen:");
+
+        // Serial
+        add(LogEventType.SERIAL_OLD, false, "[Tenured: ");
+        add(LogEventType.SERIAL_NEW, false, "efNew:");
+
+        // Shenandoah
+        add(LogEventType.SHENANDOAH_CANCELLING_GC, false, "Cancelling GC");
+        add(LogEventType.SHENANDOAH_CONCURRENT, false, "Concurrent ");
+        add(LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK, true, "ClassUnloadingWithConcurrentMark");
+        add(LogEventType.SHENANDOAH_DEGENERATED_GC_MARK, true, "Pause Degenerated GC");
+        add(LogEventType.SHENANDOAH_FINAL_EVAC, false, "Pause Final ");
+        add(LogEventType.SHENANDOAH_FINAL_MARK, false, "Pause Final ");
+        add(LogEventType.SHENANDOAH_FINAL_UPDATE, false, "Pause Final ");
+        add(LogEventType.SHENANDOAH_INIT_MARK, false, "Pause Init ");
+        add(LogEventType.SHENANDOAH_INIT_UPDATE, false, "Pause Init ");
+        add(LogEventType.SHENANDOAH_TRIGGER, false, "Trigger: ");
+
+        // Other
+        add(LogEventType.APPLICATION_CONCURRENT_TIME, false, "Application time: ");
+        add(LogEventType.APPLICATION_STOPPED_TIME, false, "Total time for which application threads were stopped");
+        add(LogEventType.CLASS_UNLOADING, false, "[Unloading class ");
+        add(LogEventType.FOOTER_STATS, false);
+        add(LogEventType.GC_INFO, false);
+        add(LogEventType.HEAP_AT_GC, false);
+        add(LogEventType.TENURING_DISTRIBUTION, false, "Desired survivor size|- age");
+        add(LogEventType.CLASS_HISTOGRAM, false);
+        add(LogEventType.APPLICATION_LOGGING, false);
+        add(LogEventType.THREAD_DUMP, false);
+        add(LogEventType.LOG_FILE, false, "GC log file ");
+        add(LogEventType.BLANK_LINE, false);
+        add(LogEventType.GC_OVERHEAD_LIMIT, false, "GCTimeLimit");
+        add(LogEventType.FLS_STATISTICS, false);
+        add(LogEventType.GC_LOCKER, false, "GC locker: ");
+        add(LogEventType.HEADER_COMMAND_LINE_FLAGS, false, "CommandLine flags:|JAVA_OPTS:");
+        add(LogEventType.HEADER_MEMORY, false, "Memory: ");
+        add(LogEventType.HEADER_VERSION, false, "Java HotSpot(TM)|OpenJDK");
+        add(LogEventType.REFERENCE_GC, false, "Reference");
+
+        // Collector families (the family the event reports)
+        family(CollectorFamily.SERIAL, LogEventType.SERIAL_NEW, LogEventType.SERIAL_OLD,
+                LogEventType.UNIFIED_SERIAL_NEW, LogEventType.UNIFIED_SERIAL_OLD, LogEventType.USING_SERIAL);
+        family(CollectorFamily.PARALLEL, LogEventType.PARALLEL_COMPACTING_OLD, LogEventType.PARALLEL_SCAVENGE,
+                LogEventType.PARALLEL_SERIAL_OLD, LogEventType.UNIFIED_PAR_NEW,
+                LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD, LogEventType.UNIFIED_PARALLEL_SCAVENGE,
+                LogEventType.USING_PARALLEL);
+        family(CollectorFamily.CMS, LogEventType.CMS_CONCURRENT, LogEventType.CMS_INITIAL_MARK,
+                LogEventType.CMS_REMARK, LogEventType.CMS_SERIAL_OLD, LogEventType.PAR_NEW,
+                LogEventType.UNIFIED_CMS_INITIAL_MARK, LogEventType.USING_CMS);
+        family(CollectorFamily.G1, LogEventType.G1_CLEANUP, LogEventType.G1_CONCURRENT, LogEventType.G1_FULL_GC,
+                LogEventType.G1_MIXED_PAUSE, LogEventType.G1_REMARK, LogEventType.G1_YOUNG_INITIAL_MARK,
+                LogEventType.G1_YOUNG_PAUSE, LogEventType.UNIFIED_G1_CLEANUP, LogEventType.UNIFIED_G1_MIXED_PAUSE,
+                LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK, LogEventType.UNIFIED_G1_YOUNG_PAUSE,
+                LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED, LogEventType.USING_G1);
+        family(CollectorFamily.SHENANDOAH, LogEventType.SHENANDOAH_CANCELLING_GC, LogEventType.SHENANDOAH_CONCURRENT,
+                LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK, LogEventType.SHENANDOAH_DEGENERATED_GC_MARK,
+                LogEventType.SHENANDOAH_FINAL_EVAC, LogEventType.SHENANDOAH_FINAL_MARK,
+                LogEventType.SHENANDOAH_FINAL_UPDATE, LogEventType.SHENANDOAH_INIT_MARK,
+                LogEventType.SHENANDOAH_INIT_UPDATE, LogEventType.SHENANDOAH_TRIGGER, LogEventType.USING_SHENANDOAH);
+
+        // Overlapping event types that do not share a fragment
+        ordered(LogEventType.UNIFIED_BLANK_LINE, LogEventType.BLANK_LINE);
+        ordered(LogEventType.PAR_NEW, LogEventType.CMS_SERIAL_OLD);
+        ordered(LogEventType.VERBOSE_GC_YOUNG, LogEventType.G1_YOUNG_PAUSE);
+        ordered(LogEventType.VERBOSE_GC_OLD, LogEventType.G1_FULL_GC);
+        for (int i = 0; i < EVENT_TYPES.size(); i++) {
+            long[] first = REQUIREMENTS[EVENT_TYPES.get(i).ordinal()];
+            for (int j = i + 1; j < EVENT_TYPES.size(); j++) {
+                long[] second = REQUIREMENTS[EVENT_TYPES.get(j).ordinal()];
+                if (isUnrestricted(first) || isUnrestricted(second) || isShared(first, second)) {
+                    ordered(EVENT_TYPES.get(i), EVENT_TYPES.get(j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private EventTypeIndex() {
+
+    }
+
+    /**
+     * Add an event type to the end of the identification order.
+     *
+     * @param eventType
+     *            The <code>LogEventType</code>.
+     * @param decorator
+     *            Whether or not the log line must start with a unified logging decorator.
+     * @param fragments
+     *            Literal fragments the log line must contain. Alternatives are separated by "|".
+     */
+    private static final void add(LogEventType eventType, boolean decorator, String... fragments) {
+        if (REQUIREMENTS[eventType.ordinal()] != null) {
+            throw new IllegalArgumentException("Duplicate event type: " + eventType);
+        }
+        long[] requirement = new long[fragments.length + (decorator ? 1 : 0)];
+        for (int i = 0; i < fragments.length; i++) {
+            String[] alternatives = fragments[i].split("\\|");
+            for (int j = 0; j < alternatives.length; j++) {
+                requirement[i] |= getFragmentBit(alternatives[j]);
+            }
+        }
+        if (decorator) {
+            requirement[fragments.length] = DECORATOR;
+        }
+        REQUIREMENTS[eventType.ordinal()] = requirement;
+        FAMILIES[eventType.ordinal()] = CollectorFamily.UNKNOWN;
+        EVENT_TYPES.add(eventType);
+    }
+
+    /**
+     * Tag event types with a collector family.
+     * 
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code>.
+     * @param eventTypes
+     *            The <code>LogEventType</code>s of the collector family.
+     */
+    private static final void family(CollectorFamily collectorFamily, LogEventType... eventTypes) {
+        for (int i = 0; i < eventTypes.length; i++) {
+            FAMILIES[eventTypes[i].ordinal()] = collectorFamily;
+        }
+    }
+
+    /**
+     * Require two event types to be tested in index order.
+     * 
+     * @param first
+     *            The <code>LogEventType</code> tested first.
+     * @param second
+     *            The <code>LogEventType</code> tested second.
+     */
+    private static final void ordered(LogEventType first, LogEventType second) {
+        if (EVENT_TYPES.indexOf(first) > EVENT_TYPES.indexOf(second)) {
+            throw new IllegalArgumentException("Order conflicts with index: " + first + ", " + second);
+        }
+        ORDERED[first.ordinal()][second.ordinal()] = true;
+    }
+
+    /**
+     * @param requirement
+     *            Fragment requirement of an event type.
+     * @return true if the event type has no literal fragments (only the decorator, if any), false otherwise.
+     */
+    private static final boolean isUnrestricted(long[] requirement) {
+        for (int i = 0; i < requirement.length; i++) {
+            if (requirement[i] != DECORATOR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param first
+     *            Fragment requirement of an event type.
+     * @param second
+     *            Fragment requirement of another event type.
+     * @return true if the event types have a literal fragment in common, false otherwise.
+     */
+    private static final boolean isShared(long[] first, long[] second) {
+        for (int i = 0; i < first.length; i++) {
+            for (int j = 0; j < second.length; j++) {
+                if ((first[i] & second[j] & ~DECORATOR) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param fragment
+     *            A literal fragment.
+     * @return The bit for the fragment, registering the fragment if it is new.
+     */
+    private static final long getFragmentBit(String fragment) {
+        int index = FRAGMENTS.indexOf(fragment);
+        if (index == -1) {
+            index = FRAGMENTS.size();
+            // Bit 0 is the decorator
+            if (index >= Long.SIZE - 1) {
+                throw new IllegalStateException("Too many fragments: " + fragment);
+            }
+            FRAGMENTS.add(fragment);
+            char firstChar = fragment.charAt(0);
+            int[] existing = FRAGMENTS_BY_FIRST_CHAR[firstChar];
+            int[] indexes = new int[existing == null ? 1 : existing.length + 1];
+            if (existing != null) {
+                System.arraycopy(existing, 0, indexes, 0, existing.length);
+            }
+            indexes[indexes.length - 1] = index;
+            FRAGMENTS_BY_FIRST_CHAR[firstChar] = indexes;
+        }
+        return 1L << (index + 1);
+    }
+
+    /**
+     * Scan the log line once for the literal fragments it contains.
+     *
+     * @param logLine
+     *            The log line.
+     * @return The fragment bits found in the log line.
+     */
+    public static final long scan(String logLine) {
+        long found = 0;
+        int length = logLine.length();
+        if (length > 0 && logLine.charAt(0) == '[') {
+            found |= DECORATOR;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = logLine.charAt(i);
+            if (c < FRAGMENTS_BY_FIRST_CHAR.length && FRAGMENTS_BY_FIRST_CHAR[c] != null) {
+                int[] indexes = FRAGMENTS_BY_FIRST_CHAR[c];
+                for (int j = 0; j < indexes.length; j++) {
+                    long bit = 1L << (indexes[j] + 1);
+                    if ((found & bit) == 0 && logLine.startsWith(FRAGMENTS.get(indexes[j]), i)) {
+                        found |= bit;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Determine if a log line with the given fragments could be the event type.
+     *
+     * @param eventType
+     *            The <code>LogEventType</code>.
+     * @param found
+     *            The fragment bits returned by {@link #scan(String)}.
+     * @return true if the log line contains the fragments required by the event type, false otherwise.
+     */
+    public static final boolean isCandidate(LogEventType eventType, long found) {
+        long[] requirement = REQUIREMENTS[eventType.ordinal()];
+        for (int i = 0; i < requirement.length; i++) {
+            if ((found & requirement[i]) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param eventType
+     *            The <code>LogEventType</code>.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code> of the log, or <code>CollectorFamily.UNKNOWN</code> to allow all
+     *            collector families.
+     * @return true if the event type is not specific to a collector family other than the given one, false otherwise.
+     */
+    public static final boolean isFamily(LogEventType eventType, CollectorFamily collectorFamily) {
+        CollectorFamily family = FAMILIES[eventType.ordinal()];
+        return collectorFamily == CollectorFamily.UNKNOWN || family == CollectorFamily.UNKNOWN
+                || family == collectorFamily;
+    }
+
+    /**
+     * @param eventType
+     *            The <code>LogEventType</code>.
+     * @return The <code>CollectorFamily</code> of the event type, or <code>CollectorFamily.UNKNOWN</code> if the event
+     *         type is not specific to a collector.
+     */
+    public static final CollectorFamily getCollectorFamily(LogEventType eventType) {
+        return FAMILIES[eventType.ordinal()];
+    }
+
+    /**
+     * @param first
+     *            A <code>LogEventType</code>.
+     * @param second
+     *            Another <code>LogEventType</code>.
+     * @return true if the first event type must always be tested before the second event type, false otherwise.
+     */
+    public static final boolean isOrdered(LogEventType first, LogEventType second) {
+        return ORDERED[first.ordinal()][second.ordinal()];
+    }
+
+    /**
+     * @return The event types in the order they are tested.
+     */
+    public static final List<LogEventType> getEventTypes() {
+        return Collections.unmodifiableList(EVENT_TYPES);
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return The event types the log line could be, in the order they are tested.
+     */
+    public static final List<LogEventType> getCandidates(String logLine) {
+        long found = scan(logLine);
+        List<LogEventType> candidates = new ArrayList<LogEventType>();
+        for (int i = 0; i < EVENT_TYPES.size(); i++) {
+            if (isCandidate(EVENT_TYPES.get(i), found)) {
+                candidates.add(EVENT_TYPES.get(i));
+            }
+        }
+        return candidates;
+    }
+}
@@ -149,6 +149,194 @@ public class JdkMath {
         return duration;
     }
 
+    /**
+     * Parse a decimal number and move the decimal point right, rounding down. Equivalent to:
+     * 
+     * <pre>
+     * new BigDecimal(number.replace(",", ".")).movePointRight(places).setScale(0, RoundingMode.DOWN).longValue()
+     * </pre>
+     * 
+     * without allocating. Numbers the fixed-point parse does not handle (e.g. exponents or more than 18 significant
+     * digits) are parsed with <code>BigDecimal</code>.
+     * 
+     * @param number
+     *            A whole number or decimal with a decimal period or comma.
+     * @param places
+     *            The number of places to move the decimal point right.
+     * @return The number with the decimal point moved right, rounded down to a whole number.
+     */
+    public static long parseDecimal(CharSequence number, int places) {
+        int length = number.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (number.charAt(0) == '-' || number.charAt(0) == '+')) {
+            negative = number.charAt(0) == '-';
+            i++;
+        }
+        long value = 0;
+        // Significant digits in value (at most 18 cannot overflow)
+        int significant = 0;
+        // Decimal places read, -1 before the decimal point
+        int decimals = -1;
+        boolean digits = false;
+        for (; i < length; i++) {
+            char c = number.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                if (decimals < places) {
+                    value = value * 10 + (c - '0');
+                    if (value != 0) {
+                        significant++;
+                    }
+                }
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if ((c == '.' || c == ',') && decimals == -1) {
+                decimals = 0;
+            } else {
+                return parseDecimalExact(number, places);
+            }
+        }
+        for (int j = decimals == -1 ? 0 : decimals; j < places; j++) {
+            value = value * 10;
+            if (value != 0) {
+                significant++;
+            }
+        }
+        if (!digits || significant > 18) {
+            return parseDecimalExact(number, places);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @see #parseDecimal(CharSequence, int)
+     * 
+     * @param number
+     *            A whole number or decimal with a decimal period or comma.
+     * @param places
+     *            The number of places to move the decimal point right.
+     * @return The number with the decimal point moved right, rounded down to a whole number.
+     */
+    private static long parseDecimalExact(CharSequence number, int places) {
+        // BigDecimal does not accept decimal commas, only decimal periods
+        BigDecimal decimal = new BigDecimal(number.toString().replace(",", "."));
+        return decimal.movePointRight(places).setScale(0, RoundingMode.DOWN).longValue();
+    }
+
+    /**
+     * Parse seconds as milliseconds. For example: Parse 0.0225213 as 22.
+     * 
+     * @see #convertSecsToMillis(String)
+     * 
+     * @param secs
+     *            Seconds as a whole number or decimal.
+     * @return Milliseconds rounded down to a whole number.
+     */
+    public static long parseSecsToMillis(CharSequence secs) {
+        return parseDecimal(secs, 3);
+    }
+
+    /**
+     * Parse seconds as microseconds. For example: Parse 0.0225213 as 22521.
+     * 
+     * @see #convertSecsToMicros(String)
+     * 
+     * @param secs
+     *            Seconds as a whole number or decimal.
+     * @return Microseconds rounded down to a whole number.
+     */
+    public static int parseSecsToMicros(CharSequence secs) {
+        return (int) parseDecimal(secs, 6);
+    }
+
+    /**
+     * Parse seconds as centiseconds. For example: Parse 1.02 as 102.
+     * 
+     * @see #convertSecsToCentis(String)
+     * 
+     * @param secs
+     *            Seconds as a number with 2 decimal places.
+     * @return Centiseconds rounded down to a whole number.
+     */
+    public static int parseSecsToCentis(CharSequence secs) {
+        return (int) parseDecimal(secs, 2);
+    }
+
+    /**
+     * Parse milliseconds as microseconds. For example: Parse 0.003 as 3.
+     * 
+     * @see #convertMillisToMicros(String)
+     * 
+     * @param millis
+     *            Milliseconds as a whole number or decimal.
+     * @return Microseconds rounded down to a whole number.
+     */
+    public static int parseMillisToMicros(CharSequence millis) {
+        return (int) parseDecimal(millis, 3);
+    }
+
+    /**
+     * Parse milliseconds rounded down to a whole number. For example: Parse 2.969 as 2.
+     * 
+     * @see #roundMillis(String)
+     * 
+     * @param millis
+     *            Milliseconds with decimal places.
+     * @return Milliseconds rounded down to a whole number.
+     */
+    public static int parseMillis(CharSequence millis) {
+        return (int) parseDecimal(millis, 0);
+    }
+
+    /**
+     * Convert microseconds to whole milliseconds. For example: Convert 987654321 to 987654.
+     * 
+     * @param micros
+     *            Microseconds as a whole number.
+     * @return Milliseconds rounded down to a whole number.
+     */
+    public static long truncateMicrosToMillis(long micros) {
+        return micros / 1000;
+    }
+
+    /**
+     * Divide, rounding to the nearest whole number with ties to the even neighbor (<code>RoundingMode.HALF_EVEN</code>).
+     * 
+     * @param dividend
+     *            The dividend.
+     * @param divisor
+     *            The divisor.
+     * @return The quotient rounded half even.
+     */
+    public static long divideHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        long half = Math.abs(divisor) - remainder;
+        if (remainder > half || (remainder == half && quotient % 2 != 0)) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Divide, rounding up (<code>RoundingMode.CEILING</code>).
+     * 
+     * @param dividend
+     *            The dividend.
+     * @param divisor
+     *            The divisor.
+     * @return The quotient rounded up.
+     */
+    public static long divideCeiling(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        if (dividend % divisor != 0 && (dividend < 0) == (divisor < 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
     /**
      * Add together an array of durations and convert seconds to milliseconds.
      * 
@@ -188,10 +376,7 @@ public class JdkMath {
             final long priorTimestamp) {
         long timeTotal = currentTimestamp + new Long(currentDuration).longValue() - priorTimestamp;
         long timeNotGc = timeTotal - new Long(currentDuration).longValue() - new Long(priorDuration).longValue();
-        BigDecimal throughput = new BigDecimal(timeNotGc);
-        throughput = throughput.divide(new BigDecimal(timeTotal), 2, RoundingMode.HALF_EVEN);
-        throughput = throughput.movePointRight(2);
-        return throughput.intValue();
+        return (int) divideHalfEven(timeNotGc * 100, timeTotal);
     }
 
     /**
@@ -273,12 +458,7 @@ public class JdkMath {
                 calc = Integer.MAX_VALUE;
             }
         } else {
-            BigDecimal parallelism = new BigDecimal(timeUser);
-            parallelism = parallelism.add(new BigDecimal(timeSys));
-            BigDecimal hundred = new BigDecimal("100");
-            parallelism = parallelism.multiply(hundred);
-            parallelism = parallelism.divide(new BigDecimal(timeReal), 0, RoundingMode.CEILING);
-            calc = parallelism.intValue();
+            calc = (int) divideCeiling(((long) timeUser + timeSys) * 100, timeReal);
         }
         return calc;
     }
@@ -12,6 +12,8 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk;
 
+import java.util.regex.Pattern;
+
 /**
  * Regular expression utility methods and constants for OpenJDK and Sun JDK.
  * 
@@ -39,6 +41,12 @@ public class JdkRegEx {
     public static final String DATESTAMP = "((\\d{4})-(\\d{2})-(\\d{2})T(\\d{2}):(\\d{2}):(\\d{2})\\.(\\d{3})(-|\\+)"
             + "(\\d{4}))";
 
+    /**
+     * Number of capturing groups in {@link #DATESTAMP}, for finding the groups that follow it in a larger regular
+     * expression.
+     */
+    public static final int DATESTAMP_GROUPS = Pattern.compile(DATESTAMP).matcher("").groupCount();
+
     /**
      * Datetime.
      * 
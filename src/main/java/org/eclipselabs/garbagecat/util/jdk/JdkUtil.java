@@ -15,7 +15,10 @@ package org.eclipselabs.garbagecat.util.jdk;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -187,190 +190,302 @@ public class JdkUtil {
     }
 
     /**
-     * Identify the log line garbage collection event.
+     * Event types in the order they are tested.
+     */
+    private static final LogEventType[] EVENT_TYPES = EventTypeIndex.getEventTypes().toArray(new LogEventType[0]);
+
+    /**
+     * Event types of <code>ThrowAwayEvent</code>s.
+     */
+    private static final Set<LogEventType> THROW_AWAY_EVENT_TYPES = EnumSet.of(LogEventType.APPLICATION_CONCURRENT_TIME,
+            LogEventType.APPLICATION_LOGGING, LogEventType.BLANK_LINE, LogEventType.CLASS_HISTOGRAM,
+            LogEventType.CLASS_UNLOADING, LogEventType.FLS_STATISTICS, LogEventType.FOOTER_HEAP,
+            LogEventType.FOOTER_STATS, LogEventType.GC_INFO, LogEventType.HEAP_ADDRESS, LogEventType.HEAP_AT_GC,
+            LogEventType.HEAP_REGION_SIZE, LogEventType.LOG_FILE, LogEventType.REFERENCE_GC,
+            LogEventType.SHENANDOAH_CANCELLING_GC, LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK,
+            LogEventType.SHENANDOAH_TRIGGER, LogEventType.TENURING_DISTRIBUTION, LogEventType.THREAD_DUMP,
+            LogEventType.UNIFIED_BLANK_LINE, LogEventType.UNIFIED_G1_INFO);
+
+    /**
+     * Indexes in {@link #EVENT_TYPES} of the event types of <code>ThrowAwayEvent</code>s.
+     */
+    private static final int[] THROW_AWAY_INDEXES;
+
+    static {
+        int[] indexes = new int[EVENT_TYPES.length];
+        int size = 0;
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            if (THROW_AWAY_EVENT_TYPES.contains(EVENT_TYPES[i])) {
+                indexes[size++] = i;
+            }
+        }
+        THROW_AWAY_INDEXES = Arrays.copyOf(indexes, size);
+    }
+
+    /**
+     * Identify the log line garbage collection event. Only event types whose literal fragments are in the log line
+     * are matched against their regular expressions.
+     * 
+     * @see EventTypeIndex
      * 
      * @param logLine
      *            The log entry.
      * @return The <code>LogEventType</code> of the log entry.
      */
     public static final LogEventType identifyEventType(String logLine) {
+        return identifyEventType(logLine, CollectorFamily.UNKNOWN);
+    }
 
-        // Unified (alphabetical)
-        if (FooterHeapEvent.match(logLine))
-            return LogEventType.FOOTER_HEAP;
-        if (HeapAddressEvent.match(logLine))
-            return LogEventType.HEAP_ADDRESS;
-        if (HeapRegionSizeEvent.match(logLine))
-            return LogEventType.HEAP_REGION_SIZE;
-        if (UnifiedApplicationStoppedTimeEvent.match(logLine))
-            return LogEventType.UNIFIED_APPLICATION_STOPPED_TIME;
-        if (UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine))
-            return LogEventType.UNIFIED_BLANK_LINE;
-        if (UnifiedCmsInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_CMS_INITIAL_MARK;
-        if (UnifiedConcurrentEvent.match(logLine))
-            return LogEventType.UNIFIED_CONCURRENT;
-        if (UnifiedG1CleanupEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_CLEANUP;
-        if (UnifiedG1InfoEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_INFO;
-        if (UnifiedG1MixedPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_MIXED_PAUSE;
-        if (UnifiedG1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK;
-        if (UnifiedG1YoungPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PAUSE;
-        if (UnifiedG1YoungPrepareMixedEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED;
-        if (UnifiedOldEvent.match(logLine))
-            return LogEventType.UNIFIED_OLD;
-        if (UnifiedParallelCompactingOldEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD;
-        if (UnifiedParallelScavengeEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_SCAVENGE;
-        if (UnifiedParNewEvent.match(logLine))
-            return LogEventType.UNIFIED_PAR_NEW;
-        if (UnifiedRemarkEvent.match(logLine))
-            return LogEventType.UNIFIED_REMARK;
-        if (UnifiedSerialNewEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_NEW;
-        if (UnifiedSerialOldEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_OLD;
-        if (UnifiedYoungEvent.match(logLine))
-            return LogEventType.UNIFIED_YOUNG;
-        if (UsingCmsEvent.match(logLine))
-            return LogEventType.USING_CMS;
-        if (UsingG1Event.match(logLine))
-            return LogEventType.USING_G1;
-        if (UsingParallelEvent.match(logLine))
-            return LogEventType.USING_PARALLEL;
-        if (UsingSerialEvent.match(logLine))
-            return LogEventType.USING_SERIAL;
-        if (UsingShenandoahEvent.match(logLine))
-            return LogEventType.USING_SHENANDOAH;
-
-        // Unknown
-        if (VerboseGcYoungEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_YOUNG;
-        if (VerboseGcOldEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_OLD;
-
-        // In order of most common events to limit checking
-
-        // G1
-        if (UsingG1Event.match(logLine))
-            return LogEventType.USING_G1;
-        if (G1YoungPauseEvent.match(logLine))
-            return LogEventType.G1_YOUNG_PAUSE;
-        if (G1MixedPauseEvent.match(logLine))
-            return LogEventType.G1_MIXED_PAUSE;
-        if (G1ConcurrentEvent.match(logLine))
-            return LogEventType.G1_CONCURRENT;
-        if (G1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.G1_YOUNG_INITIAL_MARK;
-        if (G1RemarkEvent.match(logLine))
-            return LogEventType.G1_REMARK;
-        if (G1FullGCEvent.match(logLine))
-            return LogEventType.G1_FULL_GC;
-        if (G1CleanupEvent.match(logLine))
-            return LogEventType.G1_CLEANUP;
-
-        // CMS
-        if (UsingCmsEvent.match(logLine))
-            return LogEventType.USING_CMS;
-        if (ParNewEvent.match(logLine))
-            return LogEventType.PAR_NEW;
-        if (CmsSerialOldEvent.match(logLine))
-            return LogEventType.CMS_SERIAL_OLD;
-        if (CmsInitialMarkEvent.match(logLine))
-            return LogEventType.CMS_INITIAL_MARK;
-        if (CmsRemarkEvent.match(logLine))
-            return LogEventType.CMS_REMARK;
-        if (CmsConcurrentEvent.match(logLine))
-            return LogEventType.CMS_CONCURRENT;
-
-        // Parallel
-        if (UsingParallelEvent.match(logLine))
-            return LogEventType.USING_PARALLEL;
-        if (ParallelScavengeEvent.match(logLine))
-            return LogEventType.PARALLEL_SCAVENGE;
-        if (ParallelSerialOldEvent.match(logLine))
-            return LogEventType.PARALLEL_SERIAL_OLD;
-        if (ParallelCompactingOldEvent.match(logLine))
-            return LogEventType.PARALLEL_COMPACTING_OLD;
+    /**
+     * Identify the log line garbage collection event in a log written by a known collector family. Event types
+     * specific to other collector families are only matched if no other event type matches.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code> of the log, or <code>CollectorFamily.UNKNOWN</code> if not known.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    public static final LogEventType identifyEventType(String logLine, CollectorFamily collectorFamily) {
+        return identifyEventType(logLine, collectorFamily, EVENT_TYPES);
+    }
 
-        // Serial
-        if (UsingSerialEvent.match(logLine))
-            return LogEventType.USING_SERIAL;
-        if (SerialOldEvent.match(logLine))
-            return LogEventType.SERIAL_OLD;
-        if (SerialNewEvent.match(logLine))
-            return LogEventType.SERIAL_NEW;
+    /**
+     * Identify the log line garbage collection event, testing event types in the given order.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code> of the log, or <code>CollectorFamily.UNKNOWN</code> if not known.
+     * @param eventTypes
+     *            The event types in the order they are tested.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    static final LogEventType identifyEventType(String logLine, CollectorFamily collectorFamily,
+            LogEventType[] eventTypes) {
+        long fragments = EventTypeIndex.scan(logLine);
+        for (int i = 0; i < eventTypes.length; i++) {
+            if (EventTypeIndex.isFamily(eventTypes[i], collectorFamily)
+                    && EventTypeIndex.isCandidate(eventTypes[i], fragments) && match(eventTypes[i], logLine)) {
+                return eventTypes[i];
+            }
+        }
+        if (collectorFamily != CollectorFamily.UNKNOWN) {
+            // Fall back to the event types of other collector families
+            for (int i = 0; i < eventTypes.length; i++) {
+                if (!EventTypeIndex.isFamily(eventTypes[i], collectorFamily)
+                        && EventTypeIndex.isCandidate(eventTypes[i], fragments) && match(eventTypes[i], logLine)) {
+                    return eventTypes[i];
+                }
+            }
+        }
+        // no idea what event is
+        return LogEventType.UNKNOWN;
+    }
 
-        // Shenandoah
-        if (ShenandoahCancellingGcEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CANCELLING_GC;
-        if (ShenandoahConcurrentEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONCURRENT;
-        if (ShenandoahConsiderClassUnloadingConcMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK;
-        if (ShenandoahDegeneratedGcMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_DEGENERATED_GC_MARK;
-        if (ShenandoahFinalEvacEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_EVAC;
-        if (ShenandoahFinalMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_MARK;
-        if (ShenandoahFinalUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_UPDATE;
-        if (ShenandoahInitMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_MARK;
-        if (ShenandoahInitUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_UPDATE;
-        if (ShenandoahTriggerEvent.match(logLine))
-            return LogEventType.SHENANDOAH_TRIGGER;
+    /**
+     * @param eventType
+     *            The <code>LogEventType</code>.
+     * @return true if log lines of the event type are parsed into <code>ThrowAwayEvent</code>s, false otherwise.
+     */
+    public static final boolean isThrowAwayEventType(LogEventType eventType) {
+        return THROW_AWAY_EVENT_TYPES.contains(eventType);
+    }
 
-        // Other
-        if (ApplicationConcurrentTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_CONCURRENT_TIME;
-        if (ApplicationStoppedTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_STOPPED_TIME;
-        if (ClassUnloadingEvent.match(logLine))
-            return LogEventType.CLASS_UNLOADING;
-        if (FooterStatsEvent.match(logLine))
-            return LogEventType.FOOTER_STATS;
-        if (GcInfoEvent.match(logLine))
-            return LogEventType.GC_INFO;
-        if (HeapAtGcEvent.match(logLine))
-            return LogEventType.HEAP_AT_GC;
-        if (TenuringDistributionEvent.match(logLine))
-            return LogEventType.TENURING_DISTRIBUTION;
-        if (ClassHistogramEvent.match(logLine))
-            return LogEventType.CLASS_HISTOGRAM;
-        if (ApplicationLoggingEvent.match(logLine))
-            return LogEventType.APPLICATION_LOGGING;
-        if (ThreadDumpEvent.match(logLine))
-            return LogEventType.THREAD_DUMP;
-        if (LogFileEvent.match(logLine))
-            return LogEventType.LOG_FILE;
-        if (BlankLineEvent.match(logLine))
-            return LogEventType.BLANK_LINE;
-        if (GcOverheadLimitEvent.match(logLine))
-            return LogEventType.GC_OVERHEAD_LIMIT;
-        if (FlsStatisticsEvent.match(logLine))
-            return LogEventType.FLS_STATISTICS;
-        if (GcLockerEvent.match(logLine))
-            return LogEventType.GC_LOCKER;
-        if (HeaderCommandLineFlagsEvent.match(logLine))
-            return LogEventType.HEADER_COMMAND_LINE_FLAGS;
-        if (HeaderMemoryEvent.match(logLine))
-            return LogEventType.HEADER_MEMORY;
-        if (HeaderVersionEvent.match(logLine))
-            return LogEventType.HEADER_VERSION;
-        if (ReferenceGcEvent.match(logLine))
-            return LogEventType.REFERENCE_GC;
+    /**
+     * Identify a log line that is thrown away, without identifying other log lines or creating the
+     * <code>LogEvent</code>.
+     * 
+     * Only the event types of <code>ThrowAwayEvent</code>s are matched, unless one matches. Then the event types tested
+     * before it are matched to check the log line is not identified as one of them first, so the result is the same
+     * as {@link #identifyEventType(String)}.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The <code>LogEventType</code> of the <code>ThrowAwayEvent</code>, or null if the log line is not
+     *         identified as a <code>ThrowAwayEvent</code>.
+     */
+    public static final LogEventType identifyThrowAwayEventType(String logLine) {
+        long fragments = EventTypeIndex.scan(logLine);
+        for (int i = 0; i < THROW_AWAY_INDEXES.length; i++) {
+            LogEventType eventType = EVENT_TYPES[THROW_AWAY_INDEXES[i]];
+            if (EventTypeIndex.isCandidate(eventType, fragments) && match(eventType, logLine)) {
+                // Check no other event type tested before it matches
+                for (int j = 0; j < THROW_AWAY_INDEXES[i]; j++) {
+                    if (!THROW_AWAY_EVENT_TYPES.contains(EVENT_TYPES[j])
+                            && EventTypeIndex.isCandidate(EVENT_TYPES[j], fragments)
+                            && match(EVENT_TYPES[j], logLine)) {
+                        return null;
+                    }
+                }
+                return eventType;
+            }
+        }
+        return null;
+    }
 
-        // no idea what event is
-        return LogEventType.UNKNOWN;
+    /**
+     * Determine if the log line matches the logging pattern(s) for the event type.
+     * 
+     * @param eventType
+     *            The <code>LogEventType</code>.
+     * @param logLine
+     *            The log entry.
+     * @return true if the log line matches the event type, false otherwise.
+     */
+    public static final boolean match(LogEventType eventType, String logLine) {
+        switch (eventType) {
+        case FOOTER_HEAP:
+            return FooterHeapEvent.match(logLine);
+        case HEAP_ADDRESS:
+            return HeapAddressEvent.match(logLine);
+        case HEAP_REGION_SIZE:
+            return HeapRegionSizeEvent.match(logLine);
+        case UNIFIED_APPLICATION_STOPPED_TIME:
+            return UnifiedApplicationStoppedTimeEvent.match(logLine);
+        case UNIFIED_BLANK_LINE:
+            return UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine);
+        case UNIFIED_CMS_INITIAL_MARK:
+            return UnifiedCmsInitialMarkEvent.match(logLine);
+        case UNIFIED_CONCURRENT:
+            return UnifiedConcurrentEvent.match(logLine);
+        case UNIFIED_G1_CLEANUP:
+            return UnifiedG1CleanupEvent.match(logLine);
+        case UNIFIED_G1_INFO:
+            return UnifiedG1InfoEvent.match(logLine);
+        case UNIFIED_G1_MIXED_PAUSE:
+            return UnifiedG1MixedPauseEvent.match(logLine);
+        case UNIFIED_G1_YOUNG_INITIAL_MARK:
+            return UnifiedG1YoungInitialMarkEvent.match(logLine);
+        case UNIFIED_G1_YOUNG_PAUSE:
+            return UnifiedG1YoungPauseEvent.match(logLine);
+        case UNIFIED_G1_YOUNG_PREPARE_MIXED:
+            return UnifiedG1YoungPrepareMixedEvent.match(logLine);
+        case UNIFIED_OLD:
+            return UnifiedOldEvent.match(logLine);
+        case UNIFIED_PARALLEL_COMPACTING_OLD:
+            return UnifiedParallelCompactingOldEvent.match(logLine);
+        case UNIFIED_PARALLEL_SCAVENGE:
+            return UnifiedParallelScavengeEvent.match(logLine);
+        case UNIFIED_PAR_NEW:
+            return UnifiedParNewEvent.match(logLine);
+        case UNIFIED_REMARK:
+            return UnifiedRemarkEvent.match(logLine);
+        case UNIFIED_SERIAL_NEW:
+            return UnifiedSerialNewEvent.match(logLine);
+        case UNIFIED_SERIAL_OLD:
+            return UnifiedSerialOldEvent.match(logLine);
+        case UNIFIED_YOUNG:
+            return UnifiedYoungEvent.match(logLine);
+        case USING_CMS:
+            return UsingCmsEvent.match(logLine);
+        case USING_G1:
+            return UsingG1Event.match(logLine);
+        case USING_PARALLEL:
+            return UsingParallelEvent.match(logLine);
+        case USING_SERIAL:
+            return UsingSerialEvent.match(logLine);
+        case USING_SHENANDOAH:
+            return UsingShenandoahEvent.match(logLine);
+        case VERBOSE_GC_YOUNG:
+            return VerboseGcYoungEvent.match(logLine);
+        case VERBOSE_GC_OLD:
+            return VerboseGcOldEvent.match(logLine);
+        case G1_YOUNG_PAUSE:
+            return G1YoungPauseEvent.match(logLine);
+        case G1_MIXED_PAUSE:
+            return G1MixedPauseEvent.match(logLine);
+        case G1_CONCURRENT:
+            return G1ConcurrentEvent.match(logLine);
+        case G1_YOUNG_INITIAL_MARK:
+            return G1YoungInitialMarkEvent.match(logLine);
+        case G1_REMARK:
+            return G1RemarkEvent.match(logLine);
+        case G1_FULL_GC:
+            return G1FullGCEvent.match(logLine);
+        case G1_CLEANUP:
+            return G1CleanupEvent.match(logLine);
+        case PAR_NEW:
+            return ParNewEvent.match(logLine);
+        case CMS_SERIAL_OLD:
+            return CmsSerialOldEvent.match(logLine);
+        case CMS_INITIAL_MARK:
+            return CmsInitialMarkEvent.match(logLine);
+        case CMS_REMARK:
+            return CmsRemarkEvent.match(logLine);
+        case CMS_CONCURRENT:
+            return CmsConcurrentEvent.match(logLine);
+        case PARALLEL_SCAVENGE:
+            return ParallelScavengeEvent.match(logLine);
+        case PARALLEL_SERIAL_OLD:
+            return ParallelSerialOldEvent.match(logLine);
+        case PARALLEL_COMPACTING_OLD:
+            return ParallelCompactingOldEvent.match(logLine);
+        case SERIAL_OLD:
+            return SerialOldEvent.match(logLine);
+        case SERIAL_NEW:
+            return SerialNewEvent.match(logLine);
+        case SHENANDOAH_CANCELLING_GC:
+            return ShenandoahCancellingGcEvent.match(logLine);
+        case SHENANDOAH_CONCURRENT:
+            return ShenandoahConcurrentEvent.match(logLine);
+        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
+            return ShenandoahConsiderClassUnloadingConcMarkEvent.match(logLine);
+        case SHENANDOAH_DEGENERATED_GC_MARK:
+            return ShenandoahDegeneratedGcMarkEvent.match(logLine);
+        case SHENANDOAH_FINAL_EVAC:
+            return ShenandoahFinalEvacEvent.match(logLine);
+        case SHENANDOAH_FINAL_MARK:
+            return ShenandoahFinalMarkEvent.match(logLine);
+        case SHENANDOAH_FINAL_UPDATE:
+            return ShenandoahFinalUpdateEvent.match(logLine);
+        case SHENANDOAH_INIT_MARK:
+            return ShenandoahInitMarkEvent.match(logLine);
+        case SHENANDOAH_INIT_UPDATE:
+            return ShenandoahInitUpdateEvent.match(logLine);
+        case SHENANDOAH_TRIGGER:
+            return ShenandoahTriggerEvent.match(logLine);
+        case APPLICATION_CONCURRENT_TIME:
+            return ApplicationConcurrentTimeEvent.match(logLine);
+        case APPLICATION_STOPPED_TIME:
+            return ApplicationStoppedTimeEvent.match(logLine);
+        case CLASS_UNLOADING:
+            return ClassUnloadingEvent.match(logLine);
+        case FOOTER_STATS:
+            return FooterStatsEvent.match(logLine);
+        case GC_INFO:
+            return GcInfoEvent.match(logLine);
+        case HEAP_AT_GC:
+            return HeapAtGcEvent.match(logLine);
+        case TENURING_DISTRIBUTION:
+            return TenuringDistributionEvent.match(logLine);
+        case CLASS_HISTOGRAM:
+            return ClassHistogramEvent.match(logLine);
+        case APPLICATION_LOGGING:
+            return ApplicationLoggingEvent.match(logLine);
+        case THREAD_DUMP:
+            return ThreadDumpEvent.match(logLine);
+        case LOG_FILE:
+            return LogFileEvent.match(logLine);
+        case BLANK_LINE:
+            return BlankLineEvent.match(logLine);
+        case GC_OVERHEAD_LIMIT:
+            return GcOverheadLimitEvent.match(logLine);
+        case FLS_STATISTICS:
+            return FlsStatisticsEvent.match(logLine);
+        case GC_LOCKER:
+            return GcLockerEvent.match(logLine);
+        case HEADER_COMMAND_LINE_FLAGS:
+            return HeaderCommandLineFlagsEvent.match(logLine);
+        case HEADER_MEMORY:
+            return HeaderMemoryEvent.match(logLine);
+        case HEADER_VERSION:
+            return HeaderVersionEvent.match(logLine);
+        case REFERENCE_GC:
+            return ReferenceGcEvent.match(logLine);
+        default:
+            throw new AssertionError("Unexpected event type value: " + eventType);
+        }
     }
 
     /**
@@ -381,7 +496,34 @@ public class JdkUtil {
      * @return The <code>LogEvent</code> corresponding to the log line.
      */
     public static final LogEvent parseLogLine(String logLine) {
-        LogEventType eventType = identifyEventType(logLine);
+        return parseLogLine(logLine, CollectorFamily.UNKNOWN);
+    }
+
+    /**
+     * Create <code>LogEvent</code> from GC log line in a log written by a known collector family.
+     * 
+     * @see #identifyEventType(String, CollectorFamily)
+     * 
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code> of the log, or <code>CollectorFamily.UNKNOWN</code> if not known.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    public static final LogEvent parseLogLine(String logLine, CollectorFamily collectorFamily) {
+        return parseLogLine(logLine, identifyEventType(logLine, collectorFamily));
+    }
+
+    /**
+     * Create <code>LogEvent</code> from GC log line already identified as the given event type.
+     * 
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param eventType
+     *            The <code>LogEventType</code> of the log line.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    public static final LogEvent parseLogLine(String logLine, LogEventType eventType) {
         LogEvent event = null;
         switch (eventType) {
         // Unified (order of appearance)
@@ -847,7 +989,7 @@ public class JdkUtil {
     public static final String getDateStamp(String logLine) {
         String datestamp = null;
         String regex = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = PatternRegistry.getPattern(regex);
         Matcher matcher = pattern.matcher(logLine);
         if (matcher.find()) {
             datestamp = matcher.group(2);
@@ -864,7 +1006,7 @@ public class JdkUtil {
      */
     public static final boolean isLogLineWithDateStamp(String logLine) {
         String regex = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = PatternRegistry.getPattern(regex);
         return pattern.matcher(logLine).matches();
     }
 
@@ -880,12 +1022,12 @@ public class JdkUtil {
     public static final String convertLogEntryTimestampsToDateStamp(String logEntry, Date jvmStartDate) {
         // Add the colon or space after the timestamp format so durations will
         // not get picked up.
-        Pattern pattern = Pattern.compile(JdkRegEx.TIMESTAMP + "(: )");
+        Pattern pattern = PatternRegistry.getPattern(JdkRegEx.TIMESTAMP + "(: )");
         Matcher matcher = pattern.matcher(logEntry);
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
             Date date = GcUtil.getDatePlusTimestamp(jvmStartDate,
-                    JdkMath.convertSecsToMillis(matcher.group(1)).longValue());
+                    JdkMath.parseSecsToMillis(matcher.group(1)));
             SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
             // Only update the timestamp, keep the colon or space.
             matcher.appendReplacement(sb, formatter.format(date) + matcher.group(2));
@@ -906,13 +1048,13 @@ public class JdkUtil {
     public static final String convertLogEntryDateStampToTimeStamp(String logEntry, Date jvmStartDate) {
         // Add the colon or space after the datestamp format so durations will
         // not get picked up.
-        Pattern pattern = Pattern.compile(JdkRegEx.DATESTAMP + "(: )");
+        Pattern pattern = PatternRegistry.getPattern(JdkRegEx.DATESTAMP + "(: )");
         Matcher matcher = pattern.matcher(logEntry);
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
 
             Date date = GcUtil.getDatePlusTimestamp(jvmStartDate,
-                    JdkMath.convertSecsToMillis(matcher.group(1)).longValue());
+                    JdkMath.parseSecsToMillis(matcher.group(1)));
             SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
             // Only update the datestamp, keep the colon or space.
             matcher.appendReplacement(sb, formatter.format(date) + matcher.group(2));
@@ -941,7 +1083,7 @@ public class JdkUtil {
          * for precision and rounding limitations.
          */
         if (gcEvent.getTimestamp() < (priorEvent.getTimestamp()
-                + JdkMath.convertMicrosToMillis(priorEvent.getDuration()).longValue() - 1)) {
+                + JdkMath.truncateMicrosToMillis(priorEvent.getDuration()) - 1)) {
             throw new TimeWarpException("Event overlap: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
                     + Constants.LINE_SEPARATOR + gcEvent.getLogEntry());
         }
@@ -950,8 +1092,8 @@ public class JdkUtil {
          * Timestamp is the start of a garbage collection event; therefore, the interval is from the end of the prior
          * event to the end of the current event.
          */
-        long interval = gcEvent.getTimestamp() + JdkMath.convertMicrosToMillis(gcEvent.getDuration()).longValue()
-                - priorEvent.getTimestamp() - JdkMath.convertMicrosToMillis(priorEvent.getDuration()).longValue();
+        long interval = gcEvent.getTimestamp() + JdkMath.truncateMicrosToMillis(gcEvent.getDuration())
+                - priorEvent.getTimestamp() - JdkMath.truncateMicrosToMillis(priorEvent.getDuration());
         if (interval < 0) {
             throw new TimeWarpException("Negative interval: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
                     + Constants.LINE_SEPARATOR + gcEvent.getLogEntry());
@@ -959,11 +1101,8 @@ public class JdkUtil {
 
         // Determine the maximum duration for the given interval that meets the
         // throughput goal.
-        BigDecimal durationThreshold = new BigDecimal(100 - throughputThreshold);
-        durationThreshold = durationThreshold.movePointLeft(2);
-        durationThreshold = durationThreshold.multiply(new BigDecimal(interval));
-        durationThreshold.setScale(0, RoundingMode.DOWN);
-        return (JdkMath.convertMicrosToMillis(gcEvent.getDuration()).longValue() > durationThreshold.intValue());
+        int durationThreshold = (int) ((100 - throughputThreshold) * interval / 100);
+        return (JdkMath.truncateMicrosToMillis(gcEvent.getDuration()) > durationThreshold);
     }
 
     /**
@@ -978,7 +1117,7 @@ public class JdkUtil {
         String value = null;
         if (option != null) {
             String regex = "^-[a-zA-Z:.]+(=)?(\\d{1,12}(" + JdkRegEx.OPTION_SIZE + ")?)$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = PatternRegistry.getPattern(regex);
             Matcher matcher = pattern.matcher(option);
             if (matcher.find()) {
                 value = matcher.group(2);
@@ -1041,7 +1180,7 @@ public class JdkUtil {
         String value = null;
         char units = 'b';
 
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = PatternRegistry.getPattern(regex);
         Matcher matcher = pattern.matcher(size);
         if (matcher.find()) {
             value = matcher.group(1);
@@ -15,6 +15,8 @@ package org.eclipselabs.garbagecat.util.jdk;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,6 +40,11 @@ public class Jvm {
      */
     private String options;
 
+    /**
+     * JVM options found by {@link #getJvmOption(String)} keyed by regular expression, or null if none looked up yet.
+     */
+    private Map<String, String> optionIndex;
+
     /**
      * JVM version.
      */
@@ -101,6 +108,7 @@ public class Jvm {
      */
     public void setOptions(String options) {
         this.options = options;
+        this.optionIndex = null;
     }
 
     /**
@@ -507,7 +515,7 @@ public class Jvm {
         String value = null;
         if (option != null) {
             String regex = "(-XX:HeapDumpPath=(\\S+))";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = PatternRegistry.getPattern(regex);
             Matcher matcher = pattern.matcher(option);
             if (matcher.find()) {
                 value = matcher.group(2);
@@ -1314,7 +1322,7 @@ public class Jvm {
         String value = null;
         if (getG1MixedGCLiveThresholdPercent() != null) {
             String regex = "^-XX:G1MixedGCLiveThresholdPercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = PatternRegistry.getPattern(regex);
             Matcher matcher = pattern.matcher(getG1MixedGCLiveThresholdPercent());
             if (matcher.find()) {
                 value = matcher.group(1);
@@ -1349,7 +1357,7 @@ public class Jvm {
         String value = null;
         if (getG1HeapWastePercent() != null) {
             String regex = "^-XX:G1HeapWastePercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = PatternRegistry.getPattern(regex);
             Matcher matcher = pattern.matcher(getG1HeapWastePercent());
             if (matcher.find()) {
                 value = matcher.group(1);
@@ -1440,7 +1448,7 @@ public class Jvm {
         String value = null;
         if (getG1SummarizeRSetStatsPeriod() != null) {
             String regex = "^-XX:G1SummarizeRSetStatsPeriod=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = PatternRegistry.getPattern(regex);
             Matcher matcher = pattern.matcher(getG1SummarizeRSetStatsPeriod());
             if (matcher.find()) {
                 value = matcher.group(1);
@@ -1460,22 +1468,109 @@ public class Jvm {
     }
 
     /**
+     * Get the JVM option matching a regular expression. The regular expression is only applied where its literal
+     * prefix (see {@link #getLiteralPrefix(String)}) occurs in the options, and the result is remembered, so repeated
+     * calls are a map lookup. The result is the same as a find over the whole options.
+     * 
      * @param regex
-     *            The option regular expression.
-     * @return The JVM option, or null if not explicitly set.
+     *            The option regular expression, with the option in group 1.
+     * @return The first option in the options matching the regular expression, or null if not explicitly set.
      */
     public String getJvmOption(final String regex) {
+        if (options == null) {
+            return null;
+        }
+        if (optionIndex == null) {
+            optionIndex = new HashMap<String, String>();
+        } else if (optionIndex.containsKey(regex)) {
+            return optionIndex.get(regex);
+        }
         String option = null;
-        if (options != null) {
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(options);
+        Matcher matcher = PatternRegistry.getPattern(regex).matcher(options);
+        String prefix = getLiteralPrefix(regex);
+        if (prefix.length() == 0) {
             if (matcher.find()) {
                 option = matcher.group(1);
             }
+        } else {
+            // Match at each occurrence as a find would, seeing the text around the region
+            matcher.useTransparentBounds(true).useAnchoringBounds(false);
+            int position = options.indexOf(prefix);
+            while (position != -1) {
+                matcher.region(position, options.length());
+                if (matcher.lookingAt()) {
+                    option = matcher.group(1);
+                    break;
+                }
+                position = options.indexOf(prefix, position + 1);
+            }
         }
+        optionIndex.put(regex, option);
         return option;
     }
 
+    /**
+     * Get the literal text every match of a regular expression starts with. For example, <code>-X</code> for
+     * <code>(-X(mx|X:MaxHeapSize=)(\\d{1,12}))</code>. The text is taken from the start of the regular expression
+     * (inside a leading group) up to the first character that is not a literal, so it is empty if the regular
+     * expression does not start with literal text or has alternatives at that level.
+     * 
+     * @param regex
+     *            The regular expression.
+     * @return The literal prefix, or an empty string if none.
+     */
+    static String getLiteralPrefix(final String regex) {
+        int start = regex.startsWith("(") && !regex.startsWith("(?") ? 1 : 0;
+        // The leading group must always match once, and there must not be alternatives at its level
+        int depth = 0;
+        boolean characterClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (characterClass) {
+                characterClass = c != ']';
+            } else if (c == '[') {
+                characterClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (start == 1 && depth == 0 && i + 1 < regex.length() && "?*+{".indexOf(regex.charAt(i + 1)) != -1) {
+                    return "";
+                }
+            } else if (c == '|' && depth <= start) {
+                return "";
+            }
+        }
+        StringBuilder prefix = new StringBuilder();
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            char literal;
+            int next;
+            if (c == '\\' && i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                literal = regex.charAt(i + 1);
+                next = i + 2;
+            } else if (c != '\\' && ".[]{}()*+?^$|".indexOf(c) == -1) {
+                literal = c;
+                next = i + 1;
+            } else {
+                break;
+            }
+            if (next < regex.length() && "?*{".indexOf(regex.charAt(next)) != -1) {
+                // The literal is optional
+                break;
+            }
+            prefix.append(literal);
+            if (next < regex.length() && regex.charAt(next) == '+') {
+                break;
+            }
+            i = next;
+        }
+        return prefix.toString();
+    }
+
     /**
      * @return True if stack size &gt;= 1024k, false otherwise.
      */
@@ -1498,7 +1593,7 @@ public class Jvm {
         String regex = "^.+JRE \\(1\\.(5|6|7|8|9).+$";
         int number = 0;
         if (version != null) {
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = PatternRegistry.getPattern(regex);
             Matcher matcher = pattern.matcher(version);
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
@@ -1516,7 +1611,7 @@ public class Jvm {
         String regex = "^.+JRE \\(1\\.(5|6|7|8|9)\\.\\d_(\\d{1,3})-.+$";
         int number = 0;
         if (version != null) {
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = PatternRegistry.getPattern(regex);
             Matcher matcher = pattern.matcher(version);
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
@@ -1533,7 +1628,7 @@ public class Jvm {
     public boolean is64Bit() {
         boolean is64BitVersion = false;
         if (version != null) {
-            is64BitVersion = version.matches("^.+64-Bit.+$");
+            is64BitVersion = PatternRegistry.matches("^.+64-Bit.+$", version);
         }
         boolean is64BitOption = false;
         if (getD64() != null) {
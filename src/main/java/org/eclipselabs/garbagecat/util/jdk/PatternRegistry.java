@@ -0,0 +1,226 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Registry of compiled regular expressions.
+ * </p>
+ * 
+ * <p>
+ * Logging events and preprocessing actions test every log line against dozens of regular expressions. Compiling a
+ * regular expression is far more expensive than applying it, so each regular expression is compiled once and shared.
+ * Boolean match tests reuse a <code>Matcher</code> per thread to avoid allocating one for every log line.
+ * </p>
+ * 
+ * <p>
+ * The outcome of the last full match of each pattern is remembered per thread. When an event is identified by its
+ * <code>match()</code> method and then constructed from the same log line, the constructor gets the matcher from
+ * {@link #match(String, CharSequence)} without evaluating the regular expression a second time.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class PatternRegistry {
+
+    /**
+     * Compiled patterns keyed by regular expression.
+     */
+    private static final ConcurrentMap<String, Pattern> PATTERNS = new ConcurrentHashMap<String, Pattern>();
+
+    /**
+     * Reusable match state for the current thread keyed by pattern.
+     */
+    private static final ThreadLocal<Map<Pattern, MatchState>> STATES = new ThreadLocal<Map<Pattern, MatchState>>() {
+        protected Map<Pattern, MatchState> initialValue() {
+            return new IdentityHashMap<Pattern, MatchState>();
+        }
+    };
+
+    /**
+     * The last input a thread's matcher was applied to and the outcome.
+     */
+    private static final class MatchState {
+
+        /**
+         * The matcher.
+         */
+        private final Matcher matcher;
+
+        /**
+         * The last <code>String</code> tested for a full match, or null if the matcher state is unknown.
+         */
+        private String input;
+
+        /**
+         * Whether or not the last input matched.
+         */
+        private boolean matched;
+
+        private MatchState(Matcher matcher) {
+            this.matcher = matcher;
+        }
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private PatternRegistry() {
+
+    }
+
+    /**
+     * Get the compiled pattern for a regular expression, compiling it on first use.
+     * 
+     * @param regex
+     *            The regular expression.
+     * @return The compiled <code>Pattern</code>.
+     */
+    public static final Pattern getPattern(String regex) {
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            Pattern existing = PATTERNS.putIfAbsent(regex, pattern);
+            if (existing != null) {
+                pattern = existing;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Determine if the input matches the entire regular expression. Equivalent to <code>String.matches(regex)</code>
+     * without recompiling the regular expression.
+     * 
+     * @param regex
+     *            The regular expression.
+     * @param input
+     *            The character sequence to test.
+     * @return true if the entire input matches the regular expression, false otherwise.
+     */
+    public static final boolean matches(String regex, CharSequence input) {
+        return evaluate(getPattern(regex), input).matched;
+    }
+
+    /**
+     * Determine if the input matches the entire pattern using a matcher reused by the current thread.
+     * 
+     * @param pattern
+     *            The compiled pattern.
+     * @param input
+     *            The character sequence to test.
+     * @return true if the entire input matches the pattern, false otherwise.
+     */
+    public static final boolean matches(Pattern pattern, CharSequence input) {
+        return evaluate(pattern, input).matched;
+    }
+
+    /**
+     * Get the matcher for a full match of the input. If the input is the same <code>String</code> most recently
+     * tested against the regular expression on this thread, the prior result is returned without evaluating the
+     * regular expression again.
+     * 
+     * The returned matcher belongs to the registry. It must only be used to read groups, and only until the next call
+     * for the same regular expression on this thread.
+     * 
+     * @param regex
+     *            The regular expression.
+     * @param input
+     *            The character sequence to match.
+     * @return The <code>Matcher</code> positioned on the full match, or null if the input does not match.
+     */
+    public static final Matcher match(String regex, CharSequence input) {
+        return match(getPattern(regex), input);
+    }
+
+    /**
+     * Get the matcher for a full match of the input against a compiled pattern.
+     * 
+     * @see #match(String, CharSequence)
+     * 
+     * @param pattern
+     *            The compiled pattern.
+     * @param input
+     *            The character sequence to match.
+     * @return The <code>Matcher</code> positioned on the full match, or null if the input does not match.
+     */
+    public static final Matcher match(Pattern pattern, CharSequence input) {
+        MatchState state = evaluate(pattern, input);
+        return state.matched ? state.matcher : null;
+    }
+
+    /**
+     * Determine if the input contains a match for the regular expression.
+     * 
+     * @param regex
+     *            The regular expression.
+     * @param input
+     *            The character sequence to test.
+     * @return true if a subsequence of the input matches the regular expression, false otherwise.
+     */
+    public static final boolean find(String regex, CharSequence input) {
+        MatchState state = getMatchState(getPattern(regex));
+        // A find does not leave the matcher on a full match
+        state.input = null;
+        return state.matcher.reset(input).find();
+    }
+
+    /**
+     * @return The number of compiled patterns in the registry.
+     */
+    public static final int size() {
+        return PATTERNS.size();
+    }
+
+    /**
+     * Apply a pattern to the input unless the same <code>String</code> was the last input for the pattern on this
+     * thread. Only immutable input is remembered.
+     * 
+     * @param pattern
+     *            The compiled pattern.
+     * @param input
+     *            The character sequence to match.
+     * @return The <code>MatchState</code> for the input.
+     */
+    private static final MatchState evaluate(Pattern pattern, CharSequence input) {
+        MatchState state = getMatchState(pattern);
+        if (state.input != input || input == null) {
+            state.matched = state.matcher.reset(input).matches();
+            state.input = input instanceof String ? (String) input : null;
+        }
+        return state;
+    }
+
+    /**
+     * @param pattern
+     *            The compiled pattern.
+     * @return The current thread's <code>MatchState</code> for the pattern.
+     */
+    private static final MatchState getMatchState(Pattern pattern) {
+        Map<Pattern, MatchState> states = STATES.get();
+        MatchState state = states.get(pattern);
+        if (state == null) {
+            state = new MatchState(pattern.matcher(""));
+            states.put(pattern, state);
+        }
+        return state;
+    }
+}
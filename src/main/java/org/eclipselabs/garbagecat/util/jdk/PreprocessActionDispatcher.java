@@ -0,0 +1,237 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationConcurrentTimePreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationStoppedTimePreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.PreprocessActionType;
+
+/**
+ * <p>
+ * Selects the preprocessing action for a log line from the preprocessing context.
+ * </p>
+ * 
+ * <p>
+ * A preprocessing action leaves its token in the context while it is combining the log lines of an event, and other
+ * actions are not valid until it is done (e.g. CMS logging is not preprocessed as G1 logging in the middle of a CMS
+ * event). Each context state (see {@link PreprocessTokenSet#getState()}) indexes a table of the actions valid in that
+ * state, in the order they are tested, so only those actions are matched against the log line.
+ * </p>
+ * 
+ * <p>
+ * To add a preprocessing action, add its token to {@link PreprocessTokenSet}, then add the action to the test order,
+ * the tokens it is not valid with, and the match and preprocess methods here.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class PreprocessActionDispatcher {
+
+    /**
+     * Preprocessing actions in the order they are tested.
+     */
+    private static final PreprocessActionType[] ACTIONS = { PreprocessActionType.SHENANDOAH,
+            PreprocessActionType.UNIFIED, PreprocessActionType.PARALLEL, PreprocessActionType.CMS,
+            PreprocessActionType.APPLICATION_CONCURRENT_TIME, PreprocessActionType.APPLICATION_STOPPED_TIME,
+            PreprocessActionType.G1, PreprocessActionType.SERIAL };
+
+    /**
+     * Preprocessing actions valid in each context state, in the order they are tested.
+     */
+    private static final PreprocessActionType[][] STATE_ACTIONS =
+            new PreprocessActionType[PreprocessTokenSet.STATES][];
+
+    static {
+        int[] excludedTokens = new int[ACTIONS.length];
+        for (int i = 0; i < ACTIONS.length; i++) {
+            excludedTokens[i] = getExcludedTokens(ACTIONS[i]);
+        }
+        for (int state = 0; state < PreprocessTokenSet.STATES; state++) {
+            List<PreprocessActionType> actions = new ArrayList<PreprocessActionType>();
+            for (int i = 0; i < ACTIONS.length; i++) {
+                if ((state & excludedTokens[i]) == 0) {
+                    actions.add(ACTIONS[i]);
+                }
+            }
+            STATE_ACTIONS[state] = actions.toArray(new PreprocessActionType[actions.size()]);
+        }
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private PreprocessActionDispatcher() {
+
+    }
+
+    /**
+     * @param preprocessActionType
+     *            The preprocessing action.
+     * @return The bits of the tokens in the context the action is not valid with.
+     */
+    private static int getExcludedTokens(PreprocessActionType preprocessActionType) {
+        int applicationConcurrentTime = PreprocessTokenSet.getBit(ApplicationConcurrentTimePreprocessAction.TOKEN);
+        int applicationStoppedTime = PreprocessTokenSet.getBit(ApplicationStoppedTimePreprocessAction.TOKEN);
+        int cms = PreprocessTokenSet.getBit(CmsPreprocessAction.TOKEN);
+        int g1 = PreprocessTokenSet.getBit(G1PreprocessAction.TOKEN);
+        int parallel = PreprocessTokenSet.getBit(ParallelPreprocessAction.TOKEN);
+        int serial = PreprocessTokenSet.getBit(SerialPreprocessAction.TOKEN);
+        int shenandoah = PreprocessTokenSet.getBit(ShenandoahPreprocessAction.TOKEN);
+        int unified = PreprocessTokenSet.getBit(UnifiedPreprocessAction.TOKEN);
+        switch (preprocessActionType) {
+        case SHENANDOAH:
+            return applicationStoppedTime | applicationConcurrentTime | serial | cms | g1 | parallel | unified;
+        case UNIFIED:
+            return applicationStoppedTime | applicationConcurrentTime | serial | cms | g1 | parallel | shenandoah;
+        case PARALLEL:
+            return applicationStoppedTime | applicationConcurrentTime | serial | cms | g1 | unified;
+        case CMS:
+            return applicationStoppedTime | applicationConcurrentTime | serial | parallel | g1 | shenandoah | unified;
+        case APPLICATION_CONCURRENT_TIME:
+            return applicationStoppedTime | g1 | serial | parallel | cms | shenandoah | unified;
+        case APPLICATION_STOPPED_TIME:
+            return applicationConcurrentTime | g1 | parallel | cms | shenandoah | unified;
+        case G1:
+            return applicationStoppedTime | applicationConcurrentTime | serial | parallel | cms | shenandoah | unified;
+        case SERIAL:
+            return applicationStoppedTime | applicationConcurrentTime | parallel | cms | g1 | shenandoah | unified;
+        default:
+            throw new IllegalArgumentException("Unexpected preprocess action: " + preprocessActionType);
+        }
+    }
+
+    /**
+     * @param state
+     *            The context state.
+     * @return The preprocessing actions valid in the state, in the order they are tested.
+     */
+    public static final PreprocessActionType[] getPreprocessActions(int state) {
+        return STATE_ACTIONS[state].clone();
+    }
+
+    /**
+     * Identify the preprocessing action for a log line.
+     * 
+     * @param priorLogLine
+     *            The prior log line.
+     * @param currentLogLine
+     *            The current log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @param context
+     *            The preprocessing context.
+     * @return The first preprocessing action valid in the context that matches the log line, or null if none match.
+     */
+    public static final PreprocessActionType identifyPreprocessAction(String priorLogLine, String currentLogLine,
+            String nextLogLine, PreprocessTokenSet context) {
+        PreprocessActionType[] actions = STATE_ACTIONS[context.getState()];
+        for (int i = 0; i < actions.length; i++) {
+            if (match(actions[i], priorLogLine, currentLogLine, nextLogLine)) {
+                return actions[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param preprocessActionType
+     *            The preprocessing action.
+     * @param priorLogLine
+     *            The prior log line.
+     * @param currentLogLine
+     *            The current log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @return true if the preprocessing action matches the log line, false otherwise.
+     */
+    private static boolean match(PreprocessActionType preprocessActionType, String priorLogLine,
+            String currentLogLine, String nextLogLine) {
+        switch (preprocessActionType) {
+        case SHENANDOAH:
+            return ShenandoahPreprocessAction.match(currentLogLine);
+        case UNIFIED:
+            return UnifiedPreprocessAction.match(currentLogLine);
+        case PARALLEL:
+            return ParallelPreprocessAction.match(currentLogLine);
+        case CMS:
+            return CmsPreprocessAction.match(currentLogLine, priorLogLine, nextLogLine);
+        case APPLICATION_CONCURRENT_TIME:
+            return ApplicationConcurrentTimePreprocessAction.match(currentLogLine, priorLogLine);
+        case APPLICATION_STOPPED_TIME:
+            return ApplicationStoppedTimePreprocessAction.match(currentLogLine, priorLogLine);
+        case G1:
+            return G1PreprocessAction.match(currentLogLine, priorLogLine, nextLogLine);
+        case SERIAL:
+            return SerialPreprocessAction.match(currentLogLine);
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Preprocess a log line with a preprocessing action.
+     * 
+     * @param preprocessActionType
+     *            The preprocessing action.
+     * @param priorLogLine
+     *            The prior log line.
+     * @param currentLogLine
+     *            The current log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @param entangledLogLines
+     *            Log lines mixed in with the event.
+     * @param context
+     *            The preprocessing context.
+     * @return The preprocessed log entry, or null if the log line is removed.
+     */
+    public static final String preprocess(PreprocessActionType preprocessActionType, String priorLogLine,
+            String currentLogLine, String nextLogLine, List<String> entangledLogLines, PreprocessTokenSet context) {
+        switch (preprocessActionType) {
+        case SHENANDOAH:
+            return new ShenandoahPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines,
+                    context).getLogEntry();
+        case UNIFIED:
+            return new UnifiedPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context)
+                    .getLogEntry();
+        case PARALLEL:
+            return new ParallelPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context)
+                    .getLogEntry();
+        case CMS:
+            return new CmsPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context)
+                    .getLogEntry();
+        case APPLICATION_CONCURRENT_TIME:
+            return new ApplicationConcurrentTimePreprocessAction(currentLogLine, context).getLogEntry();
+        case APPLICATION_STOPPED_TIME:
+            return new ApplicationStoppedTimePreprocessAction(currentLogLine, context).getLogEntry();
+        case G1:
+            return new G1PreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context)
+                    .getLogEntry();
+        case SERIAL:
+            return new SerialPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context)
+                    .getLogEntry();
+        default:
+            throw new IllegalArgumentException("Unexpected preprocess action: " + preprocessActionType);
+        }
+    }
+}
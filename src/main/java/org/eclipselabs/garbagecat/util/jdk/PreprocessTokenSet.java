@@ -0,0 +1,217 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationConcurrentTimePreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationStoppedTimePreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+
+/**
+ * <p>
+ * The preprocessing context: the tokens preprocessing actions leave for the log lines that follow.
+ * </p>
+ * 
+ * <p>
+ * The known tokens are held as bits in an <code>int</code>, so the context is a compact state that can index a table
+ * (see {@link PreprocessActionDispatcher}), and testing, adding and removing a token is a comparison against the token
+ * constants instead of hashing the token. Any other token is held in a <code>HashSet</code>.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class PreprocessTokenSet extends AbstractSet<String> {
+
+    /**
+     * Known tokens indexed by bit.
+     */
+    private static final String[] TOKENS = { PreprocessAction.TOKEN_BEGINNING_OF_EVENT,
+            ApplicationConcurrentTimePreprocessAction.TOKEN, ApplicationStoppedTimePreprocessAction.TOKEN,
+            CmsPreprocessAction.TOKEN, G1PreprocessAction.TOKEN, ParallelPreprocessAction.TOKEN,
+            SerialPreprocessAction.TOKEN, ShenandoahPreprocessAction.TOKEN, UnifiedPreprocessAction.TOKEN };
+
+    /**
+     * Number of states: every combination of known tokens.
+     */
+    public static final int STATES = 1 << TOKENS.length;
+
+    /**
+     * The known tokens in the context, one bit per token.
+     */
+    private int state;
+
+    /**
+     * Other tokens in the context, or null if none have been added.
+     */
+    private Set<String> otherTokens;
+
+    /**
+     * @param token
+     *            A token.
+     * @return The bit for the token, or 0 if not a known token.
+     */
+    public static final int getBit(Object token) {
+        // Token constants are compared by reference first
+        for (int i = 0; i < TOKENS.length; i++) {
+            if (TOKENS[i] == token) {
+                return 1 << i;
+            }
+        }
+        for (int i = 0; i < TOKENS.length; i++) {
+            if (TOKENS[i].equals(token)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The known tokens in the context, one bit per token (see {@link #getBit(Object)}).
+     */
+    public int getState() {
+        return state;
+    }
+
+    public boolean contains(Object token) {
+        int bit = getBit(token);
+        if (bit != 0) {
+            return (state & bit) != 0;
+        }
+        return otherTokens != null && otherTokens.contains(token);
+    }
+
+    public boolean add(String token) {
+        int bit = getBit(token);
+        if (bit != 0) {
+            boolean added = (state & bit) == 0;
+            state |= bit;
+            return added;
+        }
+        if (token == null) {
+            throw new NullPointerException("token is null");
+        }
+        if (otherTokens == null) {
+            otherTokens = new HashSet<String>();
+        }
+        return otherTokens.add(token);
+    }
+
+    public boolean remove(Object token) {
+        int bit = getBit(token);
+        if (bit != 0) {
+            boolean removed = (state & bit) != 0;
+            state &= ~bit;
+            return removed;
+        }
+        return otherTokens != null && otherTokens.remove(token);
+    }
+
+    public void clear() {
+        state = 0;
+        otherTokens = null;
+    }
+
+    public int size() {
+        return Integer.bitCount(state) + (otherTokens == null ? 0 : otherTokens.size());
+    }
+
+    public boolean equals(Object other) {
+        if (other instanceof PreprocessTokenSet) {
+            PreprocessTokenSet tokens = (PreprocessTokenSet) other;
+            if (state != tokens.state) {
+                return false;
+            }
+            boolean empty = otherTokens == null || otherTokens.isEmpty();
+            boolean otherEmpty = tokens.otherTokens == null || tokens.otherTokens.isEmpty();
+            if (empty || otherEmpty) {
+                return empty && otherEmpty;
+            }
+            return otherTokens.equals(tokens.otherTokens);
+        }
+        return super.equals(other);
+    }
+
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+
+            /**
+             * Known tokens not yet returned.
+             */
+            private int remaining = state;
+
+            /**
+             * The bit of the last known token returned, or 0 if the last token returned is not a known token.
+             */
+            private int lastBit;
+
+            /**
+             * Iterator over the other tokens once the known tokens are returned.
+             */
+            private Iterator<String> otherIterator;
+
+            public boolean hasNext() {
+                if (remaining != 0) {
+                    return true;
+                }
+                return otherTokens != null && otherIterator().hasNext();
+            }
+
+            public String next() {
+                if (remaining != 0) {
+                    lastBit = Integer.lowestOneBit(remaining);
+                    remaining &= ~lastBit;
+                    return TOKENS[Integer.numberOfTrailingZeros(lastBit)];
+                }
+                if (otherTokens == null) {
+                    throw new NoSuchElementException();
+                }
+                lastBit = 0;
+                return otherIterator().next();
+            }
+
+            public void remove() {
+                if (lastBit != 0) {
+                    state &= ~lastBit;
+                    lastBit = 0;
+                } else if (otherIterator != null) {
+                    otherIterator.remove();
+                } else {
+                    throw new IllegalStateException();
+                }
+            }
+
+            private Iterator<String> otherIterator() {
+                if (otherIterator == null) {
+                    otherIterator = otherTokens.iterator();
+                }
+                return otherIterator;
+            }
+        };
+    }
+}
@@ -0,0 +1,383 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk.unified;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+
+/**
+ * <p>
+ * The decorations prepending a unified logging (JDK9+) log line, parsed once into their parts, and the message body
+ * that follows them.
+ * </p>
+ * 
+ * <p>
+ * Recognizes the same decorations as {@link UnifiedRegEx#DECORATOR}: a time decorator (datestamp, uptime or
+ * uptimemillis), an optional second uptime or uptimemillis decorator, optional level and tags, and an optional GC event
+ * number. For example:
+ * </p>
+ * 
+ * <pre>
+ * [2020-02-14T15:21:55.207-0500][0.052s][info][gc,start     ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)
+ * </pre>
+ * 
+ * <p>
+ * has the body:
+ * </p>
+ * 
+ * <pre>
+ *  Pause Young (Normal) (G1 Evacuation Pause)
+ * </pre>
+ * 
+ * <p>
+ * Unified logging events match their regular expressions against the short body instead of re-parsing the
+ * decorations in every regular expression. The last log line parsed is remembered per thread, so identifying an event
+ * and then constructing it parses the decorations once, and the body is the same <code>String</code> both times.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class UnifiedDecorator {
+
+    /**
+     * Recognized first tags (see {@link UnifiedRegEx#TAGS_FIRST}).
+     */
+    private static final String[] TAGS_FIRST = UnifiedRegEx.TAGS_FIRST.split("\\|");
+
+    /**
+     * Recognized second tags (see {@link UnifiedRegEx#TAGS_SECOND}).
+     */
+    private static final String[] TAGS_SECOND = UnifiedRegEx.TAGS_SECOND.split("\\|");
+
+    /**
+     * Recognized third tags (see {@link UnifiedRegEx#TAGS_THIRD}).
+     */
+    private static final String[] TAGS_THIRD = UnifiedRegEx.TAGS_THIRD.split("\\|");
+
+    /**
+     * Datestamp layout. '0' is any digit and '+' is a plus or minus sign.
+     */
+    private static final String DATESTAMP_LAYOUT = "0000-00-00T00:00:00.000+0000";
+
+    /**
+     * The last log line parsed and the outcome on each thread.
+     */
+    private static final ThreadLocal<LastParse> LAST_PARSE = new ThreadLocal<LastParse>() {
+        protected LastParse initialValue() {
+            return new LastParse();
+        }
+    };
+
+    /**
+     * The last log line parsed and the outcome.
+     */
+    private static final class LastParse {
+
+        /**
+         * The last log line parsed, or null if none.
+         */
+        private String logLine;
+
+        /**
+         * The decorator parsed from the last log line, or null if not decorated.
+         */
+        private UnifiedDecorator decorator;
+    }
+
+    /**
+     * The datestamp decorator (e.g. 2020-02-14T15:21:55.207-0500), or null if not logged.
+     */
+    private String datestamp;
+
+    /**
+     * Milliseconds since JVM started from the first uptime or uptimemillis decorator, or -1 if not logged.
+     */
+    private long uptimeMillis;
+
+    /**
+     * The level (e.g. info), or null if not logged.
+     */
+    private String level;
+
+    /**
+     * The comma separated tags without padding (e.g. gc,start), or null if not logged.
+     */
+    private String tags;
+
+    /**
+     * The garbage collection event number, or -1 if not logged.
+     */
+    private int gcId;
+
+    /**
+     * The log line after the decorations.
+     */
+    private String body;
+
+    /**
+     * Create decorator from parsed parts.
+     */
+    private UnifiedDecorator(String datestamp, long uptimeMillis, String level, String tags, int gcId, String body) {
+        this.datestamp = datestamp;
+        this.uptimeMillis = uptimeMillis;
+        this.level = level;
+        this.tags = tags;
+        this.gcId = gcId;
+        this.body = body;
+    }
+
+    public String getDatestamp() {
+        return datestamp;
+    }
+
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public int getGcId() {
+        return gcId;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * @return The time in milliseconds after JVM startup: the uptime if logged, otherwise the datestamp converted to
+     *         milliseconds from a fixed point in time.
+     */
+    public long getTimestamp() {
+        if (uptimeMillis != -1) {
+            return uptimeMillis;
+        } else {
+            return UnifiedUtil.convertDatestampToMillis(datestamp);
+        }
+    }
+
+    /**
+     * Parse the decorations prepending a log line.
+     * 
+     * @param logLine
+     *            The log line.
+     * @return The <code>UnifiedDecorator</code>, or null if the log line does not start with a recognized time
+     *         decorator.
+     */
+    public static final UnifiedDecorator parse(String logLine) {
+        LastParse lastParse = LAST_PARSE.get();
+        if (logLine != lastParse.logLine) {
+            lastParse.decorator = parseDecorations(logLine);
+            lastParse.logLine = logLine;
+        }
+        return lastParse.decorator;
+    }
+
+    /**
+     * Parse the decorations prepending a log line without consulting the last log line parsed.
+     * 
+     * @param logLine
+     *            The log line.
+     * @return The <code>UnifiedDecorator</code>, or null if the log line does not start with a recognized time
+     *         decorator.
+     */
+    private static UnifiedDecorator parseDecorations(String logLine) {
+        // Time decorator
+        if (logLine.length() == 0 || logLine.charAt(0) != '[') {
+            return null;
+        }
+        int end = logLine.indexOf(']', 1);
+        if (end == -1) {
+            return null;
+        }
+        String datestamp = null;
+        long uptimeMillis = parseUptimeMillis(logLine, 1, end);
+        if (uptimeMillis == -1) {
+            if (!isDatestamp(logLine, 1, end)) {
+                return null;
+            }
+            datestamp = logLine.substring(1, end);
+        }
+        int position = end + 1;
+
+        // Optional second time decorator
+        if (position < logLine.length() && logLine.charAt(position) == '[') {
+            end = logLine.indexOf(']', position + 1);
+            if (end != -1) {
+                long secondUptimeMillis = parseUptimeMillis(logLine, position + 1, end);
+                if (secondUptimeMillis != -1) {
+                    if (uptimeMillis == -1) {
+                        uptimeMillis = secondUptimeMillis;
+                    }
+                    position = end + 1;
+                }
+            }
+        }
+
+        // Optional level and tags
+        String level = null;
+        String tags = null;
+        if (logLine.startsWith("[info][", position)) {
+            int tagsStart = position + 7;
+            int tagsEnd = matchTag(logLine, tagsStart, TAGS_FIRST);
+            if (tagsEnd != -1) {
+                if (logLine.startsWith(",", tagsEnd)) {
+                    int next = matchTag(logLine, tagsEnd + 1, TAGS_SECOND);
+                    if (next != -1) {
+                        tagsEnd = next;
+                    }
+                }
+                if (logLine.startsWith(",", tagsEnd)) {
+                    int next = matchTag(logLine, tagsEnd + 1, TAGS_THIRD);
+                    if (next != -1) {
+                        tagsEnd = next;
+                    }
+                }
+                int padding = tagsEnd;
+                while (padding < logLine.length() && logLine.charAt(padding) == ' '
+                        && padding - tagsEnd < UnifiedRegEx.TAGS_PADDING) {
+                    padding++;
+                }
+                if (padding < logLine.length() && logLine.charAt(padding) == ']') {
+                    level = "info";
+                    tags = logLine.substring(tagsStart, tagsEnd);
+                    position = padding + 1;
+                }
+            }
+        }
+
+        // Optional GC event number
+        int gcId = -1;
+        if (logLine.startsWith(" GC(", position)) {
+            int digits = position + 4;
+            int close = digits;
+            while (close < logLine.length() && close - digits < 7 && Character.isDigit(logLine.charAt(close))) {
+                close++;
+            }
+            if (close > digits && close < logLine.length() && logLine.charAt(close) == ')') {
+                gcId = Integer.parseInt(logLine.substring(digits, close));
+                position = close + 1;
+            }
+        }
+
+        return new UnifiedDecorator(datestamp, uptimeMillis, level, tags, gcId, logLine.substring(position));
+    }
+
+    /**
+     * Parse an uptime (e.g. 25.016s) or uptimemillis (e.g. 25016ms) decorator.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param start
+     *            The index of the first character of the decorator.
+     * @param end
+     *            The index after the last character of the decorator.
+     * @return The milliseconds since JVM started, or -1 if not an uptime or uptimemillis decorator.
+     */
+    private static long parseUptimeMillis(String logLine, int start, int end) {
+        int length = end - start;
+        if (length >= 3 && length <= 10 && logLine.startsWith("ms", end - 2)
+                && isDigits(logLine, start, end - 2)) {
+            return Long.parseLong(logLine.substring(start, end - 2));
+        }
+        // 0-12 digits, separator, 3 digits, "s"
+        if (length >= 5 && length <= 17 && logLine.charAt(end - 1) == 's') {
+            char separator = logLine.charAt(end - 5);
+            if ((separator == '.' || separator == ',') && isDigits(logLine, start, end - 5)
+                    && isDigits(logLine, end - 4, end - 1)) {
+                return JdkMath.parseSecsToMillis(logLine.substring(start, end - 1));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param start
+     *            The index of the first character of the decorator.
+     * @param end
+     *            The index after the last character of the decorator.
+     * @return true if the decorator is a datestamp (e.g. 2020-02-14T15:21:55.207-0500), false otherwise.
+     */
+    private static boolean isDatestamp(String logLine, int start, int end) {
+        if (end - start != DATESTAMP_LAYOUT.length()) {
+            return false;
+        }
+        for (int i = 0; i < DATESTAMP_LAYOUT.length(); i++) {
+            char c = logLine.charAt(start + i);
+            char expected = DATESTAMP_LAYOUT.charAt(i);
+            if (expected == '0') {
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            } else if (expected == '+') {
+                if (c != '+' && c != '-') {
+                    return false;
+                }
+            } else if (c != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param start
+     *            The start index.
+     * @param end
+     *            The end index (exclusive).
+     * @return true if every character in the range is a digit, false otherwise.
+     */
+    private static boolean isDigits(String logLine, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = logLine.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Match one of the recognized tags followed by a tag separator, padding or the end of the tags.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param start
+     *            The index of the first character of the tag.
+     * @param tags
+     *            The recognized tags.
+     * @return The index after the tag, or -1 if no recognized tag is at the index.
+     */
+    private static int matchTag(String logLine, int start, String[] tags) {
+        for (int i = 0; i < tags.length; i++) {
+            int end = start + tags[i].length();
+            if (logLine.startsWith(tags[i], start) && end < logLine.length()) {
+                char next = logLine.charAt(end);
+                if (next == ',' || next == ' ' || next == ']') {
+                    return end;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -50,6 +50,33 @@ public class UnifiedRegEx {
      */
     public static final String GC_EVENT_NUMBER = "GC\\(\\d{1,7}\\)";
 
+    /**
+     * Recognized first tags of the tags decorator, separated by '|'.
+     * 
+     * For example: gc
+     */
+    public static final String TAGS_FIRST = "gc|safepoint";
+
+    /**
+     * Recognized second tags of the tags decorator, separated by '|'.
+     * 
+     * For example: start
+     */
+    public static final String TAGS_SECOND = "cds|cpu|ergo|heap|init|marking|metaspace|phases|stats|start|stringtable"
+            + "|task";
+
+    /**
+     * Recognized third tags of the tags decorator, separated by '|'.
+     * 
+     * For example: exit
+     */
+    public static final String TAGS_THIRD = "coops|exit|start";
+
+    /**
+     * Maximum number of spaces padding the tags decorator.
+     */
+    public static final int TAGS_PADDING = 13;
+
     /**
      * Regular expression for recognized decorations prepending logging.
      * 
@@ -103,14 +130,8 @@ public class UnifiedRegEx {
      * </pre>
      */
     public static final String DECORATOR = "\\[(" + JdkRegEx.DATESTAMP + "|" + UPTIME + "|" + UPTIMEMILLIS + ")\\](\\[("
-            + UPTIME + "|" + UPTIMEMILLIS + ")\\])?(\\[info\\]\\[(gc|safepoint)"
-            + "(,(cds|cpu|ergo|heap|init|marking|metaspace|phases|stats|start|stringtable|task))?"
-            + "(,(coops|exit|start))?[ ]{0,13}\\])?( " + UnifiedRegEx.GC_EVENT_NUMBER + ")?";
-
-    /**
-     * Blank line.
-     */
-    public static final String BLANK_LINE = "^" + DECORATOR + "\\s*$";
+            + UPTIME + "|" + UPTIMEMILLIS + ")\\])?(\\[info\\]\\[(" + TAGS_FIRST + ")(,(" + TAGS_SECOND + "))?(,("
+            + TAGS_THIRD + "))?[ ]{0," + TAGS_PADDING + "}\\])?( " + UnifiedRegEx.GC_EVENT_NUMBER + ")?";
 
     /**
      * Logging event with only the time decorator (datestamp).
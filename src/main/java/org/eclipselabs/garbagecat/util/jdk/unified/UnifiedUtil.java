@@ -29,6 +29,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class UnifiedUtil {
 
+    /**
+     * Random date/time used as the JVM start for converting datestamps to uptime.
+     */
+    private static final Date JVM_START_DATE = GcUtil.parseStartDateTime("2000-01-01 00:00:00,000");
+
     /**
      * @param eventTypes
      *            The JVM event types.
@@ -84,8 +89,6 @@ public class UnifiedUtil {
      */
     public static long convertDatestampToMillis(String datestamp) {
         // Calculate uptimemillis from random date/time
-        Date eventDate = GcUtil.parseDateStamp(datestamp);
-        Date jvmStartDate = GcUtil.parseStartDateTime("2000-01-01 00:00:00,000");
-        return GcUtil.dateDiff(jvmStartDate, eventDate);
+        return GcUtil.parseDateStampMillis(datestamp) - JVM_START_DATE.getTime();
     }
 }
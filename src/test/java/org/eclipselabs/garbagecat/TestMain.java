@@ -12,12 +12,21 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.TempFileUtil;
 
 import junit.framework.Assert;
 import junit.framework.TestCase;
@@ -33,7 +42,7 @@ public class TestMain extends TestCase {
             // Make private method accessible
             parseOptions.setAccessible(true);
             // Method arguments
-            String[] args = new String[14];
+            String[] args = new String[18];
             args[0] = "-h";
             args[1] = "-j";
             args[2] = "-Xmx2048m";
@@ -47,8 +56,12 @@ public class TestMain extends TestCase {
             args[10] = "12345678.txt";
             args[11] = "-v";
             args[12] = "-l";
+            args[13] = "-i";
+            args[14] = "-f";
+            args[15] = "-n";
+            args[16] = "4";
             // Instead of a file, use a location sure to exist.
-            args[13] = System.getProperty("user.dir");
+            args[17] = System.getProperty("user.dir");
             // Pass null object since parseOptions is static
             Object o = parseOptions.invoke(null, (Object) args);
             CommandLine cmd = (CommandLine) o;
@@ -71,6 +84,12 @@ public class TestMain extends TestCase {
                     cmd.hasOption(Constants.OPTION_VERSION_SHORT));
             Assert.assertTrue("'-" + Constants.OPTION_LATEST_VERSION_SHORT + "' is a valid option",
                     cmd.hasOption(Constants.OPTION_LATEST_VERSION_SHORT));
+            Assert.assertTrue("'-" + Constants.OPTION_STATS_SHORT + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_STATS_SHORT));
+            Assert.assertTrue("'-" + Constants.OPTION_PREPROCESS_FILE_SHORT + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_PREPROCESS_FILE_SHORT));
+            Assert.assertTrue("'-" + Constants.OPTION_THREADS_SHORT + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_THREADS_SHORT));
         } catch (ClassNotFoundException e) {
             Assert.fail(e.getMessage());
         } catch (SecurityException e) {
@@ -95,7 +114,7 @@ public class TestMain extends TestCase {
             // Make private method accessible
             parseOptions.setAccessible(true);
             // Method arguments
-            String[] args = new String[14];
+            String[] args = new String[18];
             args[0] = "--help";
             args[1] = "--jvmoptions";
             args[2] = "-Xmx2048m";
@@ -109,8 +128,12 @@ public class TestMain extends TestCase {
             args[10] = "12345678.txt";
             args[11] = "--version";
             args[12] = "--latest";
+            args[13] = "--stats";
+            args[14] = "--ppfile";
+            args[15] = "--threads";
+            args[16] = "4";
             // Instead of a file, use a location sure to exist.
-            args[13] = System.getProperty("user.dir");
+            args[17] = System.getProperty("user.dir");
             // Pass null object since parseOptions is static
             Object o = parseOptions.invoke(null, (Object) args);
             CommandLine cmd = (CommandLine) o;
@@ -133,6 +156,12 @@ public class TestMain extends TestCase {
                     cmd.hasOption(Constants.OPTION_VERSION_LONG));
             Assert.assertTrue("'-" + Constants.OPTION_LATEST_VERSION_LONG + "' is a valid option",
                     cmd.hasOption(Constants.OPTION_LATEST_VERSION_LONG));
+            Assert.assertTrue("'-" + Constants.OPTION_STATS_LONG + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_STATS_LONG));
+            Assert.assertTrue("'-" + Constants.OPTION_PREPROCESS_FILE_LONG + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_PREPROCESS_FILE_LONG));
+            Assert.assertTrue("'-" + Constants.OPTION_THREADS_LONG + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_THREADS_LONG));
         } catch (ClassNotFoundException e) {
             Assert.fail(e.getMessage());
         } catch (SecurityException e) {
@@ -248,6 +277,104 @@ public class TestMain extends TestCase {
         }
     }
 
+    public void testInvalidThreadsShortOption() {
+        try {
+            Class<?> c = Class.forName("org.eclipselabs.garbagecat.Main");
+            Class<?>[] argTypes = new Class[] { String[].class };
+            Method parseOptions = c.getDeclaredMethod("parseOptions", argTypes);
+            // Make private method accessible
+            parseOptions.setAccessible(true);
+            // Method arguments
+            String[] args = new String[3];
+            args[0] = "-n";
+            args[1] = "0";
+            // Instead of a file, use a location sure to exist.
+            args[2] = System.getProperty("user.dir");
+            // Pass null object since parseOptions is static
+            parseOptions.invoke(null, (Object) args);
+            Assert.fail("Should have raised an InvocationTargetException with an underlying PareseException");
+        } catch (ClassNotFoundException e) {
+            Assert.fail(e.getMessage());
+        } catch (SecurityException e) {
+            Assert.fail("SecurityException: " + e.getMessage());
+        } catch (NoSuchMethodException e) {
+            Assert.fail("NoSuchMethodException: " + e.getMessage());
+        } catch (IllegalArgumentException expected) {
+            Assert.assertNotNull(expected.getMessage());
+        } catch (IllegalAccessException e) {
+            Assert.fail("IllegalAccessException: " + e.getMessage());
+        } catch (InvocationTargetException e) {
+            // Anything the invoked method throws is wrapped by InvocationTargetException.
+            Assert.assertTrue("Epected ParseException not thrown.", e.getTargetException() instanceof ParseException);
+        }
+    }
+
+    public void testInvalidThreadsLongOption() {
+        try {
+            Class<?> c = Class.forName("org.eclipselabs.garbagecat.Main");
+            Class<?>[] argTypes = new Class[] { String[].class };
+            Method parseOptions = c.getDeclaredMethod("parseOptions", argTypes);
+            // Make private method accessible
+            parseOptions.setAccessible(true);
+            // Method arguments
+            String[] args = new String[3];
+            args[0] = "--threads";
+            args[1] = "0";
+            // Instead of a file, use a location sure to exist.
+            args[2] = System.getProperty("user.dir");
+            // Pass null object since parseOptions is static
+            parseOptions.invoke(null, (Object) args);
+            Assert.fail("Should have raised an InvocationTargetException with an underlying IllegalArgumentException");
+        } catch (ClassNotFoundException e) {
+            Assert.fail(e.getMessage());
+        } catch (SecurityException e) {
+            Assert.fail("SecurityException: " + e.getMessage());
+        } catch (NoSuchMethodException e) {
+            Assert.fail("NoSuchMethodException: " + e.getMessage());
+        } catch (IllegalArgumentException expected) {
+            Assert.assertNotNull(expected.getMessage());
+        } catch (IllegalAccessException e) {
+            Assert.fail("IllegalAccessException: " + e.getMessage());
+        } catch (InvocationTargetException e) {
+            // Anything the invoked method throws is wrapped by InvocationTargetException.
+            Assert.assertTrue("Epected ParseException not thrown.", e.getTargetException() instanceof ParseException);
+        }
+    }
+
+    public void testInvalidFollowOption() {
+        try {
+            Class<?> c = Class.forName("org.eclipselabs.garbagecat.Main");
+            Class<?>[] argTypes = new Class[] { String[].class };
+            Method parseOptions = c.getDeclaredMethod("parseOptions", argTypes);
+            // Make private method accessible
+            parseOptions.setAccessible(true);
+            // Method arguments
+            String[] args = new String[4];
+            args[0] = "--follow";
+            args[1] = "5";
+            // A preprocessed file cannot be written when following
+            args[2] = "--ppfile";
+            // Instead of a file, use a location sure to exist.
+            args[3] = System.getProperty("user.dir");
+            // Pass null object since parseOptions is static
+            parseOptions.invoke(null, (Object) args);
+            Assert.fail("Should have raised an InvocationTargetException with an underlying PareseException");
+        } catch (ClassNotFoundException e) {
+            Assert.fail(e.getMessage());
+        } catch (SecurityException e) {
+            Assert.fail("SecurityException: " + e.getMessage());
+        } catch (NoSuchMethodException e) {
+            Assert.fail("NoSuchMethodException: " + e.getMessage());
+        } catch (IllegalArgumentException expected) {
+            Assert.assertNotNull(expected.getMessage());
+        } catch (IllegalAccessException e) {
+            Assert.fail("IllegalAccessException: " + e.getMessage());
+        } catch (InvocationTargetException e) {
+            // Anything the invoked method throws is wrapped by InvocationTargetException.
+            Assert.assertTrue("Epected ParseException not thrown.", e.getTargetException() instanceof ParseException);
+        }
+    }
+
     public void testInvalidStartDateTimeShortOption() {
         try {
             Class<?> c = Class.forName("org.eclipselabs.garbagecat.Main");
@@ -375,4 +502,60 @@ public class TestMain extends TestCase {
             Assert.fail("InvocationTargetException: " + e.getMessage());
         }
     }
+
+    public void testBatch() throws IOException {
+        File logDirectory = TempFileUtil.createDirectory();
+        File reportDirectory = TempFileUtil.createDirectory();
+        copy(new File(Constants.TEST_DATA_DIR + "dataset101.txt"), new File(logDirectory, "gc1.log"));
+        copy(new File(Constants.TEST_DATA_DIR + "dataset103.txt"), new File(logDirectory, "gc2.log"));
+        // Logging reversed
+        copy(new File(Constants.TEST_DATA_DIR + "dataset103.txt"), new File(logDirectory, "gc3.log"));
+        copy(new File(Constants.TEST_DATA_DIR + "dataset101.txt"), new File(logDirectory, "gc3.log"), true);
+        Main.main(new String[] { "-b", "-n", "2", "-p", "-o", reportDirectory.getPath(), logDirectory.getPath() });
+        File reportFile1 = new File(reportDirectory, "gc1.log-" + Constants.OUTPUT_FILE_NAME);
+        File reportFile2 = new File(reportDirectory, "gc2.log-" + Constants.OUTPUT_FILE_NAME);
+        File fleetFile = new File(reportDirectory, Constants.FLEET_FILE_NAME);
+        reportFile1.deleteOnExit();
+        reportFile2.deleteOnExit();
+        new File(reportDirectory, "gc3.log-" + Constants.OUTPUT_FILE_NAME).deleteOnExit();
+        fleetFile.deleteOnExit();
+        Assert.assertTrue("Report not created.", reportFile1.exists());
+        Assert.assertTrue("Report not created.", reportFile2.exists());
+        BufferedReader fleetReader = new BufferedReader(new FileReader(fleetFile));
+        try {
+            fleetReader.readLine();
+            Assert.assertEquals("Fleet summary not correct.", "Fleet: 3 logs, 1 failed", fleetReader.readLine());
+            fleetReader.readLine();
+            fleetReader.readLine();
+            // Worst throughput first
+            Assert.assertTrue("Fleet summary order not correct.",
+                    fleetReader.readLine().endsWith(reportFile2.getName()));
+            Assert.assertTrue("Fleet summary order not correct.",
+                    fleetReader.readLine().endsWith(reportFile1.getName()));
+        } finally {
+            fleetReader.close();
+        }
+    }
+
+
+    private static void copy(File from, File to) throws IOException {
+        to.deleteOnExit();
+        copy(from, to, false);
+    }
+
+    private static void copy(File from, File to, boolean append) throws IOException {
+        InputStream in = new FileInputStream(from);
+        OutputStream out = new FileOutputStream(to, append);
+        try {
+            byte[] buffer = new byte[8192];
+            int length = in.read(buffer);
+            while (length != -1) {
+                out.write(buffer, 0, length);
+                length = in.read(buffer);
+            }
+        } finally {
+            in.close();
+            out.close();
+        }
+    }
 }
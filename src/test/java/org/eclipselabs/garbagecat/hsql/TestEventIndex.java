@@ -0,0 +1,145 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.util.TempFileUtil;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestEventIndex extends TestCase {
+
+    private static final String LOG_LINE = "3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+            + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]";
+
+    public void testWriteRead() throws IOException {
+        File logFile = TempFileUtil.createFile("line1\n" + LOG_LINE + "\n");
+        List<File> logFiles = Collections.singletonList(logFile);
+        JvmDao jvmDao = new JvmDao();
+        int index = jvmDao.addLogFile(logFile);
+        jvmDao.addBlockingEvent(new ParNewEvent(LOG_LINE), index, 6);
+        jvmDao.addStoppedTimeEvent(new ApplicationStoppedTimeEvent(
+                "3010779.000: Total time for which application threads were stopped: 0.0810000 seconds"));
+        jvmDao.getEventTypes().add(LogEventType.PAR_NEW);
+        jvmDao.getCollectorFamilies().add(CollectorFamily.CMS);
+        jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME);
+        jvmDao.getUnidentifiedLogLines().add("line1");
+        jvmDao.setOptions("-Xmx2048m");
+        EventIndex eventIndex = new EventIndex(logFiles, true, null, false);
+        eventIndex.getIndexFile().deleteOnExit();
+        Assert.assertNull("Index read before written.", eventIndex.read());
+        Assert.assertTrue("Index not written.", eventIndex.write(jvmDao, "unprocessed"));
+
+        eventIndex = new EventIndex(logFiles, true, null, false);
+        JvmDao indexJvmDao = eventIndex.read();
+        Assert.assertNotNull("Index not read.", indexJvmDao);
+        Assert.assertEquals("Last log line unprocessed not correct.", "unprocessed",
+                eventIndex.getLastLogLineUnprocessed());
+        Assert.assertEquals("Log files not correct.", logFiles, indexJvmDao.getLogFiles());
+        Assert.assertEquals("Blocking event count not correct.", 1, indexJvmDao.getBlockingEventCount());
+        Assert.assertEquals("Log entry not read from log file.", LOG_LINE,
+                indexJvmDao.getBlockingEvents().get(0).getLogEntry());
+        Assert.assertEquals("First event not correct.", LOG_LINE, indexJvmDao.getFirstGcEvent().getLogEntry());
+        Assert.assertEquals("Max pause not correct.", jvmDao.getMaxGcPause(), indexJvmDao.getMaxGcPause());
+        Assert.assertEquals("Max heap space not correct.", jvmDao.getMaxHeapSpace(), indexJvmDao.getMaxHeapSpace());
+        Assert.assertEquals("Stopped time event count not correct.", 1, indexJvmDao.getStoppedTimeEventCount());
+        Assert.assertEquals("Last stopped event timestamp not correct.", 3010779000L,
+                indexJvmDao.getLastStoppedEvent().getTimestamp());
+        Assert.assertEquals("Event types not correct.", jvmDao.getEventTypes(), indexJvmDao.getEventTypes());
+        Assert.assertEquals("Collector families not correct.", jvmDao.getCollectorFamilies(),
+                indexJvmDao.getCollectorFamilies());
+        Assert.assertEquals("Analysis not correct.", jvmDao.getAnalysis(), indexJvmDao.getAnalysis());
+        Assert.assertEquals("Unidentified log lines not correct.", jvmDao.getUnidentifiedLogLines(),
+                indexJvmDao.getUnidentifiedLogLines());
+        Assert.assertEquals("Options not correct.", "-Xmx2048m", indexJvmDao.getOptions());
+        Assert.assertNull("Version not correct.", indexJvmDao.getVersion());
+    }
+
+    public void testKey() throws IOException {
+        File logFile = TempFileUtil.createFile(LOG_LINE + "\n");
+        List<File> logFiles = Collections.singletonList(logFile);
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new ParNewEvent(LOG_LINE));
+        EventIndex eventIndex = new EventIndex(logFiles, false, null, false);
+        eventIndex.getIndexFile().deleteOnExit();
+        Assert.assertTrue("Index not written.", eventIndex.write(jvmDao, null));
+        Assert.assertNotNull("Index not read.", new EventIndex(logFiles, false, null, false).read());
+        Assert.assertNull("Index read with preprocessing.", new EventIndex(logFiles, true, null, false).read());
+        Assert.assertNull("Index read with JVM start date.", new EventIndex(logFiles, false, new Date(), false).read());
+        Assert.assertNull("Index read with reordering.", new EventIndex(logFiles, false, null, true).read());
+        // Same size and last modified time, different contents
+        long lastModified = logFile.lastModified();
+        OutputStream out = new FileOutputStream(logFile);
+        try {
+            out.write(LOG_LINE.replace('3', '4').getBytes("US-ASCII"));
+            out.write('\n');
+        } finally {
+            out.close();
+        }
+        logFile.setLastModified(lastModified);
+        Assert.assertNull("Index read for changed log file.", new EventIndex(logFiles, false, null, false).read());
+    }
+
+    public void testLogFileNotIndexed() throws IOException {
+        File logFile = TempFileUtil.createFile(LOG_LINE + "\n");
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new ParNewEvent(LOG_LINE), jvmDao.addLogFile(logFile), 0);
+        EventIndex eventIndex = new EventIndex(Collections.singletonList(TempFileUtil.createFile("")), false, null,
+                false);
+        eventIndex.getIndexFile().deleteOnExit();
+        Assert.assertFalse("Index written for log entries in another log file.", eventIndex.write(jvmDao, null));
+        Assert.assertFalse("Index file created.", eventIndex.getIndexFile().exists());
+    }
+
+    public void testIndexNotComplete() throws IOException {
+        File logFile = TempFileUtil.createFile("line1\n" + LOG_LINE + "\n");
+        List<File> logFiles = Collections.singletonList(logFile);
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new ParNewEvent(LOG_LINE), jvmDao.addLogFile(logFile), 6);
+        jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME);
+        EventIndex eventIndex = new EventIndex(logFiles, false, null, false);
+        eventIndex.getIndexFile().deleteOnExit();
+        Assert.assertTrue("Index not written.", eventIndex.write(jvmDao, null));
+        File indexFile = eventIndex.getIndexFile();
+        long length = indexFile.length();
+        // Written partially (e.g. the process was stopped while writing)
+        for (long i = length - 1; i >= 0; i--) {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(indexFile, "rw");
+            try {
+                randomAccessFile.setLength(i);
+            } finally {
+                randomAccessFile.close();
+            }
+            Assert.assertNull("Index read with length " + i + ".", new EventIndex(logFiles, false, null, false).read());
+        }
+    }
+
+}
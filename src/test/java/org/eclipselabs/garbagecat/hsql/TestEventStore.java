@@ -0,0 +1,167 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.util.MappedLogFile;
+import org.eclipselabs.garbagecat.util.TempFileUtil;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestEventStore extends TestCase {
+
+    public void testGrow() {
+        EventStore eventStore = new EventStore(new ArrayList<MappedLogFile>());
+        for (int i = 0; i < 5000; i++) {
+            eventStore.add(new ApplicationStoppedTimeEvent("Total time for which application threads were stopped: "
+                    + i + " seconds", i, i), i);
+        }
+        Assert.assertEquals("Event count not correct.", 5000, eventStore.size());
+        Assert.assertEquals("Timestamp not correct.", 4321, eventStore.getTimestamp(4321));
+        Assert.assertEquals("Duration not correct.", 4321, eventStore.getDuration(4321));
+        Assert.assertEquals("Log entry not correct.", "Total time for which application threads were stopped: 4321 "
+                + "seconds", eventStore.getLogEntry(4321));
+        Assert.assertEquals("Event name not correct.", "APPLICATION_STOPPED_TIME", eventStore.getEventName(4999));
+        eventStore.clear();
+        Assert.assertEquals("Events not cleared.", 0, eventStore.size());
+    }
+
+    public void testLogFileReference() throws IOException {
+        String logLine = "20.081: Total time for which application threads were stopped: 0.0810000 seconds";
+        File logFile = TempFileUtil.createFile("line1\n" + logLine + "\n");
+        List<MappedLogFile> logFiles = new ArrayList<MappedLogFile>();
+        logFiles.add(new MappedLogFile(logFile));
+        EventStore eventStore = new EventStore(logFiles);
+        eventStore.add(new ApplicationStoppedTimeEvent(logLine), 81000, 0, 6);
+        eventStore.add(new ApplicationStoppedTimeEvent("preprocessed"), 0);
+        Assert.assertEquals("Log entry not read from log file.", logLine, eventStore.getLogEntry(0));
+        Assert.assertEquals("Stored log entry not correct.", "preprocessed", eventStore.getLogEntry(1));
+    }
+
+    public void testWriteRead() throws IOException {
+        EventStore eventStore = new EventStore(new ArrayList<MappedLogFile>());
+        for (int i = 0; i < 2000; i++) {
+            eventStore.add(new ApplicationStoppedTimeEvent("Total time for which application threads were stopped: "
+                    + i + " seconds", i, i), i);
+        }
+        eventStore.add(new ParNewEvent("30.000: [GC 30.000: [ParNew: 356703K->356703K(368640K), 0.0000190 secs] "
+                + "824995K->824995K(1187840K), 0.0001460 secs]"), 146, 0, 1234);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        eventStore.write(out);
+        out.writeInt(12345);
+        out.close();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        EventStore readEventStore = new EventStore(new ArrayList<MappedLogFile>());
+        readEventStore.read(buffer);
+        Assert.assertEquals("Buffer not positioned after events.", 12345, buffer.getInt());
+        Assert.assertEquals("Event count not correct.", 2001, readEventStore.size());
+        Assert.assertEquals("Timestamp not correct.", 1999, readEventStore.getTimestamp(1999));
+        Assert.assertEquals("Duration not correct.", 146, readEventStore.getDuration(2000));
+        Assert.assertEquals("Event name not correct.", "PAR_NEW", readEventStore.getEventName(2000));
+        Assert.assertEquals("Log entry not correct.", "Total time for which application threads were stopped: 1999 "
+                + "seconds", readEventStore.getLogEntry(1999));
+        Assert.assertTrue("Indexes not correct.", Arrays.equals(new int[] { 2000 },
+                readEventStore.getIndexesByTimestamp("PAR_NEW")));
+        // Events can still be added
+        readEventStore.add(new ApplicationStoppedTimeEvent("added"), 0);
+        Assert.assertEquals("Added log entry not correct.", "added", readEventStore.getLogEntry(2001));
+    }
+
+    public void testIndexesByTimestamp() {
+        EventStore eventStore = new EventStore(new ArrayList<MappedLogFile>());
+        eventStore.add(new ParNewEvent("20.000: [GC 20.000: [ParNew: 337824K->32173K(368640K), 0.0803880 secs] "
+                + "806117K->500466K(1187840K), 0.0805980 secs]"), 80598);
+        eventStore.add(new SerialOldEvent("10.000: [Full GC 10.000: [Tenured: 468292K->482213K(819200K), "
+                + "1.9920590 secs] 824995K->482213K(1187840K), [Perm : 123092K->122684K(262144K)], 1.9924510 secs]"),
+                1992451);
+        eventStore.add(new ParNewEvent("10.000: [GC 10.000: [ParNew: 356703K->356703K(368640K), 0.0000190 secs] "
+                + "824995K->824995K(1187840K), 0.0001460 secs]"), 146);
+        eventStore.add(new ParNewEvent("30.000: [GC 30.000: [ParNew: 356703K->356703K(368640K), 0.0000190 secs] "
+                + "824995K->824995K(1187840K), 0.0001460 secs]"), 146);
+        Assert.assertTrue("Events not in timestamp order.",
+                Arrays.equals(new int[] { 1, 2, 0, 3 }, eventStore.getIndexesByTimestamp(null)));
+        Assert.assertTrue("PAR_NEW events not in timestamp order.",
+                Arrays.equals(new int[] { 2, 0, 3 }, eventStore.getIndexesByTimestamp("PAR_NEW")));
+        Assert.assertEquals("No CMS_REMARK events expected.", 0, eventStore.getIndexesByTimestamp("CMS_REMARK").length);
+        Assert.assertEquals("Max disorder not correct.", 10000, eventStore.getMaxDisorder());
+    }
+
+    public void testTimestampIterator() {
+        final EventStore eventStore = new EventStore(new ArrayList<MappedLogFile>());
+        // Events out of order by up to 500 ms, with repeated timestamps
+        Random random = new Random(1);
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            long timestamp = i * 10 - random.nextInt(50) * 10;
+            expected.add(eventStore.add(new ApplicationStoppedTimeEvent("event" + i, timestamp, 0), 0));
+        }
+        Assert.assertTrue("Max disorder not correct.", eventStore.getMaxDisorder() > 0);
+        Assert.assertTrue("Max disorder not correct.", eventStore.getMaxDisorder() < 1000);
+        // Stable sort
+        Collections.sort(expected, new Comparator<Integer>() {
+            public int compare(Integer index1, Integer index2) {
+                long timestamp1 = eventStore.getTimestamp(index1);
+                long timestamp2 = eventStore.getTimestamp(index2);
+                return timestamp1 < timestamp2 ? -1 : (timestamp1 == timestamp2 ? 0 : 1);
+            }
+        });
+        // Within the maximum window, then exceeding it
+        int[] maxWindows = new int[] { 5000, 100, 10, 1 };
+        for (int i = 0; i < maxWindows.length; i++) {
+            List<Integer> indexes = new ArrayList<Integer>();
+            EventStore.TimestampIterator iterator = eventStore.getTimestampIterator(null, maxWindows[i]);
+            while (iterator.hasNext()) {
+                indexes.add(iterator.next());
+            }
+            Assert.assertEquals("Events not in timestamp order with max window " + maxWindows[i] + ".", expected,
+                    indexes);
+        }
+        eventStore.clear();
+        Assert.assertEquals("Max disorder not reset.", 0, eventStore.getMaxDisorder());
+    }
+
+    public void testTimestampIteratorStart() {
+        EventStore eventStore = new EventStore(new ArrayList<MappedLogFile>());
+        for (int i = 0; i < 5; i++) {
+            eventStore.add(new ApplicationStoppedTimeEvent("event" + i, i * 10, 0), 0);
+        }
+        EventStore.TimestampIterator iterator = eventStore.getTimestampIterator(3);
+        Assert.assertEquals("Next event not correct.", 3, iterator.next());
+        Assert.assertEquals("Next event not correct.", 4, iterator.next());
+        Assert.assertFalse("Events after the last event.", iterator.hasNext());
+        Assert.assertFalse("Events after the last event.", eventStore.getTimestampIterator(5).hasNext());
+        // Events added out of order cannot be skipped
+        eventStore.add(new ApplicationStoppedTimeEvent("event5", 25, 0), 0);
+        Assert.assertNull("Events skipped when out of order.", eventStore.getTimestampIterator(3));
+    }
+}
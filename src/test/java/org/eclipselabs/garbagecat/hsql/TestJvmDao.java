@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.hsql;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
 
@@ -40,11 +41,56 @@ public class TestJvmDao extends TestCase {
                 + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
                 + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]");
         jvmDao.addBlockingEvent(event3);
-        jvmDao.processBlockingBatch();
 
         // check they are the correct way around
         List<BlockingEvent> events = jvmDao.getBlockingEvents();
         Assert.assertTrue(events.get(1) instanceof ParNewEvent);
         Assert.assertTrue(events.get(2) instanceof SerialOldEvent);
     }
+
+    public void testSeparateDatabases() {
+        JvmDao jvmDao1 = new JvmDao();
+        JvmDao jvmDao2 = new JvmDao();
+        jvmDao1.addBlockingEvent(new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        Assert.assertEquals("Event count not correct.", 1, jvmDao1.getBlockingEventCount());
+        Assert.assertEquals("Event stored in other database.", 0, jvmDao2.getBlockingEventCount());
+        jvmDao1.close();
+        jvmDao2.close();
+    }
+
+    public void testSummary() {
+        JvmDao jvmDao = new JvmDao();
+        Assert.assertNull("First event not correct.", jvmDao.getFirstGcEvent());
+        Assert.assertEquals("Max GC pause not correct.", 0, jvmDao.getMaxGcPause());
+        ParNewEvent event1 = new ParNewEvent("20.000: [GC 20.000: [ParNew: 337824K->32173K(368640K), 0.0803880 secs]"
+                + " 806117K->500466K(1187840K), 0.0805980 secs]");
+        jvmDao.addBlockingEvent(event1);
+        SerialOldEvent event2 = new SerialOldEvent("10.000: [Full GC 10.000: [Tenured: 468292K->482213K(819200K),"
+                + " 1.9920590 secs] 824995K->482213K(1187840K), [Perm : 123092K->122684K(262144K)], 1.9924510 secs]");
+        jvmDao.addBlockingEvent(event2);
+        ApplicationStoppedTimeEvent event3 = new ApplicationStoppedTimeEvent(
+                "20.081: Total time for which application threads were stopped: 0.0810000 seconds");
+        jvmDao.addStoppedTimeEvent(event3);
+        Assert.assertEquals("Event count not correct.", 2, jvmDao.getBlockingEventCount());
+        Assert.assertSame("First event not correct.", event1, jvmDao.getFirstGcEvent());
+        Assert.assertSame("Last event not correct.", event2, jvmDao.getLastGcEvent());
+        Assert.assertEquals("Max GC pause not correct.", 1992, jvmDao.getMaxGcPause());
+        Assert.assertEquals("Total GC pause not correct.", 2073, jvmDao.getTotalGcPause());
+        Assert.assertEquals("Max young space not correct.", 368640, jvmDao.getMaxYoungSpace());
+        Assert.assertEquals("Max old space not correct.", 819200, jvmDao.getMaxOldSpace());
+        Assert.assertEquals("Max heap space not correct.", 1187840, jvmDao.getMaxHeapSpace());
+        Assert.assertEquals("Max heap occupancy not correct.", 824995, jvmDao.getMaxHeapOccupancy());
+        Assert.assertEquals("Max perm space not correct.", 262144, jvmDao.getMaxPermSpace());
+        Assert.assertEquals("Max perm occupancy not correct.", 123092, jvmDao.getMaxPermOccupancy());
+        Assert.assertEquals("Stopped time event count not correct.", 1, jvmDao.getStoppedTimeEventCount());
+        Assert.assertSame("First stopped event not correct.", event3, jvmDao.getFirstStoppedEvent());
+        Assert.assertEquals("Max stopped time not correct.", 81, jvmDao.getMaxStoppedTime());
+        jvmDao.cleanup();
+        Assert.assertEquals("Event count not correct.", 0, jvmDao.getBlockingEventCount());
+        Assert.assertNull("Last event not correct.", jvmDao.getLastGcEvent());
+        Assert.assertEquals("Max heap space not correct.", 0, jvmDao.getMaxHeapSpace());
+        Assert.assertEquals("Events not deleted.", 0, jvmDao.getBlockingEvents().size());
+        jvmDao.close();
+    }
 }
@@ -12,9 +12,26 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.service;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.TimeWarpException;
+import org.eclipselabs.garbagecat.hsql.EventIndex;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
 
 import junit.framework.Assert;
 import junit.framework.TestCase;
@@ -38,4 +55,335 @@ public class TestGcManager extends TestCase {
             Assert.fail("Preprocessing results in NullPointerException.");
         }
     }
+
+    /**
+     * Test a thrown away log line identified as one event type still adds the analysis of other event types it
+     * matches. The "Heap" line is identified as FOOTER_HEAP but also matches HEAP_AT_GC.
+     */
+    public void testPreprocessThrowAwayAnalysisOverlappingEventTypes() {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset190.txt");
+        GcManager gcManager = new GcManager();
+        File preprocessedFile = gcManager.preprocess(testFile, null);
+        gcManager.store(preprocessedFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Log line not identified as " + JdkUtil.LogEventType.FOOTER_HEAP + ".",
+                JdkUtil.LogEventType.FOOTER_HEAP, JdkUtil.identifyThrowAwayEventType("Heap"));
+        Assert.assertTrue(Analysis.WARN_PRINT_HEAP_AT_GC + " analysis not identified.",
+                jvmRun.getAnalysis().contains(Analysis.WARN_PRINT_HEAP_AT_GC));
+    }
+
+    public void testPreprocessAndStoreSameAsPreprocessedFile() {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset93.txt");
+        GcManager gcManager = new GcManager();
+        File preprocessedFile = gcManager.preprocess(testFile, null);
+        gcManager.store(preprocessedFile, false);
+        JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertTrue("Preprocessed not correct.", jvmRun.isPreprocessed());
+        Assert.assertEquals("Event types not correct.", expected.getEventTypes(), jvmRun.getEventTypes());
+        Assert.assertEquals("Analysis not correct.", expected.getAnalysis(), jvmRun.getAnalysis());
+        Assert.assertEquals("Blocking event count not correct.", expected.getBlockingEventCount(),
+                jvmRun.getBlockingEventCount());
+        Assert.assertEquals("Max GC pause not correct.", expected.getMaxGcPause(), jvmRun.getMaxGcPause());
+        Assert.assertEquals("Unidentified log lines not correct.", expected.getUnidentifiedLogLines(),
+                jvmRun.getUnidentifiedLogLines());
+        Assert.assertEquals("Last log line unprocessed not correct.", expected.getLastLogLineUnprocessed(),
+                jvmRun.getLastLogLineUnprocessed());
+    }
+
+    public void testPreprocessAndStoreNoPreprocessedFile() throws IOException {
+        File testFile = File.createTempFile("garbagecat", ".txt");
+        testFile.deleteOnExit();
+        InputStream in = new FileInputStream(new File(Constants.TEST_DATA_DIR + "dataset93.txt"));
+        OutputStream out = new FileOutputStream(testFile);
+        try {
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+        } finally {
+            in.close();
+            out.close();
+        }
+        GcManager gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false);
+        Assert.assertFalse("Preprocessed file created.", new File(testFile.getPath() + ".pp").exists());
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Blocking event count not correct.", 1, jvmRun.getBlockingEventCount());
+    }
+
+    public void testStoreThreadsSameAsSerial() {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset103.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.store(testFile, false);
+        JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        gcManager = new GcManager();
+        gcManager.setThreads(4);
+        gcManager.store(testFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Event types not correct.", expected.getEventTypes(), jvmRun.getEventTypes());
+        Assert.assertEquals("Collector families not correct.", expected.getCollectorFamilies(),
+                jvmRun.getCollectorFamilies());
+        Assert.assertEquals("Analysis not correct.", expected.getAnalysis(), jvmRun.getAnalysis());
+        Assert.assertEquals("Blocking event count not correct.", expected.getBlockingEventCount(),
+                jvmRun.getBlockingEventCount());
+        Assert.assertEquals("Total GC pause not correct.", expected.getTotalGcPause(), jvmRun.getTotalGcPause());
+        Assert.assertEquals("Stopped time event count not correct.", expected.getStoppedTimeEventCount(),
+                jvmRun.getStoppedTimeEventCount());
+        Assert.assertEquals("Unidentified log lines not correct.", expected.getUnidentifiedLogLines(),
+                jvmRun.getUnidentifiedLogLines());
+        Assert.assertEquals("Bottlenecks not correct.", expected.getBottlenecks(), jvmRun.getBottlenecks());
+    }
+
+    public void testStoreThreadsTimeWarp() throws IOException {
+        File testFile = File.createTempFile("garbagecat", ".txt");
+        testFile.deleteOnExit();
+        FileWriter writer = new FileWriter(testFile);
+        try {
+            writer.write("3.007: [GC 3.007: [ParNew: 39424K->4352K(39424K), 0.0290810 secs] "
+                    + "48513K->16112K(126848K), 0.0291760 secs]" + Constants.LINE_SEPARATOR);
+            writer.write("2.128: [GC 2.128: [ParNew: 36825K->4352K(39424K), 0.0224830 secs] "
+                    + "44983K->14441K(126848K), 0.0225800 secs]" + Constants.LINE_SEPARATOR);
+        } finally {
+            writer.close();
+        }
+        GcManager gcManager = new GcManager();
+        gcManager.setThreads(2);
+        try {
+            gcManager.store(testFile, false);
+            Assert.fail("Logging reversed not detected.");
+        } catch (TimeWarpException expected) {
+            Assert.assertTrue("Message not correct.", expected.getMessage().startsWith("Logging reversed"));
+        }
+    }
+
+    public void testPreprocessThreadsSameAsSerial() throws IOException {
+        // Repeat the logging so it spans several chunks
+        File testFile = File.createTempFile("garbagecat", ".txt");
+        testFile.deleteOnExit();
+        new File(testFile.getPath() + ".pp").deleteOnExit();
+        String logging = read(new File(Constants.TEST_DATA_DIR + "dataset114.txt"));
+        FileWriter writer = new FileWriter(testFile);
+        try {
+            for (int i = 0; i < 500; i++) {
+                writer.write(logging);
+            }
+        } finally {
+            writer.close();
+        }
+        GcManager gcManager = new GcManager();
+        String expected = read(gcManager.preprocess(testFile, null));
+        JvmRun expectedJvmRun = gcManager.getJvmRun(new Jvm(null, null),
+                Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        gcManager = new GcManager();
+        gcManager.setThreads(3);
+        String preprocessed = read(gcManager.preprocess(testFile, null));
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertTrue("Logging not preprocessed.", expected.length() > 0);
+        Assert.assertEquals("Preprocessed logging not correct.", expected, preprocessed);
+        Assert.assertEquals("Analysis not correct.", expectedJvmRun.getAnalysis(), jvmRun.getAnalysis());
+        Assert.assertEquals("Last log line unprocessed not correct.", expectedJvmRun.getLastLogLineUnprocessed(),
+                jvmRun.getLastLogLineUnprocessed());
+    }
+
+    public void testStoreGzipSameAsPlain() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset103.txt");
+        File gzipFile = File.createTempFile("garbagecat", ".txt.gz");
+        gzipFile.deleteOnExit();
+        new File(gzipFile.getPath() + ".pp").deleteOnExit();
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(gzipFile));
+        try {
+            out.write(read(testFile).getBytes());
+        } finally {
+            out.close();
+        }
+        GcManager gcManager = new GcManager();
+        gcManager.store(testFile, false);
+        JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        gcManager = new GcManager();
+        gcManager.setThreads(2);
+        gcManager.store(gzipFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Event types not correct.", expected.getEventTypes(), jvmRun.getEventTypes());
+        Assert.assertEquals("Blocking event count not correct.", expected.getBlockingEventCount(),
+                jvmRun.getBlockingEventCount());
+        Assert.assertEquals("Total GC pause not correct.", expected.getTotalGcPause(), jvmRun.getTotalGcPause());
+        Assert.assertEquals("Analysis not correct.", expected.getAnalysis(), jvmRun.getAnalysis());
+        // Preprocessing reads the compressed logging too
+        gcManager = new GcManager();
+        String preprocessed = read(gcManager.preprocess(gzipFile, null));
+        Assert.assertEquals("Preprocessed logging not correct.", read(new GcManager().preprocess(testFile, null)),
+                preprocessed);
+    }
+
+    public void testStoreRotatedSetSameAsSingleFile() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset103.txt");
+        // Split the log at event boundaries into files named out of log order
+        String[] logLines = read(testFile).split(Constants.LINE_SEPARATOR);
+        File directory = File.createTempFile("garbagecat", "");
+        directory.delete();
+        directory.mkdir();
+        directory.deleteOnExit();
+        String[] names = { "gc.log.2", "gc.log.0", "gc.log.1.current" };
+        List<File> logFiles = new ArrayList<File>();
+        int line = 0;
+        for (int i = 0; i < names.length; i++) {
+            File logFile = new File(directory, names[i]);
+            logFile.deleteOnExit();
+            FileWriter writer = new FileWriter(logFile);
+            try {
+                int end = i == names.length - 1 ? logLines.length : (i + 1) * logLines.length / names.length;
+                while (line < end || (line < logLines.length && !logLines[line].startsWith("2016-"))) {
+                    writer.write(logLines[line++] + Constants.LINE_SEPARATOR);
+                }
+            } finally {
+                writer.close();
+            }
+            logFiles.add(0, logFile);
+        }
+        GcManager gcManager = new GcManager();
+        gcManager.store(testFile, false);
+        JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        gcManager = new GcManager();
+        gcManager.storeLogFiles(logFiles, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Event types not correct.", expected.getEventTypes(), jvmRun.getEventTypes());
+        Assert.assertEquals("Blocking event count not correct.", expected.getBlockingEventCount(),
+                jvmRun.getBlockingEventCount());
+        Assert.assertEquals("Total GC pause not correct.", expected.getTotalGcPause(), jvmRun.getTotalGcPause());
+        Assert.assertEquals("First event not correct.", expected.getFirstGcEvent().getLogEntry(),
+                jvmRun.getFirstGcEvent().getLogEntry());
+        Assert.assertEquals("Last event not correct.", expected.getLastGcEvent().getLogEntry(),
+                jvmRun.getLastGcEvent().getLogEntry());
+        Assert.assertEquals("Analysis not correct.", expected.getAnalysis(), jvmRun.getAnalysis());
+    }
+
+    public void testFollowSameAsStore() throws Exception {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset103.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false);
+        JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        // Write the first half of the log, then the rest while the log is followed
+        String logging = read(testFile);
+        int half = logging.indexOf(Constants.LINE_SEPARATOR, logging.length() / 2) + Constants.LINE_SEPARATOR.length();
+        File logFile = File.createTempFile("garbagecat", ".log");
+        logFile.deleteOnExit();
+        FileWriter writer = new FileWriter(logFile);
+        try {
+            writer.write(logging.substring(0, half));
+        } finally {
+            writer.close();
+        }
+        final LogFollower logFollower = new LogFollower(logFile, 10);
+        final GcManager followManager = new GcManager();
+        Thread storer = new Thread(new Runnable() {
+            public void run() {
+                followManager.follow(logFollower.nextRun(), null, true, false);
+            }
+        });
+        storer.start();
+        try {
+            JvmRun jvmRun = followManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            long timeout = System.currentTimeMillis() + 10000;
+            while (jvmRun.getBlockingEventCount() == 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+                jvmRun = followManager.getJvmRun(new Jvm(null, null),
+                        Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            }
+            Assert.assertTrue("Logging written so far not stored.", jvmRun.getBlockingEventCount() > 0);
+            Assert.assertTrue("Logging not written yet stored.",
+                    jvmRun.getBlockingEventCount() < expected.getBlockingEventCount());
+            writer = new FileWriter(logFile, true);
+            try {
+                writer.write(logging.substring(half));
+            } finally {
+                writer.close();
+            }
+        } finally {
+            logFollower.stop();
+            storer.join();
+            logFollower.close();
+        }
+        JvmRun jvmRun = followManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Event types not correct.", expected.getEventTypes(), jvmRun.getEventTypes());
+        Assert.assertEquals("Blocking event count not correct.", expected.getBlockingEventCount(),
+                jvmRun.getBlockingEventCount());
+        Assert.assertEquals("Total GC pause not correct.", expected.getTotalGcPause(), jvmRun.getTotalGcPause());
+        Assert.assertEquals("Last event not correct.", expected.getLastGcEvent().getLogEntry(),
+                jvmRun.getLastGcEvent().getLogEntry());
+        Assert.assertEquals("Analysis not correct.", expected.getAnalysis(), jvmRun.getAnalysis());
+        Assert.assertEquals("Bottlenecks not correct.", expected.getBottlenecks(), jvmRun.getBottlenecks());
+    }
+
+    public void testStoreIndexSameAsStore() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset103.txt");
+        File logFile = File.createTempFile("garbagecat", ".txt");
+        logFile.deleteOnExit();
+        File indexFile = new File(logFile.getPath() + EventIndex.FILE_EXTENSION);
+        indexFile.deleteOnExit();
+        FileWriter writer = new FileWriter(logFile);
+        try {
+            writer.write(read(testFile));
+        } finally {
+            writer.close();
+        }
+        boolean[] preprocess = { false, true };
+        for (int i = 0; i < preprocess.length; i++) {
+            GcManager gcManager = new GcManager();
+            gcManager.setIndex(true);
+            if (preprocess[i]) {
+                gcManager.preprocessAndStore(logFile, null, false);
+            } else {
+                gcManager.store(logFile, false);
+            }
+            Assert.assertTrue("Index not written.", indexFile.exists());
+            Assert.assertNotNull("Logging not parsed.", gcManager.getEventTypeDispatcher());
+            JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), 95);
+            gcManager = new GcManager();
+            gcManager.setIndex(true);
+            if (preprocess[i]) {
+                gcManager.preprocessAndStore(logFile, null, false);
+            } else {
+                gcManager.store(logFile, false);
+            }
+            Assert.assertNull("Logging parsed.", gcManager.getEventTypeDispatcher());
+            JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), 95);
+            Assert.assertEquals("Preprocessed not correct.", expected.isPreprocessed(), jvmRun.isPreprocessed());
+            Assert.assertEquals("Event types not correct.", expected.getEventTypes(), jvmRun.getEventTypes());
+            Assert.assertEquals("Collector families not correct.", expected.getCollectorFamilies(),
+                    jvmRun.getCollectorFamilies());
+            Assert.assertEquals("Analysis not correct.", expected.getAnalysis(), jvmRun.getAnalysis());
+            Assert.assertEquals("Blocking event count not correct.", expected.getBlockingEventCount(),
+                    jvmRun.getBlockingEventCount());
+            Assert.assertEquals("Total GC pause not correct.", expected.getTotalGcPause(), jvmRun.getTotalGcPause());
+            Assert.assertEquals("Max heap space not correct.", expected.getMaxHeapSpace(), jvmRun.getMaxHeapSpace());
+            Assert.assertEquals("Stopped time event count not correct.", expected.getStoppedTimeEventCount(),
+                    jvmRun.getStoppedTimeEventCount());
+            Assert.assertEquals("First event not correct.", expected.getFirstGcEvent().getLogEntry(),
+                    jvmRun.getFirstGcEvent().getLogEntry());
+            Assert.assertEquals("Last event not correct.", expected.getLastGcEvent().getLogEntry(),
+                    jvmRun.getLastGcEvent().getLogEntry());
+            Assert.assertEquals("Bottlenecks not correct.", expected.getBottlenecks(), jvmRun.getBottlenecks());
+            Assert.assertTrue("No bottlenecks.", jvmRun.getBottlenecks().size() > 0);
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        StringBuilder logging = new StringBuilder();
+        BufferedReader bufferedReader = new BufferedReader(new FileReader(file));
+        try {
+            String logLine = bufferedReader.readLine();
+            while (logLine != null) {
+                logging.append(logLine).append(Constants.LINE_SEPARATOR);
+                logLine = bufferedReader.readLine();
+            }
+        } finally {
+            bufferedReader.close();
+        }
+        return logging.toString();
+    }
 }
@@ -0,0 +1,152 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.TempFileUtil;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestLogFileSetReader extends TestCase {
+
+    public void testCompareNames() {
+        Assert.assertTrue("gc.log.2 not before gc.log.10.", LogFileSetReader.compareNames("gc.log.2", "gc.log.10") < 0);
+        Assert.assertTrue("gc.log.10 not after gc.log.9.", LogFileSetReader.compareNames("gc.log.10", "gc.log.9") > 0);
+        Assert.assertTrue("gc.log.0 not before gc.log.0.current.",
+                LogFileSetReader.compareNames("gc.log.0", "gc.log.0.current") < 0);
+        Assert.assertEquals("gc.log.02 not same as gc.log.2.", 0,
+                LogFileSetReader.compareNames("gc.log.02", "gc.log.2"));
+        Assert.assertTrue("gc.log not before gc.log.0.", LogFileSetReader.compareNames("gc.log", "gc.log.0") < 0);
+    }
+
+    public void testOrderByCreatedHeader() throws IOException {
+        // The oldest file was overwritten, so gc.log.1 is first
+        File directory = TempFileUtil.createDirectory();
+        File logFile0 = TempFileUtil.createFile(directory, "gc.log.0",
+                "2016-09-29 07:13:12 GC log file created /path/to/gc.log.0" + Constants.LINE_SEPARATOR
+                + "Java HotSpot(TM) 64-Bit Server VM (25.102-b14)" + Constants.LINE_SEPARATOR
+                + "30.001: [GC (Allocation Failure)");
+        File logFile1 = TempFileUtil.createFile(directory, "gc.log.1",
+                "2016-09-29 07:10:02 GC log file created /path/to/gc.log.1" + Constants.LINE_SEPARATOR
+                + "10.001: [GC (Allocation Failure)");
+        File logFile2 = TempFileUtil.createFile(directory, "gc.log.2.current",
+                "2016-09-29 07:11:42 GC log file created /path/to/gc.log.2" + Constants.LINE_SEPARATOR
+                + "20.001: [GC (Allocation Failure)");
+        Assert.assertEquals("Log files not in log order.", Arrays.asList(logFile1, logFile2, logFile0),
+                LogFileSetReader.order(Arrays.asList(logFile0, logFile1, logFile2)));
+    }
+
+    public void testOrderByDatestamp() throws IOException {
+        File directory = TempFileUtil.createDirectory();
+        File logFile0 = TempFileUtil.createFile(directory, "gc.log.0",
+                "2016-12-29T15:29:09.404+0100: 4.364: [GC [PSYoungGen: 90240K->15018K(105280K)]");
+        File logFile1 = TempFileUtil.createFile(directory, "gc.log.1",
+                "2016-12-29T15:29:01.404+0100: 3.364: [GC [PSYoungGen: 90240K->15018K(105280K)]");
+        Assert.assertEquals("Log files not in log order.", Arrays.asList(logFile1, logFile0),
+                LogFileSetReader.order(Arrays.asList(logFile0, logFile1)));
+    }
+
+    public void testOrderByUnifiedUptime() throws IOException {
+        // The current file has no number
+        File directory = TempFileUtil.createDirectory();
+        File logFile = TempFileUtil.createFile(directory, "gc.log",
+                "[2.253s][info][gc] GC(3) Pause Young (Normal) 24M->4M(256M) 1.1ms");
+        File logFile0 = TempFileUtil.createFile(directory, "gc.log.0",
+                "[0.009s][info][gc] Using G1" + Constants.LINE_SEPARATOR + "[0.112s][info][gc] GC(0) Pause Young");
+        File logFile1 = TempFileUtil.createFile(directory, "gc.log.1",
+                "[1253ms][info][gc] GC(2) Pause Young (Normal) 24M->4M(256M)");
+        Assert.assertEquals("Log files not in log order.", Arrays.asList(logFile0, logFile1, logFile),
+                LogFileSetReader.order(Arrays.asList(logFile, logFile0, logFile1)));
+    }
+
+    public void testOrderByName() throws IOException {
+        File directory = TempFileUtil.createDirectory();
+        File logFile2 = TempFileUtil.createFile(directory, "gc.log.2", "no timestamps");
+        File logFile10 = TempFileUtil.createFile(directory, "gc.log.10", "no timestamps");
+        File logFile1 = TempFileUtil.createFile(directory, "gc.log.1", "no timestamps");
+        Assert.assertEquals("Log files not in name order.", Arrays.asList(logFile1, logFile2, logFile10),
+                LogFileSetReader.order(Arrays.asList(logFile10, logFile2, logFile1)));
+    }
+
+    public void testOrderCompressed() throws IOException {
+        File directory = TempFileUtil.createDirectory();
+        File logFile0 = new File(directory, "gc.log.0.gz");
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(logFile0));
+        try {
+            out.write("[5.000s][info][gc] GC(9) Pause Young".getBytes("US-ASCII"));
+        } finally {
+            out.close();
+        }
+        File logFile1 = TempFileUtil.createFile(directory, "gc.log.1", "[1.000s][info][gc] GC(2) Pause Young");
+        Assert.assertEquals("Log files not in log order.", Arrays.asList(logFile1, logFile0),
+                LogFileSetReader.order(Arrays.asList(logFile0, logFile1)));
+    }
+
+    public void testReadLines() throws IOException {
+        File directory = TempFileUtil.createDirectory();
+        List<File> logFiles = new ArrayList<File>();
+        // The last line of the first file has no line separator
+        logFiles.add(TempFileUtil.createFile(directory, "gc.log.0", "line1" + Constants.LINE_SEPARATOR + "line2"));
+        logFiles.add(TempFileUtil.createFile(directory, "gc.log.1", ""));
+        logFiles.add(TempFileUtil.createFile(directory, "gc.log.2", "line3" + Constants.LINE_SEPARATOR));
+        BufferedReader reader = new LogFileSetReader(logFiles, 1);
+        try {
+            Assert.assertEquals("Line not correct.", "line1", reader.readLine());
+            Assert.assertEquals("Line not correct.", "line2", reader.readLine());
+            Assert.assertEquals("Line not correct.", "line3", reader.readLine());
+            Assert.assertNull("Line read after end of logging.", reader.readLine());
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void testReadCharacters() throws IOException {
+        File directory = TempFileUtil.createDirectory();
+        List<File> logFiles = new ArrayList<File>();
+        logFiles.add(TempFileUtil.createFile(directory, "gc.log.0", "line1" + Constants.LINE_SEPARATOR + "line2"));
+        logFiles.add(TempFileUtil.createFile(directory, "gc.log.1", "line3"));
+        BufferedReader reader = new LogFileSetReader(logFiles, 1);
+        StringBuilder logging = new StringBuilder();
+        try {
+            Assert.assertEquals("Character not correct.", 'l', reader.read());
+            logging.append('l');
+            char[] buffer = new char[3];
+            int length = reader.read(buffer, 0, buffer.length);
+            while (length != -1) {
+                logging.append(buffer, 0, length);
+                length = reader.read(buffer, 0, buffer.length);
+            }
+        } finally {
+            reader.close();
+        }
+        Assert.assertEquals("Logging not correct.", "line1" + Constants.LINE_SEPARATOR + "line2"
+                + Constants.LINE_SEPARATOR + "line3" + Constants.LINE_SEPARATOR, logging.toString());
+    }
+
+
+}
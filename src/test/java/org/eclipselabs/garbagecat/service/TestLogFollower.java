@@ -0,0 +1,156 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipselabs.garbagecat.util.TempFileUtil;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestLogFollower extends TestCase {
+
+    public void testAppend() throws IOException {
+        File logFile = new File(TempFileUtil.createDirectory(), "gc.log");
+        TempFileUtil.write(logFile, "line1\nline2\r\npart", false);
+        LogFollower logFollower = new LogFollower(logFile, 10);
+        try {
+            BufferedReader run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "line1", run.readLine());
+            Assert.assertEquals("Line not correct.", "line2", run.readLine());
+            // The partial line is read once it ends
+            TempFileUtil.write(logFile, "ial\n", true);
+            Assert.assertEquals("Line not correct.", "partial", run.readLine());
+            logFollower.stop();
+            Assert.assertNull("Line read after follower stopped.", run.readLine());
+            Assert.assertNull("Run started after follower stopped.", logFollower.nextRun());
+        } finally {
+            logFollower.close();
+        }
+    }
+
+    public void testTruncate() throws IOException {
+        File logFile = new File(TempFileUtil.createDirectory(), "gc.log");
+        TempFileUtil.write(logFile, "line1\nline2\n", false);
+        LogFollower logFollower = new LogFollower(logFile, 10);
+        try {
+            BufferedReader run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "line1", run.readLine());
+            Assert.assertEquals("Line not correct.", "line2", run.readLine());
+            // JVM restarted writing to the same file
+            TempFileUtil.write(logFile, "line3\n", false);
+            Assert.assertNull("Run not ended by truncation.", run.readLine());
+            run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "line3", run.readLine());
+        } finally {
+            logFollower.close();
+        }
+    }
+
+    public void testRotateRename() throws IOException {
+        // Unified logging rotation
+        File directory = TempFileUtil.createDirectory();
+        File logFile = new File(directory, "gc.log");
+        TempFileUtil.write(logFile, "line1\nline2\n", false);
+        LogFollower logFollower = new LogFollower(logFile, 10);
+        try {
+            BufferedReader run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "line1", run.readLine());
+            TempFileUtil.write(logFile, "line3\n", true);
+            File rotatedFile = new File(directory, "gc.log.0");
+            rotatedFile.deleteOnExit();
+            Assert.assertTrue("Log file not rotated.", logFile.renameTo(rotatedFile));
+            TempFileUtil.write(logFile, "line4\n", false);
+            Assert.assertEquals("Line not correct.", "line2", run.readLine());
+            Assert.assertEquals("Line not correct.", "line3", run.readLine());
+            Assert.assertEquals("Line not correct.", "line4", run.readLine());
+            logFollower.stop();
+            Assert.assertNull("Line read after follower stopped.", run.readLine());
+        } finally {
+            logFollower.close();
+        }
+    }
+
+    public void testRotateCurrent() throws IOException {
+        // JDK8 rotation
+        File directory = TempFileUtil.createDirectory();
+        File logFile = new File(directory, "gc.log.0.current");
+        TempFileUtil.write(logFile, "line1\n", false);
+        LogFollower logFollower = new LogFollower(logFile, 10);
+        try {
+            BufferedReader run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "line1", run.readLine());
+            // The last line of the old log file has no line terminator
+            TempFileUtil.write(logFile, "line2", true);
+            File rotatedFile = new File(directory, "gc.log.0");
+            rotatedFile.deleteOnExit();
+            Assert.assertTrue("Log file not rotated.", logFile.renameTo(rotatedFile));
+            TempFileUtil.write(new File(directory, "gc.log.1.current"), "line3\n", false);
+            Assert.assertEquals("Line not correct.", "line2", run.readLine());
+            Assert.assertEquals("Line not correct.", "line3", run.readLine());
+        } finally {
+            logFollower.close();
+        }
+    }
+
+    public void testRotateContinue() throws IOException {
+        File directory = TempFileUtil.createDirectory();
+        File logFile = new File(directory, "gc.log");
+        TempFileUtil.write(logFile, "1.000: line1\n", false);
+        LogFollower logFollower = new LogFollower(logFile, 10);
+        try {
+            BufferedReader run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "1.000: line1", run.readLine());
+            File rotatedFile = new File(directory, "gc.log.0");
+            rotatedFile.deleteOnExit();
+            Assert.assertTrue("Log file not rotated.", logFile.renameTo(rotatedFile));
+            TempFileUtil.write(logFile, "header\n2.000: line2\n", false);
+            Assert.assertEquals("Line not correct.", "header", run.readLine());
+            Assert.assertEquals("Line not correct.", "2.000: line2", run.readLine());
+        } finally {
+            logFollower.close();
+        }
+    }
+
+    public void testRotateNewJvm() throws IOException {
+        // JVM restarted, rotating the log file at startup
+        File directory = TempFileUtil.createDirectory();
+        File logFile = new File(directory, "gc.log");
+        TempFileUtil.write(logFile, "[1.000s] line1\n[2.000s] line2\n", false);
+        LogFollower logFollower = new LogFollower(logFile, 10);
+        try {
+            BufferedReader run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "[1.000s] line1", run.readLine());
+            Assert.assertEquals("Line not correct.", "[2.000s] line2", run.readLine());
+            File rotatedFile = new File(directory, "gc.log.0");
+            rotatedFile.deleteOnExit();
+            Assert.assertTrue("Log file not rotated.", logFile.renameTo(rotatedFile));
+            TempFileUtil.write(logFile, "header\n[0.005s] line3\n", false);
+            Assert.assertNull("Run not ended by new JVM.", run.readLine());
+            run = logFollower.nextRun();
+            Assert.assertEquals("Line not correct.", "header", run.readLine());
+            Assert.assertEquals("Line not correct.", "[0.005s] line3", run.readLine());
+        } finally {
+            logFollower.close();
+        }
+    }
+
+
+}
@@ -0,0 +1,132 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeDispatcher;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestParallelLogEventReader extends TestCase {
+
+    public void testSameAsSerialMultipleBatches() throws IOException {
+        // Repeat the logging so it spans several batches
+        String logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        StringBuilder repeated = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            repeated.append(logging);
+        }
+        assertSameAsSerial(repeated.toString(), 4);
+    }
+
+    public void testSameAsSerialUnified() throws IOException {
+        assertSameAsSerial(read(new File(Constants.TEST_DATA_DIR + "dataset182.txt")), 2);
+    }
+
+    public void testEmptyLogging() throws IOException {
+        LogEventReader reader = new ParallelLogEventReader(new BufferedReader(new StringReader("")),
+                new EventTypeDispatcher(), 2);
+        try {
+            Assert.assertNull("Event read from empty logging.", reader.readLogEvent());
+            Assert.assertNull("Event read after end of logging.", reader.readLogEvent());
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void testCloseBeforeEnd() throws IOException {
+        String logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        StringBuilder repeated = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            repeated.append(logging);
+        }
+        LogEventReader reader = new ParallelLogEventReader(new BufferedReader(new StringReader(repeated.toString())),
+                new EventTypeDispatcher(), 1);
+        Assert.assertNotNull("Event not read.", reader.readLogEvent());
+        reader.close();
+    }
+
+    /**
+     * Read the events serially and in parallel, and check they are the same.
+     * 
+     * @param logging
+     *            The garbage collection logging.
+     * @param threads
+     *            The number of parser threads.
+     */
+    private static void assertSameAsSerial(String logging, int threads) throws IOException {
+        EventTypeDispatcher serialDispatcher = new EventTypeDispatcher();
+        LogEventReader serial = new LogEventReader(new BufferedReader(new StringReader(logging)), serialDispatcher);
+        EventTypeDispatcher parallelDispatcher = new EventTypeDispatcher();
+        LogEventReader parallel = new ParallelLogEventReader(new BufferedReader(new StringReader(logging)),
+                parallelDispatcher, threads);
+        try {
+            int lines = 0;
+            LogEvent expected = serial.readLogEvent();
+            while (expected != null) {
+                LogEvent event = parallel.readLogEvent();
+                lines++;
+                Assert.assertNotNull("Event missing at line " + lines + ".", event);
+                Assert.assertEquals("Log line not correct at line " + lines + ".", serial.getLogLine(),
+                        parallel.getLogLine());
+                Assert.assertEquals("Event type not correct at line " + lines + ".", expected.getName(),
+                        event.getName());
+                Assert.assertEquals("Event class not correct at line " + lines + ".", expected.getClass(),
+                        event.getClass());
+                Assert.assertEquals("Last log line not correct at line " + lines + ".", serial.isLastLogLine(),
+                        parallel.isLastLogLine());
+                expected = serial.readLogEvent();
+            }
+            Assert.assertNull("Extra event read.", parallel.readLogEvent());
+            Assert.assertTrue("Collector family not identified.",
+                    serialDispatcher.getCollectorFamily() != CollectorFamily.UNKNOWN);
+            Assert.assertEquals("Collector family not correct.", serialDispatcher.getCollectorFamily(),
+                    parallelDispatcher.getCollectorFamily());
+            Assert.assertEquals("Lines identified not correct.", serialDispatcher.getLines(),
+                    parallelDispatcher.getLines());
+            Assert.assertEquals("Hit statistics not correct.", serialDispatcher.getHitStatistics(),
+                    parallelDispatcher.getHitStatistics());
+        } finally {
+            serial.close();
+            parallel.close();
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        StringBuilder logging = new StringBuilder();
+        BufferedReader bufferedReader = new BufferedReader(new FileReader(file));
+        try {
+            String logLine = bufferedReader.readLine();
+            while (logLine != null) {
+                logging.append(logLine).append(Constants.LINE_SEPARATOR);
+                logLine = bufferedReader.readLine();
+            }
+        } finally {
+            bufferedReader.close();
+        }
+        return logging.toString();
+    }
+}
@@ -0,0 +1,125 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Temporary files and directories for tests, deleted when the JVM exits.
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TempFileUtil {
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private TempFileUtil() {
+
+    }
+
+    /**
+     * @return A new empty directory.
+     * @throws IOException
+     *             if the directory cannot be created.
+     */
+    public static final File createDirectory() throws IOException {
+        File directory = File.createTempFile("garbagecat", "");
+        directory.delete();
+        directory.mkdir();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    /**
+     * @param logging
+     *            The logging.
+     * @return A new log file with the logging.
+     * @throws IOException
+     *             if the log file cannot be written.
+     */
+    public static final File createFile(String logging) throws IOException {
+        return createFile(".txt", logging.getBytes("US-ASCII"));
+    }
+
+    /**
+     * @param directory
+     *            The directory.
+     * @param name
+     *            The log file name.
+     * @param logging
+     *            The logging.
+     * @return A new log file in the directory with the logging.
+     * @throws IOException
+     *             if the log file cannot be written.
+     */
+    public static final File createFile(File directory, String name, String logging) throws IOException {
+        return write(new File(directory, name), logging, false);
+    }
+
+    /**
+     * @param suffix
+     *            The file name suffix (e.g. .gz).
+     * @param bytes
+     *            The file content.
+     * @return A new file with the content.
+     * @throws IOException
+     *             if the file cannot be written.
+     */
+    public static final File createFile(String suffix, byte[] bytes) throws IOException {
+        File file = File.createTempFile("garbagecat", suffix);
+        write(file, bytes, false);
+        return file;
+    }
+
+    /**
+     * @param file
+     *            The log file.
+     * @param logging
+     *            The logging.
+     * @param append
+     *            Whether to append the logging or replace the log file content.
+     * @return The log file.
+     * @throws IOException
+     *             if the log file cannot be written.
+     */
+    public static final File write(File file, String logging, boolean append) throws IOException {
+        return write(file, logging.getBytes("US-ASCII"), append);
+    }
+
+    /**
+     * @param file
+     *            The file.
+     * @param bytes
+     *            The content.
+     * @param append
+     *            Whether to append the content or replace the file content.
+     * @return The file.
+     * @throws IOException
+     *             if the file cannot be written.
+     */
+    public static final File write(File file, byte[] bytes, boolean append) throws IOException {
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file, append);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
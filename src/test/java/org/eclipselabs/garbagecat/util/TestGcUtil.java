@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.util;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
 
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 
@@ -216,6 +217,52 @@ public class TestGcUtil extends TestCase {
         Assert.assertEquals("Datestamp millisecond not parsed correctly.", 486, calendar.get(Calendar.MILLISECOND));
     }
 
+    public void testParseDateStampMillis() {
+        String datestamp = "2010-02-26T09:32:12.486-0600";
+        Assert.assertEquals("Datestamp not parsed correctly.", GcUtil.parseDateStamp(datestamp).getTime(),
+                GcUtil.parseDateStampMillis(datestamp));
+    }
+
+    public void testParseDateStampMillisInvalid() {
+        String[] datestamps = new String[] { "2010-02-26 09:32:12.486-0600", "2010-02-26T09:32:12,486-0600",
+                "2010-02-26T09:32:12.486", "2010-0a-26T09:32:12.486-0600" };
+        for (int i = 0; i < datestamps.length; i++) {
+            try {
+                GcUtil.parseDateStampMillis(datestamps[i]);
+                Assert.fail("Invalid datestamp parsed: " + datestamps[i]);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Every 7 minutes over days including daylight saving time changes parse the same as
+     * {@link GcUtil#parseDateStamp(String)}.
+     */
+    public void testParseDateStampMillisDaylightSavingTime() {
+        TimeZone timeZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            String[] days = new String[] { "2019-03-09", "2019-03-10", "2019-03-11", "2019-11-02", "2019-11-03",
+                    "2019-11-04" };
+            for (int i = 0; i < days.length; i++) {
+                for (int minutes = 0; minutes < 24 * 60; minutes += 7) {
+                    String datestamp = days[i] + "T" + pad(minutes / 60) + ":" + pad(minutes % 60) + ":"
+                            + pad(minutes % 60) + "." + (100 + minutes % 900) + "-0500";
+                    Assert.assertEquals("Datestamp not parsed correctly: " + datestamp,
+                            GcUtil.parseDateStamp(datestamp).getTime(), GcUtil.parseDateStampMillis(datestamp));
+                }
+            }
+        } finally {
+            TimeZone.setDefault(timeZone);
+        }
+    }
+
+    private static String pad(int number) {
+        return number < 10 ? "0" + number : Integer.toString(number);
+    }
+
     public void testDateDiff() {
         Calendar calendar = Calendar.getInstance();
         calendar.set(Calendar.YEAR, 2010);
@@ -0,0 +1,70 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestMappedLogFile extends TestCase {
+
+    public void testSameAsMappedLogReader() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset103.txt");
+        List<String> logLines = new ArrayList<String>();
+        List<Long> positions = new ArrayList<Long>();
+        MappedLogReader reader = new MappedLogReader(testFile);
+        try {
+            String logLine = reader.readLine();
+            while (logLine != null) {
+                logLines.add(logLine);
+                positions.add(reader.getLinePosition());
+                logLine = reader.readLine();
+            }
+        } finally {
+            reader.close();
+        }
+        int[] windowSizes = { MappedLogReader.WINDOW_SIZE, 100, 16 };
+        for (int windowSize : windowSizes) {
+            MappedLogFile mappedLogFile = new MappedLogFile(testFile, windowSize);
+            // In log order, then in reverse order
+            for (int i = 0; i < logLines.size() * 2; i++) {
+                int index = i < logLines.size() ? i : logLines.size() * 2 - 1 - i;
+                String logLine = mappedLogFile.readLine(positions.get(index), logLines.get(index).length());
+                Assert.assertEquals("Line " + index + " not correct with window size " + windowSize + ".",
+                        logLines.get(index), logLine);
+            }
+        }
+    }
+
+    public void testFileChanged() throws IOException {
+        File testFile = TempFileUtil.createFile("line1\nline2\n");
+        MappedLogFile mappedLogFile = new MappedLogFile(testFile, 4);
+        Assert.assertEquals("Line not correct.", "line1", mappedLogFile.readLine(0, 5));
+        TempFileUtil.write(testFile, "line1\n", false);
+        try {
+            mappedLogFile.readLine(6, 5);
+            Assert.fail("Truncated log file not detected.");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+
+}
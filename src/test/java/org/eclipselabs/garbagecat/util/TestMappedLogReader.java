@@ -0,0 +1,172 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestMappedLogReader extends TestCase {
+
+    public void testSameAsBufferedReader() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset103.txt");
+        assertSameAsBufferedReader(testFile, MappedLogReader.WINDOW_SIZE, MappedLogReader.CHUNK_SIZE);
+        // Small windows and chunks move many times
+        assertSameAsBufferedReader(testFile, 100, 16);
+        assertSameAsBufferedReader(testFile, 16, 100);
+    }
+
+    public void testLineTerminators() throws IOException {
+        File testFile = TempFileUtil.createFile("line1\nline2\r\nline3\rline4\r\n\r\n\n\rline5");
+        for (int windowSize = 1; windowSize <= 12; windowSize++) {
+            for (int chunkSize = 1; chunkSize <= 12; chunkSize++) {
+                assertSameAsBufferedReader(testFile, windowSize, chunkSize);
+            }
+        }
+    }
+
+    public void testLineLongerThanWindow() throws IOException {
+        StringBuilder logLine = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            logLine.append(i % 10);
+        }
+        File testFile = TempFileUtil
+                .createFile("short" + Constants.LINE_SEPARATOR + logLine + Constants.LINE_SEPARATOR + "end");
+        MappedLogReader reader = new MappedLogReader(testFile, 16, 8);
+        try {
+            Assert.assertEquals("Line not correct.", "short", reader.readLine());
+            Assert.assertEquals("Line not correct.", logLine.toString(), reader.readLine());
+            Assert.assertEquals("Line not correct.", "end", reader.readLine());
+            Assert.assertNull("Line read after end of file.", reader.readLine());
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void testEmptyFile() throws IOException {
+        MappedLogReader reader = new MappedLogReader(TempFileUtil.createFile(""));
+        try {
+            Assert.assertFalse("Reader ready.", reader.ready());
+            Assert.assertNull("Line read from empty file.", reader.readLine());
+            Assert.assertEquals("Character read from empty file.", -1, reader.read());
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void testNonAscii() throws IOException {
+        File testFile = TempFileUtil.createFile("first" + Constants.LINE_SEPARATOR + "Anwendungsprotokoll ");
+        // UTF-8 a umlaut
+        TempFileUtil.write(testFile, new byte[] { (byte) 0xc3, (byte) 0xa4 }, true);
+        TempFileUtil.write(testFile, Constants.LINE_SEPARATOR + "last", true);
+        assertSameAsBufferedReader(testFile, MappedLogReader.WINDOW_SIZE, MappedLogReader.CHUNK_SIZE);
+    }
+
+    public void testReadCharacters() throws IOException {
+        String logging = "line1\nline2\r\nline3\rline4";
+        MappedLogReader reader = new MappedLogReader(TempFileUtil.createFile(logging), 4, 2);
+        try {
+            StringBuilder read = new StringBuilder();
+            char[] buffer = new char[3];
+            int length = reader.read(buffer, 0, buffer.length);
+            while (length != -1) {
+                read.append(buffer, 0, length);
+                length = reader.read(buffer, 0, buffer.length);
+            }
+            Assert.assertEquals("Characters not correct.", logging, read.toString());
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void testReadLineAfterReadCharacters() throws IOException {
+        MappedLogReader reader = new MappedLogReader(TempFileUtil.createFile("line1\r\nline2"));
+        try {
+            Assert.assertEquals("Character not correct.", 'l', reader.read());
+            Assert.assertEquals("Line not correct.", "ine1", reader.readLine());
+            Assert.assertEquals("Line not correct.", "line2", reader.readLine());
+            Assert.assertNull("Line read after end of file.", reader.readLine());
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void testLinePosition() throws IOException {
+        MappedLogReader reader = new MappedLogReader(TempFileUtil.createFile("line1\nline2\r\nline3\rline4"), 4, 3);
+        try {
+            Assert.assertEquals("Position not correct.", -1, reader.getLinePosition());
+            reader.readLine();
+            Assert.assertEquals("Position not correct.", 0, reader.getLinePosition());
+            reader.readLine();
+            Assert.assertEquals("Position not correct.", 6, reader.getLinePosition());
+            reader.readLine();
+            Assert.assertEquals("Position not correct.", 13, reader.getLinePosition());
+            // Partially read by read
+            reader.read();
+            reader.readLine();
+            Assert.assertEquals("Position not correct.", -1, reader.getLinePosition());
+        } finally {
+            reader.close();
+        }
+        File testFile = TempFileUtil.createFile(".txt", new byte[] { 'a', (byte) 0xe9, '\n', 'b' });
+        reader = new MappedLogReader(testFile);
+        try {
+            reader.readLine();
+            Assert.assertEquals("Position of non-ASCII line not correct.", -1, reader.getLinePosition());
+            reader.readLine();
+            Assert.assertEquals("Position not correct.", 3, reader.getLinePosition());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Read the lines of a file with a <code>MappedLogReader</code> and a <code>BufferedReader</code>, and check they
+     * are the same.
+     * 
+     * @param file
+     *            The file.
+     * @param windowSize
+     *            Number of bytes mapped at a time.
+     * @param chunkSize
+     *            Initial number of bytes copied from the window at a time.
+     */
+    private static void assertSameAsBufferedReader(File file, int windowSize, int chunkSize) throws IOException {
+        BufferedReader expected = new BufferedReader(new FileReader(file));
+        MappedLogReader reader = new MappedLogReader(file, windowSize, chunkSize);
+        try {
+            int lines = 0;
+            String logLine = expected.readLine();
+            while (logLine != null) {
+                lines++;
+                Assert.assertEquals("Line " + lines + " not correct with window size " + windowSize + " and chunk size "
+                        + chunkSize + ".", logLine, reader.readLine());
+                logLine = expected.readLine();
+            }
+            Assert.assertNull("Extra line read with window size " + windowSize + " and chunk size " + chunkSize + ".",
+                    reader.readLine());
+        } finally {
+            expected.close();
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,242 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestParallelGzipInputStream extends TestCase {
+
+    public void testIsGzip() throws IOException {
+        byte[] logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        Assert.assertTrue("Gzip file not identified.",
+                ParallelGzipInputStream.isGzip(TempFileUtil.createFile(".gz", gzip(logging, 0, false))));
+        Assert.assertFalse("Log file identified as gzip.",
+                ParallelGzipInputStream.isGzip(new File(Constants.TEST_DATA_DIR + "dataset103.txt")));
+        Assert.assertFalse("Empty file identified as gzip.",
+                ParallelGzipInputStream.isGzip(TempFileUtil.createFile(".gz", new byte[0])));
+    }
+
+    public void testSingleMember() throws IOException {
+        byte[] logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        File testFile = TempFileUtil.createFile(".gz", gzip(logging, 0, false));
+        assertDecompressed(logging, new ParallelGzipInputStream(testFile, 1));
+        // Decompressed a little at a time
+        assertDecompressed(logging, new ParallelGzipInputStream(testFile, 2, 1000));
+    }
+
+    public void testMultipleMembers() throws IOException {
+        byte[] logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        File testFile = TempFileUtil.createFile(".gz", gzip(logging, 500, false));
+        assertDecompressed(logging, new ParallelGzipInputStream(testFile, 1));
+        assertDecompressed(logging, new ParallelGzipInputStream(testFile, 3));
+        // Members larger than the member buffer
+        assertDecompressed(logging, new ParallelGzipInputStream(testFile, 3, 100));
+    }
+
+    public void testCloseBeforeEnd() throws IOException {
+        byte[] logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        File testFile = TempFileUtil.createFile(".gz", gzip(logging, 500, false));
+        // Speculative members are discarded, running or not
+        InputStream in = new ParallelGzipInputStream(testFile, 3);
+        Assert.assertEquals("Byte not correct.", logging[0], (byte) in.read());
+        in.close();
+    }
+
+    public void testHeaderInMemberData() throws IOException {
+        // Stored (not compressed) members holding the bytes of a member header
+        byte[] header = gzip(new byte[0], 0, false);
+        ByteArrayOutputStream logging = new ByteArrayOutputStream();
+        for (int i = 0; i < 200; i++) {
+            logging.write(("line " + i + " ").getBytes("US-ASCII"));
+            logging.write(header);
+            logging.write('\n');
+        }
+        File testFile = TempFileUtil.createFile(".gz", gzip(logging.toByteArray(), 300, true));
+        assertDecompressed(logging.toByteArray(), new ParallelGzipInputStream(testFile, 4));
+        assertDecompressed(logging.toByteArray(), new ParallelGzipInputStream(testFile, 4, 64));
+    }
+
+    public void testHeaderOptionalFields() throws IOException {
+        byte[] logging = "line1\nline2\n".getBytes("US-ASCII");
+        ByteArrayOutputStream member = new ByteArrayOutputStream();
+        // Magic number, deflate, all optional fields, modification time, extra flags, operating system
+        member.write(new byte[] { 0x1f, (byte) 0x8b, 8, 2 | 4 | 8 | 16, 0, 0, 0, 0, 0, 3 });
+        // Extra field
+        member.write(new byte[] { 4, 0, 'a', 'b', 'c', 'd' });
+        member.write("gc.log".getBytes("US-ASCII"));
+        member.write(0);
+        member.write("comment".getBytes("US-ASCII"));
+        member.write(0);
+        // Header CRC
+        member.write(new byte[] { 0, 0 });
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(logging);
+        deflater.finish();
+        byte[] deflated = new byte[1024];
+        member.write(deflated, 0, deflater.deflate(deflated));
+        deflater.end();
+        CRC32 crc = new CRC32();
+        crc.update(logging);
+        writeInt(member, crc.getValue());
+        writeInt(member, logging.length);
+        File testFile = TempFileUtil.createFile(".gz", member.toByteArray());
+        assertDecompressed(logging, new ParallelGzipInputStream(testFile, 2));
+    }
+
+    public void testEmptyLogging() throws IOException {
+        File testFile = TempFileUtil.createFile(".gz", gzip(new byte[0], 0, false));
+        assertDecompressed(new byte[0], new ParallelGzipInputStream(testFile, 2));
+    }
+
+    public void testBytesAfterLastMember() throws IOException {
+        byte[] logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compressed.write(gzip(logging, 500, false));
+        compressed.write("not a member".getBytes("US-ASCII"));
+        assertDecompressed(logging,
+                new ParallelGzipInputStream(TempFileUtil.createFile(".gz", compressed.toByteArray()), 2));
+    }
+
+    public void testNotGzip() throws IOException {
+        InputStream in = new ParallelGzipInputStream(new File(Constants.TEST_DATA_DIR + "dataset103.txt"), 2);
+        try {
+            in.read();
+            Assert.fail("Log file decompressed.");
+        } catch (ZipException e) {
+            // Expected
+        } finally {
+            in.close();
+        }
+    }
+
+    public void testCorruptTrailer() throws IOException {
+        byte[] logging = read(new File(Constants.TEST_DATA_DIR + "dataset103.txt"));
+        byte[] compressed = gzip(logging, 0, false);
+        // Change the CRC
+        compressed[compressed.length - 8]++;
+        InputStream in = new ParallelGzipInputStream(TempFileUtil.createFile(".gz", compressed), 2);
+        try {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // Read to the end
+            }
+            Assert.fail("Corrupt trailer not detected.");
+        } catch (ZipException e) {
+            // Expected
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Decompress the logging and check it is the same as the logging compressed.
+     * 
+     * @param expected
+     *            The logging compressed.
+     * @param in
+     *            The decompressed logging. Closed when done.
+     */
+    private static void assertDecompressed(byte[] expected, InputStream in) throws IOException {
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try {
+            // Read single bytes and blocks of different sizes
+            int b = in.read();
+            if (b != -1) {
+                decompressed.write(b);
+            }
+            byte[] buffer = new byte[37];
+            int length = in.read(buffer, 0, buffer.length);
+            while (length != -1) {
+                decompressed.write(buffer, 0, length);
+                buffer = new byte[buffer.length == 37 ? 8192 : 37];
+                length = in.read(buffer, 0, buffer.length);
+            }
+            Assert.assertEquals("Byte read after end of logging.", -1, in.read());
+        } finally {
+            in.close();
+        }
+        Assert.assertTrue("Decompressed logging not correct.", Arrays.equals(expected, decompressed.toByteArray()));
+    }
+
+    /**
+     * @param logging
+     *            The logging to compress.
+     * @param memberSize
+     *            The number of bytes compressed in each member, or 0 for a single member.
+     * @param stored
+     *            Whether or not to store the logging without compressing it.
+     * @return The logging compressed in gzip format.
+     */
+    private static byte[] gzip(byte[] logging, int memberSize, boolean stored) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        int offset = 0;
+        do {
+            int length = memberSize == 0 ? logging.length : Math.min(memberSize, logging.length - offset);
+            GZIPOutputStream out;
+            if (stored) {
+                out = new GZIPOutputStream(compressed) {
+                    {
+                        def.setLevel(Deflater.NO_COMPRESSION);
+                    }
+                };
+            } else {
+                out = new GZIPOutputStream(compressed);
+            }
+            out.write(logging, offset, length);
+            out.finish();
+            offset += length;
+        } while (offset < logging.length);
+        return compressed.toByteArray();
+    }
+
+    private static void writeInt(OutputStream out, long i) throws IOException {
+        out.write((int) (i & 0xff));
+        out.write((int) ((i >> 8) & 0xff));
+        out.write((int) ((i >> 16) & 0xff));
+        out.write((int) ((i >> 24) & 0xff));
+    }
+
+    private static byte[] read(File file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[8192];
+            int length = in.read(buffer);
+            while (length != -1) {
+                bytes.write(buffer, 0, length);
+                length = in.read(buffer);
+            }
+        } finally {
+            in.close();
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -0,0 +1,118 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestEventTypeDispatcher extends TestCase {
+
+    public void testFrequentEventTypeFirst() {
+        String logLine = "2.128: [GC 2.128: [ParNew: 36825K->4352K(39424K), 0.0224830 secs] "
+                + "44983K->14441K(126848K), 0.0225800 secs]";
+        EventTypeDispatcher dispatcher = new EventTypeDispatcher();
+        List<LogEventType> eventTypes = dispatcher.getEventTypes();
+        Assert.assertTrue(LogEventType.PAR_NEW.toString() + " not after " + LogEventType.G1_YOUNG_PAUSE + ".",
+                eventTypes.indexOf(LogEventType.PAR_NEW) > eventTypes.indexOf(LogEventType.G1_YOUNG_PAUSE));
+        for (int i = 0; i < EventTypeDispatcher.REORDER_INTERVAL; i++) {
+            Assert.assertEquals("Log line not recognized as " + LogEventType.PAR_NEW.toString() + ".",
+                    LogEventType.PAR_NEW, dispatcher.identifyEventType(logLine));
+        }
+        eventTypes = dispatcher.getEventTypes();
+        Assert.assertTrue(LogEventType.PAR_NEW.toString() + " not before " + LogEventType.G1_YOUNG_PAUSE + ".",
+                eventTypes.indexOf(LogEventType.PAR_NEW) < eventTypes.indexOf(LogEventType.G1_YOUNG_PAUSE));
+        Assert.assertTrue(LogEventType.PAR_NEW.toString() + " not before " + LogEventType.CMS_SERIAL_OLD + ".",
+                eventTypes.indexOf(LogEventType.PAR_NEW) < eventTypes.indexOf(LogEventType.CMS_SERIAL_OLD));
+        assertOrdered(eventTypes);
+    }
+
+    public void testOrderedAfterReorder() {
+        EventTypeDispatcher dispatcher = new EventTypeDispatcher();
+        for (int i = 0; i < EventTypeDispatcher.REORDER_INTERVAL; i++) {
+            Assert.assertEquals("Log line not recognized as " + LogEventType.BLANK_LINE.toString() + ".",
+                    LogEventType.BLANK_LINE, dispatcher.identifyEventType(""));
+        }
+        List<LogEventType> eventTypes = dispatcher.getEventTypes();
+        Assert.assertTrue(
+                LogEventType.UNIFIED_BLANK_LINE.toString() + " not before " + LogEventType.BLANK_LINE + ".",
+                eventTypes.indexOf(LogEventType.UNIFIED_BLANK_LINE) < eventTypes.indexOf(LogEventType.BLANK_LINE));
+        assertOrdered(eventTypes);
+    }
+
+    public void testHitStatistics() {
+        EventTypeDispatcher dispatcher = new EventTypeDispatcher();
+        dispatcher.identifyEventType("2.128: [GC 2.128: [ParNew: 36825K->4352K(39424K), 0.0224830 secs] "
+                + "44983K->14441K(126848K), 0.0225800 secs]");
+        dispatcher.identifyEventType("");
+        dispatcher.identifyEventType("");
+        dispatcher.identifyEventType("garbage");
+        Assert.assertEquals("Lines not correct.", 4, dispatcher.getLines());
+        Assert.assertEquals(LogEventType.BLANK_LINE.toString() + " hits not correct.", 2,
+                dispatcher.getHits(LogEventType.BLANK_LINE));
+        Map<LogEventType, Long> statistics = dispatcher.getHitStatistics();
+        Assert.assertEquals("Hit statistics size not correct.", 3, statistics.size());
+        Assert.assertEquals(LogEventType.PAR_NEW.toString() + " hits not correct.", Long.valueOf(1),
+                statistics.get(LogEventType.PAR_NEW));
+        Assert.assertEquals(LogEventType.UNKNOWN.toString() + " hits not correct.", Long.valueOf(1),
+                statistics.get(LogEventType.UNKNOWN));
+    }
+
+    private static void assertOrdered(List<LogEventType> eventTypes) {
+        for (int i = 0; i < eventTypes.size(); i++) {
+            for (int j = i + 1; j < eventTypes.size(); j++) {
+                Assert.assertFalse(eventTypes.get(j) + " must be before " + eventTypes.get(i) + ".",
+                        EventTypeIndex.isOrdered(eventTypes.get(j), eventTypes.get(i)));
+            }
+        }
+    }
+
+    public void testShape() {
+        Assert.assertEquals("Shape not correct.", "[] GC(0) Pause Young (Normal) (G0 Evacuation Pause) 0M->0M(0M) 0.0ms",
+                EventTypeDispatcher.getShape("[0.112s][info][gc,start     ] GC(3) Pause Young (Normal) "
+                        + "(G1 Evacuation Pause) 25M->4M(254M) 2.108ms"));
+        Assert.assertEquals("Shape not correct.", "[GC pause (young) 0M->0M(0M), 0.0 secs]",
+                EventTypeDispatcher.getShape("[GC pause (young) 849M->583M(968M), 0.0392710 secs]"));
+    }
+
+    public void testCacheHit() {
+        EventTypeDispatcher dispatcher = new EventTypeDispatcher();
+        Assert.assertEquals("Log line not recognized as " + LogEventType.PAR_NEW.toString() + ".",
+                LogEventType.PAR_NEW,
+                dispatcher.identifyEventType("2.128: [GC 2.128: [ParNew: 36825K->4352K(39424K), 0.0224830 secs] "
+                        + "44983K->14441K(126848K), 0.0225800 secs]"));
+        Assert.assertEquals("Log line not recognized as " + LogEventType.PAR_NEW.toString() + ".",
+                LogEventType.PAR_NEW,
+                dispatcher.identifyEventType("3.007: [GC 3.007: [ParNew: 39424K->4352K(39424K), 0.0290810 secs] "
+                        + "48513K->16112K(126848K), 0.0291760 secs]"));
+        Assert.assertEquals("Cache hits not correct.", 1, dispatcher.getCacheHits());
+        Assert.assertEquals("Cache hit rate not correct.", 50, dispatcher.getCacheHitRate());
+    }
+
+    public void testCacheUnknownNotCached() {
+        EventTypeDispatcher dispatcher = new EventTypeDispatcher();
+        Assert.assertEquals("Log line not recognized as " + LogEventType.UNKNOWN.toString() + ".",
+                LogEventType.UNKNOWN, dispatcher.identifyEventType("garbage 1"));
+        Assert.assertEquals("Log line not recognized as " + LogEventType.UNKNOWN.toString() + ".",
+                LogEventType.UNKNOWN, dispatcher.identifyEventType("garbage 2"));
+        Assert.assertEquals("Cache hits not correct.", 0, dispatcher.getCacheHits());
+    }
+}
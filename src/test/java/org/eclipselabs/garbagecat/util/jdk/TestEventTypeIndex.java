@@ -0,0 +1,134 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.List;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestEventTypeIndex extends TestCase {
+
+    public void testParNewCandidates() {
+        String logLine = "2.128: [GC 2.128: [ParNew: 36825K->4352K(39424K), 0.0224830 secs] "
+                + "44983K->14441K(126848K), 0.0225800 secs]";
+        List<LogEventType> candidates = EventTypeIndex.getCandidates(logLine);
+        Assert.assertTrue(LogEventType.PAR_NEW.toString() + " not a candidate.",
+                candidates.contains(LogEventType.PAR_NEW));
+        Assert.assertFalse(LogEventType.UNIFIED_G1_YOUNG_PAUSE.toString() + " is a candidate.",
+                candidates.contains(LogEventType.UNIFIED_G1_YOUNG_PAUSE));
+        Assert.assertFalse(LogEventType.G1_YOUNG_PAUSE.toString() + " is a candidate.",
+                candidates.contains(LogEventType.G1_YOUNG_PAUSE));
+        Assert.assertEquals("Log line not recognized as " + LogEventType.PAR_NEW.toString() + ".",
+                LogEventType.PAR_NEW, JdkUtil.identifyEventType(logLine));
+    }
+
+    public void testUnifiedRequiresDecorator() {
+        String logLine = "[0.112s][info][gc,start     ] GC(3) Pause Young (Normal) (G1 Evacuation Pause) "
+                + "25M->4M(254M) 2.108ms";
+        Assert.assertTrue(LogEventType.UNIFIED_G1_YOUNG_PAUSE.toString() + " not a candidate.",
+                EventTypeIndex.getCandidates(logLine).contains(LogEventType.UNIFIED_G1_YOUNG_PAUSE));
+        Assert.assertFalse(LogEventType.UNIFIED_G1_YOUNG_PAUSE.toString() + " is a candidate without decorator.",
+                EventTypeIndex.getCandidates(logLine.substring(logLine.indexOf("GC(")))
+                        .contains(LogEventType.UNIFIED_G1_YOUNG_PAUSE));
+    }
+
+    public void testEventTypesWithoutFragmentsAlwaysCandidates() {
+        List<LogEventType> candidates = EventTypeIndex.getCandidates("");
+        Assert.assertTrue(LogEventType.BLANK_LINE.toString() + " not a candidate.",
+                candidates.contains(LogEventType.BLANK_LINE));
+        Assert.assertTrue(LogEventType.HEAP_AT_GC.toString() + " not a candidate.",
+                candidates.contains(LogEventType.HEAP_AT_GC));
+        Assert.assertFalse(LogEventType.PAR_NEW.toString() + " is a candidate.",
+                candidates.contains(LogEventType.PAR_NEW));
+    }
+
+    public void testEventTypesOrderComplete() {
+        List<LogEventType> eventTypes = EventTypeIndex.getEventTypes();
+        for (LogEventType eventType : LogEventType.values()) {
+            if (eventType != LogEventType.UNKNOWN) {
+                Assert.assertTrue(eventType.toString() + " not indexed.", eventTypes.contains(eventType));
+            }
+        }
+    }
+
+    public void testCollectorFamily() {
+        Assert.assertEquals(LogEventType.PAR_NEW.toString() + " collector family incorrect.", CollectorFamily.CMS,
+                EventTypeIndex.getCollectorFamily(LogEventType.PAR_NEW));
+        Assert.assertFalse(LogEventType.G1_YOUNG_PAUSE.toString() + " included for " + CollectorFamily.CMS + ".",
+                EventTypeIndex.isFamily(LogEventType.G1_YOUNG_PAUSE, CollectorFamily.CMS));
+        Assert.assertTrue(LogEventType.G1_YOUNG_PAUSE.toString() + " not included for unknown collector family.",
+                EventTypeIndex.isFamily(LogEventType.G1_YOUNG_PAUSE, CollectorFamily.UNKNOWN));
+        Assert.assertTrue(LogEventType.APPLICATION_STOPPED_TIME.toString() + " not included for "
+                + CollectorFamily.CMS + ".", EventTypeIndex.isFamily(LogEventType.APPLICATION_STOPPED_TIME,
+                CollectorFamily.CMS));
+    }
+
+    /**
+     * Identify every line in the test datasets with and without the index and compare the regular expression attempts
+     * per line.
+     */
+    public void testSameIdentificationFewerAttempts() throws IOException {
+        File[] files = new File(Constants.TEST_DATA_DIR).listFiles();
+        List<LogEventType> eventTypes = EventTypeIndex.getEventTypes();
+        long lines = 0;
+        long attemptsAll = 0;
+        long attemptsIndexed = 0;
+        for (int i = 0; i < files.length; i++) {
+            if (!files[i].getName().matches("^dataset\\d{1,3}\\.txt$")) {
+                continue;
+            }
+            BufferedReader bufferedReader = new BufferedReader(new FileReader(files[i]));
+            try {
+                String logLine = bufferedReader.readLine();
+                while (logLine != null) {
+                    // Every event type in order
+                    LogEventType expected = LogEventType.UNKNOWN;
+                    for (int j = 0; j < eventTypes.size(); j++) {
+                        attemptsAll++;
+                        if (JdkUtil.match(eventTypes.get(j), logLine)) {
+                            expected = eventTypes.get(j);
+                            break;
+                        }
+                    }
+                    // Candidates only
+                    List<LogEventType> candidates = EventTypeIndex.getCandidates(logLine);
+                    int position = candidates.indexOf(expected);
+                    attemptsIndexed += position == -1 ? candidates.size() : position + 1;
+                    Assert.assertEquals("Identification changed for " + files[i].getName() + ": " + logLine, expected,
+                            JdkUtil.identifyEventType(logLine));
+                    lines++;
+                    logLine = bufferedReader.readLine();
+                }
+            } finally {
+                bufferedReader.close();
+            }
+        }
+        Assert.assertTrue("No lines tested.", lines > 0);
+        double perLineAll = (double) attemptsAll / lines;
+        double perLineIndexed = (double) attemptsIndexed / lines;
+        Assert.assertTrue("Index does not reduce attempts.", perLineIndexed * 4 < perLineAll);
+    }
+}
@@ -12,6 +12,10 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
 import org.eclipselabs.garbagecat.domain.TimesData;
 
 import junit.framework.Assert;
@@ -217,4 +221,107 @@ public class TestJdkMath extends TestCase {
         Assert.assertTrue("Parallism not calculated correctly.", JdkMath.isInvertedParallelism((int) 99));
         Assert.assertFalse("Parallism not calculated correctly.", JdkMath.isInvertedParallelism((int) 100));
     }
+
+    public void testParseSecsToMillis() {
+        Assert.assertEquals("Secs not parsed to milliseconds properly.", 22, JdkMath.parseSecsToMillis("0.0225213"));
+        Assert.assertEquals("Secs not parsed to milliseconds properly.", 22, JdkMath.parseSecsToMillis("0,0225213"));
+        Assert.assertEquals("Secs not parsed to milliseconds properly.", 3576157270L,
+                JdkMath.parseSecsToMillis("3576157.270"));
+    }
+
+    public void testParseDecimalNegativeRoundsTowardZero() {
+        Assert.assertEquals("Decimal not parsed properly.", -1234, JdkMath.parseDecimal("-1.2349", 3));
+        Assert.assertEquals("Decimal not parsed properly.", 0, JdkMath.parseDecimal("-0.0009", 3));
+    }
+
+    public void testParseDecimalExponent() {
+        Assert.assertEquals("Decimal not parsed properly.", 1500, JdkMath.parseDecimal("1.5E3", 0));
+    }
+
+    public void testParseDecimalInvalid() {
+        String[] numbers = new String[] { "", ".", "-", "1.2.3", "1,2,3", " 1", "1a" };
+        for (int i = 0; i < numbers.length; i++) {
+            try {
+                JdkMath.parseDecimal(numbers[i], 3);
+                Assert.fail("Invalid decimal parsed: '" + numbers[i] + "'");
+            } catch (NumberFormatException e) {
+                // Same as BigDecimal
+            }
+        }
+    }
+
+    /**
+     * Random whole numbers and decimals (including decimal commas, signs, leading and trailing decimal points, and more
+     * digits than fit in a <code>long</code>) parse the same as the <code>BigDecimal</code> conversions.
+     */
+    public void testParseEquivalentToBigDecimal() {
+        Random random = new Random(20201016L);
+        for (int i = 0; i < 100000; i++) {
+            String number = randomDecimal(random);
+            Assert.assertEquals("Secs to millis differs: " + number,
+                    JdkMath.convertSecsToMillis(number).longValue(), JdkMath.parseSecsToMillis(number));
+            Assert.assertEquals("Secs to micros differs: " + number,
+                    JdkMath.convertSecsToMicros(number).intValue(), JdkMath.parseSecsToMicros(number));
+            Assert.assertEquals("Secs to centis differs: " + number,
+                    JdkMath.convertSecsToCentis(number).intValue(), JdkMath.parseSecsToCentis(number));
+            Assert.assertEquals("Millis to micros differs: " + number,
+                    JdkMath.convertMillisToMicros(number).intValue(), JdkMath.parseMillisToMicros(number));
+            Assert.assertEquals("Round millis differs: " + number, JdkMath.roundMillis(number).intValue(),
+                    JdkMath.parseMillis(number));
+        }
+    }
+
+    public void testDivideEquivalentToBigDecimal() {
+        Random random = new Random(20201016L);
+        for (int i = 0; i < 100000; i++) {
+            long dividend = random.nextInt(2000001) - 1000000;
+            long divisor = random.nextInt(2001) - 1000;
+            if (divisor == 0) {
+                continue;
+            }
+            // Many ties
+            if (i % 2 == 0) {
+                dividend = dividend / 1000 * divisor / 2;
+            }
+            Assert.assertEquals("Half even division differs: " + dividend + "/" + divisor,
+                    new BigDecimal(dividend).divide(new BigDecimal(divisor), 0, RoundingMode.HALF_EVEN).longValue(),
+                    JdkMath.divideHalfEven(dividend, divisor));
+            Assert.assertEquals("Ceiling division differs: " + dividend + "/" + divisor,
+                    new BigDecimal(dividend).divide(new BigDecimal(divisor), 0, RoundingMode.CEILING).longValue(),
+                    JdkMath.divideCeiling(dividend, divisor));
+        }
+        Assert.assertEquals("Micros not truncated to millis properly.", 987654,
+                JdkMath.truncateMicrosToMillis(987654321));
+        Assert.assertEquals("Micros not truncated to millis properly.",
+                JdkMath.convertMicrosToMillis(-987654321).longValue(), JdkMath.truncateMicrosToMillis(-987654321));
+    }
+
+    private static String randomDecimal(Random random) {
+        StringBuilder number = new StringBuilder();
+        switch (random.nextInt(4)) {
+        case 0:
+            number.append('-');
+            break;
+        case 1:
+            number.append('+');
+            break;
+        default:
+            break;
+        }
+        int wholeDigits = random.nextInt(5) == 0 ? random.nextInt(25) : random.nextInt(8);
+        for (int i = 0; i < wholeDigits; i++) {
+            number.append((char) ('0' + random.nextInt(10)));
+        }
+        int decimalDigits = random.nextInt(10);
+        if (wholeDigits == 0 || random.nextInt(4) > 0) {
+            number.append(random.nextBoolean() ? '.' : ',');
+            if (wholeDigits == 0 && decimalDigits == 0) {
+                decimalDigits = 1;
+            }
+            for (int i = 0; i < decimalDigits; i++) {
+                number.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        return number.toString();
+    }
 }
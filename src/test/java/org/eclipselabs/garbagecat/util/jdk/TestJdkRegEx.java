@@ -12,6 +12,9 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.eclipselabs.garbagecat.domain.TimesData;
 
 import junit.framework.Assert;
@@ -166,6 +169,14 @@ public class TestJdkRegEx extends TestCase {
         Assert.assertTrue("Datestamp not recognized.", datestamp.matches(JdkRegEx.DATESTAMP));
     }
 
+    public void testDatestampGroups() {
+        Matcher matcher = Pattern.compile(JdkRegEx.DATESTAMP + ": " + JdkRegEx.TIMESTAMP)
+                .matcher("2010-04-16T12:11:18.979+0200: 1.234");
+        Assert.assertTrue("Datestamp not recognized.", matcher.matches());
+        Assert.assertEquals("Timestamp group not after datestamp groups.", "1.234",
+                matcher.group(JdkRegEx.DATESTAMP_GROUPS + 1));
+    }
+
     public void testTimesBlock5Digits() {
         String timesBlock = " [Times: user=29858.25 sys=2074.63, real=35140.48 secs]";
         Assert.assertTrue("'" + timesBlock + "' " + "is a valid times block.", timesBlock.matches(TimesData.REGEX));
@@ -12,13 +12,22 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Calendar;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 
 import junit.framework.Assert;
 import junit.framework.TestCase;
@@ -313,4 +322,52 @@ public class TestJdkUtil extends TestCase {
         Assert.assertEquals("Datestamp not parsed correctly.", "2012-06-20T12:29:58.094+0200",
                 JdkUtil.getDateStamp(logLine));
     }
+
+    public void testIdentifyEventTypeCollectorFamily() {
+        String logLine = "2.128: [GC 2.128: [ParNew: 36825K->4352K(39424K), 0.0224830 secs] "
+                + "44983K->14441K(126848K), 0.0225800 secs]";
+        Assert.assertEquals("Log line not recognized as " + LogEventType.PAR_NEW.toString() + ".",
+                LogEventType.PAR_NEW, JdkUtil.identifyEventType(logLine, CollectorFamily.CMS));
+    }
+
+    public void testIdentifyEventTypeCollectorFamilyFallback() {
+        String logLine = "1113.145: [GC pause (young) 849M->583M(968M), 0.0392710 secs]";
+        Assert.assertEquals("Log line not recognized as " + LogEventType.G1_YOUNG_PAUSE.toString() + ".",
+                LogEventType.G1_YOUNG_PAUSE, JdkUtil.identifyEventType(logLine, CollectorFamily.CMS));
+    }
+
+    public void testIdentifyThrowAwayEventType() {
+        String logLine = "{Heap before GC invocations=0 (full 0):";
+        Assert.assertEquals("Log line not recognized as " + LogEventType.HEAP_AT_GC.toString() + ".",
+                LogEventType.HEAP_AT_GC, JdkUtil.identifyThrowAwayEventType(logLine));
+    }
+
+    public void testIdentifyThrowAwayEventTypeNotThrownAway() {
+        String logLine = "1113.145: [GC pause (young) 849M->583M(968M), 0.0392710 secs]";
+        Assert.assertNull("Log line recognized as thrown away.", JdkUtil.identifyThrowAwayEventType(logLine));
+    }
+
+    public void testIdentifyThrowAwayEventTypeSameAsParseLogLine() throws IOException {
+        String[] datasets = { "dataset83.txt", "dataset116.txt", "dataset182.txt" };
+        for (int i = 0; i < datasets.length; i++) {
+            BufferedReader bufferedReader = new BufferedReader(
+                    new FileReader(new File(Constants.TEST_DATA_DIR + datasets[i])));
+            try {
+                String logLine = bufferedReader.readLine();
+                while (logLine != null) {
+                    LogEvent event = JdkUtil.parseLogLine(logLine);
+                    LogEventType eventType = JdkUtil.identifyThrowAwayEventType(logLine);
+                    Assert.assertEquals("Log line thrown away not correct: " + logLine,
+                            event instanceof ThrowAwayEvent, eventType != null);
+                    if (eventType != null) {
+                        Assert.assertEquals("Event type not correct: " + logLine,
+                                JdkUtil.identifyEventType(logLine), eventType);
+                    }
+                    logLine = bufferedReader.readLine();
+                }
+            } finally {
+                bufferedReader.close();
+            }
+        }
+    }
 }
@@ -13,6 +13,8 @@
 package org.eclipselabs.garbagecat.util.jdk;
 
 import java.math.BigDecimal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.util.Constants;
 
@@ -868,4 +870,51 @@ public class TestJvm extends TestCase {
         Assert.assertNotNull("-XX:HeapDumpPath=/path/to/heap.dump not found.", jvm.getHeapDumpPathOption());
         Assert.assertEquals("Heap dump path value incorrect.", "/path/to/heap.dump", jvm.getHeapDumpPathValue());
     }
-}
\ No newline at end of file
+
+    public void testThreadStackSizeFirstOfAlternatives() {
+        String jvmOptions = "-XX:ThreadStackSize=256 -Xss128k";
+        Jvm jvm = new Jvm(jvmOptions, null);
+        Assert.assertEquals("Thread stack size not populated correctly.", "-XX:ThreadStackSize=256",
+                jvm.getThreadStackSizeOption());
+    }
+
+    public void testOptionSkippedIfNotMatched() {
+        String jvmOptions = "-XX:+PrintClassHistogramAfterFullGC -XX:+PrintClassHistogram";
+        Jvm jvm = new Jvm(jvmOptions, null);
+        Assert.assertEquals("-XX:+PrintClassHistogram not found.", "-XX:+PrintClassHistogram",
+                jvm.getPrintClassHistogramEnabled());
+    }
+
+    public void testSetOptionsResetsLookups() {
+        Jvm jvm = new Jvm("-Xmx2048m", null);
+        Assert.assertEquals("Max heap value incorrect.", "2048m", jvm.getMaxHeapValue());
+        jvm.setOptions("-Xmx1024m");
+        Assert.assertEquals("Max heap value incorrect.", "1024m", jvm.getMaxHeapValue());
+    }
+
+    public void testLiteralPrefix() {
+        Assert.assertEquals("Prefix not correct.", "-XX:+DisableExplicitGC",
+                Jvm.getLiteralPrefix("(-XX:\\+DisableExplicitGC)"));
+        Assert.assertEquals("Prefix not correct.", "-X", Jvm.getLiteralPrefix("(-X(mx|X:MaxHeapSize=)(\\d{1,12}))"));
+        Assert.assertEquals("Prefix not correct.", "-", Jvm.getLiteralPrefix("(-(X)?(ss|X:ThreadStackSize=)(\\d+))"));
+        Assert.assertEquals("Prefix not correct.", "-Dsun", Jvm.getLiteralPrefix("(-Dsun.rmi.dgc.client.gcInterval=)"));
+        Assert.assertEquals("Prefix not correct.", "-XX:", Jvm.getLiteralPrefix("(-XX:P?rintGC)"));
+        Assert.assertEquals("Prefix not correct.", "-XX:P", Jvm.getLiteralPrefix("(-XX:P+rintGC)"));
+        Assert.assertEquals("Alternatives have no common prefix.", "", Jvm.getLiteralPrefix("(-Xmx|-Xms)"));
+        Assert.assertEquals("Alternatives have no common prefix.", "", Jvm.getLiteralPrefix("-Xmx|(-Xms)"));
+        Assert.assertEquals("Optional group has no prefix.", "", Jvm.getLiteralPrefix("(-Xmx)?-Xms"));
+        Assert.assertEquals("Character class has no prefix.", "", Jvm.getLiteralPrefix("([-+]Xmx)"));
+    }
+
+    public void testOptionSameAsFind() {
+        String jvmOptions = "-Dfoo=-Xmx1g -Xms512m-Xmx2g -XX:+UseG1GC";
+        Jvm jvm = new Jvm(jvmOptions, null);
+        String[] regexes = { "(-X(mx|ms)(\\d+)[gm])", "(-Xmx|-Xms)", "(\\bUse[A-Z0-9]+GC)", "(-XX:\\+UseG1GC)",
+                "(-Xint)" };
+        for (int i = 0; i < regexes.length; i++) {
+            Matcher matcher = Pattern.compile(regexes[i]).matcher(jvmOptions);
+            Assert.assertEquals("Option not the same as a find for " + regexes[i] + ".",
+                    matcher.find() ? matcher.group(1) : null, jvm.getJvmOption(regexes[i]));
+        }
+    }
+}
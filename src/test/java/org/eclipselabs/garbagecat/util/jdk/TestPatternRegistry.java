@@ -0,0 +1,109 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestPatternRegistry extends TestCase {
+
+    public void testPatternCompiledOnce() {
+        Pattern pattern = PatternRegistry.getPattern(JdkRegEx.TIMESTAMP);
+        Assert.assertSame("Pattern not reused.", pattern, PatternRegistry.getPattern(JdkRegEx.TIMESTAMP));
+    }
+
+    public void testPatternEqualRegexDifferentInstance() {
+        String regex = new StringBuilder("^").append(JdkRegEx.TIMESTAMP).append("$").toString();
+        String regexCopy = new String(regex);
+        Assert.assertSame("Pattern not reused for equal regular expression.", PatternRegistry.getPattern(regex),
+                PatternRegistry.getPattern(regexCopy));
+    }
+
+    public void testMatchesEntireInput() {
+        Assert.assertTrue("Timestamp not matched.", PatternRegistry.matches(JdkRegEx.TIMESTAMP, "2.969"));
+        Assert.assertFalse("Partial input matched.", PatternRegistry.matches(JdkRegEx.TIMESTAMP, "2.969: [GC"));
+    }
+
+    public void testMatchesSameAsString() {
+        String[] inputs = { "2.969", "2,969", "2.969: [GC", "", "abc" };
+        for (int i = 0; i < inputs.length; i++) {
+            Assert.assertEquals("Match result differs from String.matches for '" + inputs[i] + "'.",
+                    inputs[i].matches(JdkRegEx.TIMESTAMP), PatternRegistry.matches(JdkRegEx.TIMESTAMP, inputs[i]));
+        }
+    }
+
+    public void testMatcherReused() {
+        // Successive calls on the same thread must not see state from the prior input
+        Assert.assertTrue("First input not matched.", PatternRegistry.matches(JdkRegEx.SIZE_K, "1024K"));
+        Assert.assertFalse("Second input matched.", PatternRegistry.matches(JdkRegEx.SIZE_K, "1024M"));
+        Assert.assertTrue("Third input not matched.", PatternRegistry.matches(JdkRegEx.SIZE_K, "0K"));
+    }
+
+    public void testFind() {
+        Assert.assertTrue("Timestamp not found.", PatternRegistry.find(JdkRegEx.TIMESTAMP, "2.969: [GC"));
+        Assert.assertFalse("Timestamp found.", PatternRegistry.find(JdkRegEx.TIMESTAMP, "[GC"));
+    }
+
+    public void testMatchesCompiledPattern() {
+        Pattern pattern = PatternRegistry.getPattern(JdkRegEx.SIZE_K);
+        Assert.assertTrue("Size not matched.", PatternRegistry.matches(pattern, "1024K"));
+    }
+
+    public void testMatchSameStringReused() {
+        String input = "1024K";
+        Matcher matcher = PatternRegistry.match(JdkRegEx.SIZE_K, input);
+        Assert.assertEquals("Input not matched.", "1024K", matcher.group());
+        // Change the registry matcher behind its back, so a result that is not evaluated again is detectable
+        matcher.reset("2048K").matches();
+        Assert.assertSame("Matcher not reused.", matcher, PatternRegistry.match(JdkRegEx.SIZE_K, input));
+        Assert.assertEquals("Match for same String evaluated again.", "2048K", matcher.group());
+    }
+
+    public void testMatchEqualStringNotStale() {
+        String input = "1024K";
+        Matcher matcher = PatternRegistry.match(JdkRegEx.SIZE_K, input);
+        matcher.reset("2048K").matches();
+        Assert.assertEquals("Stale match for equal String.", "1024K",
+                PatternRegistry.match(JdkRegEx.SIZE_K, new String(input)).group());
+        Assert.assertNull("Stale match for different String.", PatternRegistry.match(JdkRegEx.SIZE_K, "1024M"));
+    }
+
+    public void testFindInvalidatesMatch() {
+        String input = "1024K";
+        Matcher matcher = PatternRegistry.match(JdkRegEx.SIZE_K, input);
+        matcher.reset("2048K").matches();
+        Assert.assertTrue("Size not found.", PatternRegistry.find(JdkRegEx.SIZE_K, "size 512K"));
+        Assert.assertEquals("Match not evaluated again after find.", "1024K",
+                PatternRegistry.match(JdkRegEx.SIZE_K, input).group());
+    }
+
+    public void testSeparateThreads() throws InterruptedException {
+        final boolean[] matched = new boolean[1];
+        Thread thread = new Thread() {
+            public void run() {
+                matched[0] = PatternRegistry.matches(JdkRegEx.SIZE_K, "2048K");
+            }
+        };
+        Assert.assertFalse("Input matched.", PatternRegistry.matches(JdkRegEx.SIZE_K, "abc"));
+        thread.start();
+        thread.join();
+        Assert.assertTrue("Input not matched on second thread.", matched[0]);
+    }
+}
@@ -0,0 +1,90 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.PreprocessActionType;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestPreprocessActionDispatcher extends TestCase {
+
+    public void testEmptyContext() {
+        PreprocessActionType[] expected = { PreprocessActionType.SHENANDOAH, PreprocessActionType.UNIFIED,
+                PreprocessActionType.PARALLEL, PreprocessActionType.CMS,
+                PreprocessActionType.APPLICATION_CONCURRENT_TIME, PreprocessActionType.APPLICATION_STOPPED_TIME,
+                PreprocessActionType.G1, PreprocessActionType.SERIAL };
+        Assert.assertEquals("Actions not correct.", Arrays.asList(expected),
+                Arrays.asList(PreprocessActionDispatcher.getPreprocessActions(0)));
+        Assert.assertEquals("Actions not correct.", Arrays.asList(expected),
+                Arrays.asList(PreprocessActionDispatcher.getPreprocessActions(
+                        PreprocessTokenSet.getBit(PreprocessAction.TOKEN_BEGINNING_OF_EVENT))));
+    }
+
+    public void testCmsContext() {
+        PreprocessActionType[] expected = { PreprocessActionType.CMS };
+        Assert.assertEquals("Actions not correct.", Arrays.asList(expected), Arrays.asList(
+                PreprocessActionDispatcher.getPreprocessActions(PreprocessTokenSet.getBit(CmsPreprocessAction.TOKEN))));
+    }
+
+    public void testSerialContext() {
+        PreprocessActionType[] expected = { PreprocessActionType.APPLICATION_STOPPED_TIME,
+                PreprocessActionType.SERIAL };
+        Assert.assertEquals("Actions not correct.", Arrays.asList(expected), Arrays.asList(PreprocessActionDispatcher
+                .getPreprocessActions(PreprocessTokenSet.getBit(SerialPreprocessAction.TOKEN))));
+    }
+
+    public void testIdentifyG1() {
+        String logLine = "2.192: [GC pause (G1 Evacuation Pause) (young)";
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        Assert.assertEquals("Preprocess action not correct.", PreprocessActionType.G1,
+                PreprocessActionDispatcher.identifyPreprocessAction(null, logLine, null, context));
+    }
+
+    public void testIdentifyG1NotValidInCmsContext() {
+        String logLine = "2.192: [GC pause (G1 Evacuation Pause) (young)";
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        context.add(CmsPreprocessAction.TOKEN);
+        Assert.assertNull("Preprocess action identified.",
+                PreprocessActionDispatcher.identifyPreprocessAction(null, logLine, null, context));
+    }
+
+    public void testPreprocessCms() {
+        String logLine = "46674.719: [GC (Allocation Failure)46674.719: [ParNew46674.749: "
+                + "[CMS-concurrent-abortable-preclean: 1.427/2.228 secs] [Times: user=1.56 sys=0.01, real=2.23 secs]";
+        String nextLogLine = " (concurrent mode failure): 2542828K->2658278K(2658304K), 12.3447910 secs] "
+                + "3925228K->2702358K(4040704K), [Metaspace: 72175K->72175K(1118208K)] icms_dc=100 , 12.3480570 secs] "
+                + "[Times: user=15.38 sys=0.02, real=12.35 secs]";
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        PreprocessActionType preprocessActionType = PreprocessActionDispatcher.identifyPreprocessAction("", logLine,
+                nextLogLine, context);
+        Assert.assertEquals("Preprocess action not correct.", PreprocessActionType.CMS, preprocessActionType);
+        List<String> entangledLogLines = new ArrayList<String>();
+        Assert.assertEquals("Log entry not correct.", "46674.719: [GC (Allocation Failure)46674.719: [ParNew",
+                PreprocessActionDispatcher.preprocess(preprocessActionType, "", logLine, nextLogLine,
+                        entangledLogLines, context));
+        Assert.assertEquals("Entangled log lines not correct.", 1, entangledLogLines.size());
+        Assert.assertTrue("Context not correct.", context.contains(CmsPreprocessAction.TOKEN));
+    }
+}
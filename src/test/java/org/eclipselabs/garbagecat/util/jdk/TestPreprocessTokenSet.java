@@ -0,0 +1,95 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestPreprocessTokenSet extends TestCase {
+
+    public void testAddRemoveKnownToken() {
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        Assert.assertTrue("Token not added.", context.add(CmsPreprocessAction.TOKEN));
+        Assert.assertFalse("Token added twice.", context.add(CmsPreprocessAction.TOKEN));
+        Assert.assertTrue("Token not found.", context.contains(CmsPreprocessAction.TOKEN));
+        Assert.assertFalse("Token found.", context.contains(G1PreprocessAction.TOKEN));
+        Assert.assertEquals("State not correct.", PreprocessTokenSet.getBit(CmsPreprocessAction.TOKEN),
+                context.getState());
+        Assert.assertEquals("Size not correct.", 1, context.size());
+        Assert.assertTrue("Token not removed.", context.remove(CmsPreprocessAction.TOKEN));
+        Assert.assertFalse("Token removed twice.", context.remove(CmsPreprocessAction.TOKEN));
+        Assert.assertTrue("Context not empty.", context.isEmpty());
+        Assert.assertEquals("State not correct.", 0, context.getState());
+    }
+
+    public void testKnownTokenNotConstant() {
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        context.add(new String(PreprocessAction.TOKEN_BEGINNING_OF_EVENT));
+        Assert.assertTrue("Token not found.", context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT));
+        Assert.assertEquals("State not correct.", PreprocessTokenSet.getBit(PreprocessAction.TOKEN_BEGINNING_OF_EVENT),
+                context.getState());
+    }
+
+    public void testOtherToken() {
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        Assert.assertEquals("Bit not correct.", 0, PreprocessTokenSet.getBit("OTHER_TOKEN"));
+        Assert.assertTrue("Token not added.", context.add("OTHER_TOKEN"));
+        Assert.assertTrue("Token not found.", context.contains("OTHER_TOKEN"));
+        Assert.assertEquals("State not correct.", 0, context.getState());
+        Assert.assertEquals("Size not correct.", 1, context.size());
+        Assert.assertTrue("Token not removed.", context.remove("OTHER_TOKEN"));
+        Assert.assertTrue("Context not empty.", context.isEmpty());
+    }
+
+    public void testSameAsHashSet() {
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        Set<String> expected = new HashSet<String>();
+        String[] tokens = { PreprocessAction.TOKEN_BEGINNING_OF_EVENT, G1PreprocessAction.TOKEN, "OTHER_TOKEN" };
+        for (int i = 0; i < tokens.length; i++) {
+            context.add(tokens[i]);
+            expected.add(tokens[i]);
+        }
+        Assert.assertEquals("Context not correct.", expected, context);
+        Assert.assertEquals("Context not correct.", context, expected);
+        Assert.assertEquals("Hash code not correct.", expected.hashCode(), context.hashCode());
+        Assert.assertEquals("Tokens not correct.", expected, new HashSet<String>(context));
+    }
+
+    public void testIteratorRemove() {
+        PreprocessTokenSet context = new PreprocessTokenSet();
+        context.add(CmsPreprocessAction.TOKEN);
+        context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
+        context.add("OTHER_TOKEN");
+        Iterator<String> iterator = context.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            count++;
+        }
+        Assert.assertEquals("Tokens iterated not correct.", 3, count);
+        Assert.assertTrue("Context not empty.", context.isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Red Hat, Inc.                                                                              *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Red Hat, Inc. - initial API and implementation                                                                  *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk.unified;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestUnifiedDecorator extends TestCase {
+
+    public void testUptimeLevelTagsGcId() {
+        String logLine = "[0.112s][info][gc,start     ] GC(3) Pause Young (Normal) (G1 Evacuation Pause)";
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        Assert.assertNotNull("Decorator not recognized.", decorator);
+        Assert.assertNull("Datestamp not correct.", decorator.getDatestamp());
+        Assert.assertEquals("Uptime not correct.", 112, decorator.getUptimeMillis());
+        Assert.assertEquals("Level not correct.", "info", decorator.getLevel());
+        Assert.assertEquals("Tags not correct.", "gc,start", decorator.getTags());
+        Assert.assertEquals("GC id not correct.", 3, decorator.getGcId());
+        Assert.assertEquals("Body not correct.", " Pause Young (Normal) (G1 Evacuation Pause)", decorator.getBody());
+        Assert.assertEquals("Timestamp not correct.", 112, decorator.getTimestamp());
+    }
+
+    public void testUptimeMillis() {
+        String logLine = "[25016ms] GC(0) Pause Young (Normal) (G1 Evacuation Pause)";
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        Assert.assertEquals("Uptime not correct.", 25016, decorator.getUptimeMillis());
+        Assert.assertNull("Level not correct.", decorator.getLevel());
+        Assert.assertNull("Tags not correct.", decorator.getTags());
+        Assert.assertEquals("Body not correct.", " Pause Young (Normal) (G1 Evacuation Pause)", decorator.getBody());
+    }
+
+    public void testDatestamp() {
+        String logLine = "[2020-02-14T15:21:55.207-0500] Using G1";
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        Assert.assertEquals("Datestamp not correct.", "2020-02-14T15:21:55.207-0500", decorator.getDatestamp());
+        Assert.assertEquals("Uptime not correct.", -1, decorator.getUptimeMillis());
+        Assert.assertEquals("GC id not correct.", -1, decorator.getGcId());
+        Assert.assertEquals("Body not correct.", " Using G1", decorator.getBody());
+        Assert.assertEquals("Timestamp not correct.",
+                UnifiedUtil.convertDatestampToMillis("2020-02-14T15:21:55.207-0500"), decorator.getTimestamp());
+    }
+
+    public void testDatestampUptime() {
+        String logLine = "[2020-02-14T15:21:55.207-0500][0.052s] GC(0) Pause Young (Normal) (G1 Evacuation Pause)";
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        Assert.assertEquals("Datestamp not correct.", "2020-02-14T15:21:55.207-0500", decorator.getDatestamp());
+        Assert.assertEquals("Timestamp not correct.", 52, decorator.getTimestamp());
+    }
+
+    public void testSafepointTags() {
+        String logLine = "[0.031s][info][safepoint    ] Total time for which application threads were stopped: "
+                + "0.0000643 seconds, Stopping threads took: 0.0000148 seconds";
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        Assert.assertEquals("Tags not correct.", "safepoint", decorator.getTags());
+        Assert.assertTrue("Body not correct.", decorator.getBody().startsWith(" Total time"));
+    }
+
+    public void testTagsSameAsRegEx() {
+        String[] firstTags = UnifiedRegEx.TAGS_FIRST.split("\\|");
+        String[] secondTags = ("|" + UnifiedRegEx.TAGS_SECOND).split("\\|");
+        String[] thirdTags = ("|" + UnifiedRegEx.TAGS_THIRD).split("\\|");
+        String[] paddings = { "", " ", "             ", "              " };
+        for (int i = 0; i < firstTags.length; i++) {
+            for (int j = 0; j < secondTags.length; j++) {
+                for (int k = 0; k < thirdTags.length; k++) {
+                    String tags = firstTags[i] + (secondTags[j].length() > 0 ? "," + secondTags[j] : "")
+                            + (thirdTags[k].length() > 0 ? "," + thirdTags[k] : "");
+                    for (int l = 0; l < paddings.length; l++) {
+                        String logLine = "[0.112s][info][" + tags + paddings[l] + "] GC(3) Pause Young";
+                        boolean regexTags = logLine.matches(UnifiedRegEx.DECORATOR + " Pause Young");
+                        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+                        Assert.assertEquals("Tags not recognized the same as the regular expression: " + logLine,
+                                regexTags ? tags : null, decorator.getTags());
+                    }
+                }
+            }
+        }
+    }
+
+    public void testUnrecognizedTagsInBody() {
+        String logLine = "[0.031s][info][gc,foo] Pause Young";
+        UnifiedDecorator decorator = UnifiedDecorator.parse(logLine);
+        Assert.assertNull("Tags not correct.", decorator.getTags());
+        Assert.assertEquals("Body not correct.", "[info][gc,foo] Pause Young", decorator.getBody());
+    }
+
+    public void testNotDecorated() {
+        Assert.assertNull("Decorator recognized.", UnifiedDecorator.parse(""));
+        Assert.assertNull("Decorator recognized.",
+                UnifiedDecorator.parse("[GC pause (young) 849M->583M(968M), 0.0392710 secs]"));
+        Assert.assertNull("Decorator recognized.", UnifiedDecorator.parse("2.128: [GC 2.128: [ParNew: 36825K->4352K"
+                + "(39424K), 0.0224830 secs] 44983K->14441K(126848K), 0.0225800 secs]"));
+    }
+
+    public void testSameBodyForSameLogLine() {
+        String logLine = "[0.112s][info][gc] GC(3) Pause Young (Normal) (G1 Evacuation Pause) 25M->4M(254M) 2.108ms";
+        Assert.assertSame("Body not reused.", UnifiedDecorator.parse(logLine).getBody(),
+                UnifiedDecorator.parse(logLine).getBody());
+    }
+}